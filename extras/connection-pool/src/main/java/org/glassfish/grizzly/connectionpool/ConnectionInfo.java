@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package org.glassfish.grizzly.connectionpool;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 import org.glassfish.grizzly.Connection;
 
 /**
@@ -25,18 +28,29 @@ import org.glassfish.grizzly.Connection;
  * @author Alexey Stashok
  */
 public final class ConnectionInfo<E> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ConnectionInfo> readyStateUpdater = AtomicIntegerFieldUpdater.newUpdater(ConnectionInfo.class,
+            "readyState");
+
+    private static final int BUSY = 0;
+    private static final int READY = 1;
+
     final Connection connection;
-    final Link<ConnectionInfo<E>> readyStateLink;
     final SingleEndpointPool<E> endpointPool;
 
     long ttlTimeout; // the place holder for TTL time stamp
 
     private final long pooledTimeStamp;
 
+    /**
+     * The ready/busy state. The pool switches it using CAS, so the thread, which won, owns the ready {@link Connection}.
+     */
+    private volatile int readyState = BUSY;
+    private volatile long readyTimeStamp = -1;
+
     ConnectionInfo(final Connection connection, final SingleEndpointPool<E> endpointPool) {
         this.connection = connection;
         this.endpointPool = endpointPool;
-        this.readyStateLink = new Link<>(this);
         pooledTimeStamp = System.currentTimeMillis();
     }
 
@@ -45,9 +59,7 @@ public final class ConnectionInfo<E> {
      * Returns <tt>false</tt> if the {@link Connection} is currently busy.
      */
     public boolean isReady() {
-        synchronized (endpointPool.poolSync) {
-            return readyStateLink.isAttached();
-        }
+        return readyState == READY;
     }
 
     /**
@@ -55,9 +67,32 @@ public final class ConnectionInfo<E> {
      * to ready, or <tt>-1</tt> if the {@link Connection} is currently in busy state.
      */
     public long getReadyTimeStamp() {
-        synchronized (endpointPool.poolSync) {
-            return readyStateLink.getAttachmentTimeStamp();
+        final long timeStamp = readyTimeStamp;
+        return isReady() ? timeStamp : -1;
+    }
+
+    /**
+     * Switches the state from busy to ready.
+     *
+     * @return <tt>true</tt> if the state has been switched, or <tt>false</tt> if the {@link Connection} was already ready
+     */
+    boolean markReady() {
+        if (readyState != BUSY) {
+            return false;
         }
+
+        readyTimeStamp = System.currentTimeMillis();
+        return readyStateUpdater.compareAndSet(this, BUSY, READY);
+    }
+
+    /**
+     * Switches the state from ready to busy.
+     *
+     * @return <tt>true</tt> if the state has been switched, so the caller owns the {@link Connection} now, or
+     * <tt>false</tt> if the {@link Connection} was already busy
+     */
+    boolean markBusy() {
+        return readyStateUpdater.compareAndSet(this, READY, BUSY);
     }
 
     /**
@@ -70,7 +105,7 @@ public final class ConnectionInfo<E> {
 
     @Override
     public String toString() {
-        return "ConnectionInfo{" + "connection=" + connection + ", readyStateLink=" + readyStateLink + ", endpointPool=" + endpointPool + ", pooledTimeStamp="
+        return "ConnectionInfo{" + "connection=" + connection + ", isReady=" + isReady() + ", endpointPool=" + endpointPool + ", pooledTimeStamp="
                 + pooledTimeStamp + "} " + super.toString();
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,12 +20,15 @@ package org.glassfish.grizzly.connectionpool;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.SocketAddress;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -65,6 +69,10 @@ import org.glassfish.grizzly.utils.Futures;
  * amount of time, after which the async connection poll operation will be failed with a timeout exception -
  * <tt>connectionTTLMillis</tt>: the maximum amount of time, a {@link Connection} could be associated with the pool
  *
+ * Taking a ready {@link Connection} and returning a {@link Connection} nobody is waiting for don't acquire the pool
+ * monitor: the ready {@link Connection}s are kept in a lock-free stack and their state is switched using CAS. The
+ * monitor guards the less frequent operations, like opening and closing {@link Connection}s, and the waiting list.
+ *
  * @param <E> the address type, for example for TCP transport it's {@link SocketAddress}
  *
  * @author Alexey Stashok
@@ -93,14 +101,21 @@ public class SingleEndpointPool<E> {
     private final PoolConnectionCloseListener closeListener = new PoolConnectionCloseListener();
 
     /**
-     * The {@link Chain} of ready connections
+     * The lock-free stack of ready connections: the most recently returned connection is taken first, the keep-alive
+     * mechanism checks the oldest one. A connection, which has been switched to busy state by another thread, might stay
+     * in the stack for a while, so only the thread, which succeeded to switch the state, may use the connection.
+     */
+    private final Deque<ConnectionInfo<E>> readyConnections = new ConcurrentLinkedDeque<>();
+
+    /**
+     * The number of ready connections
      */
-    private final Chain<ConnectionInfo<E>> readyConnections = new Chain<>();
+    private final AtomicInteger readyConnectionsCount = new AtomicInteger();
 
     /**
      * The {@link Map} contains *all* pooled {@link Connection}s
      */
-    private final Map<Connection, ConnectionInfo<E>> connectionsMap = new HashMap<>();
+    private final Map<Connection, ConnectionInfo<E>> connectionsMap = new ConcurrentHashMap<>();
 
     /**
      * Sync object
@@ -110,7 +125,7 @@ public class SingleEndpointPool<E> {
     /**
      * close flag
      */
-    private boolean isClosed;
+    private volatile boolean isClosed;
 
     /**
      * The thread-pool used by theownDelayedExecutor
@@ -194,13 +209,13 @@ public class SingleEndpointPool<E> {
     private final boolean failFastWhenMaxSizeReached;
 
     /**
-     * current pool size
+     * current pool size, updated under the poolSync
      */
-    private int poolSize;
+    private volatile int poolSize;
     /**
-     * Number of connections we're currently trying to establish and waiting for the result
+     * Number of connections we're currently trying to establish and waiting for the result, updated under the poolSync
      */
-    protected int pendingConnections;
+    protected volatile int pendingConnections;
 
     /**
      * Number of failed connect attempts.
@@ -212,6 +227,11 @@ public class SingleEndpointPool<E> {
      */
     private final Chain<AsyncPoll> asyncWaitingList = new Chain<>();
 
+    /**
+     * The size of the asyncWaitingList, which could be checked without the poolSync
+     */
+    private volatile int waitingListSize;
+
     /**
      * Constructs SingleEndpointPool instance.
      *
@@ -453,9 +473,7 @@ public class SingleEndpointPool<E> {
      * @return the current pool size
      */
     public int size() {
-        synchronized (poolSync) {
-            return poolSize + pendingConnections;
-        }
+        return poolSize + pendingConnections;
     }
 
     /**
@@ -463,18 +481,14 @@ public class SingleEndpointPool<E> {
      * connecting (connect in progress) {@link Connection}s.
      */
     public int getOpenConnectionsCount() {
-        synchronized (poolSync) {
-            return poolSize;
-        }
+        return poolSize;
     }
 
     /**
      * @return the number of {@link Connection}s ready to be retrieved and used.
      */
     public int getReadyConnectionsCount() {
-        synchronized (poolSync) {
-            return readyConnections.size();
-        }
+        return readyConnectionsCount.get();
     }
 
     /**
@@ -482,9 +496,7 @@ public class SingleEndpointPool<E> {
      * {@link Connection} can be established, or <tt>false</tt> otherwise.
      */
     public boolean isMaxCapacityReached() {
-        synchronized (poolSync) {
-            return maxPoolSize != -1 && poolSize + pendingConnections >= maxPoolSize;
-        }
+        return maxPoolSize != -1 && poolSize + pendingConnections >= maxPoolSize;
     }
 
     /**
@@ -496,9 +508,7 @@ public class SingleEndpointPool<E> {
      * ready state, or <tt>false</tt> if the {@link Connection} is not registered in the pool
      */
     public boolean isRegistered(final Connection connection) {
-        synchronized (poolSync) {
-            return connectionsMap.containsKey(connection);
-        }
+        return connectionsMap.containsKey(connection);
     }
 
     /**
@@ -510,15 +520,11 @@ public class SingleEndpointPool<E> {
      * by a user), otherwise returns <tt>false</tt>
      */
     public boolean isBusy(final Connection connection) {
-        synchronized (poolSync) {
-            return isBusy0(connectionsMap.get(connection));
-        }
+        return isBusy0(connectionsMap.get(connection));
     }
 
     boolean isBusy0(final ConnectionInfo<E> connectionRecord) {
-        synchronized (poolSync) {
-            return connectionRecord != null && !connectionRecord.isReady();
-        }
+        return connectionRecord != null && !connectionRecord.isReady();
     }
 
     /**
@@ -530,9 +536,7 @@ public class SingleEndpointPool<E> {
      * {@link Connection} does not belong to this pool
      */
     public ConnectionInfo<E> getConnectionInfo(final Connection connection) {
-        synchronized (poolSync) {
-            return connectionsMap.get(connection);
-        }
+        return connectionsMap.get(connection);
     }
 
     /**
@@ -560,16 +564,26 @@ public class SingleEndpointPool<E> {
      * @return {@link GrizzlyFuture}
      */
     public GrizzlyFuture<Connection> take() {
+        // fast path: take a ready connection, if nobody is waiting for one
+        if (!isClosed && waitingListSize == 0) {
+            final ConnectionInfo<E> info = pollReady();
+            if (info != null) {
+                return Futures.createReadyFuture(info.connection);
+            }
+        }
+
         int errorCode = 0;
         GrizzlyFuture<Connection> future = null;
         boolean isCreateNewConnection = false;
+        boolean isWaiting = false;
 
         try {
             synchronized (poolSync) {
                 // we need to maintain this weird if's layout to make sure we
                 // create Exceptions or new connections outside of synchronized.
                 if (!isClosed) {
-                    if (readyConnections.isEmpty()) {
+                    final ConnectionInfo<E> info = pollReady();
+                    if (info == null) {
                         if (!failFastWhenMaxSizeReached || !isMaxCapacityReached() || pendingConnections >= getWaitingListSize() + 1) {
 
                             final AsyncPoll asyncPoll = new AsyncPoll(this);
@@ -597,11 +611,12 @@ public class SingleEndpointPool<E> {
 
                             isCreateNewConnection = checkBeforeOpeningConnection();
                             future = cancellableFuture;
+                            isWaiting = true;
                         } else {
                             errorCode = 2;
                         }
                     } else {
-                        future = Futures.createReadyFuture(readyConnections.pollLast().getValue().connection);
+                        future = Futures.createReadyFuture(info.connection);
                     }
                 } else {
                     errorCode = 1;
@@ -612,6 +627,10 @@ public class SingleEndpointPool<E> {
             case 0: {
                 assert future != null;
 
+                if (isWaiting) {
+                    serveWaitingList();
+                }
+
                 if (isCreateNewConnection) {
                     connect();
                 }
@@ -648,16 +667,27 @@ public class SingleEndpointPool<E> {
             throw new IllegalArgumentException("The completionHandler argument can not be null");
         }
 
+        // fast path: take a ready connection, if nobody is waiting for one
+        if (!isClosed && waitingListSize == 0) {
+            final ConnectionInfo<E> info = pollReady();
+            if (info != null) {
+                completionHandler.completed(info.connection);
+                return;
+            }
+        }
+
         int errorCode = 0;
         Connection connection = null;
         boolean isCreateNewConnection = false;
+        boolean isWaiting = false;
 
         try {
             synchronized (poolSync) {
                 // we need to maintain this weird if's layout to make sure we
                 // create Exceptions or new connections outside of synchronized.
                 if (!isClosed) {
-                    if (readyConnections.isEmpty()) {
+                    final ConnectionInfo<E> info = pollReady();
+                    if (info == null) {
                         if (!failFastWhenMaxSizeReached || !isMaxCapacityReached() || pendingConnections >= getWaitingListSize() + 1) {
 
                             final AsyncPoll asyncPoll = new AsyncPoll(this);
@@ -667,11 +697,12 @@ public class SingleEndpointPool<E> {
                             addToAsyncWaitingList(pollLink);
 
                             isCreateNewConnection = checkBeforeOpeningConnection();
+                            isWaiting = true;
                         } else {
                             errorCode = 2;
                         }
                     } else {
-                        connection = readyConnections.pollLast().getValue().connection;
+                        connection = info.connection;
                     }
                 } else {
                     errorCode = 1;
@@ -682,7 +713,14 @@ public class SingleEndpointPool<E> {
             case 0: {
                 if (connection != null) {
                     completionHandler.completed(connection);
-                } else if (isCreateNewConnection) {
+                    break;
+                }
+
+                if (isWaiting) {
+                    serveWaitingList();
+                }
+
+                if (isCreateNewConnection) {
                     connect();
                 }
 
@@ -709,13 +747,12 @@ public class SingleEndpointPool<E> {
      * @throws java.io.IOException if the pool is closed
      */
     public Connection poll() throws IOException {
-        synchronized (poolSync) {
-            if (isClosed) {
-                throw new IOException("The pool is closed");
-            }
-
-            return !readyConnections.isEmpty() ? readyConnections.pollLast().getValue().connection : null;
+        if (isClosed) {
+            throw new IOException("The pool is closed");
         }
+
+        final ConnectionInfo<E> info = pollReady();
+        return info != null ? info.connection : null;
     }
 
     /**
@@ -733,51 +770,74 @@ public class SingleEndpointPool<E> {
      * connection will be closed and <code>false</code> will be returned.
      */
     public boolean release(final Connection connection) {
-        synchronized (poolSync) {
-            final ConnectionInfo<E> info = connectionsMap.get(connection);
-            if (info == null) {
-                connection.closeSilently();
-                return false;
-            }
-
-            return release0(info);
+        final ConnectionInfo<E> info = connectionsMap.get(connection);
+        if (info == null) {
+            connection.closeSilently();
+            return false;
         }
+
+        return release0(info);
     }
 
     /**
      * Same as {@link #release(org.glassfish.grizzly.Connection)}, but is based on connection {@link Link}.
      */
     boolean release0(final ConnectionInfo<E> info) {
-        final boolean isKeepAlive;
-        AsyncPoll asyncPoller = null;
+        if (keepAliveTimeoutMillis == 0) {
+            boolean isKeepAlive = true;
+            synchronized (poolSync) {
+                if (info.isReady()) {
+                    return false;
+                }
 
-        synchronized (poolSync) {
-            if (info.isReady()) {
+                // close pooled connection, if keepAliveTimeoutMillis == 0
+                if (poolSize > corePoolSize) {
+                    detach(info.connection); // detach in sync block and close outside sync
+                    isKeepAlive = false;
+                }
+            }
+
+            if (!isKeepAlive) {
+                info.connection.closeSilently();
                 return false;
             }
+        }
+
+        if (waitingListSize == 0) {
+            // fast path: nobody is waiting, so just return the connection to the ready stack
+            if (!info.markReady()) {
+                return false;
+            }
+
+            offerReady(info);
+
+            // a consumer might have been added to the waiting list meanwhile
+            serveWaitingList();
+        } else {
+            final AsyncPoll asyncPoller;
+            synchronized (poolSync) {
+                if (info.isReady()) {
+                    return false;
+                }
 
-            // close pooled connection, if keepAliveTimeoutMillis == 0
-            if (keepAliveTimeoutMillis == 0 && poolSize > corePoolSize) {
-                detach(info.connection); // detach in sync block and close outside sync
-                isKeepAlive = false;
-            } else {
-                isKeepAlive = true;
                 asyncPoller = getAsyncPoller();
-                if (asyncPoller == null) {
-                    readyConnections.offerLast(info.readyStateLink);
+                if (asyncPoller == null && info.markReady()) {
+                    offerReady(info);
                 }
             }
+
+            if (asyncPoller != null) {
+                Futures.notifyResult(asyncPoller.future, asyncPoller.completionHandler, info.connection);
+                return true;
+            }
         }
 
-        if (!isKeepAlive) {
+        // the pool might have been closed or the connection detached meanwhile
+        if ((isClosed || connectionsMap.get(info.connection) != info) && unready(info)) {
             info.connection.closeSilently();
             return false;
         }
 
-        if (asyncPoller != null) {
-            Futures.notifyResult(asyncPoller.future, asyncPoller.completionHandler, info.connection);
-        }
-
         return true;
     }
 
@@ -858,10 +918,9 @@ public class SingleEndpointPool<E> {
                     ownDelayedExecutorThreadPool.shutdownNow();
                 }
 
-                final int size = readyConnections.size();
-                for (int i = 0; i < size; i++) {
-                    final Connection c = readyConnections.pollLast().getValue().connection;
-                    c.closeSilently();
+                ConnectionInfo<E> info;
+                while ((info = pollReady()) != null) {
+                    info.connection.closeSilently();
                 }
 
                 final int asyncWaitingListSize = asyncWaitingList.size();
@@ -969,22 +1028,30 @@ public class SingleEndpointPool<E> {
                 return true;
             }
 
-            if (!readyConnections.isEmpty() && poolSize > corePoolSize) {
+            if (readyConnectionsCount.get() > 0 && poolSize > corePoolSize) {
                 final long now = System.currentTimeMillis();
 
                 try {
                     do {
-                        final Link<ConnectionInfo<E>> link = readyConnections.getFirstLink();
+                        final ConnectionInfo<E> info = readyConnections.peekFirst();
+                        if (info == null) {
+                            break;
+                        }
 
-                        if (now - link.getAttachmentTimeStamp() >= keepAliveTimeoutMillis) {
-                            final Connection c = link.getValue().connection;
-                            detach(c);
-                            c.closeSilently();
-                        } else { // the rest of links are ok
+                        if (!info.isReady()) {
+                            // has been taken by another thread, but not removed yet
+                            readyConnections.removeFirstOccurrence(info);
+                        } else if (now - info.getReadyTimeStamp() >= keepAliveTimeoutMillis) {
+                            if (unready(info)) {
+                                final Connection c = info.connection;
+                                detach(c);
+                                c.closeSilently();
+                            }
+                        } else { // the rest of connections are ok
                             break;
                         }
 
-                    } while (!readyConnections.isEmpty() && poolSize > corePoolSize);
+                    } while (readyConnectionsCount.get() > 0 && poolSize > corePoolSize);
                 } catch (Exception ignore) {
                 }
             }
@@ -1035,6 +1102,74 @@ public class SingleEndpointPool<E> {
         }
     }
 
+    /**
+     * Takes the most recently returned ready connection. The poolSync is not required.
+     *
+     * @return the {@link ConnectionInfo} of the taken connection, or <tt>null</tt> if there is no ready connection
+     */
+    private ConnectionInfo<E> pollReady() {
+        ConnectionInfo<E> info;
+        while ((info = readyConnections.pollLast()) != null) {
+            if (info.markBusy()) {
+                readyConnectionsCount.decrementAndGet();
+                return info;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Adds the connection, which has just been switched to ready state, to the ready connections. The poolSync is not
+     * required.
+     */
+    private void offerReady(final ConnectionInfo<E> info) {
+        readyConnectionsCount.incrementAndGet();
+        readyConnections.offerLast(info);
+    }
+
+    /**
+     * Switches the connection to busy state, if it's ready, and removes it from the ready connections. The poolSync is not
+     * required.
+     *
+     * @return <tt>true</tt> if the connection was ready, so the caller owns it now, or <tt>false</tt> otherwise
+     */
+    private boolean unready(final ConnectionInfo<E> info) {
+        if (info.markBusy()) {
+            readyConnectionsCount.decrementAndGet();
+            readyConnections.removeLastOccurrence(info);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Hands the ready connections over to the waiting consumers. Called after a consumer has been added to the waiting
+     * list or a connection has been returned to the ready stack without the poolSync, so that neither of them is
+     * missed.
+     */
+    private void serveWaitingList() {
+        while (waitingListSize > 0 && readyConnectionsCount.get() > 0) {
+            final AsyncPoll asyncPoll;
+            final ConnectionInfo<E> info;
+            synchronized (poolSync) {
+                if (asyncWaitingList.isEmpty()) {
+                    return;
+                }
+
+                info = pollReady();
+                if (info == null) {
+                    return;
+                }
+
+                asyncPoll = obtainFromAsyncWaitingList();
+            }
+
+            Futures.notifyResult(asyncPoll.future, asyncPoll.completionHandler, info.connection);
+        }
+    }
+
     private AsyncPoll getAsyncPoller() {
         if (!asyncWaitingList.isEmpty()) {
             return obtainFromAsyncWaitingList();
@@ -1053,19 +1188,43 @@ public class SingleEndpointPool<E> {
         }
     }
 
-    private void deregisterConnection(final ConnectionInfo<E> info) {
+    /**
+     * @return <tt>true</tt> if the connection was ready, so nobody uses it
+     */
+    private boolean deregisterConnection(final ConnectionInfo<E> info) {
         if (connectionTTLMillis >= 0) {
             connectionTTLQueue.remove(info);
         }
 
-        readyConnections.remove(info.readyStateLink);
+        final boolean wasReady = unready(info);
         poolSize--;
 
         onCloseConnection(info);
+        return wasReady;
+    }
+
+    /**
+     * The {@link Connection} time to live has expired: the ready {@link Connection} is closed, the busy one is detached.
+     */
+    void onConnectionTTLExpired(final ConnectionInfo<E> info) {
+        final boolean wasReady;
+        synchronized (poolSync) {
+            if (connectionsMap.remove(info.connection) == null) {
+                return;
+            }
+
+            info.connection.removeCloseListener(closeListener);
+            wasReady = deregisterConnection(info);
+        }
+
+        if (wasReady) {
+            info.connection.closeSilently();
+        }
     }
 
     private void addToAsyncWaitingList(final Link<AsyncPoll> pollLink) {
         asyncWaitingList.offerLast(pollLink);
+        waitingListSize = asyncWaitingList.size();
 
         if (asyncPollTimeoutMillis >= 0) {
             asyncPollTimeoutQueue.add(pollLink, asyncPollTimeoutMillis, TimeUnit.MILLISECONDS);
@@ -1074,6 +1233,7 @@ public class SingleEndpointPool<E> {
 
     private AsyncPoll obtainFromAsyncWaitingList() {
         final Link<AsyncPoll> link = asyncWaitingList.pollFirst();
+        waitingListSize = asyncWaitingList.size();
 
         if (asyncPollTimeoutMillis >= 0) {
             asyncPollTimeoutQueue.remove(link);
@@ -1084,6 +1244,7 @@ public class SingleEndpointPool<E> {
 
     private boolean removeFromAsyncWaitingList(final Link<AsyncPoll> pollLink) {
         final boolean result = asyncWaitingList.remove(pollLink);
+        waitingListSize = asyncWaitingList.size();
 
         if (result && asyncPollTimeoutMillis >= 0) {
             asyncPollTimeoutQueue.remove(pollLink);
@@ -1122,8 +1283,8 @@ public class SingleEndpointPool<E> {
 
                         final ConnectionInfo<E> info = attach0(connection);
                         asyncPoller = getAsyncPoller();
-                        if (asyncPoller == null) {
-                            readyConnections.offerLast(info.readyStateLink);
+                        if (asyncPoller == null && info.markReady()) {
+                            offerReady(info);
                         }
                     }
                 }
@@ -1339,6 +1500,7 @@ public class SingleEndpointPool<E> {
                 final SingleEndpointPool<?> pool = asyncPollLink.getValue().pool;
                 synchronized (pool.poolSync) {
                     removed = pool.asyncWaitingList.remove(asyncPollLink);
+                    pool.waitingListSize = pool.asyncWaitingList.size();
                 }
 
                 if (removed) {
@@ -1394,18 +1556,13 @@ public class SingleEndpointPool<E> {
     protected static final class ConnectionTTLWorker implements DelayedExecutor.Worker<ConnectionInfo> {
 
         @Override
+        @SuppressWarnings("unchecked")
         public boolean doWork(final ConnectionInfo ci) {
             if (LOGGER.isLoggable(Level.FINEST)) {
                 LOGGER.log(Level.FINEST, "Connection {0} TTL expired", ci.connection);
             }
 
-            synchronized (ci.endpointPool.poolSync) {
-                if (ci.isReady()) {
-                    ci.connection.close();
-                } else {
-                    ci.endpointPool.detach(ci.connection);
-                }
-            }
+            ci.endpointPool.onConnectionTTLExpired(ci);
 
             return true;
         }
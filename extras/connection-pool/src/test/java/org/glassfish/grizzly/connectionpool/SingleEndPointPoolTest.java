@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -36,6 +37,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.glassfish.grizzly.Connection;
@@ -469,6 +471,60 @@ public class SingleEndPointPoolTest {
         }
     }
 
+    @Test
+    public void testConcurrentTakeRelease() throws Exception {
+        final int maxPoolSize = 4;
+        final int threadsCount = 16;
+        final int iterations = 500;
+
+        SingleEndpointPool<SocketAddress> pool = SingleEndpointPool.builder(SocketAddress.class).connectorHandler(transport)
+                .endpointAddress(new InetSocketAddress("localhost", PORT)).maxPoolSize(maxPoolSize).build();
+
+        try {
+            final Set<Connection> inUse = newSetFromMap(new ConcurrentHashMap<>());
+            final AtomicInteger failures = new AtomicInteger();
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            final CountDownLatch doneLatch = new CountDownLatch(threadsCount);
+
+            for (int i = 0; i < threadsCount; i++) {
+                new Thread() {
+
+                    @Override
+                    public void run() {
+                        try {
+                            startLatch.await();
+                            for (int j = 0; j < iterations; j++) {
+                                Connection c = pool.take().get(10, SECONDS);
+                                // the same connection must never be handed out twice
+                                if (!inUse.add(c)) {
+                                    failures.incrementAndGet();
+                                }
+                                inUse.remove(c);
+                                if (!pool.release(c)) {
+                                    failures.incrementAndGet();
+                                }
+                            }
+                        } catch (Exception e) {
+                            e.printStackTrace();
+                            failures.incrementAndGet();
+                        } finally {
+                            doneLatch.countDown();
+                        }
+                    }
+                }.start();
+            }
+
+            startLatch.countDown();
+            assertTrue(doneLatch.await(30, SECONDS));
+
+            assertEquals(0, failures.get());
+            assertTrue(pool.size() <= maxPoolSize);
+            assertEquals(pool.size(), pool.getReadyConnectionsCount());
+        } finally {
+            pool.close();
+        }
+    }
+
     @Test
     public void testKeepAliveZero() throws Exception {
         SingleEndpointPool<SocketAddress> pool = 
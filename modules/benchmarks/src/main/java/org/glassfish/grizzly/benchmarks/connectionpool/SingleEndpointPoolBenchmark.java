@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.connectionpool;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.connectionpool.SingleEndpointPool;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.nio.transport.TCPNIOServerConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contended {@link SingleEndpointPool} take/release cycle over loopback connections. The pool is pre-filled up to
+ * {@code poolSize} connections, so once warmed up no connect happens and the measurement covers the pool bookkeeping
+ * only. With fewer connections than threads, takers have to wait for released connections. Run with {@code -t N} to
+ * change the number of contending threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class SingleEndpointPoolBenchmark {
+
+    @Param({ "4", "64" })
+    public int poolSize;
+
+    private TCPNIOTransport serverTransport;
+    private TCPNIOTransport clientTransport;
+    private SingleEndpointPool<SocketAddress> pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverTransport = TCPNIOTransportBuilder.newInstance().build();
+        serverTransport.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+        final TCPNIOServerConnection serverConnection = serverTransport.bind(new InetSocketAddress("127.0.0.1", 0));
+        serverTransport.start();
+
+        clientTransport = TCPNIOTransportBuilder.newInstance().build();
+        clientTransport.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).build());
+        clientTransport.start();
+
+        pool = SingleEndpointPool.builder(SocketAddress.class).connectorHandler(clientTransport)
+                .endpointAddress(serverConnection.getLocalAddress()).corePoolSize(poolSize).maxPoolSize(poolSize)
+                .keepAliveTimeout(-1, TimeUnit.MILLISECONDS).build();
+
+        final Connection[] connections = new Connection[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            connections[i] = pool.take().get(10, TimeUnit.SECONDS);
+        }
+        for (Connection connection : connections) {
+            pool.release(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.close();
+        clientTransport.shutdownNow();
+        serverTransport.shutdownNow();
+    }
+
+    @Benchmark
+    public Connection takeRelease() throws Exception {
+        final Connection connection = pool.take().get(10, TimeUnit.SECONDS);
+        pool.release(connection);
+        return connection;
+    }
+
+    @Benchmark
+    public Connection pollRelease() throws Exception {
+        final Connection connection = pool.poll();
+        if (connection != null) {
+            pool.release(connection);
+        }
+        return connection;
+    }
+}
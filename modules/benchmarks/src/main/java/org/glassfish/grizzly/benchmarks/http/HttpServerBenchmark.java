@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.http.server.HttpHandler;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.grizzly.http.server.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end "plaintext" scenario: an {@link HttpServer} answering {@code Hello, World!} to blocking loopback
+ * clients, either over a persistent (keep-alive) connection or over a new connection per request. Run with
+ * {@code -t N} to simulate N concurrent clients.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpServerBenchmark {
+
+    static final byte[] BODY = "Hello, World!".getBytes(StandardCharsets.US_ASCII);
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        HttpServer httpServer;
+        int port;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            httpServer = new HttpServer();
+            final NetworkListener listener = new NetworkListener("benchmark", "127.0.0.1", 0);
+            // keep-alive connections must survive the whole measurement
+            listener.getKeepAlive().setMaxRequestsCount(-1);
+            httpServer.addListener(listener);
+            httpServer.getServerConfiguration().addHttpHandler(new HttpHandler() {
+                @Override
+                public void service(final Request request, final Response response) throws Exception {
+                    response.setContentType("text/plain");
+                    response.setContentLength(BODY.length);
+                    response.getOutputStream().write(BODY);
+                }
+            }, "/plaintext");
+            httpServer.start();
+            port = listener.getPort();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            httpServer.shutdownNow();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        @Param({ "true", "false" })
+        public boolean keepAlive;
+
+        private final byte[] readBuffer = new byte[4096];
+        private byte[] request;
+        private Socket socket;
+        private int port;
+
+        @Setup(Level.Trial)
+        public void setup(final Server server) throws IOException {
+            port = server.port;
+            request = ("GET /plaintext HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "Accept: text/plain,text/html;q=0.9,application/xhtml+xml;q=0.9,application/xml;q=0.8,*/*;q=0.7\r\n"
+                    + "Connection: " + (keepAlive ? "keep-alive" : "close") + "\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII);
+            if (keepAlive) {
+                socket = connect();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            if (socket != null) {
+                socket.close();
+            }
+        }
+
+        Socket connect() throws IOException {
+            final Socket s = new Socket("127.0.0.1", port);
+            s.setTcpNoDelay(true);
+            return s;
+        }
+
+        /**
+         * Sends the request and reads the response, which is considered complete once its body has been received.
+         */
+        int exchange(final Socket s) throws IOException {
+            final OutputStream out = s.getOutputStream();
+            out.write(request);
+            out.flush();
+
+            final InputStream in = s.getInputStream();
+            int total = 0;
+            while (!endsWithBody(readBuffer, total)) {
+                final int n = in.read(readBuffer, total, readBuffer.length - total);
+                if (n < 0) {
+                    throw new IOException("Connection closed before the response was complete");
+                }
+                total += n;
+            }
+
+            return total;
+        }
+
+        private static boolean endsWithBody(final byte[] buffer, final int length) {
+            if (length < BODY.length) {
+                return false;
+            }
+            for (int i = 0; i < BODY.length; i++) {
+                if (buffer[length - BODY.length + i] != BODY[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Benchmark
+    public int plaintext(final Client client) throws IOException {
+        if (client.keepAlive) {
+            return client.exchange(client.socket);
+        }
+
+        try (Socket s = client.connect()) {
+            return client.exchange(s);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.http.server.util.Mapper;
+import org.glassfish.grizzly.http.server.util.MappingData;
+import org.glassfish.grizzly.http.util.DataChunk;
+import org.glassfish.grizzly.utils.Charsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Mapper#map(DataChunk, DataChunk, MappingData)} on a host with 50 contexts and about 3000 servlet
+ * mappings, resolving a mix of exact, prefix, extension and default servlet matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final String HOST = "www.example.com";
+    private static final int CONTEXTS = 50;
+    private static final int RESOURCES = 40;
+    private static final String[] EXTENSIONS = { "jsp", "jspx", "do", "action", "json", "xml", "faces", "xhtml" };
+
+    private final Mapper mapper = new Mapper();
+    private final MappingData mappingData = new MappingData();
+    private final DataChunk host = DataChunk.newInstance();
+    private DataChunk[] uris;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        mapper.setDefaultHostName(HOST);
+        mapper.addHost(HOST, new String[0], HOST);
+        mapper.addContext(HOST, "", "ROOT", new String[0], null);
+        mapper.addWrapper(HOST, "", "/", "default");
+
+        final List<String> paths = new ArrayList<>();
+        for (int c = 0; c < CONTEXTS; c++) {
+            final String context = "/app" + c;
+            mapper.addContext(HOST, context, context, new String[0], null);
+            mapper.addWrapper(HOST, context, "/", "default");
+            for (String extension : EXTENSIONS) {
+                mapper.addWrapper(HOST, context, "*." + extension, extension);
+            }
+            for (int r = 0; r < RESOURCES; r++) {
+                mapper.addWrapper(HOST, context, "/api/v1/resource" + r, "exact");
+                mapper.addWrapper(HOST, context, "/service" + r + "/*", "prefix");
+                if (r % 4 == 0) {
+                    mapper.addWrapper(HOST, context, "/service" + r + "/admin/reports/*", "nested");
+                }
+            }
+
+            paths.add(context + "/api/v1/resource" + c % RESOURCES);
+            paths.add(context + "/service" + c % RESOURCES + "/orders/" + c);
+            paths.add(context + "/service" + c / 4 * 4 % RESOURCES + "/admin/reports/daily");
+            paths.add(context + "/pages/catalog/item" + c + "." + EXTENSIONS[c % EXTENSIONS.length]);
+            paths.add(context + "/static/css/site" + c + ".css");
+        }
+        paths.add("/favicon.ico");
+
+        host.setBytes(HOST.getBytes(Charsets.ASCII_CHARSET));
+        host.toChars(Charsets.ASCII_CHARSET);
+        uris = new DataChunk[paths.size()];
+        for (int i = 0; i < uris.length; i++) {
+            uris[i] = DataChunk.newInstance();
+            uris[i].setBytes(paths.get(i).getBytes(Charsets.UTF8_CHARSET));
+            uris[i].toChars(Charsets.UTF8_CHARSET);
+        }
+    }
+
+    @Benchmark
+    public Object map() throws Exception {
+        final DataChunk uri = uris[next];
+        next = next + 1 == uris.length ? 0 : next + 1;
+        mappingData.recycle();
+        mapper.map(host, uri, mappingData);
+        return mappingData.wrapper;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http.util.Parameters;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing a URL encoded form post with eager and lazy {@link Parameters}, reading a single field or all of
+ * them. Run with {@code -prof gc} to see the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParametersBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean lazy;
+
+    @Param({ "10", "50", "200" })
+    public int fields;
+
+    private final Parameters parameters = new Parameters();
+
+    private Buffer form;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        names = new String[fields];
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields; i++) {
+            names[i] = "field" + i;
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append(names[i]).append('=');
+            // a mix of plain and encoded values, as submitted by browsers
+            sb.append(i % 3 == 0 ? "some+text+with+spaces%2C+and+punctuation%21" : "value" + i);
+        }
+        form = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+        parameters.setLazy(lazy);
+    }
+
+    @Benchmark
+    public String readOne() {
+        parse();
+        return parameters.getParameter(names[fields / 2]);
+    }
+
+    @Benchmark
+    public void readAll(final Blackhole blackhole) {
+        parse();
+        for (final String name : parameters.getParameterNames()) {
+            blackhole.consume(parameters.getParameterValues(name));
+        }
+    }
+
+    private void parse() {
+        parameters.recycle();
+        parameters.setEncoding(StandardCharsets.UTF_8);
+        parameters.processParameters(form, 0, form.remaining());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.http.server.DefaultSessionManager;
+import org.glassfish.grizzly.http.server.OffHeapSessionStore;
+import org.glassfish.grizzly.http.server.Session;
+import org.glassfish.grizzly.http.server.ShardedSessionStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures looking up sessions by id, as done by {@code Request.getSession()}, with the sessions on heap, in the hot
+ * tier of an {@link OffHeapSessionStore}, and mostly in its cold tier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionManagerBenchmark {
+
+    private static final int SESSIONS = 100000;
+
+    @Param({ "sharded", "offheap-hot", "offheap-cold" })
+    public String store;
+
+    private DefaultSessionManager manager;
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        switch (store) {
+        case "sharded":
+            manager = new DefaultSessionManager(new ShardedSessionStore());
+            break;
+        case "offheap-hot":
+            manager = new DefaultSessionManager(new OffHeapSessionStore(2 * SESSIONS, 2 * SESSIONS, OffHeapSessionStore.DEFAULT_SLOT_SIZE));
+            break;
+        default:
+            manager = new DefaultSessionManager(new OffHeapSessionStore(SESSIONS / 100, 2 * SESSIONS, OffHeapSessionStore.DEFAULT_SLOT_SIZE));
+        }
+
+        ids = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            final Session session = manager.createSession(null);
+            session.setSessionTimeout(TimeUnit.MINUTES.toMillis(30));
+            session.setAttribute("user", "user" + i);
+            session.setAttribute("cart", new int[] { i, i + 1, i + 2 });
+            ids[i] = session.getIdInternal();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.shutdown();
+    }
+
+    @Benchmark
+    public Session getSession() {
+        return manager.getSession(null, ids[ThreadLocalRandom.current().nextInt(SESSIONS)]);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.nio.NIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+
+/**
+ * {@link NIOConnection} which is not backed by a channel, so filters can be driven directly from a benchmark thread.
+ */
+final class StandaloneConnection extends NIOConnection {
+
+    private final SocketAddress localAddress;
+    private final SocketAddress peerAddress;
+
+    StandaloneConnection() {
+        super(TCPNIOTransportBuilder.newInstance().build());
+        localAddress = new InetSocketAddress("127.0.0.1", 0);
+        peerAddress = new InetSocketAddress("127.0.0.1", 0);
+    }
+
+    @Override
+    protected void preClose() {
+    }
+
+    @Override
+    public SocketAddress getPeerAddress() {
+        return peerAddress;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public int getReadBufferSize() {
+        return 65536;
+    }
+
+    @Override
+    public void setReadBufferSize(int readBufferSize) {
+    }
+
+    @Override
+    public int getWriteBufferSize() {
+        return 65536;
+    }
+
+    @Override
+    public void setWriteBufferSize(int writeBufferSize) {
+    }
+
+    @Override
+    public void notifyCanWrite(WriteHandler handler) {
+    }
+
+    @Override
+    public void notifyCanWrite(WriteHandler handler, int length) {
+    }
+
+    @Override
+    public boolean canWrite() {
+        return true;
+    }
+
+    @Override
+    public boolean canWrite(int length) {
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.attributes.Attribute;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.HttpContent;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.http.HttpServerFilter;
+import org.glassfish.grizzly.http.util.MimeHeaders;
+import org.glassfish.grizzly.http.util.StringCache;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Measures decoding a request head and reading its URI, header names and values as Strings, with and without the
+ * {@link StringCache}. The cache hits and accesses of each iteration are reported as secondary results, their ratio
+ * is the hit ratio. Run with {@code -prof gc} to see the allocation rate and with {@code -t} to see the cache under
+ * contention.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringCacheBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean cache;
+
+    @Param({ "browser", "api" })
+    public String request;
+
+    private byte[] requestBytes;
+    private HttpServerFilter filter;
+    private StandaloneConnection connection;
+    private Attribute<Object> requestInProcessAttr;
+
+    @Setup
+    public void setup() {
+        StringCache.setByteEnabled(cache);
+        StringCache.reset();
+        requestBytes = ("browser".equals(request) ? HttpCodecFilterBenchmark.BROWSER_REQUEST : HttpCodecFilterBenchmark.API_REQUEST)
+                .getBytes(StandardCharsets.ISO_8859_1);
+        filter = new HttpServerFilter();
+        connection = new StandaloneConnection();
+        requestInProcessAttr = Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(HttpServerFilter.HTTP_SERVER_REQUEST_ATTR_NAME);
+    }
+
+    @Benchmark
+    public void decodeAndRead(final Blackhole blackhole, final CacheCounters counters) throws IOException {
+        final Buffer input = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, requestBytes);
+        final FilterChainContext ctx = FilterChainContext.create(connection);
+        ctx.setMessage(input);
+
+        filter.handleRead(ctx);
+
+        final HttpContent content = ctx.getMessage();
+        final HttpRequestPacket request = (HttpRequestPacket) content.getHttpHeader();
+        blackhole.consume(request.getRequestURI());
+        blackhole.consume(request.getQueryString());
+        final MimeHeaders headers = request.getHeaders();
+        for (int i = 0; i < headers.size(); i++) {
+            blackhole.consume(headers.getName(i).toString());
+            blackhole.consume(headers.getValue(i).toString());
+        }
+
+        // forget the parsed request, so the next invocation starts a new one on the same connection
+        requestInProcessAttr.remove(connection);
+        ctx.completeAndRecycle();
+    }
+
+    /**
+     * The cache statistics are global and JMH sums the counters of all the threads, so only the first thread reports
+     * them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CacheCounters {
+        private boolean reporting;
+        private long accessCount;
+        private long hitCount;
+
+        @Setup(Level.Iteration)
+        public void start(final ThreadParams threadParams) {
+            reporting = threadParams.getThreadIndex() == 0;
+            accessCount = StringCache.getAccessCount();
+            hitCount = StringCache.getHitCount();
+        }
+
+        /**
+         * @return the number of the String conversions served by the cache during the iteration
+         */
+        public long hits() {
+            return reporting ? StringCache.getHitCount() - hitCount : 0;
+        }
+
+        /**
+         * @return the number of the String conversions looked up in the cache during the iteration
+         */
+        public long accesses() {
+            return reporting ? StringCache.getAccessCount() - accessCount : 0;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.http.server.StaticHttpHandler;
+import org.glassfish.grizzly.ssl.SSLContextConfigurator;
+import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Static file download over TLS: a {@link StaticHttpHandler} serving a file to blocking keep-alive clients, either
+ * copying the file to buffers ({@code sendFile=false}) or, with the file-send enabled, encrypting it straight from the
+ * slices of its memory mapping. The file cache is disabled, so every request goes through the handler. The
+ * {@code bytes} counter gives the download rate; run with {@code -prof gc} to compare the allocation rates and with
+ * {@code -jvmArgsAppend -Dorg.glassfish.grizzly.ssl.SSLUtils.directOutputBuffers=true} to wrap the records into direct
+ * buffers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TlsStaticFileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({ "65536", "4194304" })
+        public int fileSize;
+
+        @Param({ "false", "true" })
+        public boolean sendFile;
+
+        HttpServer httpServer;
+        File file;
+        int port;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            file = File.createTempFile("grizzly-benchmark", ".bin");
+            file.deleteOnExit();
+            final byte[] content = new byte[fileSize];
+            new Random(0).nextBytes(content);
+            Files.write(file.toPath(), content);
+
+            httpServer = new HttpServer();
+            final NetworkListener listener = new NetworkListener("benchmark", "127.0.0.1", 0);
+            listener.getKeepAlive().setMaxRequestsCount(-1);
+            listener.setSecure(true);
+            listener.setSSLEngineConfig(new SSLEngineConfigurator(createSSLContext(), false, false, false));
+            listener.setSendFileEnabled(sendFile);
+            httpServer.addListener(listener);
+
+            final StaticHttpHandler handler = new StaticHttpHandler(file.getParent());
+            handler.setFileCacheEnabled(false);
+            httpServer.getServerConfiguration().addHttpHandler(handler, "/");
+            httpServer.start();
+            port = listener.getPort();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            httpServer.shutdownNow();
+            file.delete();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Client {
+        /**
+         * The number of the downloaded body bytes.
+         */
+        public long bytes;
+
+        private final byte[] readBuffer = new byte[65536];
+        private byte[] request;
+        private SSLSocket socket;
+
+        @Setup(Level.Trial)
+        public void setup(final Server server) throws IOException {
+            request = ("GET /" + server.file.getName() + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII);
+            socket = (SSLSocket) createSSLContext().getSocketFactory().createSocket("127.0.0.1", server.port);
+            socket.setTcpNoDelay(true);
+            socket.startHandshake();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            socket.close();
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+
+        /**
+         * Sends the request, reads the response headers and then the number of body bytes they announce.
+         */
+        int download() throws IOException {
+            final OutputStream out = socket.getOutputStream();
+            out.write(request);
+            out.flush();
+
+            final InputStream in = socket.getInputStream();
+            int total = 0;
+            int headerEnd;
+            while ((headerEnd = indexOfHeaderEnd(readBuffer, total)) == -1) {
+                total += read(in, total);
+            }
+
+            final long contentLength = contentLength(readBuffer, headerEnd);
+            long remaining = contentLength - (total - headerEnd);
+            while (remaining > 0) {
+                remaining -= read(in, 0);
+            }
+
+            bytes += contentLength;
+            return (int) contentLength;
+        }
+
+        private int read(final InputStream in, final int offset) throws IOException {
+            final int n = in.read(readBuffer, offset, readBuffer.length - offset);
+            if (n < 0) {
+                throw new IOException("Connection closed before the response was complete");
+            }
+            return n;
+        }
+
+        private static int indexOfHeaderEnd(final byte[] buffer, final int length) {
+            for (int i = 3; i < length; i++) {
+                if (buffer[i] == '\n' && buffer[i - 1] == '\r' && buffer[i - 2] == '\n' && buffer[i - 3] == '\r') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        private static long contentLength(final byte[] buffer, final int headerEnd) throws IOException {
+            final String headers = new String(buffer, 0, headerEnd, StandardCharsets.US_ASCII).toLowerCase();
+            final int idx = headers.indexOf("content-length:");
+            if (idx == -1) {
+                throw new IOException("No Content-Length in the response");
+            }
+            return Long.parseLong(headers.substring(idx + 15, headers.indexOf('\r', idx)).trim());
+        }
+    }
+
+    static SSLContext createSSLContext() throws IOException {
+        final SSLContextConfigurator configurator = new SSLContextConfigurator();
+        configurator.setKeyStoreBytes(readResource("benchmark-keystore.jks"));
+        configurator.setKeyStorePass("changeit");
+        configurator.setTrustStoreBytes(readResource("benchmark-cacerts.jks"));
+        configurator.setTrustStorePass("changeit");
+        return configurator.createSSLContext(true);
+    }
+
+    private static byte[] readResource(final String name) throws IOException {
+        try (InputStream in = TlsStaticFileBenchmark.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public int download(final Client client) throws IOException {
+        return client.download();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http2.hpack.Decoder;
+import org.glassfish.grizzly.http2.hpack.DecodingCallback;
+import org.glassfish.grizzly.http2.hpack.Encoder;
+import org.glassfish.grizzly.memory.HeapMemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the HPACK {@link Encoder} and {@link Decoder} on a header block typical for a browser request.
+ * <p>
+ * The "cold" benchmarks work against an empty dynamic table (first request on a connection), the "warm" ones against
+ * a table which already holds the request headers (subsequent requests). <tt>decodeIndexingWarm</tt> decodes a block
+ * in which every header is a literal with incremental indexing, as sent by peers that add each header to the dynamic
+ * table, against a table already holding them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HpackBenchmark {
+
+    static final int TABLE_SIZE = 4096;
+
+    static final String[][] REQUEST_HEADERS = {
+            { ":method", "GET" },
+            { ":scheme", "https" },
+            { ":authority", "shop.example.com" },
+            { ":path", "/catalog/images/product-12345.jpg?size=large&format=webp" },
+            { "user-agent", "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/118.0.0.0 Safari/537.36" },
+            { "accept", "image/avif,image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8" },
+            { "sec-fetch-site", "same-origin" },
+            { "sec-fetch-mode", "no-cors" },
+            { "referer", "https://shop.example.com/catalog/index.html" },
+            { "accept-encoding", "gzip, deflate, br" },
+            { "accept-language", "en-US,en;q=0.9,de;q=0.8" },
+            { "cookie", "JSESSIONID=6F3A1C2B9D8E7F6A5B4C3D2E1F0A9B8C; _ga=GA1.2.1234567890.1697000000; theme=dark" } };
+
+    private final HeapMemoryManager memoryManager = new HeapMemoryManager();
+
+    private Buffer headerBlock;
+    private Buffer coldHeaderBlock;
+
+    private Encoder warmEncoder;
+    private Decoder warmDecoder;
+
+    private Buffer indexingHeaderBlock;
+    private Decoder indexingDecoder;
+
+    @Setup
+    public void setup() {
+        headerBlock = memoryManager.allocate(8192);
+
+        coldHeaderBlock = memoryManager.allocate(8192);
+        encode(new Encoder(TABLE_SIZE), coldHeaderBlock);
+        coldHeaderBlock.flip();
+
+        warmEncoder = new Encoder(TABLE_SIZE);
+        warmDecoder = new Decoder(TABLE_SIZE);
+        final Buffer warmup = memoryManager.allocate(8192);
+        encode(warmEncoder, warmup);
+        warmup.flip();
+        warmDecoder.decode(warmup, true, new Callback(null));
+
+        indexingHeaderBlock = memoryManager.allocate(8192);
+        for (String[] header : REQUEST_HEADERS) {
+            indexingHeaderBlock.put((byte) 0x40);
+            putString(indexingHeaderBlock, header[0]);
+            putString(indexingHeaderBlock, header[1]);
+        }
+        indexingHeaderBlock.flip();
+        indexingDecoder = new Decoder(TABLE_SIZE);
+        indexingDecoder.decode(indexingHeaderBlock, true, new Callback(null));
+    }
+
+    @Benchmark
+    public Buffer encodeCold() {
+        headerBlock.clear();
+        encode(new Encoder(TABLE_SIZE), headerBlock);
+        return headerBlock;
+    }
+
+    @Benchmark
+    public Buffer encodeWarm() {
+        headerBlock.clear();
+        encode(warmEncoder, headerBlock);
+        return headerBlock;
+    }
+
+    @Benchmark
+    public void decodeCold(final Blackhole blackhole) {
+        coldHeaderBlock.rewind();
+        new Decoder(TABLE_SIZE).decode(coldHeaderBlock, true, new Callback(blackhole));
+    }
+
+    @Benchmark
+    public void encodeDecodeWarm(final Blackhole blackhole) {
+        headerBlock.clear();
+        encode(warmEncoder, headerBlock);
+        headerBlock.flip();
+        warmDecoder.decode(headerBlock, true, new Callback(blackhole));
+    }
+
+    @Benchmark
+    public void decodeIndexingWarm(final Blackhole blackhole) {
+        indexingHeaderBlock.rewind();
+        indexingDecoder.decode(indexingHeaderBlock, true, new Callback(blackhole));
+    }
+
+    // literal string without Huffman encoding, RFC 7541, 5.2
+    private static void putString(final Buffer buffer, final String s) {
+        int length = s.length();
+        if (length < 127) {
+            buffer.put((byte) length);
+        } else {
+            buffer.put((byte) 127);
+            length -= 127;
+            while (length >= 128) {
+                buffer.put((byte) (length & 0x7f | 0x80));
+                length >>>= 7;
+            }
+            buffer.put((byte) length);
+        }
+        for (int i = 0; i < s.length(); i++) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    private static void encode(final Encoder encoder, final Buffer buffer) {
+        for (String[] header : REQUEST_HEADERS) {
+            encoder.header(header[0], header[1]);
+            if (!encoder.encode(buffer)) {
+                throw new IllegalStateException("Header block buffer is too small");
+            }
+        }
+    }
+
+    private static final class Callback extends DecodingCallback {
+        private final Blackhole blackhole;
+
+        Callback(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onDecoded(final CharSequence name, final CharSequence value) {
+            if (blackhole != null) {
+                blackhole.consume(name);
+                blackhole.consume(value);
+            }
+        }
+    }
+}
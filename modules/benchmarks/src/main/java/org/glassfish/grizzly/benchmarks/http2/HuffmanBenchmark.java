@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.http2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http2.hpack.Decoder;
+import org.glassfish.grizzly.http2.hpack.DecodingCallback;
+import org.glassfish.grizzly.http2.hpack.Encoder;
+import org.glassfish.grizzly.memory.HeapMemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures Huffman coding of typical header values. Each value is encoded as a literal with an indexed name, which the
+ * default {@link Encoder} always Huffman codes, so the string coding dominates both benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanBenchmark {
+
+    @Param({ "path", "cookie", "user-agent" })
+    public String header;
+
+    private final HeapMemoryManager memoryManager = new HeapMemoryManager();
+
+    private String name;
+    private String value;
+    private Encoder encoder;
+    private Decoder decoder;
+    private Buffer encoded;
+    private Buffer headerBlock;
+
+    @Setup
+    public void setup() {
+        switch (header) {
+        case "path":
+            name = ":path";
+            value = "/api/v2/catalog/products/12345/images?size=large&format=webp&quality=85&session=6F3A1C2B";
+            break;
+        case "cookie":
+            name = "cookie";
+            value = "JSESSIONID=6F3A1C2B9D8E7F6A5B4C3D2E1F0A9B8C; _ga=GA1.2.1234567890.1697000000; _gid=GA1.2.987654321.1697000000; theme=dark; "
+                    + "consent=analytics%2Cmarketing; cart=eyJpdGVtcyI6WzEyMzQ1LDY3ODkwXX0";
+            break;
+        default:
+            name = "user-agent";
+            value = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/118.0.0.0 Safari/537.36";
+        }
+
+        encoder = new Encoder(0);
+        decoder = new Decoder(0);
+        headerBlock = memoryManager.allocate(1024);
+        encoded = memoryManager.allocate(1024);
+        encode(encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public Buffer encode() {
+        headerBlock.clear();
+        encode(headerBlock);
+        return headerBlock;
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+        encoded.rewind();
+        decoder.decode(encoded, true, new DecodingCallback() {
+            @Override
+            public void onDecoded(CharSequence name, CharSequence value) {
+                blackhole.consume(value);
+            }
+        });
+    }
+
+    private void encode(final Buffer buffer) {
+        encoder.header(name, value);
+        if (!encoder.encode(buffer)) {
+            throw new IllegalStateException("Header block buffer is too small");
+        }
+    }
+}
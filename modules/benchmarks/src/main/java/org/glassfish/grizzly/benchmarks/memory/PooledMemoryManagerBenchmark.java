@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.PooledMemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PooledMemoryManager#allocate(int)} / {@link PooledMemoryManager#release(Buffer)} round trips for
+ * sizes served by a single pool, by a larger pool and by a composite of pooled buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledMemoryManagerBenchmark {
+
+    @Param({ "512", "4096", "16384", "65536" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean direct;
+
+    private PooledMemoryManager memoryManager;
+
+    @Setup
+    public void setup() {
+        memoryManager = new PooledMemoryManager(direct);
+    }
+
+    @Benchmark
+    public Buffer allocateRelease() {
+        final Buffer buffer = memoryManager.allocate(size);
+        memoryManager.release(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Buffer allocateReleaseContended() {
+        final Buffer buffer = memoryManager.allocate(size);
+        memoryManager.release(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Buffer allocateAtLeastRelease() {
+        final Buffer buffer = memoryManager.allocateAtLeast(size);
+        memoryManager.release(buffer);
+        return buffer;
+    }
+}
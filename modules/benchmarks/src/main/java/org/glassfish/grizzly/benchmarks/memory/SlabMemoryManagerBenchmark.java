@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.memory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.memory.PooledMemoryManager;
+import org.glassfish.grizzly.memory.SlabMemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link SlabMemoryManager} with the direct {@link PooledMemoryManager} on allocate / write / release round
+ * trips. Sizes above the biggest pool (64 KiB) are served by composite buffers in the pooled manager, but by single
+ * slab buffers in the slab one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlabMemoryManagerBenchmark {
+
+    @Param({ "512", "16384", "262144", "1048576" })
+    public int size;
+
+    @Param({ "pooled", "slab" })
+    public String manager;
+
+    private MemoryManager<Buffer> memoryManager;
+
+    @Setup
+    public void setup() {
+        memoryManager = "slab".equals(manager) ? new SlabMemoryManager() : new PooledMemoryManager(true);
+    }
+
+    @Benchmark
+    public Buffer allocateAtLeastRelease() {
+        final Buffer buffer = memoryManager.allocateAtLeast(size);
+        memoryManager.release(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Buffer allocateAtLeastReleaseContended() {
+        final Buffer buffer = memoryManager.allocateAtLeast(size);
+        memoryManager.release(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public long allocateWriteRelease() {
+        final Buffer buffer = memoryManager.allocate(size);
+        buffer.putLong(0, size);
+        buffer.putLong(size - 8, size);
+        final long result = buffer.getLong(size - 8);
+        memoryManager.release(buffer);
+        return result;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.filterchain.BaseFilter;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.filterchain.NextAction;
+import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.memory.CompositeBuffer;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOServerConnection;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
+import org.glassfish.grizzly.nio.transport.TCPNIOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TCPNIOUtils#writeCompositeBuffer(TCPNIOConnection, CompositeBuffer)} over a loopback socket. The
+ * composite is made of a small "header" buffer followed by {@code chunks} body buffers, the way HTTP responses usually
+ * reach the transport. The peer discards everything it reads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TCPNIOUtilsBenchmark {
+
+    @Param({ "1", "4", "16" })
+    public int chunks;
+
+    @Param({ "1024", "8192" })
+    public int chunkSize;
+
+    private TCPNIOTransport serverTransport;
+    private TCPNIOTransport clientTransport;
+    private TCPNIOConnection connection;
+    private CompositeBuffer composite;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        serverTransport = TCPNIOTransportBuilder.newInstance().build();
+        serverTransport.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).add(new DiscardFilter()).build());
+        final TCPNIOServerConnection serverConnection = serverTransport.bind(new InetSocketAddress("127.0.0.1", 0));
+        serverTransport.start();
+        final int port = ((InetSocketAddress) serverConnection.getLocalAddress()).getPort();
+
+        clientTransport = TCPNIOTransportBuilder.newInstance().build();
+        clientTransport.setProcessor(FilterChainBuilder.stateless().add(new TransportFilter()).add(new DiscardFilter()).build());
+        clientTransport.start();
+        connection = (TCPNIOConnection) clientTransport.connect("127.0.0.1", port).get(10, TimeUnit.SECONDS);
+
+        final MemoryManager memoryManager = clientTransport.getMemoryManager();
+        final Buffer[] buffers = new Buffer[chunks + 1];
+        buffers[0] = filled(memoryManager, 256);
+        for (int i = 1; i < buffers.length; i++) {
+            buffers[i] = filled(memoryManager, chunkSize);
+        }
+        composite = CompositeBuffer.newBuffer(memoryManager, buffers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connection.closeSilently();
+        clientTransport.shutdownNow();
+        serverTransport.shutdownNow();
+    }
+
+    @Benchmark
+    public int writeCompositeBuffer() throws IOException {
+        composite.position(0);
+        int written = 0;
+        while (composite.hasRemaining()) {
+            final int n = TCPNIOUtils.writeCompositeBuffer(connection, composite);
+            if (n == 0) {
+                Thread.onSpinWait();
+            }
+            written += n;
+        }
+
+        return written;
+    }
+
+    private static Buffer filled(final MemoryManager memoryManager, final int size) {
+        final Buffer buffer = memoryManager.allocate(size);
+        for (int i = 0; i < size; i++) {
+            buffer.put(i, (byte) ('a' + i % 26));
+        }
+        return buffer;
+    }
+
+    private static final class DiscardFilter extends BaseFilter {
+        @Override
+        public NextAction handleRead(final FilterChainContext ctx) throws IOException {
+            final Buffer buffer = ctx.getMessage();
+            buffer.tryDispose();
+            return ctx.getStopAction();
+        }
+    }
+}
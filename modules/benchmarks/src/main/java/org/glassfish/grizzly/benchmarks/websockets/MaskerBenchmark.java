@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.websockets;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.websockets.Constants;
+import org.glassfish.grizzly.websockets.Masker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Masker} unmasking of a client frame payload (4 bytes of mask followed by the masked payload), masking
+ * of an outbound payload and in place unmasking of heap and direct {@link Buffer}s. The <tt>bytewise</tt> benchmark is
+ * the byte-at-a-time loop the word-at-a-time masking is compared to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskerBenchmark {
+
+    @Param({ "16", "128", "1024", "16384", "65536" })
+    public int payloadSize;
+
+    private Buffer frame;
+    private byte[] payload;
+    private byte[] target;
+    private Buffer mask;
+    private Buffer heapPayload;
+    private Buffer directPayload;
+
+    @Setup
+    public void setup() {
+        final byte[] bytes = new byte[4 + payloadSize];
+        new Random(42).nextBytes(bytes);
+        frame = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, bytes);
+
+        payload = new byte[payloadSize];
+        new Random(7).nextBytes(payload);
+        target = new byte[payloadSize];
+        mask = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, new Masker().getMask());
+
+        heapPayload = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, payload.clone());
+        final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(payloadSize);
+        byteBuffer.put(payload).flip();
+        directPayload = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, byteBuffer);
+    }
+
+    @Benchmark
+    public byte[] unmask() {
+        frame.rewind();
+        final Masker unmasker = new Masker(frame);
+        unmasker.readMask();
+        return unmasker.unmask(payloadSize);
+    }
+
+    @Benchmark
+    public byte[] mask() {
+        mask.rewind();
+        final Masker masker = new Masker(mask);
+        masker.readMask();
+        masker.mask(target, 0, payload);
+        return target;
+    }
+
+    @Benchmark
+    public byte[] bytewise() {
+        mask.rewind();
+        final byte[] maskBytes = new byte[Constants.MASK_SIZE];
+        mask.get(maskBytes);
+        int index = 0;
+        for (int i = 0; i < payload.length; i++) {
+            target[i] = (byte) (payload[i] ^ maskBytes[index++ % Constants.MASK_SIZE]);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public Buffer unmaskHeapInPlace() {
+        mask.rewind();
+        final Masker masker = new Masker(mask);
+        masker.readMask();
+        masker.mask(heapPayload, 0, payloadSize);
+        return heapPayload;
+    }
+
+    @Benchmark
+    public Buffer unmaskDirectInPlace() {
+        mask.rewind();
+        final Masker masker = new Masker(mask);
+        masker.readMask();
+        masker.mask(directPayload, 0, payloadSize);
+        return directPayload;
+    }
+}
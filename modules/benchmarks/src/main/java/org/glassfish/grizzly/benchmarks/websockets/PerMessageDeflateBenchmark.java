@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.websockets;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.websockets.Extension;
+import org.glassfish.grizzly.websockets.PerMessageDeflate;
+import org.glassfish.grizzly.websockets.rfc6455.RFC6455Handler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the server side framing of a broadcast message the way {@link org.glassfish.grizzly.websockets.OptimizedBroadcaster}
+ * does it: uncompressed and compressed without context takeover frames are built once for all the recipients, the
+ * frames compressed with context takeover are built per recipient. The bytes written to all the recipients and the
+ * number of broadcasts are reported as secondary results, their ratio is the bytes per broadcast, so the CPU cost could
+ * be compared to the saved bandwidth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerMessageDeflateBenchmark {
+
+    @Param({ "none", "no-context-takeover", "context-takeover" })
+    public String compression;
+
+    @Param({ "128", "4096", "65536" })
+    public int messageSize;
+
+    @Param({ "100" })
+    public int recipients;
+
+    @Param({ "1", "6" })
+    public int level;
+
+    private RFC6455Handler[] handlers;
+    private String[] messages;
+    private int messageIdx;
+
+    @Setup
+    public void setup() {
+        final boolean isShared = !"context-takeover".equals(compression);
+        handlers = new RFC6455Handler[isShared ? 1 : recipients];
+        for (int i = 0; i < handlers.length; i++) {
+            handlers[i] = new RFC6455Handler(false);
+            if (!"none".equals(compression)) {
+                final Extension negotiated = new Extension(PerMessageDeflate.NAME);
+                if (isShared) {
+                    negotiated.getParameters().add(new Extension.Parameter(PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER, null));
+                }
+                final PerMessageDeflate deflate = new PerMessageDeflate(true, negotiated);
+                deflate.setCompressionLevel(level);
+                handlers[i].setPerMessageDeflate(deflate);
+            }
+        }
+
+        // JSON-like market updates: the same keys, varying values
+        final Random random = new Random(42);
+        messages = new String[16];
+        for (int i = 0; i < messages.length; i++) {
+            final StringBuilder sb = new StringBuilder(messageSize);
+            sb.append('[');
+            while (sb.length() < messageSize) {
+                sb.append("{\"symbol\":\"S").append(random.nextInt(500)).append("\",\"bid\":").append(random.nextInt(100000) / 100.0)
+                        .append(",\"ask\":").append(random.nextInt(100000) / 100.0).append(",\"volume\":").append(random.nextInt(1000000))
+                        .append("},");
+            }
+            sb.setLength(messageSize - 1);
+            sb.append(']');
+            messages[i] = sb.toString();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (RFC6455Handler handler : handlers) {
+            if (handler.getPerMessageDeflate() != null) {
+                handler.getPerMessageDeflate().release();
+            }
+        }
+    }
+
+    @Benchmark
+    public long broadcast(final WireCounters counters) {
+        final String message = messages[messageIdx++ & (messages.length - 1)];
+        long bytes = 0;
+        if (handlers.length == 1) {
+            final RFC6455Handler handler = handlers[0];
+            bytes = (long) handler.frame(handler.toDataFrame(message)).length * recipients;
+        } else {
+            for (RFC6455Handler handler : handlers) {
+                bytes += handler.frame(handler.toDataFrame(message)).length;
+            }
+        }
+
+        counters.wireBytes += bytes;
+        counters.broadcasts++;
+        return bytes;
+    }
+
+    /**
+     * JMH sums the counters of all the threads and resets them before every iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireCounters {
+        /**
+         * The bytes written to all the recipients.
+         */
+        public long wireBytes;
+
+        /**
+         * The number of the broadcasted messages.
+         */
+        public long broadcasts;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.benchmarks.websockets;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.websockets.Utf8Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares validating a text frame payload with {@link Utf8Validator} to decoding it with a {@link CharsetDecoder},
+ * which is what text frames went through before. <tt>ascii</tt> payloads are JSON-like ASCII text, <tt>mixed</tt>
+ * payloads contain 2, 3 and 4 byte sequences as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8ValidatorBenchmark {
+
+    @Param({ "ascii", "mixed" })
+    public String text;
+
+    @Param({ "128", "4096", "65536" })
+    public int payloadSize;
+
+    private byte[] payload;
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+    private Utf8Validator validator;
+
+    @Setup
+    public void setup() {
+        final String chunk = "ascii".equals(text) ? "{\"symbol\":\"GRZL\",\"price\":42.17,\"volume\":100500}," : "{\"name\":\"Grüße\",\"city\":\"東京\",\"mood\":\"😀\"},";
+        final StringBuilder sb = new StringBuilder();
+        while (sb.toString().getBytes(StandardCharsets.UTF_8).length < payloadSize) {
+            sb.append(chunk);
+        }
+        payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+        chars = CharBuffer.allocate(payload.length);
+        validator = new Utf8Validator();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        validator.reset();
+        return validator.validate(payload, 0, payload.length) && validator.isComplete();
+    }
+
+    @Benchmark
+    public String decode() throws CharacterCodingException {
+        decoder.reset();
+        chars.clear();
+        final CoderResult result = decoder.decode(ByteBuffer.wrap(payload), chars, true);
+        if (result.isError()) {
+            result.throwException();
+        }
+        return chars.flip().toString();
+    }
+}
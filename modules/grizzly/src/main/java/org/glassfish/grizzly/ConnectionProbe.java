@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -104,6 +105,17 @@ public interface ConnectionProbe {
      */
     void onIOEventDisableEvent(Connection connection, IOEvent ioEvent);
 
+    /**
+     * Method will be called, when several queued write records of the {@link Connection} have been written using a single
+     * gathering write.
+     *
+     * @param connection {@link Connection}, the event belongs to.
+     * @param records number of the write records, the write covered.
+     * @param size number of bytes written.
+     */
+    default void onWriteCoalescedEvent(Connection connection, int records, long size) {
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     /**
@@ -187,6 +199,13 @@ public interface ConnectionProbe {
         public void onIOEventDisableEvent(Connection connection, IOEvent ioEvent) {
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onWriteCoalescedEvent(Connection connection, int records, long size) {
+        }
+
     } // END Adapter
 
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,6 +44,45 @@ public interface MemoryProbe {
      */
     void onBufferReleaseToPoolEvent(int size);
 
+    /**
+     * Called by {@link MemoryManager}, when buffer gets allocated from an arena. The difference between the buffer size
+     * and the requested size is the internal fragmentation caused by the buffer.
+     *
+     * @param arena the arena index
+     * @param requestedSize the requested size
+     * @param size buffer size
+     */
+    default void onBufferAllocateFromArenaEvent(int arena, int requestedSize, int size) {
+    }
+
+    /**
+     * Called by {@link MemoryManager}, when buffer gets released into an arena
+     *
+     * @param arena the arena index
+     * @param requestedSize the size, which was requested, when the buffer was allocated
+     * @param size buffer size
+     */
+    default void onBufferReleaseToArenaEvent(int arena, int requestedSize, int size) {
+    }
+
+    /**
+     * Called by {@link MemoryManager}, when an arena allocates a new slab of memory to carve buffers from
+     *
+     * @param arena the arena index
+     * @param size slab size
+     */
+    default void onSlabAllocateEvent(int arena, int size) {
+    }
+
+    /**
+     * Called by {@link MemoryManager}, when an arena releases a slab of memory
+     *
+     * @param arena the arena index
+     * @param size slab size
+     */
+    default void onSlabReleaseEvent(int arena, int size) {
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     /**
@@ -77,5 +117,33 @@ public interface MemoryProbe {
         public void onBufferReleaseToPoolEvent(int size) {
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onBufferAllocateFromArenaEvent(int arena, int requestedSize, int size) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onBufferReleaseToArenaEvent(int arena, int requestedSize, int size) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onSlabAllocateEvent(int arena, int size) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onSlabReleaseEvent(int arena, int size) {
+        }
+
     } // END Adapter
 }
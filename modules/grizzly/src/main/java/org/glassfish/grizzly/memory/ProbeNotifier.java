@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -70,4 +71,70 @@ final class ProbeNotifier {
         }
     }
 
+    /**
+     * Notify registered {@link MemoryProbe}s about the "allocated from arena" event.
+     *
+     * @param arena the arena index
+     * @param requestedSize the requested size
+     * @param size buffer size
+     */
+    static void notifyBufferAllocatedFromArena(final DefaultMonitoringConfig<MemoryProbe> config, final int arena, final int requestedSize, final int size) {
+
+        final MemoryProbe[] probes = config.getProbesUnsafe();
+        if (probes != null) {
+            for (MemoryProbe probe : probes) {
+                probe.onBufferAllocateFromArenaEvent(arena, requestedSize, size);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link MemoryProbe}s about the "release to arena" event.
+     *
+     * @param arena the arena index
+     * @param requestedSize the requested size
+     * @param size buffer size
+     */
+    static void notifyBufferReleasedToArena(final DefaultMonitoringConfig<MemoryProbe> config, final int arena, final int requestedSize, final int size) {
+
+        final MemoryProbe[] probes = config.getProbesUnsafe();
+        if (probes != null) {
+            for (MemoryProbe probe : probes) {
+                probe.onBufferReleaseToArenaEvent(arena, requestedSize, size);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link MemoryProbe}s about the "slab allocated" event.
+     *
+     * @param arena the arena index
+     * @param size slab size
+     */
+    static void notifySlabAllocated(final DefaultMonitoringConfig<MemoryProbe> config, final int arena, final int size) {
+
+        final MemoryProbe[] probes = config.getProbesUnsafe();
+        if (probes != null) {
+            for (MemoryProbe probe : probes) {
+                probe.onSlabAllocateEvent(arena, size);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link MemoryProbe}s about the "slab released" event.
+     *
+     * @param arena the arena index
+     * @param size slab size
+     */
+    static void notifySlabReleased(final DefaultMonitoringConfig<MemoryProbe> config, final int arena, final int size) {
+
+        final MemoryProbe[] probes = config.getProbesUnsafe();
+        if (probes != null) {
+            for (MemoryProbe probe : probes) {
+                probe.onSlabReleaseEvent(arena, size);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,801 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringUtils;
+
+/**
+ * A {@link MemoryManager} implementation, which carves direct memory into slabs of size-classed buffers.
+ * <p>
+ * The memory is split into a number of arenas. Every thread, which allocates a buffer, gets bound to the arena with the
+ * fewest bound threads, so the selector and worker threads of a transport allocate from their own arena as long as
+ * there are enough arenas. A thread, which has died, is not counted anymore once its binding is garbage collected.
+ * <p>
+ * Each arena keeps a list of partially used slabs per size class, the size classes are the powers of two between the
+ * min and the max buffer size. A slab is a direct {@link ByteBuffer} of the fixed slab size, which is divided into the
+ * buffers of a single size class. Once all the buffers of a slab are released, the slab is kept in the arena to be
+ * re-divided for any size class, or is dropped if the arena already keeps the max number of empty slabs. Buffers may
+ * be released by any thread, they always return to the arena they were allocated from.
+ * <p>
+ * {@link #allocateAtLeast(int)} returns a single buffer for any size up to the max buffer size, only bigger sizes are
+ * served by {@link CompositeBuffer}s.
+ * <p>
+ * If no explicit configuration is provided, the following defaults will be used:
+ * <ul>
+ * <li>Min buffer size: 512 bytes ({@link #DEFAULT_MIN_BUFFER_SIZE})</li>
+ * <li>Max buffer size: 1 MiB ({@link #DEFAULT_MAX_BUFFER_SIZE})</li>
+ * <li>Slab size: 1 MiB ({@link #DEFAULT_SLAB_SIZE})</li>
+ * <li>Number of arenas: based on the return value of <code>Runtime.getRuntime().availableProcessors()</code></li>
+ * <li>Max number of empty slabs kept per arena: 1 ({@link #DEFAULT_MAX_EMPTY_SLABS})</li>
+ * </ul>
+ *
+ * Besides the {@link MemoryProbe} buffer and slab events, the manager exposes the memory reserved by the arenas and
+ * the fragmentation, i.e. the share of the reserved memory, which was not requested by the buffer users.
+ */
+public class SlabMemoryManager implements MemoryManager<Buffer>, WrapperAware {
+
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 512;
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_EMPTY_SLABS = 1;
+
+    /**
+     * Basic monitoring support. Concrete implementations of this class need only to implement the
+     * {@link #createJmxManagementObject()} method to plug into the Grizzly 2.0 JMX framework.
+     */
+    protected final DefaultMonitoringConfig<MemoryProbe> monitoringConfig = new DefaultMonitoringConfig<MemoryProbe>(MemoryProbe.class) {
+
+        @Override
+        public Object createManagementObject() {
+            return createJmxManagementObject();
+        }
+
+    };
+
+    private final int minBufferSizeShift;
+    private final int maxBufferSize;
+    private final int slabSize;
+    private final int maxEmptySlabs;
+    private final int numberOfSizeClasses;
+
+    private final Arena[] arenas;
+    private final ThreadLocal<ArenaBinding> boundArena = new ThreadLocal<>();
+    // the bindings of the threads, which have died, are enqueued once the garbage collector finds them
+    private final ReferenceQueue<ArenaBinding> releasedBindings = new ReferenceQueue<>();
+    private final Set<BindingReference> bindingReferences = ConcurrentHashMap.newKeySet();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Creates a new <code>SlabMemoryManager</code> using the following defaults:
+     * <ul>
+     * <li>512 bytes min buffer size</li>
+     * <li>1 MiB max buffer size</li>
+     * <li>1 MiB slab size</li>
+     * <li>Number of arenas based on <code>Runtime.getRuntime().availableProcessors()</code></li>
+     * <li>One empty slab kept per arena</li>
+     * </ul>
+     */
+    public SlabMemoryManager() {
+        this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_SLAB_SIZE, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_EMPTY_SLABS);
+    }
+
+    /**
+     * Creates a new <code>SlabMemoryManager</code> using the specified parameters for configuration.
+     *
+     * @param minBufferSize the size of the smallest size class, must be a power of two
+     * @param maxBufferSize the size of the biggest size class, must be a power of two, bigger allocations are served by
+     * {@link CompositeBuffer}s
+     * @param slabSize the size of the direct memory chunk every slab is carved from, must be a multiple of the
+     * <tt>maxBufferSize</tt>
+     * @param numberOfArenas the number of arenas, the allocating threads are spread across
+     * @param maxEmptySlabs the max number of completely free slabs an arena keeps for reuse
+     */
+    public SlabMemoryManager(final int minBufferSize, final int maxBufferSize, final int slabSize, final int numberOfArenas, final int maxEmptySlabs) {
+        if (minBufferSize <= 0 || Integer.bitCount(minBufferSize) != 1) {
+            throw new IllegalArgumentException("minBufferSize must be a power of two");
+        }
+        if (maxBufferSize < minBufferSize || Integer.bitCount(maxBufferSize) != 1) {
+            throw new IllegalArgumentException("maxBufferSize must be a power of two, not less than minBufferSize");
+        }
+        if (slabSize < maxBufferSize || slabSize % maxBufferSize != 0) {
+            throw new IllegalArgumentException("slabSize must be a multiple of maxBufferSize");
+        }
+        if (numberOfArenas <= 0) {
+            throw new IllegalArgumentException("numberOfArenas must be greater than zero");
+        }
+        if (maxEmptySlabs < 0) {
+            throw new IllegalArgumentException("maxEmptySlabs must be greater than or equal to zero");
+        }
+
+        this.minBufferSizeShift = Integer.numberOfTrailingZeros(minBufferSize);
+        this.maxBufferSize = maxBufferSize;
+        this.slabSize = slabSize;
+        this.maxEmptySlabs = maxEmptySlabs;
+        this.numberOfSizeClasses = Integer.numberOfTrailingZeros(maxBufferSize) - minBufferSizeShift + 1;
+
+        arenas = new Arena[numberOfArenas];
+        for (int i = 0; i < numberOfArenas; i++) {
+            arenas[i] = new Arena(i);
+        }
+    }
+
+    // ---------------------------------------------- Methods from MemoryManager
+
+    /**
+     * For this implementation, this method simply calls through to {@link #allocateAtLeast(int)};
+     */
+    @Override
+    public Buffer allocate(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Requested allocation size must be greater than or equal to zero.");
+        }
+        return allocateAtLeast(size).limit(size);
+    }
+
+    /**
+     * Allocates a buffer of at least the size requested. The buffer is taken from the arena the current thread is bound
+     * to, sizes up to the max buffer size are always served by a single, non-composite buffer.
+     * <p/>
+     * Keep in mind that the capacity of the buffer may be greater than the allocation request. The memory beyond the
+     * requested size, is available for use.
+     *
+     * @param size the min {@link Buffer} size to be allocated.
+     * @return a buffer of at least the specified <tt>size</tt>.
+     */
+    @Override
+    public Buffer allocateAtLeast(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Requested allocation size must be greater than or equal to zero.");
+        }
+
+        if (size == 0) {
+            return Buffers.EMPTY_BUFFER;
+        }
+
+        return size <= maxBufferSize ? arena().allocate(size) : allocateToCompositeBuffer(newCompositeBuffer(), size);
+    }
+
+    /**
+     * Reallocates an existing buffer to at least the specified size. The buffer is kept if the new size belongs to the
+     * same size class, otherwise the content is copied to a buffer of the new size class.
+     *
+     * @param oldBuffer old {@link Buffer} to be reallocated.
+     * @param newSize new {@link Buffer} required size.
+     *
+     * @return potentially a new buffer of at least the specified size.
+     */
+    @Override
+    public Buffer reallocate(final Buffer oldBuffer, final int newSize) {
+        if (newSize == 0) {
+            oldBuffer.tryDispose();
+            return Buffers.EMPTY_BUFFER;
+        }
+
+        final int curBufSize = oldBuffer.capacity();
+
+        if (oldBuffer.isComposite()) {
+            final CompositeBuffer oldCompositeBuffer = (CompositeBuffer) oldBuffer;
+            if (curBufSize > newSize) {
+                final int oldPos = oldCompositeBuffer.position();
+                Buffers.setPositionLimit(oldBuffer, newSize, newSize);
+                oldCompositeBuffer.trim();
+                oldCompositeBuffer.position(Math.min(oldPos, newSize));
+
+                return oldCompositeBuffer;
+            } else {
+                return allocateToCompositeBuffer(oldCompositeBuffer, newSize - curBufSize);
+            }
+        }
+
+        if (oldBuffer instanceof SlabBuffer && newSize <= curBufSize) {
+            final Slab slab = ((SlabBuffer) oldBuffer).slab;
+            if (slab != null && sizeClassOf(newSize) == slab.sizeClass) {
+                return oldBuffer.limit(newSize);
+            }
+        }
+
+        final int pos = Math.min(oldBuffer.position(), newSize);
+        Buffers.setPositionLimit(oldBuffer, 0, Math.min(curBufSize, newSize));
+
+        if (newSize <= maxBufferSize) {
+            final Buffer newBuffer = arena().allocate(newSize);
+            newBuffer.put(oldBuffer);
+            Buffers.setPositionLimit(newBuffer, pos, newSize);
+
+            oldBuffer.tryDispose();
+
+            return newBuffer;
+        } else {
+            final CompositeBuffer cb = newCompositeBuffer();
+            cb.append(oldBuffer);
+            allocateToCompositeBuffer(cb, newSize - curBufSize);
+            Buffers.setPositionLimit(cb, pos, newSize);
+            return cb;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(final Buffer buffer) {
+        buffer.tryDispose();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean willAllocateDirect(final int size) {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MonitoringConfig<MemoryProbe> getMonitoringConfig() {
+        return monitoringConfig;
+    }
+
+    // ----------------------------------------------- Methods from WrapperAware
+
+    @Override
+    public Buffer wrap(final byte[] data) {
+        return wrap(ByteBuffer.wrap(data));
+    }
+
+    @Override
+    public Buffer wrap(byte[] data, int offset, int length) {
+        return wrap(ByteBuffer.wrap(data, offset, length));
+    }
+
+    @Override
+    public Buffer wrap(final String s) {
+        return wrap(s.getBytes(Charset.defaultCharset()));
+    }
+
+    @Override
+    public Buffer wrap(final String s, final Charset charset) {
+        return wrap(s.getBytes(charset));
+    }
+
+    @Override
+    public Buffer wrap(final ByteBuffer byteBuffer) {
+        return new ByteBufferWrapper(byteBuffer);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the max buffer size, which is allocated without {@link CompositeBuffer}s
+     */
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * @return the size of the direct memory chunk every slab is carved from
+     */
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * @return the number of arenas
+     */
+    public int getNumberOfArenas() {
+        return arenas.length;
+    }
+
+    /**
+     * @return the number of threads, which are bound to the arena
+     */
+    public int getArenaThreadsCount(final int arena) {
+        unbindReleased();
+        return arenas[arena].threadsCount.get();
+    }
+
+    /**
+     * @return the number of bytes of direct memory the arena holds, including the empty slabs it keeps for reuse
+     */
+    public long getArenaReservedBytes(final int arena) {
+        return arenas[arena].reservedBytes;
+    }
+
+    /**
+     * @return the number of bytes of the arena buffers, which are currently in use
+     */
+    public long getArenaAllocatedBytes(final int arena) {
+        return arenas[arena].allocatedBytes;
+    }
+
+    /**
+     * @return the number of bytes of direct memory all the arenas hold
+     */
+    public long getReservedBytes() {
+        long bytes = 0;
+        for (Arena arena : arenas) {
+            bytes += arena.reservedBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of bytes of the buffers, which are currently in use
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        for (Arena arena : arenas) {
+            bytes += arena.allocatedBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the number of bytes, which were requested for the buffers currently in use
+     */
+    public long getRequestedBytes() {
+        long bytes = 0;
+        for (Arena arena : arenas) {
+            bytes += arena.requestedBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the share of the reserved direct memory, which is not used to hold requested bytes. It covers both the
+     * internal fragmentation, the buffers bigger than requested, and the external one, the free buffers of the slabs.
+     *
+     * @return the fragmentation in the range from <tt>0</tt> to <tt>1</tt>
+     */
+    public double getFragmentation() {
+        long reserved = 0;
+        long requested = 0;
+        for (Arena arena : arenas) {
+            reserved += arena.reservedBytes;
+            requested += arena.requestedBytes;
+        }
+
+        return reserved == 0 ? 0 : (double) (reserved - requested) / reserved;
+    }
+
+    // ------------------------------------------------------- Protected Methods
+
+    protected Object createJmxManagementObject() {
+        return MonitoringUtils.loadJmxObject("org.glassfish.grizzly.memory.jmx.SlabMemoryManager", this, SlabMemoryManager.class);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Arena arena() {
+        final ArenaBinding binding = boundArena.get();
+        if (binding != null) {
+            return binding.arena;
+        }
+
+        final Arena arena = bindArena();
+        final ArenaBinding newBinding = new ArenaBinding(arena);
+        bindingReferences.add(new BindingReference(newBinding, releasedBindings));
+        boundArena.set(newBinding);
+
+        return arena;
+    }
+
+    private Arena bindArena() {
+        unbindReleased();
+
+        Arena arena = arenas[0];
+        for (int i = 1; i < arenas.length; i++) {
+            if (arenas[i].threadsCount.get() < arena.threadsCount.get()) {
+                arena = arenas[i];
+            }
+        }
+
+        arena.threadsCount.incrementAndGet();
+        return arena;
+    }
+
+    private void unbindReleased() {
+        BindingReference reference;
+        while ((reference = (BindingReference) releasedBindings.poll()) != null) {
+            if (bindingReferences.remove(reference)) {
+                reference.arena.threadsCount.decrementAndGet();
+            }
+        }
+    }
+
+    private int sizeClassOf(final int size) {
+        final int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return Math.max(shift - minBufferSizeShift, 0);
+    }
+
+    private CompositeBuffer allocateToCompositeBuffer(final CompositeBuffer cb, int size) {
+
+        assert size >= 0;
+
+        final Arena arena = arena();
+        while (size >= maxBufferSize) {
+            cb.append(arena.allocate(maxBufferSize));
+            size -= maxBufferSize;
+        }
+
+        if (size > 0) {
+            cb.append(arena.allocate(size).limit(size));
+        }
+
+        return cb;
+    }
+
+    private CompositeBuffer newCompositeBuffer() {
+        final CompositeBuffer cb = CompositeBuffer.newBuffer(this);
+        cb.allowInternalBuffersDispose(true);
+        cb.allowBufferDispose(true);
+        return cb;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * The arena a thread is bound to, reachable only from the thread's locals.
+     */
+    private static final class ArenaBinding {
+        final Arena arena;
+
+        ArenaBinding(final Arena arena) {
+            this.arena = arena;
+        }
+    }
+
+    /**
+     * Enqueued once the thread, which owned the binding, has died and the binding is garbage collected.
+     */
+    private static final class BindingReference extends PhantomReference<ArenaBinding> {
+        final Arena arena;
+
+        BindingReference(final ArenaBinding binding, final ReferenceQueue<ArenaBinding> queue) {
+            super(binding, queue);
+            arena = binding.arena;
+        }
+    }
+
+    /**
+     * The set of slabs a group of threads allocates from. The arena state is guarded by its lock, which is contended only
+     * if a buffer is released by a thread bound to another arena, or if there are more allocating threads than arenas.
+     */
+    final class Arena {
+        final int index;
+        final AtomicInteger threadsCount = new AtomicInteger();
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // the heads of the lists of the slabs with free buffers, per size class
+        private final Slab[] partialSlabs = new Slab[numberOfSizeClasses];
+        private final Slab[] emptySlabs = new Slab[maxEmptySlabs];
+        private int emptySlabsCount;
+
+        volatile long reservedBytes;
+        volatile long allocatedBytes;
+        volatile long requestedBytes;
+
+        private Arena(final int index) {
+            this.index = index;
+        }
+
+        SlabBuffer allocate(final int requestedSize) {
+            final int sizeClass = sizeClassOf(requestedSize);
+            final SlabBuffer buffer;
+            boolean isNewSlab = false;
+
+            lock.lock();
+            try {
+                Slab slab = partialSlabs[sizeClass];
+                if (slab == null) {
+                    if (emptySlabsCount > 0) {
+                        slab = emptySlabs[--emptySlabsCount];
+                        emptySlabs[emptySlabsCount] = null;
+                    } else {
+                        slab = new Slab(this, ByteBuffer.allocateDirect(slabSize));
+                        reservedBytes += slabSize;
+                        isNewSlab = true;
+                    }
+
+                    slab.divide(sizeClass, 1 << sizeClass + minBufferSizeShift);
+                    link(slab);
+                }
+
+                buffer = slab.take();
+                if (slab.freeCount == 0) {
+                    unlink(slab);
+                }
+
+                buffer.requestedSize = requestedSize;
+                allocatedBytes += slab.bufferSize;
+                requestedBytes += requestedSize;
+            } finally {
+                lock.unlock();
+            }
+
+            if (isNewSlab) {
+                ProbeNotifier.notifyBufferAllocated(monitoringConfig, slabSize);
+                ProbeNotifier.notifySlabAllocated(monitoringConfig, index, slabSize);
+            }
+            ProbeNotifier.notifyBufferAllocatedFromPool(monitoringConfig, buffer.capacity());
+            ProbeNotifier.notifyBufferAllocatedFromArena(monitoringConfig, index, requestedSize, buffer.capacity());
+
+            return buffer.prepare();
+        }
+
+        void release(final SlabBuffer buffer) {
+            final Slab slab = buffer.slab;
+            final int bufferSize = slab.bufferSize;
+            final int requestedSize = buffer.requestedSize;
+            boolean isSlabDropped = false;
+
+            lock.lock();
+            try {
+                allocatedBytes -= bufferSize;
+                requestedBytes -= requestedSize;
+
+                slab.put(buffer.index);
+                if (slab.freeCount == slab.buffersCount) {
+                    if (slab.isLinked) {
+                        unlink(slab);
+                    }
+                    slab.sizeClass = -1;
+
+                    if (emptySlabsCount < emptySlabs.length) {
+                        emptySlabs[emptySlabsCount++] = slab;
+                    } else {
+                        reservedBytes -= slabSize;
+                        isSlabDropped = true;
+                    }
+                } else if (!slab.isLinked) {
+                    link(slab);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            ProbeNotifier.notifyBufferReleasedToPool(monitoringConfig, bufferSize);
+            ProbeNotifier.notifyBufferReleasedToArena(monitoringConfig, index, requestedSize, bufferSize);
+            if (isSlabDropped) {
+                ProbeNotifier.notifySlabReleased(monitoringConfig, index, slabSize);
+            }
+        }
+
+        private void link(final Slab slab) {
+            final Slab head = partialSlabs[slab.sizeClass];
+            slab.next = head;
+            if (head != null) {
+                head.prev = slab;
+            }
+            partialSlabs[slab.sizeClass] = slab;
+            slab.isLinked = true;
+        }
+
+        private void unlink(final Slab slab) {
+            if (slab.prev != null) {
+                slab.prev.next = slab.next;
+            } else {
+                partialSlabs[slab.sizeClass] = slab.next;
+            }
+            if (slab.next != null) {
+                slab.next.prev = slab.prev;
+            }
+            slab.prev = slab.next = null;
+            slab.isLinked = false;
+        }
+    } // END Arena
+
+    /**
+     * A direct memory chunk divided into the buffers of a single size class. Guarded by the owning arena lock.
+     */
+    static final class Slab {
+        final Arena arena;
+        private final ByteBuffer memory;
+
+        int sizeClass = -1;
+        int bufferSize;
+        int buffersCount;
+
+        // stack of the free buffer indexes
+        private int[] freeIndexes;
+        int freeCount;
+        // buffer wrappers are created lazily and reused, until the slab is divided for another size class
+        private SlabBuffer[] buffers;
+
+        Slab prev;
+        Slab next;
+        boolean isLinked;
+
+        private Slab(final Arena arena, final ByteBuffer memory) {
+            this.arena = arena;
+            this.memory = memory;
+        }
+
+        void divide(final int sizeClass, final int bufferSize) {
+            this.sizeClass = sizeClass;
+            buffersCount = memory.capacity() / bufferSize;
+
+            if (freeIndexes == null || freeIndexes.length < buffersCount) {
+                freeIndexes = new int[buffersCount];
+                buffers = new SlabBuffer[buffersCount];
+            } else if (this.bufferSize != bufferSize) {
+                Arrays.fill(buffers, null);
+            }
+            this.bufferSize = bufferSize;
+
+            // lower indexes on top of the stack
+            for (int i = 0; i < buffersCount; i++) {
+                freeIndexes[i] = buffersCount - 1 - i;
+            }
+            freeCount = buffersCount;
+        }
+
+        SlabBuffer take() {
+            final int idx = freeIndexes[--freeCount];
+            SlabBuffer buffer = buffers[idx];
+            if (buffer == null) {
+                buffer = new SlabBuffer(memory.slice(idx * bufferSize, bufferSize), this, idx);
+                buffers[idx] = buffer;
+            }
+
+            return buffer;
+        }
+
+        void put(final int idx) {
+            freeIndexes[freeCount++] = idx;
+        }
+
+        @Override
+        public String toString() {
+            return "Slab[" + Integer.toHexString(hashCode()) + "] {" + "arena=" + arena.index + ", buffer size=" + bufferSize + ", free buffers="
+                    + freeCount + ", buffers=" + buffersCount + '}';
+        }
+    } // END Slab
+
+    static final class SlabBuffer extends ByteBufferWrapper {
+
+        // The slab this Buffer instance will be returned to, null for 'child' buffers
+        final Slab slab;
+
+        // The index of the buffer within the slab
+        final int index;
+
+        // The size requested by the allocation, the buffer is currently used for
+        int requestedSize;
+
+        // When this Buffer instance resides in the slab, this flag will
+        // be true.
+        boolean free;
+
+        // represents the number of 'child' buffers that have been created using
+        // this as the foundation. This source buffer can't be returned
+        // to the slab unless this value is zero.
+        private final AtomicInteger shareCount;
+
+        // represents the original buffer from the slab. This value will be
+        // non-null in any 'child' buffers created from the original.
+        private final SlabBuffer source;
+
+        // Used for the special case of the split() method. This maintains
+        // the original wrapper from the slab which must ultimately be returned.
+        private final ByteBuffer origVisible;
+
+        private SlabBuffer(final ByteBuffer underlyingByteBuffer, final Slab slab, final int index) {
+            this(underlyingByteBuffer, slab, index, null, new AtomicInteger());
+        }
+
+        private SlabBuffer(final ByteBuffer underlyingByteBuffer, final Slab slab, final int index, final SlabBuffer source, final AtomicInteger shareCount) {
+            super(underlyingByteBuffer);
+
+            this.slab = slab;
+            this.index = index;
+            this.shareCount = shareCount;
+            this.source = source != null ? source : this;
+
+            this.origVisible = this.source.visible;
+        }
+
+        SlabBuffer prepare() {
+            allowBufferDispose = true;
+            free = false;
+            return this;
+        }
+
+        // ------------------------------------------ Methods from ByteBufferWrapper
+
+        @Override
+        public void dispose() {
+            if (free) {
+                return;
+            }
+            free = true;
+
+            dispose0();
+        }
+
+        private void dispose0() {
+            // check shared counter optimistically
+            boolean isNotShared = shareCount.get() == 0;
+            if (!isNotShared) {
+                // try pessimistic check using CAS loop
+                isNotShared = shareCount.getAndDecrement() == 0;
+                if (isNotShared) {
+                    // if the former check is true - the shared counter is negative,
+                    // so we have to reset it
+                    shareCount.set(0);
+                }
+            }
+
+            if (isNotShared) {
+                // we can now safely return source back to the slab
+                source.returnToSlab();
+            }
+        }
+
+        // ----------------------------------------------------- Protected Methods
+
+        @Override
+        protected ByteBufferWrapper wrapByteBuffer(final ByteBuffer buffer) {
+            final SlabBuffer b = new SlabBuffer(buffer, null, -1, // don't keep track of the slab for child buffers
+                    source, // pass the 'parent' buffer along
+                    shareCount); // pass the shareCount
+            b.allowBufferDispose(true);
+            shareCount.incrementAndGet();
+
+            return b;
+        }
+
+        /**
+         * Override the default implementation to check the <tt>free</tt> status of this buffer (i.e., once released, operations
+         * on the buffer will no longer succeed).
+         */
+        @Override
+        protected void checkDispose() {
+            if (free) {
+                throw new IllegalStateException("SlabBuffer has already been disposed", disposeStackTrace);
+            }
+        }
+
+        // ----------------------------------------------------- Private Methods
+
+        private void returnToSlab() {
+            // should be called on "source" only
+            visible = origVisible;
+            visible.clear();
+            visible.order(ByteOrder.BIG_ENDIAN);
+            mark = -1;
+            slab.arena.release(this);
+        }
+    } // END SlabBuffer
+}
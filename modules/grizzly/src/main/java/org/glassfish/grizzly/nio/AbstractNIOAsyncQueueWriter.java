@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -187,6 +188,8 @@ public abstract class AbstractNIOAsyncQueueWriter extends AbstractWriter<SocketA
                     nioConnection, queueRecord, isCurrent, queueRecord.remaining(), queueRecord.isUncountable(), bytesToReserve, pendingBytes);
         }
 
+        final boolean isCoalesced = isCurrent && isAllowDirectWrite && isCoalescable(queueRecord);
+
         final Reentrant reentrants = Reentrant.getWriteReentrant();
 
         try {
@@ -205,7 +208,7 @@ public abstract class AbstractNIOAsyncQueueWriter extends AbstractWriter<SocketA
                 return;
             }
 
-            if (isCurrent && isAllowDirectWrite) {
+            if (isCurrent && isAllowDirectWrite && !isCoalesced) {
 
                 // If we can write directly - do it w/o creating queue record (simple)
                 final RecordWriteResult writeResult = write0(nioConnection, queueRecord);
@@ -241,7 +244,10 @@ public abstract class AbstractNIOAsyncQueueWriter extends AbstractWriter<SocketA
                         queueRecord.remaining(), queueRecord.isUncountable());
             }
 
-            if (isCurrent) { // current but not finished.
+            if (isCoalesced) { // current, but deferred to be written together with the following records
+                writeTaskQueue.setCurrentElement(queueRecord);
+                nioConnection.simulateIOEvent(IOEvent.WRITE);
+            } else if (isCurrent) { // current but not finished.
                 writeTaskQueue.setCurrentElement(queueRecord);
                 onReadyToWrite(nioConnection);
             } else {
@@ -432,6 +438,20 @@ public abstract class AbstractNIOAsyncQueueWriter extends AbstractWriter<SocketA
 
     protected abstract void onReadyToWrite(NIOConnection connection) throws IOException;
 
+    /**
+     * Returns <tt>true</tt>, if the record, which would otherwise be written directly, should rather be queued and
+     * written later together with the records queued after it, so they can be {@link #aggregate(TaskQueue) aggregated}.
+     * The queue gets flushed by a simulated {@link IOEvent#WRITE} event, which is processed once the current
+     * {@link SelectorRunner} iteration completes.
+     *
+     * @param queueRecord the record to be written
+     * @return <tt>true</tt> if the record write should be deferred, <tt>false</tt> if the record has to be written
+     * directly. The default implementation returns <tt>false</tt>.
+     */
+    protected boolean isCoalescable(final AsyncWriteQueueRecord queueRecord) {
+        return false;
+    }
+
     /**
      * Aggregates records in a queue to be written as one chunk.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -729,6 +729,18 @@ public abstract class NIOConnection implements Connection<SocketAddress> {
         }
     }
 
+    /**
+     * Notify registered {@link ConnectionProbe}s about the coalesced write event.
+     */
+    protected static void notifyProbesWriteCoalesced(NIOConnection connection, int records, long size) {
+        final ConnectionProbe[] probes = connection.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ConnectionProbe probe : probes) {
+                probe.onWriteCoalescedEvent(connection, records, size);
+            }
+        }
+    }
+
     /**
      * Notify registered {@link ConnectionProbe}s about the IO Event ready event.
      *
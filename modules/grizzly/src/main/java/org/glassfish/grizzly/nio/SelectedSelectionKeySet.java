@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.nio;
+
+import java.lang.reflect.Field;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+
+/**
+ * Array-backed replacement of the JDK {@link Selector}'s selected-key set, used by {@link SelectorRunner}, so
+ * dispatching the selected keys allocates neither set entries nor iterators.
+ * <p>
+ * The set relies on the way {@link SelectorRunner} uses it: it is cleared after every select, so a key is reported
+ * at most once per select and {@link #contains(Object)} doesn't have to search the array. The set is not thread-safe,
+ * like the JDK one it replaces.
+ * <p>
+ * The set is installed using reflection on <tt>sun.nio.ch.SelectorImpl</tt>, which requires
+ * <tt>--add-opens java.base/sun.nio.ch=ALL-UNNAMED</tt> (or <tt>=org.glassfish.grizzly</tt> on the module path). If
+ * that's not possible, the {@link Selector} keeps its own set.
+ *
+ * @author Grizzly team
+ */
+final class SelectedSelectionKeySet extends AbstractSet<SelectionKey> {
+    private static final Logger LOGGER = Grizzly.logger(SelectedSelectionKeySet.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Field SELECTED_KEYS_FIELD;
+    private static final Field PUBLIC_SELECTED_KEYS_FIELD;
+    private static final Class<?> SELECTOR_IMPL_CLASS;
+
+    static {
+        Class<?> selectorImplClass = null;
+        Field selectedKeysField = null;
+        Field publicSelectedKeysField = null;
+
+        try {
+            selectorImplClass = Class.forName("sun.nio.ch.SelectorImpl", false, ClassLoader.getSystemClassLoader());
+            selectedKeysField = selectorImplClass.getDeclaredField("selectedKeys");
+            publicSelectedKeysField = selectorImplClass.getDeclaredField("publicSelectedKeys");
+            selectedKeysField.setAccessible(true);
+            publicSelectedKeysField.setAccessible(true);
+        } catch (Throwable t) {
+            LOGGER.log(Level.FINE, "Selected keys of the JDK Selector can not be replaced, the default key set will be used", t);
+            selectorImplClass = null;
+            selectedKeysField = null;
+            publicSelectedKeysField = null;
+        }
+
+        SELECTOR_IMPL_CLASS = selectorImplClass;
+        SELECTED_KEYS_FIELD = selectedKeysField;
+        PUBLIC_SELECTED_KEYS_FIELD = publicSelectedKeysField;
+    }
+
+    private SelectionKey[] keys = new SelectionKey[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Replaces the selected-key set of the passed {@link Selector}.
+     *
+     * @param selector the {@link Selector}, which has not been used for selection yet
+     * @return the installed {@link SelectedSelectionKeySet} or <tt>null</tt>, if the {@link Selector}'s implementation
+     * doesn't allow the replacement
+     */
+    static SelectedSelectionKeySet install(final Selector selector) {
+        if (SELECTOR_IMPL_CLASS == null || !SELECTOR_IMPL_CLASS.isInstance(selector)) {
+            return null;
+        }
+
+        final SelectedSelectionKeySet keySet = new SelectedSelectionKeySet();
+        try {
+            SELECTED_KEYS_FIELD.set(selector, keySet);
+            PUBLIC_SELECTED_KEYS_FIELD.set(selector, keySet);
+            return keySet;
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Can not replace the selected keys of " + selector, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the selected key at the given position
+     */
+    SelectionKey get(final int index) {
+        return keys[index];
+    }
+
+    @Override
+    public boolean add(final SelectionKey key) {
+        if (key == null) {
+            return false;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+        }
+
+        keys[size++] = key;
+        return true;
+    }
+
+    /**
+     * The JDK calls the method for every ready key, the set is cleared after each select, so the key can't be there.
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return false;
+    }
+
+    /**
+     * Used by the JDK for cancelled keys only, so the linear search is acceptable.
+     */
+    @Override
+    public boolean remove(final Object o) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == o) {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                keys[--size] = null;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<SelectionKey> iterator() {
+        return new Iterator<SelectionKey>() {
+            private int idx;
+
+            @Override
+            public boolean hasNext() {
+                return idx < size;
+            }
+
+            @Override
+            public SelectionKey next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return keys[idx++];
+            }
+        };
+    }
+}
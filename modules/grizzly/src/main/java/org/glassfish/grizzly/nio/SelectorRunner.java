@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,6 +49,12 @@ import org.glassfish.grizzly.utils.StateHolder;
 
 /**
  * Class is responsible for processing certain (single) {@link SelectorHandler}
+ * <p>
+ * If the <tt>org.glassfish.grizzly.nio.SelectorRunner.optimizeSelectedKeys</tt> system property is <tt>true</tt>,
+ * the runner replaces the selected-key set of its {@link Selector} with an array-backed one and walks the selected
+ * keys by index, so no set entries or iterators are allocated per select. The replacement requires
+ * <tt>--add-opens java.base/sun.nio.ch=ALL-UNNAMED</tt> (or <tt>=org.glassfish.grizzly</tt> on the module path),
+ * without it the JDK key set is used as before.
  *
  * @author Alexey Stashok
  */
@@ -56,6 +63,8 @@ public final class SelectorRunner implements Runnable {
 
     private final static String THREAD_MARKER = " SelectorRunner";
 
+    private static final boolean OPTIMIZE_SELECTED_KEYS = Boolean.getBoolean(SelectorRunner.class.getName() + ".optimizeSelectedKeys");
+
     private final NIOTransport transport;
     private final AtomicReference<State> stateHolder;
 
@@ -75,6 +84,7 @@ public final class SelectorRunner implements Runnable {
     private int lastSelectedKeysCount;
     private Set<SelectionKey> readyKeySet;
     private Iterator<SelectionKey> iterator;
+    private int selectedKeyIndex;
     private SelectionKey key = null;
     private int keyReadyOps;
 
@@ -82,7 +92,16 @@ public final class SelectorRunner implements Runnable {
     private final AtomicInteger runnerThreadActivityCounter = new AtomicInteger();
 
     public static SelectorRunner create(final NIOTransport transport) throws IOException {
-        return new SelectorRunner(transport, Selectors.newSelector(transport.getSelectorProvider()));
+        return new SelectorRunner(transport, openSelector(transport));
+    }
+
+    private static Selector openSelector(final NIOTransport transport) throws IOException {
+        final Selector selector = Selectors.newSelector(transport.getSelectorProvider());
+        if (OPTIMIZE_SELECTED_KEYS) {
+            SelectedSelectionKeySet.install(selector);
+        }
+
+        return selector;
     }
 
     volatile boolean hasPendingTasks;
@@ -315,7 +334,11 @@ public final class SelectorRunner implements Runnable {
             lastSelectedKeysCount = readyKeySet.size();
 
             if (lastSelectedKeysCount != 0) {
-                iterator = readyKeySet.iterator();
+                if (readyKeySet instanceof SelectedSelectionKeySet) {
+                    selectedKeyIndex = 0;
+                } else {
+                    iterator = readyKeySet.iterator();
+                }
                 if (!iterateKeys()) {
                     return false;
                 }
@@ -335,15 +358,32 @@ public final class SelectorRunner implements Runnable {
             dropConnectionDueToException(key, "Selector was unexpectedly closed", e, Level.SEVERE, Level.FINE);
         } catch (Exception e) {
             dropConnectionDueToException(key, "doSelect exception", e, Level.SEVERE, Level.FINE);
+            resetSelectedKeys();
         } catch (Throwable t) {
             LOGGER.log(Level.SEVERE, "doSelect exception", t);
             transport.notifyTransportError(t);
+            resetSelectedKeys();
         }
 
         return true;
     }
 
+    /**
+     * The array-backed key set doesn't look up keys, which were left over from an interrupted iteration, so it must be
+     * empty before the next select.
+     */
+    private void resetSelectedKeys() {
+        if (readyKeySet instanceof SelectedSelectionKeySet) {
+            readyKeySet.clear();
+            readyKeySet = null;
+        }
+    }
+
     private boolean iterateKeys() {
+        if (readyKeySet instanceof SelectedSelectionKeySet) {
+            return iterateSelectedKeys((SelectedSelectionKeySet) readyKeySet);
+        }
+
         final Iterator<SelectionKey> it = iterator;
 
         while (it.hasNext()) {
@@ -364,6 +404,25 @@ public final class SelectorRunner implements Runnable {
         return true;
     }
 
+    private boolean iterateSelectedKeys(final SelectedSelectionKeySet keySet) {
+        while (selectedKeyIndex < keySet.size()) {
+            try {
+                key = keySet.get(selectedKeyIndex++);
+                keyReadyOps = key.readyOps();
+                if (!iterateKeyEvents()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                keyReadyOps = 0;
+                dropConnectionDueToException(key, "Unexpected IOException. Channel " + key.channel() + " will be closed.", e, Level.WARNING, Level.FINE);
+            } catch (CancelledKeyException e) {
+                keyReadyOps = 0;
+                dropConnectionDueToException(key, "Unexpected CancelledKeyException. Channel " + key.channel() + " will be closed.", e, Level.FINE, Level.FINE);
+            }
+        }
+        return true;
+    }
+
     private boolean iterateKeyEvents() throws IOException {
 
         final SelectionKey keyLocal = key;
@@ -459,7 +518,7 @@ public final class SelectorRunner implements Runnable {
 
     protected void switchToNewSelector() throws IOException {
         final Selector oldSelector = selector;
-        final Selector newSelector = Selectors.newSelector(transport.getSelectorProvider());
+        final Selector newSelector = openSelector(transport);
 
         final Set<SelectionKey> keys = oldSelector.keys();
         final SelectionKeyHandler selectionKeyHandler = transport.getSelectionKeyHandler();
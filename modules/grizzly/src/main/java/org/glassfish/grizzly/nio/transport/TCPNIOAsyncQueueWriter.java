@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -49,16 +50,94 @@ import org.glassfish.grizzly.nio.NIOTransport;
 
 /**
  * The TCP transport {@link AsyncQueueWriter} implementation, based on the Java NIO
+ * <p>
+ * If write coalescing is enabled, small writes, which would otherwise be written directly, are queued and flushed once
+ * the current {@link org.glassfish.grizzly.nio.SelectorRunner} iteration completes, so the records written meanwhile,
+ * like the headers, body chunks and trailers of a response, leave with a single gathering write. Each gathering write
+ * covers at most {@link #getMaxCoalescedBytes()} bytes and {@link #getMaxCoalescedRecords()} records. Coalesced writes
+ * complete asynchronously, so the mode doesn't fit code, which waits for a write to complete in a selector thread.
  *
  * @author Alexey Stashok
  */
 public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
     private final static Logger LOGGER = Grizzly.logger(TCPNIOAsyncQueueWriter.class);
 
+    public static final int DEFAULT_MAX_COALESCED_BYTES = 64 * 1024;
+
+    public static final int DEFAULT_MAX_COALESCED_RECORDS = 64;
+
+    private volatile boolean isWriteCoalescing;
+
+    private volatile int maxCoalescedBytes = DEFAULT_MAX_COALESCED_BYTES;
+
+    private volatile int maxCoalescedRecords = DEFAULT_MAX_COALESCED_RECORDS;
+
     public TCPNIOAsyncQueueWriter(final NIOTransport transport) {
         super(transport);
     }
 
+    /**
+     * @return <tt>true</tt>, if small writes are deferred to be written together with the following writes.
+     */
+    public boolean isWriteCoalescing() {
+        return isWriteCoalescing;
+    }
+
+    /**
+     * Enables or disables write coalescing. Disabled by default.
+     *
+     * @param isWriteCoalescing <tt>true</tt> to defer small writes to be written together with the following writes.
+     */
+    public void setWriteCoalescing(final boolean isWriteCoalescing) {
+        this.isWriteCoalescing = isWriteCoalescing;
+    }
+
+    /**
+     * @return the maximum number of bytes written by a single coalesced write. Larger writes are never deferred.
+     */
+    public int getMaxCoalescedBytes() {
+        return maxCoalescedBytes;
+    }
+
+    /**
+     * Sets the maximum number of bytes written by a single coalesced write. Larger writes are never deferred.
+     *
+     * @param maxCoalescedBytes the maximum number of bytes.
+     */
+    public void setMaxCoalescedBytes(final int maxCoalescedBytes) {
+        if (maxCoalescedBytes <= 0) {
+            throw new IllegalArgumentException("maxCoalescedBytes must be positive");
+        }
+        this.maxCoalescedBytes = maxCoalescedBytes;
+    }
+
+    /**
+     * @return the maximum number of write records covered by a single coalesced write.
+     */
+    public int getMaxCoalescedRecords() {
+        return maxCoalescedRecords;
+    }
+
+    /**
+     * Sets the maximum number of write records covered by a single coalesced write.
+     *
+     * @param maxCoalescedRecords the maximum number of records, at least <tt>2</tt>.
+     */
+    public void setMaxCoalescedRecords(final int maxCoalescedRecords) {
+        if (maxCoalescedRecords < 2) {
+            throw new IllegalArgumentException("maxCoalescedRecords must be at least 2");
+        }
+        this.maxCoalescedRecords = maxCoalescedRecords;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isCoalescable(final AsyncWriteQueueRecord queueRecord) {
+        return isWriteCoalescing && !queueRecord.isUncountable() && queueRecord.canBeAggregated() && queueRecord.remaining() < maxCoalescedBytes;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected RecordWriteResult write0(final NIOConnection connection, final AsyncWriteQueueRecord queueRecord) throws IOException {
@@ -121,6 +200,7 @@ public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
     private RecordWriteResult writeCompositeRecord(final NIOConnection connection, final CompositeQueueRecord queueRecord) throws IOException {
 
         int written = 0;
+        int records = 0;
 
         if (LOGGER.isLoggable(Level.FINEST)) {
             LOGGER.log(Level.FINEST, "writeCompositeRecord connection={0}, queueRecord={1}," + " queueRecord.remaining={2}," + " queueRecord.queue.size()={3}",
@@ -135,7 +215,7 @@ public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
             try {
                 final SocketChannel socketChannel = (SocketChannel) connection.getChannel();
 
-                fill(queueRecord, bufferSize, directByteBufferRecord);
+                records = fill(queueRecord, bufferSize, directByteBufferRecord);
                 directByteBufferRecord.finishBufferSlice();
 
                 final int arraySize = directByteBufferRecord.getArraySize();
@@ -153,18 +233,26 @@ public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
             } finally {
                 directByteBufferRecord.release();
             }
+
+            if (records > 1 && written > 0) {
+                ((TCPNIOConnection) connection).onWriteCoalesced(records, written);
+            }
         }
 
         return update(queueRecord, written);
     }
 
-    private static void fill(final CompositeQueueRecord queueRecord, final int totalBufferSize, final DirectByteBufferRecord ioRecord) {
+    /**
+     * @return the number of records, whose data was added to the I/O record
+     */
+    private static int fill(final CompositeQueueRecord queueRecord, final int totalBufferSize, final DirectByteBufferRecord ioRecord) {
 
 //        int dstBufferRemaining = dstByteBuffer.remaining();
 //
 //        dstByteBuffer.limit(0);
 
         int totalRemaining = totalBufferSize;
+        int records = 0;
         final Deque<AsyncWriteQueueRecord> queue = queueRecord.queue;
         final ArrayList<BufferArray> savedBufferStates = queueRecord.savedBufferStates;
 
@@ -187,7 +275,10 @@ public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
             TCPNIOUtils.fill(bufferArray, totalRemaining, ioRecord);
 
             totalRemaining -= messageRemaining;
+            records++;
         }
+
+        return records;
     }
 
     private RecordWriteResult update(final CompositeQueueRecord queueRecord, final int written) {
@@ -284,9 +375,16 @@ public final class TCPNIOAsyncQueueWriter extends AbstractNIOAsyncQueueWriter {
 
         final CompositeQueueRecord compositeQueueRecord = createCompositeQueueRecord(currentRecord);
 
+        // in the coalescing mode every gathering write is limited, records left over are aggregated by the next call
+        final boolean isLimited = isWriteCoalescing;
+        final int maxBytes = maxCoalescedBytes;
+        final int maxRecords = maxCoalescedRecords;
+
         do {
             compositeQueueRecord.append(nextRecord);
-        } while (compositeQueueRecord.remaining() < queueSize && (nextRecord = checkAndGetNextRecord(writeTaskQueue)) != null);
+        } while (compositeQueueRecord.remaining() < queueSize
+                && (!isLimited || compositeQueueRecord.remaining() < maxBytes && compositeQueueRecord.queue.size() < maxRecords)
+                && (nextRecord = checkAndGetNextRecord(writeTaskQueue)) != null);
 
         return compositeQueueRecord;
     }
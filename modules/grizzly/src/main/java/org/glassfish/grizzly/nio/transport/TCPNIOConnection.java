@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -271,6 +272,13 @@ public class TCPNIOConnection extends NIOConnection {
         notifyProbesWrite(this, data, size);
     }
 
+    /**
+     * Method will be called, when several write records were written at once
+     */
+    protected final void onWriteCoalesced(int records, long size) {
+        notifyProbesWriteCoalesced(this, records, size);
+    }
+
     /**
      * {@inheritDoc}
      */
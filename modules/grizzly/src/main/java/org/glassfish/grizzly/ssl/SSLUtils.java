@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -293,6 +294,13 @@ public final class SSLUtils {
         return output;
     }
 
+    /**
+     * <tt>true</tt> if the thread-cached buffers, the outgoing TLS records are wrapped to, have to be direct. Direct
+     * records are written to the socket without being copied to a temporary direct buffer first, which pays off when
+     * large payloads, like mapped files, are served over TLS.
+     */
+    private static final boolean DIRECT_OUTPUT_BUFFERS = Boolean.getBoolean(SSLUtils.class.getName() + ".directOutputBuffers");
+
     private static final CachedTypeIndex<Buffer> SSL_OUTPUT_BUFFER_IDX = ThreadCache.obtainIndex(SSLBaseFilter.class.getName() + ".output-buffer-cache",
             Buffer.class, 4);
 
@@ -302,7 +310,7 @@ public final class SSLUtils {
         final boolean hasBuffer = buffer != null;
         if (!hasBuffer || buffer.remaining() < size) {
             final ByteBuffer byteBuffer;
-            byteBuffer = ByteBuffer.allocate(size);
+            byteBuffer = DIRECT_OUTPUT_BUFFERS ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
 
             buffer = new ByteBufferWrapper(byteBuffer) {
 
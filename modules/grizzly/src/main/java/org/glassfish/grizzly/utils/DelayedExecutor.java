@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,14 +24,33 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Executes {@link Worker}s for the elements of its {@link DelayQueue}s once their timeouts, as reported by the
+ * queue's {@link Resolver}, expire.
+ * <p>
+ * By default the timeouts are checked by scanning every element of every queue each check interval. Alternatively the
+ * executor may be created with a hashed timing wheel (one bucket per check interval), so that each check only visits
+ * the elements whose timeouts are due. As {@link Resolver}s are allowed to change an element's timeout without
+ * re-adding the element, the wheel re-checks the timeout when the element's bucket is reached and moves the element if
+ * the timeout was extended. Elements with timeouts beyond the wheel's horizon (like "never") are re-checked every
+ * interval, the same way the scanning mode does. A timeout moved <em>earlier</em> behind the queue's back is honored
+ * no sooner than the originally scheduled bucket; use {@link DelayQueue#add(Object, long, TimeUnit)} in such cases.
  *
  * @author Alexey Stashok
  */
 public class DelayedExecutor {
     public final static long UNSET_TIMEOUT = -1;
 
+    /**
+     * The default number of buckets in the timing wheel, which, with the default one second check interval, covers
+     * timeouts up to ~68 minutes.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    private static final boolean DEFAULT_USE_TIMING_WHEEL = Boolean.getBoolean(DelayedExecutor.class.getName() + ".timingWheel");
+
     private final ExecutorService threadPool;
 
     private final DelayedRunnable runnable = new DelayedRunnable();
@@ -43,17 +63,49 @@ public class DelayedExecutor {
 
     private final long checkIntervalMillis;
 
+    private final TimingWheel wheel;
+
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong totalLatenessMillis = new AtomicLong();
+    private volatile long maxLatenessMillis;
+
     public DelayedExecutor(final ExecutorService threadPool) {
         this(threadPool, 1000, TimeUnit.MILLISECONDS);
     }
 
     public DelayedExecutor(final ExecutorService threadPool, final long checkInterval, final TimeUnit timeunit) {
+        this(threadPool, checkInterval, timeunit, DEFAULT_USE_TIMING_WHEEL);
+    }
+
+    /**
+     * @param threadPool the {@link ExecutorService} to run the timeout checking loop on.
+     * @param checkInterval the timeout check interval.
+     * @param timeunit the {@link TimeUnit} of <tt>checkInterval</tt>.
+     * @param useTimingWheel <tt>true</tt> to track the timeouts in a timing wheel of {@link #DEFAULT_WHEEL_SIZE} buckets,
+     * <tt>false</tt> to scan all the queued elements each check interval.
+     */
+    public DelayedExecutor(final ExecutorService threadPool, final long checkInterval, final TimeUnit timeunit, final boolean useTimingWheel) {
+        this(threadPool, checkInterval, timeunit, useTimingWheel ? DEFAULT_WHEEL_SIZE : 0);
+    }
+
+    /**
+     * @param threadPool the {@link ExecutorService} to run the timeout checking loop on.
+     * @param checkInterval the timeout check interval, which is also the duration of a timing wheel tick.
+     * @param timeunit the {@link TimeUnit} of <tt>checkInterval</tt>.
+     * @param wheelSize the number of timing wheel buckets (rounded up to a power of two), or <tt>0</tt> to scan all the
+     * queued elements each check interval.
+     */
+    public DelayedExecutor(final ExecutorService threadPool, final long checkInterval, final TimeUnit timeunit, final int wheelSize) {
         if (checkInterval < 0) {
             throw new IllegalArgumentException("check interval can't be negative");
         }
+        if (wheelSize < 0) {
+            throw new IllegalArgumentException("wheel size can't be negative");
+        }
 
         this.threadPool = threadPool;
         this.checkIntervalMillis = TimeUnit.MILLISECONDS.convert(checkInterval, timeunit);
+        this.wheel = wheelSize > 0 ? new TimingWheel(this, Math.max(1, checkIntervalMillis), wheelSize) : null;
     }
 
     public void start() {
@@ -77,6 +129,9 @@ public class DelayedExecutor {
     public void destroy() {
         stop();
         synchronized (sync) {
+            for (DelayQueue queue : queues) {
+                queue.isDestroyed = true;
+            }
             queues.clear();
         }
     }
@@ -95,7 +150,73 @@ public class DelayedExecutor {
         return queue;
     }
 
-    private static boolean wasModified(final long l1, final long l2) {
+    /**
+     * @return <tt>true</tt> if the timeouts are tracked by a timing wheel, or <tt>false</tt> if all the queued elements
+     * are scanned each check interval.
+     */
+    public boolean isTimingWheel() {
+        return wheel != null;
+    }
+
+    /**
+     * @return the number of elements currently tracked by all the {@link DelayQueue}s of this executor. In timing wheel
+     * mode the value is maintained by the checking thread and reflects the state after the last check.
+     */
+    public int getScheduledCount() {
+        if (wheel != null) {
+            return wheel.getScheduledCount();
+        }
+
+        int count = 0;
+        for (DelayQueue queue : queues) {
+            count += queue.queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of timing wheel elements, whose timeouts are beyond the wheel's horizon and which are therefore
+     * re-checked every interval, or <tt>0</tt> in scanning mode.
+     */
+    public int getOverflowCount() {
+        return wheel != null ? wheel.getOverflowCount() : 0;
+    }
+
+    /**
+     * @return the number of expired elements passed to the {@link Worker}s so far.
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return the average delay (in milliseconds) between the elements' timeouts and the moment their {@link Worker}s
+     * were invoked.
+     */
+    public long getAverageLatenessMillis() {
+        final long count = expiredCount.get();
+        return count > 0 ? totalLatenessMillis.get() / count : 0;
+    }
+
+    /**
+     * @return the max delay (in milliseconds) between an element's timeout and the moment its {@link Worker} was
+     * invoked.
+     */
+    public long getMaxLatenessMillis() {
+        return maxLatenessMillis;
+    }
+
+    void onExpired(final long currentTimeMillis, final long timeoutMillis) {
+        final long lateness = currentTimeMillis - timeoutMillis;
+        expiredCount.incrementAndGet();
+        totalLatenessMillis.addAndGet(lateness);
+        if (lateness > maxLatenessMillis) {
+            // only the checking thread updates the value
+            maxLatenessMillis = lateness;
+        }
+    }
+
+    static boolean wasModified(final long l1, final long l2) {
         return l1 != l2;
     }
 
@@ -107,6 +228,12 @@ public class DelayedExecutor {
             while (isStarted) {
                 final long currentTimeMillis = System.currentTimeMillis();
 
+                if (wheel != null) {
+                    wheel.expire(currentTimeMillis);
+                    await();
+                    continue;
+                }
+
                 for (final DelayQueue delayQueue : queues) {
                     if (delayQueue.queue.isEmpty()) {
                         continue;
@@ -128,6 +255,7 @@ public class DelayedExecutor {
                             if (wasModified(timeoutMillis, resolver.getTimeoutMillis(element))) {
                                 delayQueue.queue.put(element, delayQueue);
                             } else {
+                                onExpired(currentTimeMillis, timeoutMillis);
                                 try {
                                     if (!delayQueue.worker.doWork(element)) {
                                         delayQueue.queue.put(element, delayQueue);
@@ -139,15 +267,19 @@ public class DelayedExecutor {
                     }
                 }
 
-                synchronized (sync) {
-                    if (!isStarted) {
-                        return;
-                    }
+                await();
+            }
+        }
 
-                    try {
-                        sync.wait(checkIntervalMillis);
-                    } catch (InterruptedException ignored) {
-                    }
+        private void await() {
+            synchronized (sync) {
+                if (!isStarted) {
+                    return;
+                }
+
+                try {
+                    sync.wait(checkIntervalMillis);
+                } catch (InterruptedException ignored) {
                 }
             }
         }
@@ -156,9 +288,16 @@ public class DelayedExecutor {
     public class DelayQueue<E> {
         final ConcurrentMap<E, DelayQueue> queue = new ConcurrentHashMap<>();
 
+        /**
+         * The element to timing wheel node mapping, used only in timing wheel mode.
+         */
+        final ConcurrentMap<E, TimingWheel.Node> nodes = wheel != null ? new ConcurrentHashMap<>() : null;
+
         final Worker<E> worker;
         final Resolver<E> resolver;
 
+        volatile boolean isDestroyed;
+
         public DelayQueue(final Worker<E> worker, final Resolver<E> resolver) {
             this.worker = worker;
             this.resolver = resolver;
@@ -168,15 +307,23 @@ public class DelayedExecutor {
             if (delay >= 0) {
                 final long delayWithSysTime = System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(delay, timeUnit);
                 resolver.setTimeoutMillis(elem, delayWithSysTime < 0 ? Long.MAX_VALUE : delayWithSysTime);
-                queue.put(elem, this);
+                if (wheel != null) {
+                    wheel.schedule(this, elem);
+                } else {
+                    queue.put(elem, this);
+                }
             }
         }
 
         public void remove(final E elem) {
             resolver.removeTimeout(elem);
+            if (wheel != null) {
+                wheel.unschedule(this, elem);
+            }
         }
 
         public void destroy() {
+            isDestroyed = true;
             queues.remove(this);
         }
     }
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Hashed timing wheel used by {@link DelayedExecutor} to track {@link DelayedExecutor.DelayQueue} elements.
+ * <p>
+ * Each bucket covers one tick (the executor's check interval). Producers never touch the buckets: newly added
+ * elements are passed to the checking thread through a lock-free queue, so adding is O(1) and the buckets, lists and
+ * counters are confined to the checking thread. Removal stays lazy, like in the scanning mode: the {@link
+ * DelayedExecutor.Resolver} marks the element and the wheel drops it when its bucket is reached.
+ *
+ * @author Grizzly team
+ */
+final class TimingWheel {
+    private static final int UNLINKED = -1;
+    private static final int OVERFLOW = -2;
+
+    private final DelayedExecutor executor;
+    private final long tickMillis;
+    private final int mask;
+    private final Node[] buckets;
+
+    /**
+     * Elements, whose timeouts are beyond the wheel horizon.
+     */
+    private Node overflow;
+
+    /**
+     * Elements (re)scheduled by non-checking threads.
+     */
+    private final Queue<Node> pending = new ConcurrentLinkedQueue<>();
+
+    private final List<Node> due = new ArrayList<>();
+
+    private final long startMillis;
+    private long lastTick = -1;
+
+    private volatile int scheduledCount;
+    private volatile int overflowCount;
+
+    TimingWheel(final DelayedExecutor executor, final long tickMillis, final int size) {
+        this.executor = executor;
+        this.tickMillis = tickMillis;
+
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+
+        mask = capacity - 1;
+        buckets = new Node[capacity];
+        startMillis = System.currentTimeMillis();
+    }
+
+    int getScheduledCount() {
+        return scheduledCount;
+    }
+
+    int getOverflowCount() {
+        return overflowCount;
+    }
+
+    /**
+     * Makes sure the element of the queue is tracked by the wheel. May be called by any thread.
+     */
+    @SuppressWarnings("unchecked")
+    <E> void schedule(final DelayedExecutor.DelayQueue<E> queue, final E element) {
+        Node node = queue.nodes.get(element);
+        if (node == null) {
+            final Node newNode = new Node(queue, element);
+            node = queue.nodes.putIfAbsent(element, newNode);
+            if (node == null) {
+                node = newNode;
+            }
+        }
+
+        offer(node);
+    }
+
+    /**
+     * Lets the checking thread release the element's node at the next check instead of when its bucket is reached.
+     * May be called by any thread.
+     */
+    <E> void unschedule(final DelayedExecutor.DelayQueue<E> queue, final E element) {
+        final Node node = queue.nodes.get(element);
+        if (node != null) {
+            offer(node);
+        }
+    }
+
+    /**
+     * Passes the node to the checking thread, which places it according to its current timeout.
+     */
+    private void offer(final Node node) {
+        if (Node.isPendingUpdater.compareAndSet(node, 0, 1)) {
+            pending.offer(node);
+        }
+    }
+
+    /**
+     * Runs the {@link DelayedExecutor.Worker}s of the elements, which are due. Called by the checking thread only.
+     */
+    void expire(final long currentTimeMillis) {
+        final long currentTick = tick(currentTimeMillis);
+        final long fromTick = lastTick;
+        lastTick = currentTick;
+
+        Node node;
+        while ((node = pending.poll()) != null) {
+            node.isPending = 0;
+            if (node.isMapped()) {
+                unlink(node);
+                place(node, node.timeoutMillis(), currentTimeMillis, currentTick);
+            }
+        }
+
+        node = overflow;
+        while (node != null) {
+            final Node next = node.next;
+            if (!node.isMapped()) {
+                unlink(node);
+            } else {
+                final long timeoutMillis = node.timeoutMillis();
+                if (isDue(timeoutMillis, currentTimeMillis) || ceilTick(timeoutMillis) - currentTick <= mask) {
+                    unlink(node);
+                    place(node, timeoutMillis, currentTimeMillis, currentTick);
+                }
+            }
+            node = next;
+        }
+
+        final long ticks = Math.min(currentTick - fromTick, mask + 1);
+        for (long t = currentTick - ticks + 1; t <= currentTick; t++) {
+            final int idx = (int) (t & mask);
+            node = buckets[idx];
+            buckets[idx] = null;
+            while (node != null) {
+                final Node next = node.next;
+                node.prev = node.next = null;
+                node.bucket = UNLINKED;
+                scheduledCount--;
+                if (node.tick <= currentTick) {
+                    due.add(node);
+                } else {
+                    link(node, idx);
+                }
+                node = next;
+            }
+        }
+
+        for (int i = 0; i < due.size(); i++) {
+            evaluate(due.get(i), currentTimeMillis, currentTick);
+        }
+        due.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evaluate(final Node node, final long currentTimeMillis, final long currentTick) {
+        if (!node.isMapped()) {
+            return;
+        }
+
+        final DelayedExecutor.DelayQueue queue = node.queue;
+        final Object element = node.element;
+
+        final long timeoutMillis = node.timeoutMillis();
+        if (timeoutMillis == DelayedExecutor.UNSET_TIMEOUT) {
+            queue.nodes.remove(element, node);
+            if (DelayedExecutor.wasModified(timeoutMillis, node.timeoutMillis())) {
+                reschedule(node, currentTimeMillis, currentTick);
+            }
+        } else if (currentTimeMillis - timeoutMillis >= 0) {
+            queue.nodes.remove(element, node);
+            if (DelayedExecutor.wasModified(timeoutMillis, node.timeoutMillis())) {
+                reschedule(node, currentTimeMillis, currentTick);
+            } else {
+                executor.onExpired(currentTimeMillis, timeoutMillis);
+                try {
+                    if (!queue.worker.doWork(element)) {
+                        reschedule(node, currentTimeMillis, currentTick);
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+        } else {
+            // the timeout was extended since the node had been placed
+            place(node, timeoutMillis, currentTimeMillis, currentTick);
+        }
+    }
+
+    /**
+     * Puts the node back after it had been removed from its queue, unless the element was added again meanwhile.
+     * Due nodes are checked again during the next tick, like in the scanning mode.
+     */
+    @SuppressWarnings("unchecked")
+    private void reschedule(final Node node, final long currentTimeMillis, final long currentTick) {
+        if (node.queue.nodes.putIfAbsent(node.element, node) != null) {
+            return;
+        }
+
+        final long timeoutMillis = node.timeoutMillis();
+        if (isDue(timeoutMillis, currentTimeMillis)) {
+            node.tick = currentTick + 1;
+            link(node, (int) (node.tick & mask));
+        } else {
+            place(node, timeoutMillis, currentTimeMillis, currentTick);
+        }
+    }
+
+    private void place(final Node node, final long timeoutMillis, final long currentTimeMillis, final long currentTick) {
+        if (isDue(timeoutMillis, currentTimeMillis)) {
+            due.add(node);
+            return;
+        }
+
+        final long tick = ceilTick(timeoutMillis);
+        if (tick - currentTick > mask) {
+            node.bucket = OVERFLOW;
+            node.next = overflow;
+            if (overflow != null) {
+                overflow.prev = node;
+            }
+            overflow = node;
+            overflowCount++;
+            scheduledCount++;
+        } else {
+            node.tick = tick;
+            link(node, (int) (tick & mask));
+        }
+    }
+
+    private void link(final Node node, final int idx) {
+        final Node head = buckets[idx];
+        node.bucket = idx;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        buckets[idx] = node;
+        scheduledCount++;
+    }
+
+    private void unlink(final Node node) {
+        final int idx = node.bucket;
+        if (idx == UNLINKED) {
+            return;
+        }
+
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else if (idx == OVERFLOW) {
+            overflow = node.next;
+        } else {
+            buckets[idx] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+
+        if (idx == OVERFLOW) {
+            overflowCount--;
+        }
+        scheduledCount--;
+
+        node.prev = node.next = null;
+        node.bucket = UNLINKED;
+    }
+
+    private static boolean isDue(final long timeoutMillis, final long currentTimeMillis) {
+        return timeoutMillis == DelayedExecutor.UNSET_TIMEOUT || currentTimeMillis - timeoutMillis >= 0;
+    }
+
+    private long tick(final long timeMillis) {
+        return (timeMillis - startMillis) / tickMillis;
+    }
+
+    private long ceilTick(final long timeMillis) {
+        final long delta = timeMillis - startMillis;
+        return delta / tickMillis + (delta % tickMillis != 0 ? 1 : 0);
+    }
+
+    static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> isPendingUpdater = AtomicIntegerFieldUpdater.newUpdater(Node.class, "isPending");
+
+        final DelayedExecutor.DelayQueue queue;
+        final Object element;
+
+        private volatile int isPending;
+
+        // the fields below are accessed by the checking thread only
+        private Node prev;
+        private Node next;
+        private int bucket = UNLINKED;
+        private long tick;
+
+        Node(final DelayedExecutor.DelayQueue queue, final Object element) {
+            this.queue = queue;
+            this.element = element;
+        }
+
+        @SuppressWarnings("unchecked")
+        long timeoutMillis() {
+            return queue.resolver.getTimeoutMillis(element);
+        }
+
+        boolean isMapped() {
+            return !queue.isDestroyed && queue.nodes.get(element) == this;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -49,6 +50,8 @@ import org.glassfish.grizzly.impl.SafeFutureImpl;
 import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.nio.NIOConnection;
+import org.glassfish.grizzly.nio.SelectorHandler;
+import org.glassfish.grizzly.nio.transport.TCPNIOAsyncQueueWriter;
 import org.glassfish.grizzly.nio.transport.TCPNIOConnectorHandler;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransportBuilder;
@@ -513,6 +516,90 @@ public class AsyncWriteQueueTest {
         }
     }
 
+    @Test
+    public void testWriteCoalescing() throws Exception {
+        Connection connection = null;
+
+        final int packetsCount = 10;
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < packetsCount; i++) {
+            expected.append("packet-").append(i).append(';');
+        }
+
+        final StringBuffer serverRcvd = new StringBuffer();
+        final FutureImpl<Boolean> resultFuture = SafeFutureImpl.create();
+
+        FilterChainBuilder filterChainBuilder = FilterChainBuilder.stateless();
+        filterChainBuilder.add(new TransportFilter());
+        filterChainBuilder.add(new BaseFilter() {
+
+            @Override
+            public NextAction handleRead(FilterChainContext ctx) throws IOException {
+                final Buffer buffer = ctx.getMessage();
+                serverRcvd.append(buffer.toStringContent(Charsets.ASCII_CHARSET));
+                if (serverRcvd.length() >= expected.length()) {
+                    resultFuture.result(Boolean.TRUE);
+                }
+                return ctx.getStopAction();
+            }
+        });
+
+        final TCPNIOTransport transport = createTransport(isOptimizedForMultiplexing);
+        transport.setProcessor(filterChainBuilder.build());
+
+        final TCPNIOAsyncQueueWriter asyncQueueWriter = (TCPNIOAsyncQueueWriter) transport.getAsyncQueueIO().getWriter();
+        asyncQueueWriter.setWriteCoalescing(true);
+
+        final AtomicInteger coalescedWrites = new AtomicInteger();
+        final AtomicInteger coalescedRecords = new AtomicInteger();
+        transport.getConnectionMonitoringConfig().addProbes(new ConnectionProbe.Adapter() {
+
+            @Override
+            public void onWriteCoalescedEvent(Connection connection, int records, long size) {
+                coalescedWrites.incrementAndGet();
+                coalescedRecords.addAndGet(records);
+            }
+        });
+
+        try {
+            transport.bind(PORT);
+            transport.start();
+
+            Future<Connection> future = transport.connect("localhost", PORT);
+            connection = future.get(10, TimeUnit.SECONDS);
+            assertTrue(connection != null);
+
+            final NIOConnection con = (NIOConnection) connection;
+            final MemoryManager mm = transport.getMemoryManager();
+
+            // all the writes are made within a single selector iteration
+            transport.getSelectorHandler().execute(con.getSelectorRunner(), new SelectorHandler.Task() {
+
+                @Override
+                public boolean run() throws IOException {
+                    for (int i = 0; i < packetsCount; i++) {
+                        asyncQueueWriter.write(con, Buffers.wrap(mm, "packet-" + i + ';'));
+                    }
+                    return true;
+                }
+            }, null);
+
+            assertTrue(resultFuture.get(10, TimeUnit.SECONDS));
+            assertEquals(expected.toString(), serverRcvd.toString());
+
+            if (!isOptimizedForMultiplexing) {
+                assertEquals(1, coalescedWrites.get());
+                assertEquals(packetsCount, coalescedRecords.get());
+            }
+        } finally {
+            if (connection != null) {
+                connection.closeSilently();
+            }
+
+            transport.shutdownNow();
+        }
+    }
+
     // ---------------------------------------------------------- Nested Classes
 
     private static class WriteQueueHandler implements WriteHandler {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,7 +32,7 @@ public class AbstractMemoryManagerTest {
 
     @Parameterized.Parameters
     public static Collection<Object[]> getOptimizedForMultiplexing() {
-        return Arrays.asList(new Object[][] { { 0 }, { 1 }, { 2 }, });
+        return Arrays.asList(new Object[][] { { 0 }, { 1 }, { 2 }, { 3 }, });
     }
 
     public AbstractMemoryManagerTest(final int mmType) {
@@ -45,6 +46,9 @@ public class AbstractMemoryManagerTest {
         case 2:
             mm = createPooledMemoryManager();
             break;
+        case 3:
+            mm = createSlabMemoryManager();
+            break;
         default:
             throw new IllegalStateException("Unknown memory manager type");
         }
@@ -54,6 +58,10 @@ public class AbstractMemoryManagerTest {
         return new PooledMemoryManager();
     }
 
+    protected SlabMemoryManager createSlabMemoryManager() {
+        return new SlabMemoryManager();
+    }
+
     protected ByteBufferManager createByteBufferManager() {
         return new ByteBufferManager();
     }
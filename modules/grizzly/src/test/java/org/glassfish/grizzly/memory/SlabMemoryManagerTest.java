@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.grizzly.Buffer;
+import org.junit.Test;
+
+public class SlabMemoryManagerTest {
+
+    @Test
+    public void testAllocateAtLeastWithoutComposite() {
+        final SlabMemoryManager mm = new SlabMemoryManager();
+
+        for (int size : new int[] { 1, 511, 512, 513, 4000, 65536, 100000, SlabMemoryManager.DEFAULT_MAX_BUFFER_SIZE }) {
+            final Buffer b = mm.allocateAtLeast(size);
+            assertFalse(b.isComposite());
+            assertTrue(b.isDirect());
+            assertEquals(Math.max(Integer.highestOneBit(size - 1) << 1, SlabMemoryManager.DEFAULT_MIN_BUFFER_SIZE), b.capacity());
+            b.tryDispose();
+        }
+
+        final Buffer b = mm.allocate(SlabMemoryManager.DEFAULT_MAX_BUFFER_SIZE + 1);
+        assertTrue(b.isComposite());
+        assertEquals(SlabMemoryManager.DEFAULT_MAX_BUFFER_SIZE + 1, b.remaining());
+        b.tryDispose();
+
+        assertEquals(0, mm.getAllocatedBytes());
+    }
+
+    @Test
+    public void testBuffersAreReused() {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 1, 1);
+
+        final Buffer b1 = mm.allocate(1000);
+        b1.putInt(1);
+        b1.tryDispose();
+
+        final Buffer b2 = mm.allocate(1000);
+        assertSame(b1, b2);
+        assertEquals(0, b2.position());
+        assertEquals(1000, b2.limit());
+
+        try {
+            b1.tryDispose();
+            b2.tryDispose();
+            b1.putInt(1);
+            fail("Disposed buffer has to be unusable");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testSlabReuseAndRelease() {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 1, 1);
+        final AtomicInteger allocatedSlabs = new AtomicInteger();
+        final AtomicInteger releasedSlabs = new AtomicInteger();
+        mm.getMonitoringConfig().addProbes(new MemoryProbe.Adapter() {
+            @Override
+            public void onSlabAllocateEvent(int arena, int size) {
+                allocatedSlabs.incrementAndGet();
+            }
+
+            @Override
+            public void onSlabReleaseEvent(int arena, int size) {
+                releasedSlabs.incrementAndGet();
+            }
+        });
+
+        // 8 buffers of the smallest size class fill one slab
+        final List<Buffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            buffers.add(mm.allocate(512));
+        }
+        assertEquals(2, allocatedSlabs.get());
+        assertEquals(2 * 4096, mm.getReservedBytes());
+        assertEquals(9 * 512, mm.getAllocatedBytes());
+
+        for (Buffer b : buffers) {
+            b.tryDispose();
+        }
+        // one empty slab is kept, the other one is released
+        assertEquals(1, releasedSlabs.get());
+        assertEquals(4096, mm.getReservedBytes());
+        assertEquals(0, mm.getAllocatedBytes());
+
+        // the empty slab is divided for another size class
+        final Buffer b = mm.allocate(4096);
+        assertEquals(2, allocatedSlabs.get());
+        b.tryDispose();
+    }
+
+    @Test
+    public void testFragmentation() {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 1, 1);
+        assertEquals(0, mm.getFragmentation(), 0);
+
+        final Buffer b1 = mm.allocate(1024);
+        final Buffer b2 = mm.allocate(1024);
+        final Buffer b3 = mm.allocate(1024);
+        final Buffer b4 = mm.allocate(1024);
+        assertEquals(0, mm.getFragmentation(), 0);
+        b4.tryDispose();
+        assertEquals(0.25, mm.getFragmentation(), 0.0001);
+
+        // internal fragmentation: 1025 bytes take 2048 bytes buffer
+        final Buffer b5 = mm.allocate(1025);
+        assertEquals(3 * 1024 + 2048, mm.getAllocatedBytes());
+        assertEquals(3 * 1024 + 1025, mm.getRequestedBytes());
+
+        b1.tryDispose();
+        b2.tryDispose();
+        b3.tryDispose();
+        b5.tryDispose();
+        assertEquals(0, mm.getRequestedBytes());
+    }
+
+    @Test
+    public void testReallocate() {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 1, 1);
+
+        Buffer b = mm.allocate(600);
+        b.putInt(42);
+        final Buffer same = mm.reallocate(b, 1000);
+        assertSame(b, same);
+        assertEquals(1000, same.limit());
+
+        b = mm.reallocate(same, 3000);
+        assertNotSame(same, b);
+        assertEquals(4, b.position());
+        assertEquals(3000, b.limit());
+        assertEquals(42, b.getInt(0));
+
+        b = mm.reallocate(b, 10000);
+        assertTrue(b.isComposite());
+        assertEquals(10000, b.limit());
+        assertEquals(42, b.getInt(0));
+
+        b.tryDispose();
+        assertEquals(0, mm.getAllocatedBytes());
+    }
+
+    @Test
+    public void testSplitBufferReturnsToSlab() {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 1, 1);
+
+        final Buffer b = mm.allocate(1024);
+        final Buffer tail = b.split(512);
+        b.tryDispose();
+        assertEquals(1024, mm.getAllocatedBytes());
+
+        tail.tryDispose();
+        assertEquals(0, mm.getAllocatedBytes());
+    }
+
+    @Test
+    public void testThreadsAreSpreadAcrossArenas() throws Exception {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 2, 1);
+        final AtomicReference<Buffer> foreign = new AtomicReference<>();
+
+        final Buffer local = mm.allocate(512);
+        final CountDownLatch allocated = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread t = new Thread() {
+            @Override
+            public void run() {
+                foreign.set(mm.allocate(512));
+                allocated.countDown();
+                try {
+                    // stay bound to the arena, until the counts are checked
+                    done.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+        t.start();
+        allocated.await();
+
+        assertEquals(1, mm.getArenaThreadsCount(0));
+        assertEquals(1, mm.getArenaThreadsCount(1));
+        done.countDown();
+        t.join();
+        assertEquals(512, mm.getArenaAllocatedBytes(0));
+        assertEquals(512, mm.getArenaAllocatedBytes(1));
+
+        // release by a thread of another arena
+        foreign.get().tryDispose();
+        local.tryDispose();
+        assertEquals(0, mm.getArenaAllocatedBytes(0));
+        assertEquals(0, mm.getArenaAllocatedBytes(1));
+    }
+
+    @Test
+    public void testDeadThreadsAreUnbound() throws Exception {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 4096, 4096, 2, 1);
+        mm.allocate(512).tryDispose();
+
+        final Thread dead = new Thread() {
+            @Override
+            public void run() {
+                mm.allocate(512).tryDispose();
+            }
+        };
+        dead.start();
+        dead.join();
+
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (mm.getArenaThreadsCount(1) != 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, mm.getArenaThreadsCount(1));
+
+        // the arena of the dead thread is the least loaded one again
+        final CountDownLatch allocated = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread t = new Thread() {
+            @Override
+            public void run() {
+                mm.allocate(512).tryDispose();
+                allocated.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+        t.start();
+        allocated.await();
+        assertEquals(1, mm.getArenaThreadsCount(0));
+        assertEquals(1, mm.getArenaThreadsCount(1));
+        done.countDown();
+        t.join();
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws Exception {
+        final SlabMemoryManager mm = new SlabMemoryManager(512, 64 * 1024, 128 * 1024, 2, 1);
+        final int threadsCount = 8;
+        final CountDownLatch latch = new CountDownLatch(threadsCount);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        for (int i = 0; i < threadsCount; i++) {
+            final int seed = i;
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        final List<Buffer> buffers = new ArrayList<>();
+                        for (int j = 0; j < 10000; j++) {
+                            final int size = 1 + (j * 31 + seed * 7919) % (64 * 1024);
+                            final Buffer b = mm.allocate(size);
+                            b.put(0, (byte) seed);
+                            b.put(size - 1, (byte) seed);
+                            buffers.add(b);
+                            if (buffers.size() == 16) {
+                                for (Buffer buffer : buffers) {
+                                    assertEquals((byte) seed, buffer.get(0));
+                                    assertEquals((byte) seed, buffer.get(buffer.limit() - 1));
+                                    buffer.tryDispose();
+                                }
+                                buffers.clear();
+                            }
+                        }
+                        for (Buffer buffer : buffers) {
+                            buffer.tryDispose();
+                        }
+                    } catch (Throwable t) {
+                        error.set(t);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }.start();
+        }
+
+        latch.await();
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+        assertEquals(0, mm.getAllocatedBytes());
+        assertEquals(0, mm.getRequestedBytes());
+    }
+}
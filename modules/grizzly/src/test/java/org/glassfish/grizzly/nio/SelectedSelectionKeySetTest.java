@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+public class SelectedSelectionKeySetTest {
+
+    @Test
+    public void addRemoveClear() throws Exception {
+        final SelectedSelectionKeySet keySet = new SelectedSelectionKeySet();
+        try (Selector selector = Selector.open()) {
+            final Pipe pipe = Pipe.open();
+            try {
+                pipe.source().configureBlocking(false);
+                pipe.sink().configureBlocking(false);
+                final SelectionKey sourceKey = pipe.source().register(selector, SelectionKey.OP_READ);
+                final SelectionKey sinkKey = pipe.sink().register(selector, SelectionKey.OP_WRITE);
+
+                for (int i = 0; i < 1500; i++) {
+                    keySet.add(i % 2 == 0 ? sourceKey : sinkKey);
+                }
+                assertEquals(1500, keySet.size());
+                assertSame(sinkKey, keySet.get(1499));
+
+                assertTrue(keySet.remove(sourceKey));
+                assertEquals(1499, keySet.size());
+                assertSame(sinkKey, keySet.get(0));
+
+                int count = 0;
+                for (Iterator<SelectionKey> it = keySet.iterator(); it.hasNext(); it.next()) {
+                    count++;
+                }
+                assertEquals(1499, count);
+
+                keySet.clear();
+                assertEquals(0, keySet.size());
+                assertFalse(keySet.iterator().hasNext());
+                assertFalse(keySet.remove(sourceKey));
+            } finally {
+                pipe.source().close();
+                pipe.sink().close();
+            }
+        }
+    }
+
+    @Test
+    public void selectedKeysAreCollected() throws Exception {
+        try (Selector selector = Selector.open()) {
+            final SelectedSelectionKeySet keySet = SelectedSelectionKeySet.install(selector);
+            // the replacement is not possible without --add-opens java.base/sun.nio.ch
+            assumeNotNull(keySet);
+            assertSame(keySet, selector.selectedKeys());
+
+            final Pipe pipe = Pipe.open();
+            try {
+                pipe.source().configureBlocking(false);
+                final SelectionKey key = pipe.source().register(selector, SelectionKey.OP_READ);
+
+                assertEquals(0, selector.selectNow());
+                assertEquals(0, keySet.size());
+
+                pipe.sink().write(ByteBuffer.wrap(new byte[] { 1 }));
+                assertEquals(1, selector.select(5000));
+                assertEquals(1, keySet.size());
+                assertSame(key, keySet.get(0));
+                assertTrue(key.isReadable());
+                keySet.clear();
+
+                // a cancelled key is removed by the next select
+                key.cancel();
+                selector.selectNow();
+                assertEquals(0, keySet.size());
+                assertNotNull(selector.keys());
+                assertTrue(selector.keys().isEmpty());
+            } finally {
+                pipe.source().close();
+                pipe.sink().close();
+            }
+        }
+    }
+}
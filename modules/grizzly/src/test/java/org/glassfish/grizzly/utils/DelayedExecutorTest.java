@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests {@link DelayedExecutor} in both the scanning and the timing wheel modes.
+ */
+@RunWith(Parameterized.class)
+public class DelayedExecutorTest {
+
+    private static final long FOREVER = Long.MAX_VALUE;
+
+    @Parameters
+    public static Collection<Object[]> isTimingWheel() {
+        return Arrays.asList(new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } });
+    }
+
+    private final boolean isTimingWheel;
+
+    private ExecutorService threadPool;
+    private DelayedExecutor executor;
+
+    public DelayedExecutorTest(final boolean isTimingWheel) {
+        this.isTimingWheel = isTimingWheel;
+    }
+
+    @Before
+    public void before() {
+        threadPool = Executors.newSingleThreadExecutor();
+        // small wheel, so the overflow path gets exercised as well
+        executor = new DelayedExecutor(threadPool, 10, TimeUnit.MILLISECONDS, isTimingWheel ? 16 : 0);
+        executor.start();
+    }
+
+    @After
+    public void after() {
+        executor.destroy();
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new LatchWorker(latch), new ElementResolver());
+
+        final long start = System.currentTimeMillis();
+        queue.add(new Element(), 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 100);
+        assertEquals(1, executor.getExpiredCount());
+        assertTrue(executor.getMaxLatenessMillis() >= 0);
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new LatchWorker(latch), new ElementResolver());
+
+        final Element element = new Element();
+        queue.add(element, 100, TimeUnit.MILLISECONDS);
+        queue.remove(element);
+
+        assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(0, executor.getScheduledCount());
+    }
+
+    @Test
+    public void testTimeoutExtendedByResolver() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new LatchWorker(latch), new ElementResolver());
+
+        final Element element = new Element();
+        final long start = System.currentTimeMillis();
+        queue.add(element, 50, TimeUnit.MILLISECONDS);
+        // move the timeout without re-adding the element
+        element.timeoutMillis = start + 400;
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 400);
+    }
+
+    @Test
+    public void testForeverTimeoutSetByResolver() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new LatchWorker(latch), new ElementResolver());
+
+        final Element element = new Element();
+        queue.add(element, FOREVER, TimeUnit.MILLISECONDS);
+
+        assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+        if (isTimingWheel) {
+            assertEquals(1, executor.getOverflowCount());
+        }
+
+        // the way IdleTimeoutFilter makes a connection idle
+        element.timeoutMillis = System.currentTimeMillis() + 50;
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReAddedElementIsTrackedOnce() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new DelayedExecutor.Worker<Element>() {
+            @Override
+            public boolean doWork(final Element element) {
+                counter.incrementAndGet();
+                return true;
+            }
+        }, new ElementResolver());
+
+        final Element element = new Element();
+        for (int i = 0; i < 100; i++) {
+            queue.add(element, 500 - i, TimeUnit.MILLISECONDS);
+        }
+
+        Thread.sleep(100);
+        assertEquals(1, executor.getScheduledCount());
+
+        Thread.sleep(800);
+        assertEquals(1, counter.get());
+        assertEquals(0, executor.getScheduledCount());
+    }
+
+    @Test
+    public void testWorkerRequeue() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new DelayedExecutor.Worker<Element>() {
+            @Override
+            public boolean doWork(final Element element) {
+                latch.countDown();
+                return latch.getCount() == 0;
+            }
+        }, new ElementResolver());
+
+        queue.add(new Element(), 20, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testManyElements() throws Exception {
+        final int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final DelayedExecutor.DelayQueue<Element> queue = executor.createDelayQueue(new LatchWorker(latch), new ElementResolver());
+
+        for (int i = 0; i < count; i++) {
+            queue.add(new Element(), i % 500, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(count, executor.getExpiredCount());
+    }
+
+    private static final class Element {
+        volatile long timeoutMillis = DelayedExecutor.UNSET_TIMEOUT;
+    }
+
+    private static final class ElementResolver implements DelayedExecutor.Resolver<Element> {
+        @Override
+        public boolean removeTimeout(final Element element) {
+            element.timeoutMillis = DelayedExecutor.UNSET_TIMEOUT;
+            return true;
+        }
+
+        @Override
+        public long getTimeoutMillis(final Element element) {
+            return element.timeoutMillis;
+        }
+
+        @Override
+        public void setTimeoutMillis(final Element element, final long timeoutMillis) {
+            element.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    private static final class LatchWorker implements DelayedExecutor.Worker<Element> {
+        private final CountDownLatch latch;
+
+        LatchWorker(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public boolean doWork(final Element element) {
+            latch.countDown();
+            return true;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,22 +17,39 @@
 
 package org.glassfish.grizzly.http.server;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.http.Cookie;
 import org.glassfish.grizzly.http.server.util.Globals;
+import org.glassfish.grizzly.monitoring.MonitoringUtils;
 
 /**
  * Default {@link SessionManager} implementation.
+ * <p>
+ * Sessions are kept by a {@link SessionStore}, a {@link ShardedSessionStore} by default, which is asked to reclaim the
+ * expired sessions every {@value #EXPIRE_INTERVAL_MILLIS} ms, once the first session has been created. The number of sessions kept by the
+ * {@link #instance() singleton} may be bounded with the {@value #MAX_SESSIONS_PROP} system property, the least recently
+ * used sessions are evicted beyond it.
  */
 public class DefaultSessionManager implements SessionManager {
+    private static final Logger LOGGER = Grizzly.logger(DefaultSessionManager.class);
+
+    /**
+     * The system property to bound the number of sessions kept by the {@link #instance() singleton}.
+     */
+    public static final String MAX_SESSIONS_PROP = "org.glassfish.grizzly.http.server.DefaultSessionManager.maxSessions";
+
+    private static final long EXPIRE_INTERVAL_MILLIS = 1000;
 
     /**
      * @return <tt>DefaultSessionManager</tt> singleton
@@ -42,13 +60,13 @@ public class DefaultSessionManager implements SessionManager {
 
     // Lazy initialization of DefaultSessionManager
     private static class LazyHolder {
-        private static final DefaultSessionManager INSTANCE = new DefaultSessionManager();
+        private static final DefaultSessionManager INSTANCE = new DefaultSessionManager(
+                new ShardedSessionStore(2 * Runtime.getRuntime().availableProcessors(), Integer.getInteger(MAX_SESSIONS_PROP, -1)));
     }
 
-    /**
-     * Not Good. We need a better mechanism. TODO: Move Session Management out of here
-     */
-    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SessionStore sessions;
+
+    private final LongAdder createdCount = new LongAdder();
 
     private final Random rnd = new Random();
 
@@ -66,28 +84,23 @@ public class DefaultSessionManager implements SessionManager {
         }
     });
 
-    {
-        sessionExpirer.scheduleAtFixedRate(new Runnable() {
-
-            @Override
-            public void run() {
-                long currentTime = System.currentTimeMillis();
-                Iterator<Map.Entry<String, Session>> iterator = sessions.entrySet().iterator();
-                Map.Entry<String, Session> entry;
-                while (iterator.hasNext()) {
-                    entry = iterator.next();
-                    final Session session = entry.getValue();
-
-                    if (!session.isValid() || session.getSessionTimeout() > 0 && currentTime - session.getTimestamp() > session.getSessionTimeout()) {
-                        session.setValid(false);
-                        iterator.remove();
-                    }
-                }
-            }
-        }, 5, 5, TimeUnit.SECONDS);
-    }
+    /**
+     * Set once the expirer is scheduled or shut down, so looking the session manager up doesn't start a thread.
+     */
+    private final AtomicBoolean isExpirerStarted = new AtomicBoolean();
 
-    private DefaultSessionManager() {
+    /**
+     * Creates a session manager, which keeps its sessions in the given {@link SessionStore}. Unlike the
+     * {@link #instance() singleton}, the session manager has to be {@link #shutdown() shut down} when it is not needed
+     * anymore.
+     *
+     * @param sessions the {@link SessionStore}
+     */
+    public DefaultSessionManager(final SessionStore sessions) {
+        if (sessions == null) {
+            throw new IllegalArgumentException("sessions can not be null");
+        }
+        this.sessions = sessions;
     }
 
     @Override
@@ -95,8 +108,13 @@ public class DefaultSessionManager implements SessionManager {
 
         if (requestedSessionId != null) {
             final Session session = sessions.get(requestedSessionId);
-            if (session != null && session.isValid()) {
-                return session;
+            if (session != null) {
+                if (session.isValid()) {
+                    return session;
+                }
+
+                // invalidated by the application, no need to wait for the expirer
+                sessions.remove(requestedSessionId, session);
             }
         }
 
@@ -112,20 +130,24 @@ public class DefaultSessionManager implements SessionManager {
         do {
             requestedSessionId = String.valueOf(generateRandomLong());
             session.setIdInternal(requestedSessionId);
-        } while (sessions.putIfAbsent(requestedSessionId, session) != null);
+        } while (!sessions.putIfAbsent(requestedSessionId, session));
 
+        startExpirer();
+        createdCount.increment();
         return session;
     }
 
     @Override
     public String changeSessionId(final Request request, final Session session) {
         final String oldSessionId = session.getIdInternal();
-        final String newSessionId = String.valueOf(generateRandomLong());
+        sessions.remove(oldSessionId, session);
 
-        session.setIdInternal(newSessionId);
+        String newSessionId;
+        do {
+            newSessionId = String.valueOf(generateRandomLong());
+            session.setIdInternal(newSessionId);
+        } while (!sessions.putIfAbsent(newSessionId, session));
 
-        sessions.remove(oldSessionId);
-        sessions.put(newSessionId, session);
         return oldSessionId;
     }
 
@@ -145,6 +167,83 @@ public class DefaultSessionManager implements SessionManager {
         return sessionCookieName;
     }
 
+    /**
+     * @return the {@link SessionStore} keeping the sessions
+     */
+    public SessionStore getSessionStore() {
+        return sessions;
+    }
+
+    /**
+     * @return the number of sessions currently kept
+     */
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @return the total number of sessions created
+     */
+    public long getCreatedSessionCount() {
+        return createdCount.sum();
+    }
+
+    /**
+     * @return the total number of sessions removed, because they expired
+     */
+    public long getExpiredSessionCount() {
+        return sessions.getExpiredCount();
+    }
+
+    /**
+     * @return the total number of sessions removed, because they had been invalidated by the application
+     */
+    public long getInvalidatedSessionCount() {
+        return sessions.getInvalidatedCount();
+    }
+
+    /**
+     * @return the total number of sessions evicted to keep the number of sessions within the bound
+     */
+    public long getEvictedSessionCount() {
+        return sessions.getEvictedCount();
+    }
+
+    /**
+     * Stops reclaiming expired sessions, and closes the {@link SessionStore} if it is {@link Closeable}.
+     */
+    public void shutdown() {
+        isExpirerStarted.set(true);
+        sessionExpirer.shutdownNow();
+
+        if (sessions instanceof Closeable) {
+            try {
+                ((Closeable) sessions).close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Can not close the session store", e);
+            }
+        }
+    }
+
+    /**
+     * @return the JMX management object for this session manager
+     */
+    public Object createManagementObject() {
+        return MonitoringUtils.loadJmxObject("org.glassfish.grizzly.http.server.jmx.SessionManager", this, DefaultSessionManager.class);
+    }
+
+    private void startExpirer() {
+        if (!isExpirerStarted.get() && isExpirerStarted.compareAndSet(false, true)) {
+            sessionExpirer.scheduleAtFixedRate(new Runnable() {
+
+                @Override
+                public void run() {
+                    sessions.expire(System.currentTimeMillis());
+                }
+            }, EXPIRE_INTERVAL_MILLIS, EXPIRE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * Returns pseudorandom positive long value.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -82,23 +83,24 @@ public class FileCacheFilter extends BaseFilter {
 
                 // check if we can send plain or compressed data back.
                 // depends on client request headers and file cache entry
-                final boolean isServeCompressed = cacheEntry.canServeCompressed(request);
+                final String contentEncoding = cacheEntry.selectContentEncoding(request);
 
                 // The client doesn't have this resource cached, so
                 // we have to send entire payload
-                prepareResponseWithPayload(cacheEntry, response, isServeCompressed);
+                prepareResponseWithPayload(cacheEntry, response, contentEncoding);
 
                 if (cacheEntry.type != CacheType.FILE) {
                     // the payload is available in a ByteBuffer
-                    final Buffer buffer = Buffers.wrap(ctx.getMemoryManager(), cacheEntry.getByteBuffer(isServeCompressed).duplicate());
+                    final Buffer buffer = Buffers.wrap(ctx.getMemoryManager(), cacheEntry.getByteBuffer(contentEncoding).duplicate());
 
                     ctx.write(HttpContent.builder(response).content(buffer).last(true).build());
 
                     return flush(ctx);
                 }
 
-                return fileCache.isFileSendEnabled() && !request.isSecure() ? sendFileZeroCopy(ctx, response, cacheEntry, isServeCompressed)
-                        : sendFileUsingBuffers(ctx, response, cacheEntry, isServeCompressed);
+                // on secure connections the file-send is emulated by encrypting straight from the mapped file
+                return fileCache.isFileSendEnabled() && !request.isSecure() ? sendFileZeroCopy(ctx, response, cacheEntry, contentEncoding)
+                        : sendFileUsingBuffers(ctx, response, cacheEntry, contentEncoding, fileCache.isFileSendEnabled());
             }
         }
 
@@ -119,27 +121,31 @@ public class FileCacheFilter extends BaseFilter {
         if (entry.server != null) {
             response.addHeader(Header.Server, entry.server);
         }
+
+        if (entry.isVaryOnAcceptEncoding()) {
+            response.addHeader(Header.Vary, Header.AcceptEncoding.toString());
+        }
     }
 
     /**
      * Prepare response with payload headers.
      */
-    private void prepareResponseWithPayload(final FileCacheEntry entry, final HttpResponsePacket response, final boolean isServeCompressed) throws IOException {
+    private void prepareResponseWithPayload(final FileCacheEntry entry, final HttpResponsePacket response, final String contentEncoding) throws IOException {
         response.addHeader(Header.ETag, entry.Etag);
         response.addHeader(Header.LastModified, entry.lastModifiedHeader);
 
-        response.setContentLengthLong(entry.getFileSize(isServeCompressed));
+        response.setContentLengthLong(entry.getFileSize(contentEncoding));
 
-        if (isServeCompressed) {
-            response.addHeader(Header.ContentEncoding, "gzip");
+        if (contentEncoding != null) {
+            response.addHeader(Header.ContentEncoding, contentEncoding);
         }
     }
 
     private NextAction sendFileUsingBuffers(final FilterChainContext ctx, final HttpResponsePacket response, final FileCacheEntry cacheEntry,
-            final boolean isServeCompressed) {
+            final String contentEncoding, final boolean isMapped) {
         try {
-            final FileSendEntry sendEntry = FileSendEntry.create(ctx, response, cacheEntry.getFile(isServeCompressed),
-                    cacheEntry.getFileSize(isServeCompressed));
+            final FileSendEntry sendEntry = FileSendEntry.create(ctx, response, cacheEntry.getFile(contentEncoding),
+                    cacheEntry.getFileSize(contentEncoding), isMapped);
 
             ctx.suspend();
             sendEntry.send();
@@ -152,13 +158,13 @@ public class FileCacheFilter extends BaseFilter {
     }
 
     private NextAction sendFileZeroCopy(final FilterChainContext ctx, final HttpResponsePacket response, final FileCacheEntry cacheEntry,
-            final boolean isServeCompressed) {
+            final String contentEncoding) {
 
         // flush response
         ctx.write(response);
 
         // send-file
-        final FileTransfer f = new FileTransfer(cacheEntry.getFile(isServeCompressed), 0, cacheEntry.getFileSize(isServeCompressed));
+        final FileTransfer f = new FileTransfer(cacheEntry.getFile(contentEncoding), 0, cacheEntry.getFileSize(contentEncoding));
         ctx.write(f, new EmptyCompletionHandler<WriteResult>() {
             @Override
             public void failed(Throwable throwable) {
@@ -212,13 +218,35 @@ public class FileCacheFilter extends BaseFilter {
 
         private long remaining;
 
+        // not null, if the file is sent as slices of its memory mapping
+        private MappedFileReader mappedFileReader;
+
         public static FileSendEntry create(final FilterChainContext ctx, final HttpResponsePacket response, final File file, final long size)
                 throws IOException {
+            return create(ctx, response, file, size, false);
+        }
+
+        /**
+         * @param isMapped <tt>true</tt> to send the file as slices of its memory mapping instead of copying it to
+         * buffers
+         */
+        public static FileSendEntry create(final FilterChainContext ctx, final HttpResponsePacket response, final File file, final long size,
+                final boolean isMapped) throws IOException {
 
             final FileInputStream fis = new FileInputStream(file);
             final FileChannel fc = fis.getChannel();
 
-            return new FileSendEntry(ctx, response, fis, fc, size);
+            final FileSendEntry sendEntry = new FileSendEntry(ctx, response, fis, fc, size);
+            if (isMapped) {
+                try {
+                    sendEntry.mappedFileReader = MappedFileReader.map(fc, size);
+                } catch (IOException e) {
+                    sendEntry.close();
+                    throw e;
+                }
+            }
+
+            return sendEntry;
         }
 
         public FileSendEntry(final FilterChainContext ctx, final HttpResponsePacket response, final FileInputStream fis, final FileChannel fc,
@@ -248,14 +276,21 @@ public class FileCacheFilter extends BaseFilter {
             try {
                 boolean isLast;
                 do {
-                    final Buffer buffer = ctx.getMemoryManager().allocate(chunkSize);
-                    buffer.allowBufferDispose(true);
+                    final Buffer buffer;
+                    if (mappedFileReader != null) {
+                        buffer = mappedFileReader.read(ctx.getMemoryManager());
+                        isLast = buffer == null || mappedFileReader.remaining() == 0;
+                    } else {
+                        buffer = ctx.getMemoryManager().allocate(chunkSize);
+                        buffer.allowBufferDispose(true);
+
+                        final long readNow = Buffers.readFromFileChannel(fc, buffer);
+                        isLast = readNow <= 0 || (remaining -= readNow) <= 0;
 
-                    final long readNow = Buffers.readFromFileChannel(fc, buffer);
-                    isLast = readNow <= 0 || (remaining -= readNow) <= 0;
+                        buffer.trim();
+                    }
 
-                    buffer.trim();
-                    ctx.write(HttpContent.builder(response).content(buffer).last(isLast).build());
+                    ctx.write(HttpContent.builder(response).content(buffer != null ? buffer : Buffers.EMPTY_BUFFER).last(isLast).build());
 
                 } while (!isLast && output.canWrite());
 
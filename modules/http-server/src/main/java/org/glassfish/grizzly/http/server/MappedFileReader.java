@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+
+/**
+ * Reads a file as slices of its read-only memory mapping. Used instead of the zero-copy file-send on secure
+ * connections: the {@link javax.net.ssl.SSLEngine} encrypts straight from the mapped pages, so the file content isn't
+ * copied to intermediate buffers first.
+ * <p>
+ * The files smaller than <tt>org.glassfish.grizzly.http.server.MappedFileReader.minSize</tt> bytes (128K by default)
+ * are not mapped: setting up and tearing down a mapping costs more than copying a small file, and the mapping is only
+ * released, when the buffer is garbage collected.
+ */
+final class MappedFileReader {
+    /**
+     * The maximum TLS record payload, so each slice is encrypted into a single record.
+     */
+    private static final int CHUNK_SIZE = 16384;
+
+    /**
+     * The size, below which the files are read into heap buffers instead of being mapped.
+     */
+    private static final long MIN_SIZE = Long.getLong(MappedFileReader.class.getName() + ".minSize", 128 * 1024);
+
+    private final ByteBuffer mapping;
+
+    private MappedFileReader(final ByteBuffer mapping) {
+        this.mapping = mapping;
+    }
+
+    /**
+     * Maps the first <tt>size</tt> bytes of the file.
+     *
+     * @return the reader, or <tt>null</tt> if the file is too small to be worth mapping or too large to be mapped at
+     * once
+     */
+    static MappedFileReader map(final FileChannel fileChannel, final long size) throws IOException {
+        if (size < MIN_SIZE || size > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        return new MappedFileReader(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    }
+
+    /**
+     * @return the next slice of the file, or <tt>null</tt> if the whole file has been read
+     */
+    Buffer read(final MemoryManager memoryManager) {
+        final int length = Math.min(CHUNK_SIZE, mapping.remaining());
+        if (length == 0) {
+            return null;
+        }
+
+        final ByteBuffer slice = mapping.slice();
+        slice.limit(length);
+        mapping.position(mapping.position() + length);
+
+        return Buffers.wrap(memoryManager, slice);
+    }
+
+    /**
+     * @return the number of bytes, which haven't been read yet
+     */
+    int remaining() {
+        return mapping.remaining();
+    }
+}
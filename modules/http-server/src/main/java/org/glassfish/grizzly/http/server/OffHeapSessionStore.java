@@ -0,0 +1,645 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+
+/**
+ * Two tier {@link SessionStore}, which keeps the most recently used sessions on heap and the rest serialized off heap.
+ * <p>
+ * The hot tier is a bounded {@link ShardedSessionStore}. The least recently used session, which doesn't fit into it
+ * anymore, has its attributes serialized into the cold tier: an open addressing hash table of fixed size slots in
+ * direct memory or in a memory-mapped file. A session found in the cold tier is deserialized and moved back to the hot
+ * tier, so hits of the hot tier cost a hash lookup, like with the {@link ShardedSessionStore}.
+ * <p>
+ * Sessions, which can not be moved to the cold tier, because an attribute is not {@link java.io.Serializable}, the
+ * serialized session doesn't fit into a slot, or the cold tier is full, are invalidated like evicted sessions of a
+ * {@link ShardedSessionStore}. The expired sessions of the cold tier are reclaimed by scanning the table once a
+ * minute.
+ * <p>
+ * When backed by a file, {@link #close()} moves the hot tier to the file, so the sessions survive a restart of the
+ * process, which opens the file with the same capacity and slot size. A session object is only kept by one tier at a
+ * time, so the hot tier should be large enough to hold the sessions being used by requests in progress.
+ * <p>
+ * A session is moved between the tiers while the hot tier shard it belongs to is locked, so it's always found in one of
+ * them. The attributes are deserialized using the filter set with {@link #setSerialFilter(ObjectInputFilter)}, which
+ * defaults to the JVM-wide filter, along with limits derived from the slot size.
+ */
+public class OffHeapSessionStore implements SessionStore, Closeable {
+    private static final Logger LOGGER = Grizzly.logger(OffHeapSessionStore.class);
+
+    /**
+     * The default size of a cold tier slot in bytes.
+     */
+    public static final int DEFAULT_SLOT_SIZE = 1024;
+
+    /**
+     * The max number of cold tier slots, the largest power of two an <tt>int</tt> can hold.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final long COLD_EXPIRE_INTERVAL_MILLIS = 60 * 1000;
+    private static final int COLD_EXPIRE_BATCH = 4096;
+
+    private static final int MAGIC = 0x47534553;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 64;
+
+    // slot layout
+    private static final int STATE = 0;
+    private static final int HASH = 4;
+    private static final int ID_LENGTH = 8;
+    private static final int DATA_LENGTH = 12;
+    private static final int CREATION_TIME = 16;
+    private static final int TIMESTAMP = 24;
+    private static final int TIMEOUT = 32;
+    private static final int SLOT_HEADER_SIZE = 40;
+
+    private static final int FREE = 0;
+    private static final int USED = 1;
+
+    private final ShardedSessionStore hot;
+
+    private final ReentrantLock coldLock = new ReentrantLock();
+    private final boolean mapped;
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int slotSize;
+    private final int mask;
+    private final int maxColdSessions;
+
+    private volatile int coldCount;
+    private long lastColdExpireMillis;
+
+    private final ObjectInputFilter limitsFilter;
+    private volatile ObjectInputFilter serialFilter = ObjectInputFilter.Config.getSerialFilter();
+
+    private final LongAdder coldExpiredCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    private final LongAdder loadedCount = new LongAdder();
+
+    /**
+     * Creates a store with the cold tier in direct memory.
+     *
+     * @param hotSessions the maximum number of sessions kept on heap
+     * @param capacity the number of cold tier slots, rounded up to a power of two. Up to three quarters of them are used.
+     * At most {@value #MAX_CAPACITY}.
+     * @param slotSize the size of a cold tier slot in bytes, which bounds the size of a serialized session
+     */
+    public OffHeapSessionStore(final int hotSessions, final int capacity, final int slotSize) {
+        this(hotSessions, slotSize, allocateSegments(checkCapacity(capacity), checkSlotSize(slotSize)), false);
+    }
+
+    /**
+     * Creates a store with the cold tier in a memory-mapped file. An existing file is reopened with the sessions it
+     * contains, if it had been created with the same capacity and slot size.
+     *
+     * @param file the file backing the cold tier
+     * @param hotSessions the maximum number of sessions kept on heap
+     * @param capacity the number of cold tier slots, rounded up to a power of two. Up to three quarters of them are used.
+     * At most {@value #MAX_CAPACITY}.
+     * @param slotSize the size of a cold tier slot in bytes, which bounds the size of a serialized session
+     *
+     * @throws IOException if the file can not be mapped, or had been created with a different capacity or slot size
+     */
+    public OffHeapSessionStore(final Path file, final int hotSessions, final int capacity, final int slotSize) throws IOException {
+        this(hotSessions, slotSize, mapSegments(file, checkCapacity(capacity), checkSlotSize(slotSize)), true);
+    }
+
+    private OffHeapSessionStore(final int hotSessions, final int slotSize, final ByteBuffer[] segments, final boolean mapped) {
+        if (hotSessions <= 0) {
+            throw new IllegalArgumentException("hotSessions must be positive");
+        }
+
+        this.mapped = mapped;
+        this.segments = segments;
+        this.slotSize = slotSize;
+        final int slotsPerSegment = segments[0].capacity() / slotSize;
+        segmentShift = Integer.numberOfTrailingZeros(slotsPerSegment);
+        segmentMask = slotsPerSegment - 1;
+        final int capacity = slotsPerSegment * segments.length;
+        mask = capacity - 1;
+        maxColdSessions = capacity - (capacity >> 2);
+        limitsFilter = ObjectInputFilter.Config.createFilter("maxdepth=32;maxrefs=" + slotSize + ";maxarray=" + slotSize + ";maxbytes=" + slotSize);
+        lastColdExpireMillis = System.currentTimeMillis();
+
+        hot = new ShardedSessionStore(2 * Runtime.getRuntime().availableProcessors(), hotSessions) {
+            @Override
+            protected void onEvicted(final String id, final Session session) {
+                if (!spill(id, session)) {
+                    super.onEvicted(id, session);
+                }
+            }
+        };
+
+        int count = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            if (state(slot) == USED) {
+                count++;
+            }
+        }
+        coldCount = count;
+    }
+
+    @Override
+    public Session get(final String id) {
+        final Session session = hot.get(id);
+        if (session != null) {
+            return session;
+        }
+
+        // the session is moved to the hot tier while its shard is locked, so
+        // concurrent requests for it wait rather than miss it in both tiers
+        return hot.computeIfAbsent(id, this::load);
+    }
+
+    @Override
+    public boolean putIfAbsent(final String id, final Session session) {
+        return hot.computeIfAbsent(id, i -> containsCold(i) ? null : session) == session;
+    }
+
+    @Override
+    public boolean remove(final String id, final Session session) {
+        // a concurrent get() can't load the session back from the cold tier, while it's being removed from both tiers
+        return hot.removeOrElse(id, session, this::removeCold);
+    }
+
+    @Override
+    public void expire(final long currentTimeMillis) {
+        hot.expire(currentTimeMillis);
+
+        if (currentTimeMillis - lastColdExpireMillis >= COLD_EXPIRE_INTERVAL_MILLIS) {
+            lastColdExpireMillis = currentTimeMillis;
+            expireCold(currentTimeMillis);
+        }
+    }
+
+    @Override
+    public int size() {
+        return hot.size() + coldCount;
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return hot.getExpiredCount() + coldExpiredCount.sum();
+    }
+
+    @Override
+    public long getInvalidatedCount() {
+        return hot.getInvalidatedCount();
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return hot.getEvictedCount();
+    }
+
+    /**
+     * @return the filter checking the classes of the deserialized session attributes, or <tt>null</tt>
+     */
+    public ObjectInputFilter getSerialFilter() {
+        return serialFilter;
+    }
+
+    /**
+     * Sets the filter checking the classes of the deserialized session attributes, like a filter allowing the
+     * application's attribute classes only. By default the JVM-wide filter, if any, is used. The size limits derived
+     * from the slot size are checked regardless.
+     *
+     * @param serialFilter the filter, or <tt>null</tt> to only check the size limits
+     */
+    public void setSerialFilter(final ObjectInputFilter serialFilter) {
+        this.serialFilter = serialFilter;
+    }
+
+    /**
+     * @return the number of sessions kept on heap
+     */
+    public int getHotSessionCount() {
+        return hot.size();
+    }
+
+    /**
+     * @return the number of sessions kept off heap
+     */
+    public int getColdSessionCount() {
+        return coldCount;
+    }
+
+    /**
+     * @return the total number of sessions moved from the hot to the cold tier
+     */
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    /**
+     * @return the total number of sessions moved from the cold to the hot tier
+     */
+    public long getLoadedCount() {
+        return loadedCount.sum();
+    }
+
+    /**
+     * Moves the hot tier to the backing file, if any, and writes the file. The store can not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!mapped) {
+            return;
+        }
+
+        hot.forEach(this::spill);
+        for (final ByteBuffer segment : segments) {
+            ((MappedByteBuffer) segment).force();
+        }
+    }
+
+    // ------------------------------------------------------------ Cold tier
+
+    /**
+     * Serializes the session into the cold tier.
+     *
+     * @return <tt>false</tt> if the session can not be moved to the cold tier
+     */
+    private boolean spill(final String id, final Session session) {
+        if (!session.isValid()) {
+            return false;
+        }
+
+        final byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        final byte[] data = serialize(session);
+        if (data == null || SLOT_HEADER_SIZE + idBytes.length + data.length > slotSize) {
+            return false;
+        }
+
+        final int hash = hash(id);
+        coldLock.lock();
+        try {
+            int slot = find(idBytes, hash);
+            if (slot == -1) {
+                if (coldCount >= maxColdSessions) {
+                    return false;
+                }
+
+                slot = hash & mask;
+                while (state(slot) == USED) {
+                    slot = slot + 1 & mask;
+                }
+                coldCount++;
+            }
+
+            final ByteBuffer segment = segment(slot);
+            final int offset = offset(slot);
+            segment.putInt(offset + HASH, hash);
+            segment.putInt(offset + ID_LENGTH, idBytes.length);
+            segment.putInt(offset + DATA_LENGTH, data.length);
+            segment.putLong(offset + CREATION_TIME, session.getCreationTime());
+            segment.putLong(offset + TIMESTAMP, session.getTimestamp());
+            segment.putLong(offset + TIMEOUT, session.getSessionTimeout());
+            segment.put(offset + SLOT_HEADER_SIZE, idBytes);
+            segment.put(offset + SLOT_HEADER_SIZE + idBytes.length, data);
+            segment.putInt(offset + STATE, USED);
+        } finally {
+            coldLock.unlock();
+        }
+
+        spilledCount.increment();
+        return true;
+    }
+
+    /**
+     * Removes the session from the cold tier and deserializes it. Called while the hot tier shard of the session is
+     * locked.
+     *
+     * @return the {@link Session}, or <tt>null</tt> if the cold tier doesn't have it, or it has expired
+     */
+    private Session load(final String id) {
+        final byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        final long creationTime;
+        final long timestamp;
+        final long timeout;
+        final byte[] data;
+
+        coldLock.lock();
+        try {
+            final int slot = find(idBytes, hash(id));
+            if (slot == -1) {
+                return null;
+            }
+
+            final ByteBuffer segment = segment(slot);
+            final int offset = offset(slot);
+            final int dataLength = segment.getInt(offset + DATA_LENGTH);
+            if (dataLength < 0 || dataLength > slotSize - SLOT_HEADER_SIZE - idBytes.length) {
+                // the file is corrupted
+                LOGGER.log(Level.WARNING, "Session {0} has an invalid length of {1} bytes", new Object[] { id, dataLength });
+                delete(slot);
+                return null;
+            }
+
+            creationTime = segment.getLong(offset + CREATION_TIME);
+            timestamp = segment.getLong(offset + TIMESTAMP);
+            timeout = segment.getLong(offset + TIMEOUT);
+            data = new byte[dataLength];
+            segment.get(offset + SLOT_HEADER_SIZE + idBytes.length, data);
+            delete(slot);
+        } finally {
+            coldLock.unlock();
+        }
+
+        if (timeout > 0 && System.currentTimeMillis() - timestamp > timeout) {
+            coldExpiredCount.increment();
+            return null;
+        }
+
+        final Session session = new Session(id, creationTime);
+        session.setTimestamp(timestamp);
+        session.setSessionTimeout(timeout);
+        if (!deserialize(data, session)) {
+            return null;
+        }
+
+        loadedCount.increment();
+        return session;
+    }
+
+    private boolean containsCold(final String id) {
+        coldLock.lock();
+        try {
+            return find(id.getBytes(StandardCharsets.UTF_8), hash(id)) != -1;
+        } finally {
+            coldLock.unlock();
+        }
+    }
+
+    private boolean removeCold(final String id) {
+        coldLock.lock();
+        try {
+            final int slot = find(id.getBytes(StandardCharsets.UTF_8), hash(id));
+            if (slot == -1) {
+                return false;
+            }
+
+            delete(slot);
+            return true;
+        } finally {
+            coldLock.unlock();
+        }
+    }
+
+    /**
+     * Scans the table for expired sessions, a batch of slots at a time, so lookups don't wait for the whole scan.
+     */
+    private void expireCold(final long currentTimeMillis) {
+        int slot = 0;
+        while (slot <= mask) {
+            coldLock.lock();
+            try {
+                final int end = Math.min(slot + COLD_EXPIRE_BATCH, mask + 1);
+                while (slot < end) {
+                    if (state(slot) == USED) {
+                        final ByteBuffer segment = segment(slot);
+                        final int offset = offset(slot);
+                        final long timeout = segment.getLong(offset + TIMEOUT);
+                        if (timeout > 0 && currentTimeMillis - segment.getLong(offset + TIMESTAMP) > timeout) {
+                            // another session may be moved into the slot, so look at it again
+                            delete(slot);
+                            coldExpiredCount.increment();
+                            continue;
+                        }
+                    }
+                    slot++;
+                }
+            } finally {
+                coldLock.unlock();
+            }
+        }
+    }
+
+    private int find(final byte[] idBytes, final int hash) {
+        int slot = hash & mask;
+        for (int i = 0; i <= mask && state(slot) == USED; i++) {
+            final ByteBuffer segment = segment(slot);
+            final int offset = offset(slot);
+            if (segment.getInt(offset + HASH) == hash && segment.getInt(offset + ID_LENGTH) == idBytes.length && idEquals(segment, offset, idBytes)) {
+                return slot;
+            }
+            slot = slot + 1 & mask;
+        }
+        return -1;
+    }
+
+    private static boolean idEquals(final ByteBuffer segment, final int offset, final byte[] idBytes) {
+        for (int i = 0; i < idBytes.length; i++) {
+            if (segment.get(offset + SLOT_HEADER_SIZE + i) != idBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Frees the slot, moving back the following sessions, which would not be found anymore otherwise.
+     */
+    private void delete(final int slot) {
+        int hole = slot;
+        int next = slot + 1 & mask;
+        while (state(next) == USED) {
+            final int home = segment(next).getInt(offset(next) + HASH) & mask;
+            if ((next - home & mask) >= (next - hole & mask)) {
+                segment(hole).put(offset(hole), segment(next), offset(next), slotSize);
+                hole = next;
+            }
+            next = next + 1 & mask;
+        }
+        segment(hole).putInt(offset(hole) + STATE, FREE);
+        coldCount--;
+    }
+
+    private int state(final int slot) {
+        return segment(slot).getInt(offset(slot) + STATE);
+    }
+
+    private ByteBuffer segment(final int slot) {
+        return segments[slot >>> segmentShift];
+    }
+
+    private int offset(final int slot) {
+        return (slot & segmentMask) * slotSize;
+    }
+
+    private static int hash(final String id) {
+        final int h = id.hashCode();
+        return h ^ h >>> 16;
+    }
+
+    // -------------------------------------------------------- Serialization
+
+    private static byte[] serialize(final Session session) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            for (final Map.Entry<String, Object> attribute : session.attributes().entrySet()) {
+                out.writeBoolean(true);
+                out.writeUTF(attribute.getKey());
+                out.writeObject(attribute.getValue());
+            }
+            out.writeBoolean(false);
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Session " + session.getIdInternal() + " can not be serialized", e);
+            }
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private boolean deserialize(final byte[] data, final Session session) {
+        try (ObjectInputStream in = new SessionInputStream(new ByteArrayInputStream(data))) {
+            final ObjectInputFilter filter = serialFilter;
+            in.setObjectInputFilter(info -> {
+                final ObjectInputFilter.Status status = limitsFilter.checkInput(info);
+                return status != ObjectInputFilter.Status.REJECTED && filter != null ? filter.checkInput(info) : status;
+            });
+            while (in.readBoolean()) {
+                final String name = in.readUTF();
+                session.setAttribute(name, in.readObject());
+            }
+            return true;
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.WARNING, "Session " + session.getIdInternal() + " can not be deserialized", e);
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the attribute classes with the context class loader, which loaded the application's classes.
+     */
+    private static final class SessionInputStream extends ObjectInputStream {
+        SessionInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException ignored) {
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+
+    // ----------------------------------------------------------- Allocation
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity can't exceed " + MAX_CAPACITY);
+        }
+        int slots = 1;
+        while (slots < capacity) {
+            slots <<= 1;
+        }
+        return slots;
+    }
+
+    private static int checkSlotSize(final int slotSize) {
+        if (slotSize <= SLOT_HEADER_SIZE) {
+            throw new IllegalArgumentException("slotSize must be greater than " + SLOT_HEADER_SIZE);
+        }
+        return slotSize;
+    }
+
+    /**
+     * @return the number of slots of a segment, the largest power of two, which fits into a {@link ByteBuffer}
+     */
+    private static int slotsPerSegment(final int capacity, final int slotSize) {
+        int slots = capacity;
+        while ((long) slots * slotSize > Integer.MAX_VALUE) {
+            slots >>>= 1;
+        }
+        return slots;
+    }
+
+    private static ByteBuffer[] allocateSegments(final int capacity, final int slotSize) {
+        final int slotsPerSegment = slotsPerSegment(capacity, slotSize);
+        final ByteBuffer[] segments = new ByteBuffer[capacity / slotsPerSegment];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(slotsPerSegment * slotSize);
+        }
+        return segments;
+    }
+
+    private static ByteBuffer[] mapSegments(final Path file, final int capacity, final int slotSize) throws IOException {
+        // the mappings stay valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            if (channel.size() == 0) {
+                header.putInt(MAGIC).putInt(VERSION).putInt(capacity).putInt(slotSize).flip();
+                channel.write(header, 0);
+            } else {
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < 16 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                    throw new IOException("Not a session store file");
+                }
+                final int fileCapacity = header.getInt();
+                final int fileSlotSize = header.getInt();
+                if (fileCapacity != capacity || fileSlotSize != slotSize) {
+                    throw new IOException("The session store file has " + fileCapacity + " slots of " + fileSlotSize + " bytes, expected " + capacity
+                            + " slots of " + slotSize + " bytes");
+                }
+            }
+
+            final int slotsPerSegment = slotsPerSegment(capacity, slotSize);
+            final long segmentSize = (long) slotsPerSegment * slotSize;
+            final ByteBuffer[] segments = new ByteBuffer[capacity / slotsPerSegment];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, FILE_HEADER_SIZE + i * segmentSize, segmentSize);
+            }
+            return segments;
+        }
+    }
+}
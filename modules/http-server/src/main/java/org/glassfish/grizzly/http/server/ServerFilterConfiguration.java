@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,6 +38,7 @@ public class ServerFilterConfiguration {
     private boolean traceEnabled;
     private boolean passTraceRequest;
     private int maxRequestParameters = MAX_REQUEST_PARAMETERS;
+    private boolean lazyParameterParsing;
 
     private long maxPostSize = -1L;
     private int maxFormPostSize = 2 * 1024 * 1024;
@@ -90,6 +92,7 @@ public class ServerFilterConfiguration {
         this.traceEnabled = configuration.traceEnabled;
         this.passTraceRequest = configuration.passTraceRequest;
         this.maxRequestParameters = configuration.maxRequestParameters;
+        this.lazyParameterParsing = configuration.lazyParameterParsing;
         this.maxFormPostSize = configuration.maxFormPostSize;
         this.maxBufferedPostSize = configuration.maxBufferedPostSize;
         this.defaultQueryEncoding = configuration.defaultQueryEncoding;
@@ -309,6 +312,27 @@ public class ServerFilterConfiguration {
         }
     }
 
+    /**
+     * Returns <tt>true</tt> if query string and form parameters are parsed lazily: the content is scanned into an index
+     * of parameter boundaries, and a parameter is only decoded when it is requested. By default parameters are parsed
+     * eagerly.
+     *
+     * @return <tt>true</tt> if request parameters are parsed lazily
+     */
+    public boolean isLazyParameterParsing() {
+        return lazyParameterParsing;
+    }
+
+    /**
+     * Enables or disables lazy parsing of request parameters. Lazy parsing pays off when handlers read only a few of
+     * many parameters, like a couple of fields of a large form.
+     *
+     * @param lazyParameterParsing <tt>true</tt> to parse request parameters lazily
+     */
+    public void setLazyParameterParsing(final boolean lazyParameterParsing) {
+        this.lazyParameterParsing = lazyParameterParsing;
+    }
+
     /**
      * Returns the "reuse session IDs when creating sessions"
      *
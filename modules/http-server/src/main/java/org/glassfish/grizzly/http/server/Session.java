@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,7 @@ package org.glassfish.grizzly.http.server;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 /**
  * Simple session object.
@@ -61,6 +63,11 @@ public class Session {
      */
     private long timestamp = -1;
 
+    /**
+     * Notified once, when the session is invalidated, by the {@link SessionStore} keeping the session.
+     */
+    private volatile Consumer<Session> invalidationListener;
+
     public Session() {
         this(null);
     }
@@ -75,6 +82,19 @@ public class Session {
         creationTime = timestamp = System.currentTimeMillis();
     }
 
+    /**
+     * Restore a session, which had been created earlier
+     * 
+     * @param id session identifier
+     * @param creationTime the time the session was created at
+     */
+    Session(String id, long creationTime) {
+        this.id = id;
+        this.creationTime = creationTime;
+        timestamp = creationTime;
+        isNew = false;
+    }
+
     /**
      * Is the current Session valid?
      * 
@@ -93,9 +113,24 @@ public class Session {
         this.isValid = isValid;
         if (!isValid) {
             timestamp = -1;
+
+            final Consumer<Session> listener = invalidationListener;
+            if (listener != null) {
+                invalidationListener = null;
+                listener.accept(this);
+            }
         }
     }
 
+    /**
+     * Sets the listener to be notified, when the session is invalidated.
+     *
+     * @param invalidationListener the listener, or <tt>null</tt> to stop notifying
+     */
+    void setInvalidationListener(Consumer<Session> invalidationListener) {
+        this.invalidationListener = invalidationListener;
+    }
+
     /**
      * Returns <code>true</code> if the client does not yet know about the session or if the client chooses not to join the
      * session. For example, if the server used only cookie-based sessions, and the client had disabled the use of cookies,
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+/**
+ * Storage of the {@link Session}s tracked by a {@link DefaultSessionManager}. Implementations are responsible for
+ * reclaiming expired sessions when {@link #expire(long)} is called, and may bound the number of sessions they keep.
+ *
+ * @see ShardedSessionStore
+ */
+public interface SessionStore {
+
+    /**
+     * @param id the session id
+     * @return the {@link Session} with the given id, or <tt>null</tt> if there is none
+     */
+    Session get(String id);
+
+    /**
+     * Adds the {@link Session} with the given id, unless the id is already in use.
+     *
+     * @param id the session id
+     * @param session the {@link Session}
+     * @return <tt>true</tt> if the session has been added, or <tt>false</tt> if the id is in use
+     */
+    boolean putIfAbsent(String id, Session session);
+
+    /**
+     * Removes the {@link Session} with the given id, if it is the given one.
+     *
+     * @param id the session id
+     * @param session the {@link Session}
+     * @return <tt>true</tt> if the session has been removed
+     */
+    boolean remove(String id, Session session);
+
+    /**
+     * Invalidates and removes the sessions, which have expired or have been invalidated by the application. Called
+     * periodically by the {@link DefaultSessionManager}.
+     *
+     * @param currentTimeMillis the current time
+     */
+    void expire(long currentTimeMillis);
+
+    /**
+     * @return the number of sessions in the store
+     */
+    int size();
+
+    /**
+     * @return the total number of sessions removed, because they expired
+     */
+    long getExpiredCount();
+
+    /**
+     * @return the total number of sessions removed, because they had been invalidated by the application
+     */
+    long getInvalidatedCount();
+
+    /**
+     * @return the total number of sessions evicted to keep the store within its size bound
+     */
+    long getEvictedCount();
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link SessionStore}, which spreads sessions over a number of independently locked shards.
+ * <p>
+ * Each shard keeps its sessions in access order, so when the store is bounded the least recently used session of the
+ * shard is evicted to make room for a new one. Expiry is tracked by a hashed timing wheel per shard: a session is put
+ * into the bucket of the tick it is going to expire at, and only the sessions of the buckets, which are due, are
+ * looked at. A session accessed meanwhile is moved to the bucket of its new expiration time when its old bucket is
+ * reached, so reclaiming sessions costs in proportion to the sessions expiring, rather than to all the sessions. A
+ * session invalidated by the application is removed right away.
+ */
+public class ShardedSessionStore implements SessionStore {
+
+    /**
+     * The default duration of a timing wheel tick in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+
+    /**
+     * The default number of timing wheel buckets, which covers a bit more than an hour with the default tick.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int maxSessionsPerShard;
+    private final long tickMillis;
+    private final int wheelMask;
+    private final long startMillis;
+
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder invalidatedCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    private final Consumer<Session> invalidationListener = this::onInvalidated;
+
+    /**
+     * Creates an unbounded store with twice as many shards as there are processors.
+     */
+    public ShardedSessionStore() {
+        this(2 * Runtime.getRuntime().availableProcessors(), -1);
+    }
+
+    /**
+     * @param shards the number of shards, rounded up to a power of two
+     * @param maxSessions the maximum number of sessions, or <tt>-1</tt> for no bound. The bound is split evenly between
+     * the shards.
+     */
+    public ShardedSessionStore(final int shards, final int maxSessions) {
+        this(shards, maxSessions, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param shards the number of shards, rounded up to a power of two
+     * @param maxSessions the maximum number of sessions, or <tt>-1</tt> for no bound. The bound is split evenly between
+     * the shards.
+     * @param tickMillis the expiry resolution in milliseconds
+     * @param wheelSize the number of timing wheel buckets, rounded up to a power of two. Sessions, which expire beyond
+     * the wheel horizon, are looked at once per horizon until they are due.
+     */
+    public ShardedSessionStore(final int shards, final int maxSessions, final long tickMillis, final int wheelSize) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("shards must be positive");
+        }
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize <= 1) {
+            throw new IllegalArgumentException("wheelSize must be greater than one");
+        }
+
+        final int shardCount = powerOfTwo(shards);
+        this.shards = new Shard[shardCount];
+        shardMask = shardCount - 1;
+        maxSessionsPerShard = maxSessions < 0 ? -1 : Math.max(1, (maxSessions + shardCount - 1) / shardCount);
+        this.tickMillis = tickMillis;
+        final int wheelCapacity = powerOfTwo(wheelSize);
+        wheelMask = wheelCapacity - 1;
+        startMillis = System.currentTimeMillis();
+
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(wheelCapacity);
+        }
+    }
+
+    /**
+     * @return the maximum number of sessions kept by a shard, or <tt>-1</tt> if the store is unbounded
+     */
+    public int getMaxSessionsPerShard() {
+        return maxSessionsPerShard;
+    }
+
+    /**
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public Session get(final String id) {
+        final Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            final Entry entry = shard.entries.get(id);
+            return entry != null ? entry.session : null;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(final String id, final Session session) {
+        final Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            if (shard.entries.containsKey(id)) {
+                return false;
+            }
+
+            add(shard, id, session);
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the session with the given id. If there is none, the session returned by the given function, if any, is
+     * added. The shard stays locked meanwhile, so concurrent callers either wait for the session to be added, or see it.
+     */
+    Session computeIfAbsent(final String id, final Function<String, Session> function) {
+        final Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            final Entry entry = shard.entries.get(id);
+            if (entry != null) {
+                return entry.session;
+            }
+
+            final Session session = function.apply(id);
+            if (session != null) {
+                add(shard, id, session);
+            }
+            return session;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void add(final Shard shard, final String id, final Session session) {
+        final Entry entry = new Entry(id, session);
+        shard.entries.put(id, entry);
+        session.setInvalidationListener(invalidationListener);
+        // look at the new session during the next tick, its timeout is usually set after it was added
+        shard.link(entry, shard.lastTick + 1, wheelMask);
+
+        if (maxSessionsPerShard > 0 && shard.entries.size() > maxSessionsPerShard) {
+            final Iterator<Entry> it = shard.entries.values().iterator();
+            final Entry eldest = it.next();
+            it.remove();
+            shard.unlink(eldest);
+            eldest.session.setInvalidationListener(null);
+            onEvicted(eldest.id, eldest.session);
+        }
+
+        shard.size = shard.entries.size();
+    }
+
+    @Override
+    public boolean remove(final String id, final Session session) {
+        final Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            return remove(shard, id, session);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the session. If the store doesn't have it under the given id, the given function is called instead. The
+     * shard stays locked meanwhile, so the function can't race with {@link #computeIfAbsent(String, Function)}.
+     */
+    boolean removeOrElse(final String id, final Session session, final Predicate<String> function) {
+        final Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            return remove(shard, id, session) || function.test(id);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private static boolean remove(final Shard shard, final String id, final Session session) {
+        final Entry entry = shard.entries.get(id);
+        if (entry == null || entry.session != session) {
+            return false;
+        }
+
+        shard.entries.remove(id);
+        shard.unlink(entry);
+        session.setInvalidationListener(null);
+        shard.size = shard.entries.size();
+        return true;
+    }
+
+    @Override
+    public void expire(final long currentTimeMillis) {
+        final long currentTick = (currentTimeMillis - startMillis) / tickMillis;
+        for (final Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                expire(shard, currentTimeMillis, currentTick);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Called, while the shard is locked, when the least recently used session of a full shard has been removed to make
+     * room for a new one. Invalidates the session by default.
+     *
+     * @param id the session id
+     * @param session the evicted {@link Session}
+     */
+    protected void onEvicted(final String id, final Session session) {
+        session.setValid(false);
+        evictedCount.increment();
+    }
+
+    /**
+     * Removes the session invalidated by the application, instead of waiting for its timing wheel bucket to be due.
+     */
+    private void onInvalidated(final Session session) {
+        final String id = session.getIdInternal();
+        if (id != null && remove(id, session)) {
+            invalidatedCount.increment();
+        }
+    }
+
+    /**
+     * Passes every session to the given action, one shard at a time, while the shard is locked.
+     */
+    void forEach(final BiConsumer<String, Session> action) {
+        for (final Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                for (final Entry entry : shard.entries.values()) {
+                    action.accept(entry.id, entry.session);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private void expire(final Shard shard, final long currentTimeMillis, final long currentTick) {
+        final long fromTick = shard.lastTick;
+        if (currentTick <= fromTick) {
+            return;
+        }
+
+        final List<Entry> due = shard.due;
+        final long ticks = Math.min(currentTick - fromTick, wheelMask + 1);
+        for (long t = currentTick - ticks + 1; t <= currentTick; t++) {
+            final int idx = (int) (t & wheelMask);
+            Entry entry = shard.buckets[idx];
+            shard.buckets[idx] = null;
+            while (entry != null) {
+                final Entry next = entry.next;
+                entry.prev = entry.next = null;
+                entry.bucket = Entry.UNLINKED;
+                due.add(entry);
+                entry = next;
+            }
+        }
+        shard.lastTick = currentTick;
+
+        for (int i = 0; i < due.size(); i++) {
+            final Entry entry = due.get(i);
+            final Session session = entry.session;
+            if (!session.isValid()) {
+                session.setInvalidationListener(null);
+                shard.entries.remove(entry.id);
+                invalidatedCount.increment();
+            } else if (isExpired(session, currentTimeMillis)) {
+                session.setInvalidationListener(null);
+                session.setValid(false);
+                shard.entries.remove(entry.id);
+                expiredCount.increment();
+            } else {
+                shard.link(entry, expirationTick(session), wheelMask);
+            }
+        }
+        due.clear();
+        shard.size = shard.entries.size();
+    }
+
+    /**
+     * @return the tick, at which the session is going to be looked at next
+     */
+    private long expirationTick(final Session session) {
+        final long timeout = session.getSessionTimeout();
+        if (timeout <= 0) {
+            // the session doesn't expire, but it may be invalidated or get a timeout later
+            return Long.MAX_VALUE;
+        }
+
+        // the session expires once the timeout is exceeded
+        final long delta = session.getTimestamp() + timeout + 1 - startMillis;
+        return delta / tickMillis + (delta % tickMillis != 0 ? 1 : 0);
+    }
+
+    private static boolean isExpired(final Session session, final long currentTimeMillis) {
+        return session.getSessionTimeout() > 0 && currentTimeMillis - session.getTimestamp() > session.getSessionTimeout();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    @Override
+    public long getInvalidatedCount() {
+        return invalidatedCount.sum();
+    }
+
+    @Override
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    private Shard shardFor(final String id) {
+        final int h = id.hashCode();
+        return shards[(h ^ h >>> 16) & shardMask];
+    }
+
+    private static int powerOfTwo(final int value) {
+        int capacity = 1;
+        while (capacity < value) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        final Entry[] buckets;
+        final List<Entry> due = new ArrayList<>();
+        long lastTick;
+
+        volatile int size;
+
+        Shard(final int wheelSize) {
+            buckets = new Entry[wheelSize];
+        }
+
+        /**
+         * Puts the entry into the bucket of the given tick, or of the last tick of the wheel horizon if the tick is
+         * beyond it.
+         */
+        void link(final Entry entry, final long tick, final int wheelMask) {
+            final long boundedTick = Math.max(lastTick + 1, Math.min(tick, lastTick + wheelMask + 1));
+            final int idx = (int) (boundedTick & wheelMask);
+            final Entry head = buckets[idx];
+            entry.bucket = idx;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            buckets[idx] = entry;
+        }
+
+        void unlink(final Entry entry) {
+            final int idx = entry.bucket;
+            if (idx == Entry.UNLINKED) {
+                return;
+            }
+
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                buckets[idx] = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+
+            entry.prev = entry.next = null;
+            entry.bucket = Entry.UNLINKED;
+        }
+    }
+
+    private static final class Entry {
+        static final int UNLINKED = -1;
+
+        final String id;
+        final Session session;
+
+        Entry prev;
+        Entry next;
+        int bucket = UNLINKED;
+
+        Entry(final String id, final Session session) {
+            this.id = id;
+            this.session = session;
+        }
+    }
+}
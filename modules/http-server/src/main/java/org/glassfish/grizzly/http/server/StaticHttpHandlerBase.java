@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -91,21 +92,25 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
         final long length = file.length();
         response.setContentLengthLong(length);
         response.addDateHeader(Header.Date, System.currentTimeMillis());
-        if (!response.isSendFileEnabled() || response.getRequest().isSecure()) {
-            sendUsingBuffers(response, file);
+        if (!response.isSendFileEnabled()) {
+            sendUsingBuffers(response, file, false);
+        } else if (response.getRequest().isSecure()) {
+            // the file-send is emulated by encrypting straight from the mapped file,
+            // the small files are read into buffers
+            sendUsingBuffers(response, file, true);
         } else {
             sendZeroCopy(response, file);
         }
     }
 
-    private static void sendUsingBuffers(final Response response, final File file) throws FileNotFoundException, IOException {
+    private static void sendUsingBuffers(final Response response, final File file, final boolean isMapped) throws FileNotFoundException, IOException {
         final int chunkSize = 8192;
 
-        response.suspend();
+        final NonBlockingDownloadHandler handler = new NonBlockingDownloadHandler(response, response.getNIOOutputStream(), file, chunkSize, isMapped);
 
-        final NIOOutputStream outputStream = response.getNIOOutputStream();
+        response.suspend();
 
-        outputStream.notifyCanWrite(new NonBlockingDownloadHandler(response, outputStream, file, chunkSize));
+        handler.outputStream.notifyCanWrite(handler);
 
     }
 
@@ -261,8 +266,10 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
         private final FileChannel fileChannel;
         private final MemoryManager mm;
         private final int chunkSize;
+        private final MappedFileReader mappedFileReader;
 
-        NonBlockingDownloadHandler(final Response response, final NIOOutputStream outputStream, final File file, final int chunkSize) {
+        NonBlockingDownloadHandler(final Response response, final NIOOutputStream outputStream, final File file, final int chunkSize,
+                final boolean isMapped) throws IOException {
 
             try {
                 fileChannel = new FileInputStream(file).getChannel();
@@ -272,6 +279,13 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
 
             size = file.length();
 
+            try {
+                mappedFileReader = isMapped ? MappedFileReader.map(fileChannel, size) : null;
+            } catch (IOException e) {
+                fileChannel.close();
+                throw e;
+            }
+
             this.response = response;
             this.outputStream = outputStream;
             mm = response.getRequest().getContext().getMemoryManager();
@@ -301,6 +315,20 @@ public abstract class StaticHttpHandlerBase extends HttpHandler {
          * Send next CHUNK_SIZE of file
          */
         private boolean sendChunk() throws IOException {
+            if (mappedFileReader != null) {
+                final Buffer slice = mappedFileReader.read(mm);
+                if (slice != null) {
+                    outputStream.write(slice);
+                }
+
+                if (mappedFileReader.remaining() == 0) {
+                    complete(false);
+                    return false;
+                }
+
+                return true;
+            }
+
             // allocate Buffer
             final Buffer buffer = mm.allocate(chunkSize);
             // mark it available for disposal after content is written
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,6 +36,31 @@ public interface AccessLogAppender extends Closeable {
      */
     void append(String accessLogEntry) throws IOException;
 
+    /**
+     * Append the specified access log entry. The {@link CharSequence} is only valid for the duration of the call, the
+     * default implementation appends its {@link String} value.
+     *
+     * @param accessLogEntry The {@link CharSequence} holding the data to be append in the access log.
+     * @throws IOException If an I/O error occurred appending to the log.
+     */
+    default void append(CharSequence accessLogEntry) throws IOException {
+        append(accessLogEntry.toString());
+    }
+
+    /**
+     * Return the number of entries accepted by this appender, which are not written yet.
+     */
+    default int getQueueSize() {
+        return 0;
+    }
+
+    /**
+     * Return the number of entries this appender discarded, because they could not be queued.
+     */
+    default long getDroppedCount() {
+        return 0;
+    }
+
     /**
      * Close any underlying resource owned by this appender.
      */
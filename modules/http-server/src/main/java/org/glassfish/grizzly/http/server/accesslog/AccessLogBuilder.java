@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,6 +52,10 @@ public class AccessLogBuilder {
     private String rotationPattern;
     /* Non-synchronous, always use a Queue+Thread */
     private boolean synchronous;
+    /* Zero, use the unbounded queue, not a ring buffer */
+    private int ringBufferCapacity;
+    /* Drop entries when the ring buffer is full */
+    private RingBufferAppender.OverflowPolicy overflowPolicy = RingBufferAppender.OverflowPolicy.DROP;
 
     /* The base file name of the access log */
     private final File file;
@@ -87,7 +92,12 @@ public class AccessLogBuilder {
         /* Build an appender, plain or rotating */
         AccessLogAppender appender;
         try {
-            if (rotationPattern == null) {
+            if (ringBufferCapacity > 0) {
+                if (rotationPattern != null || synchronous) {
+                    throw new IllegalStateException("Ring buffer access log can be neither rotated nor synchronous");
+                }
+                return new AccessLogProbe(new RingBufferAppender(file.getCanonicalFile(), ringBufferCapacity, overflowPolicy), format, statusThreshold);
+            } else if (rotationPattern == null) {
                 appender = new FileAppender(file.getCanonicalFile());
             } else {
                 /* Get directory and base file name (encode ' single quotes) */
@@ -255,4 +265,33 @@ public class AccessLogBuilder {
         this.synchronous = synchronous;
         return this;
     }
+
+    /**
+     * Write access log entries through a bounded {@link RingBufferAppender} holding up to the specified number of
+     * entries, rather than the unbounded {@link QueueingAppender}.
+     *
+     * <p>
+     * The ring buffer appender can't be combined with log-file rotation or {@linkplain #synchronous(boolean) synchronous}
+     * logging.
+     * </p>
+     */
+    public AccessLogBuilder ringBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be greater than zero");
+        }
+        this.ringBufferCapacity = capacity;
+        return this;
+    }
+
+    /**
+     * Set what the {@linkplain #ringBuffer(int) ring buffer} appender does with entries, when it's full: drop them (the
+     * default) or block the request processing thread until there's room.
+     */
+    public AccessLogBuilder overflowPolicy(RingBufferAppender.OverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new NullPointerException("Null overflow policy");
+        }
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
 }
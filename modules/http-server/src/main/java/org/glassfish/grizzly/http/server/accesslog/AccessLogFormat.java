@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -42,4 +43,18 @@ public interface AccessLogFormat {
      */
     String format(Response response, Date timeStamp, long responseNanos);
 
+    /**
+     * Format the data contained in the specified {@link Response} appending it to the specified {@link StringBuilder}.
+     * The default implementation appends the result of {@link #format(Response, Date, long)}.
+     *
+     * @param builder The {@link StringBuilder} to append the access log entry to.
+     * @param response The {@link Response} holding the data to format.
+     * @param timeStamp The {@link Date} at which the request was originated.
+     * @param responseNanos The time, in nanoseconds, the {@link Response} took to complete.
+     * @return the passed {@link StringBuilder}.
+     */
+    default StringBuilder format(StringBuilder builder, Response response, Date timeStamp, long responseNanos) {
+        return builder.append(format(response, timeStamp, responseNanos));
+    }
+
 }
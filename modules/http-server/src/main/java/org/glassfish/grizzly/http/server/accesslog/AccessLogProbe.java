@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,6 +48,10 @@ public class AccessLogProbe extends HttpServerProbe.Adapter {
     private static final String ATTRIBUTE_TIME_STAMP = AccessLogProbe.class.getName() + ".timeStamp";
     /* Our logger, for eventualities */
     private static final Logger LOGGER = Grizzly.logger(HttpServer.class);
+    /* Entries longer than this won't keep their builder cached */
+    private static final int MAX_CACHED_BUILDER_SIZE = 16 * 1024;
+    /* The per thread builder entries are formatted to */
+    private static final ThreadLocal<StringBuilder> ENTRY_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(512));
 
     /* The appender to send formatted data to */
     private final AccessLogAppender appender;
@@ -122,12 +127,35 @@ public class AccessLogProbe extends HttpServerProbe.Adapter {
         final long responseNanos = requestNanos == null ? -1 : nanoStamp - requestNanos;
         final Date requestMillis = new Date(timeStamp - responseNanos / 1000000L);
 
-        /* Create a formatted log entry string and append it */
+        /* Format the log entry into the reused builder and append it */
+        final StringBuilder builder = ENTRY_BUILDER.get();
         try {
-            appender.append(format.format(response, requestMillis, responseNanos));
+            appender.append(format.format(builder, response, requestMillis, responseNanos));
         } catch (Throwable throwable) {
             LOGGER.log(WARNING, "Exception caught appending to access log", throwable);
+        } finally {
+            if (builder.capacity() > MAX_CACHED_BUILDER_SIZE) {
+                ENTRY_BUILDER.remove();
+            } else {
+                builder.setLength(0);
+            }
         }
     }
 
+    /**
+     * Return the number of access log entries, which are queued by the {@linkplain AccessLogAppender appender} and not
+     * written yet.
+     */
+    public int getQueueSize() {
+        return appender.getQueueSize();
+    }
+
+    /**
+     * Return the number of access log entries the {@linkplain AccessLogAppender appender} discarded, because they could
+     * not be queued.
+     */
+    public long getDroppedCount() {
+        return appender.getDroppedCount();
+    }
+
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -268,7 +269,11 @@ public class ApacheLogFormat implements AccessLogFormat {
 
     @Override
     public String format(Response response, Date timeStamp, long responseNanos) {
-        final StringBuilder builder = new StringBuilder();
+        return format(new StringBuilder(), response, timeStamp, responseNanos).toString();
+    }
+
+    @Override
+    public StringBuilder format(StringBuilder builder, Response response, Date timeStamp, long responseNanos) {
         final Request request = response.getRequest();
         for (Field field : fields) {
             try {
@@ -278,7 +283,7 @@ public class ApacheLogFormat implements AccessLogFormat {
                 builder.append('-');
             }
         }
-        return builder.toString();
+        return builder;
     }
 
     String unsafeFormat(Response response, Date timeStamp, long responseNanos) {
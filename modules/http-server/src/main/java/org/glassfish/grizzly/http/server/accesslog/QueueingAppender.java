@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -71,6 +72,11 @@ public class QueueingAppender implements AccessLogAppender {
         }
     }
 
+    @Override
+    public int getQueueSize() {
+        return queue.size();
+    }
+
     @Override
     public void close() throws IOException {
         thread.interrupt();
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.accesslog;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.http.server.HttpServer;
+
+/**
+ * An {@link AccessLogAppender appender} encoding log entries into a bounded ring of reused byte buffers, which a
+ * secondary, separate {@link Thread} writes to a {@link GatheringByteChannel} in batches.
+ *
+ * <p>
+ * Any number of threads may append entries concurrently. Every entry is encoded in <em>UTF-8</em> directly into the
+ * buffer of its ring slot, so, unlike the {@link QueueingAppender}, appending doesn't allocate. The writer thread takes
+ * all the consecutive entries, which are ready, and writes them with a single gathering write.
+ * </p>
+ *
+ * <p>
+ * When the ring is full, because the channel can't keep up, the {@linkplain OverflowPolicy overflow policy} decides
+ * whether the entry is dropped or the appending thread waits for a free slot.
+ * </p>
+ */
+public class RingBufferAppender implements AccessLogAppender {
+
+    /**
+     * What to do with an entry, which is appended when the ring is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the entry and count it as dropped.
+         */
+        DROP,
+        /**
+         * Wait until the writer thread frees a slot.
+         */
+        BLOCK
+    }
+
+    /**
+     * The default number of entries the ring can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Logger LOGGER = Grizzly.logger(HttpServer.class);
+
+    /* Line separator for entries, respect Windoshhhh */
+    private static final byte[] LINE_SEPARATOR = System.getProperty("line.separator").getBytes(StandardCharsets.UTF_8);
+    /* The initial size of the slot buffers, they grow to fit longer entries */
+    private static final int INITIAL_SLOT_SIZE = 512;
+    /* The max number of buffers passed to a single gathering write (IOV_MAX) */
+    private static final int MAX_BATCH_SIZE = 1024;
+    /* How long the writer thread sleeps, if it's not woken up by a new entry */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /* How long a blocked appending thread waits, before it checks the ring again */
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /* The per thread scratch array entries are encoded to */
+    private static final ThreadLocal<byte[]> ENCODE_BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_SLOT_SIZE]);
+
+    /* Where the entries go */
+    private final GatheringByteChannel channel;
+    /* What to do if we're full */
+    private final OverflowPolicy overflowPolicy;
+
+    /* The ring */
+    private final Slot[] slots;
+    private final int mask;
+    /* The sequence of the next entry to be claimed by an appending thread */
+    private final AtomicLong tail = new AtomicLong();
+    /* The sequence of the next entry to be written, only advanced by the writer thread */
+    private volatile long head;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /* The thread doing the writing */
+    private final Thread thread;
+    private volatile boolean isWriterParked;
+    private volatile boolean closed;
+
+    /**
+     * Create a new {@link RingBufferAppender} <em>appending to</em> (and not overwriting) the specified {@link File},
+     * holding up to {@link #DEFAULT_CAPACITY} entries and dropping entries on overflow.
+     *
+     * @throws IOException If an I/O error occurred opening the file.
+     */
+    public RingBufferAppender(File file) throws IOException {
+        this(file, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Create a new {@link RingBufferAppender} <em>appending to</em> (and not overwriting) the specified {@link File}.
+     *
+     * @param capacity The number of entries the ring can hold, rounded up to a power of two.
+     * @param overflowPolicy What to do with entries appended while the ring is full.
+     * @throws IOException If an I/O error occurred opening the file.
+     */
+    public RingBufferAppender(File file, int capacity, OverflowPolicy overflowPolicy) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), capacity, overflowPolicy);
+        LOGGER.info("Access log file \"" + file.getAbsolutePath() + "\" opened");
+    }
+
+    /**
+     * Create a new {@link RingBufferAppender} writing to the specified {@link GatheringByteChannel}. The channel will be
+     * closed, when the appender gets closed.
+     *
+     * @param capacity The number of entries the ring can hold, rounded up to a power of two.
+     * @param overflowPolicy What to do with entries appended while the ring is full.
+     */
+    public RingBufferAppender(GatheringByteChannel channel, int capacity, OverflowPolicy overflowPolicy) {
+        if (channel == null) {
+            throw new NullPointerException("Null channel");
+        }
+        if (overflowPolicy == null) {
+            throw new NullPointerException("Null overflow policy");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+
+        this.channel = channel;
+        this.overflowPolicy = overflowPolicy;
+
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i - size);
+        }
+        mask = size - 1;
+
+        thread = new Thread(new Writer());
+        thread.setName(toString());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /* ====================================================================== */
+    /* APPENDING */
+    /* ====================================================================== */
+
+    @Override
+    public void append(String accessLogEntry) throws IOException {
+        append((CharSequence) accessLogEntry);
+    }
+
+    @Override
+    public void append(CharSequence accessLogEntry) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        /* Encode first, so the slot is claimed for as short as possible */
+        byte[] bytes = ENCODE_BUFFER.get();
+        final int maxLength = accessLogEntry.length() * 3 + LINE_SEPARATOR.length;
+        if (bytes.length < maxLength) {
+            bytes = new byte[maxLength];
+            ENCODE_BUFFER.set(bytes);
+        }
+        final int length = encode(accessLogEntry, bytes);
+
+        /* Claim a sequence */
+        long sequence;
+        while (true) {
+            sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    droppedCount.incrementAndGet();
+                    return;
+                }
+
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                if (closed) {
+                    return;
+                }
+            } else if (tail.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+
+        /* The slot is ours until we publish it */
+        final Slot slot = slots[(int) sequence & mask];
+        ByteBuffer buffer = slot.buffer;
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocateDirect(Math.max(length, buffer.capacity() * 2));
+            slot.buffer = buffer;
+        }
+        buffer.clear();
+        buffer.put(bytes, 0, length).flip();
+        slot.sequence = sequence;
+
+        if (isWriterParked) {
+            isWriterParked = false;
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public int getQueueSize() {
+        return (int) Math.max(0, Math.min(tail.get() - head, slots.length));
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Return the number of entries the ring can hold.
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException exception) {
+            LOGGER.log(FINE, "Interrupted stopping writer", exception);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /* ====================================================================== */
+
+    /* UTF-8 encoding of the entry followed by the line separator, the array must be able to hold 3 bytes per char */
+    private static int encode(final CharSequence entry, final byte[] bytes) {
+        int position = 0;
+        final int length = entry.length();
+        for (int i = 0; i < length; i++) {
+            final char c = entry.charAt(i);
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(entry.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, entry.charAt(++i));
+                bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        System.arraycopy(LINE_SEPARATOR, 0, bytes, position, LINE_SEPARATOR.length);
+        return position + LINE_SEPARATOR.length;
+    }
+
+    /* ====================================================================== */
+    /* OUR WRITER */
+    /* ====================================================================== */
+
+    private static final class Slot {
+        /* The sequence of the entry the slot holds, published by the appending thread */
+        volatile long sequence;
+        /* Only touched by the thread owning the slot's sequence */
+        ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_SLOT_SIZE);
+
+        Slot(final long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    private final class Writer implements Runnable {
+        private final ByteBuffer[] batch = new ByteBuffer[Math.min(slots.length, MAX_BATCH_SIZE)];
+
+        @Override
+        public void run() {
+            while (true) {
+                final long first = head;
+                int count = 0;
+                while (count < batch.length) {
+                    final Slot slot = slots[(int) (first + count) & mask];
+                    if (slot.sequence != first + count) {
+                        break;
+                    }
+                    batch[count++] = slot.buffer;
+                }
+
+                if (count == 0) {
+                    if (closed && tail.get() == first) {
+                        return;
+                    }
+
+                    isWriterParked = true;
+                    /* Re-check, an entry might have been published before we announced we're parking */
+                    if (slots[(int) first & mask].sequence != first) {
+                        LockSupport.parkNanos(this, closed ? BLOCKED_PARK_NANOS : IDLE_PARK_NANOS);
+                    }
+                    isWriterParked = false;
+                    continue;
+                }
+
+                try {
+                    write(count);
+                } catch (Throwable throwable) {
+                    LOGGER.log(WARNING, "Exception caught writing access log entries", throwable);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    batch[i] = null;
+                }
+                /* Free the written slots */
+                head = first + count;
+            }
+        }
+
+        private void write(final int count) throws IOException {
+            int offset = 0;
+            while (offset < count) {
+                channel.write(batch, offset, count - offset);
+                while (offset < count && !batch[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,6 +30,10 @@ import java.nio.file.Files;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -56,6 +61,17 @@ import org.glassfish.grizzly.utils.DelayedExecutor;
 
 /**
  * This class implements a file caching mechanism used to cache static resources.
+ * <p>
+ * If {@link #isPrecompressedFilesEnabled() precompressed files} are enabled, the <tt>.br</tt>, <tt>.zst</tt> and
+ * <tt>.gz</tt> files found next to a file, when it's added to the cache, are cached along with it and served to the
+ * clients accepting the respective content-coding. If {@link #isBackgroundCompression() background compression} is
+ * enabled, the gzip variant of a compressible file, which has no precompressed gzip variant, is created by the
+ * dedicated, bounded thread pool instead of the thread serving the first request, which asks for it. The variants kept
+ * in memory count against the same memory limits as the plain files.
+ * <p>
+ * By default, once the cache reaches its entry or memory limits, new resources are not cached until the existing
+ * entries expire. If {@link #isEvictionEnabled() eviction} is enabled, the less frequently requested entries are
+ * evicted to make room for the more frequently requested ones, see {@link FileCacheEvictionPolicy}.
  *
  * @author Jeanfrancois Arcand
  * @author Scott Oaks
@@ -63,8 +79,33 @@ import org.glassfish.grizzly.utils.DelayedExecutor;
 public class FileCache implements MonitoringAware<FileCacheProbe> {
     private static final File TMP_DIR = new File(System.getProperty("java.io.tmpdir"));
 
+    /**
+     * The max number of threads creating the gzip variants in the background.
+     */
+    private static final int COMPRESSION_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * The max number of files waiting to be compressed in the background. The files, which don't fit into the queue, are
+     * served uncompressed.
+     */
+    private static final int COMPRESSION_QUEUE_SIZE = 1024;
+
     final static String[] COMPRESSION_ALIASES = { "gzip" };
 
+    static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * Content-codings of the precompressed files in the server preference order.
+     */
+    static final String[] PRECOMPRESSED_ENCODINGS = { "br", "zstd", GZIP_ENCODING };
+
+    /**
+     * File extensions of the precompressed files, indexed like {@link #PRECOMPRESSED_ENCODINGS}.
+     */
+    static final String[] PRECOMPRESSED_EXTENSIONS = { ".br", ".zst", ".gz" };
+
+    static final int GZIP_IDX = 2;
+
     public enum CacheType {
         HEAP, MAPPED, FILE, TIMESTAMP
     }
@@ -148,6 +189,20 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
      */
     private boolean fileSendEnabled;
 
+    /**
+     * <tt>true</tt>, if precompressed files found next to the cached files have to be served.
+     */
+    private volatile boolean precompressedFilesEnabled;
+
+    /**
+     * <tt>true</tt>, if the gzip variants have to be created off the request path.
+     */
+    private volatile boolean backgroundCompression;
+
+    private ThreadPoolExecutor compressionExecutor;
+
+    private volatile FileCacheEvictionPolicy evictionPolicy;
+
     /**
      * File cache probes
      */
@@ -201,11 +256,15 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
             return CacheResult.FAILED_ENTRY_EXISTS;
         }
 
+        final FileCacheEvictionPolicy policy = evictionPolicy;
         final int size = cacheSize.incrementAndGet();
         // cache is full.
-        if (size > getMaxCacheEntries()) {
+        if (size > getMaxCacheEntries() && (policy == null || !policy.makeRoom(key.hashCode(), null, 0))) {
             cacheSize.decrementAndGet();
             fileCacheMap.remove(key);
+            if (policy != null) {
+                notifyProbesEntryRejected(this, key);
+            }
             key.recycle();
             return CacheResult.FAILED_CACHE_FULL;
         }
@@ -217,8 +276,11 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
 
         final FileCacheEntry entry;
         if (cacheFile != null) { // If we have a file - try to create File-aware cache resource
-            entry = createEntry(cacheFile);
-            entry.setCanBeCompressed(canBeCompressed(cacheFile, contentType));
+            entry = createEntry(cacheFile, key);
+            if (isPrecompressedFilesEnabled()) {
+                addPrecompressedFiles(entry, key);
+            }
+            entry.setCanBeCompressed(entry.precompressedFiles[GZIP_IDX] == null && canBeCompressed(cacheFile, contentType));
         } else {
             entry = new FileCacheEntry(this);
             entry.type = CacheType.TIMESTAMP;
@@ -237,9 +299,26 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         entry.server = headers.getHeader(Header.Server);
 
         fileCacheMap.put(key, entry);
+        if (policy != null) {
+            policy.onAdded(entry);
+        }
 
         notifyProbesEntryAdded(this, entry);
 
+        if (isBackgroundCompression() && entry.startCompression()) {
+            try {
+                getCompressionExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        compressFile(entry);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // too many files are waiting to be compressed, the entry will be served uncompressed
+                notifyProbesError(this, e);
+            }
+        }
+
         final int secondsMaxAgeLocal = getSecondsMaxAge();
         if (secondsMaxAgeLocal > 0) {
             delayQueue.add(entry, secondsMaxAgeLocal, TimeUnit.SECONDS);
@@ -260,6 +339,10 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
 
         final LazyFileCacheKey key = LazyFileCacheKey.create(request);
         final FileCacheEntry entry = fileCacheMap.get(key);
+        final FileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            policy.recordAccess(key.hashCode(), entry);
+        }
         key.recycle();
         try {
             if (entry != null && entry != NULL_CACHE_ENTRY) {
@@ -290,19 +373,43 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
     }
 
     protected void remove(final FileCacheEntry entry) {
-        if (fileCacheMap.remove(entry.key) != null) {
-            cacheSize.decrementAndGet();
+        // the entry may be evicted and expire concurrently
+        if (!fileCacheMap.remove(entry.key, entry)) {
+            return;
         }
 
-        if (entry.type == FileCache.CacheType.MAPPED) {
-            subMappedMemorySize(entry.bb.remaining());
-        } else if (entry.type == FileCache.CacheType.HEAP) {
-            subHeapSize(entry.bb.remaining());
+        cacheSize.decrementAndGet();
+
+        final FileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy != null) {
+            policy.onRemoved(entry);
+        }
+
+        // the gzip variant may be added by the background compression meanwhile
+        synchronized (entry) {
+            entry.removed = true;
+            if (entry.type == FileCache.CacheType.MAPPED) {
+                subMappedMemorySize(entry.getMemorySize());
+            } else if (entry.type == FileCache.CacheType.HEAP) {
+                subHeapSize(entry.getMemorySize());
+            }
         }
 
         notifyProbesEntryRemoved(this, entry);
     }
 
+    /**
+     * Removes the entry to make room for a more frequently requested resource.
+     */
+    void evict(final FileCacheEntry entry) {
+        if (delayQueue != null) {
+            delayQueue.remove(entry);
+        }
+
+        notifyProbesEntryEvicted(this, entry);
+        remove(entry);
+    }
+
     protected Object createJmxManagementObject() {
         return MonitoringUtils.loadJmxObject("org.glassfish.grizzly.http.server.filecache.jmx.FileCache", this, FileCache.class);
     }
@@ -310,8 +417,8 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
     /**
      * Creates {@link FileCacheEntry}.
      */
-    private FileCacheEntry createEntry(final File file) {
-        FileCacheEntry entry = tryMapFileToBuffer(file);
+    private FileCacheEntry createEntry(final File file, final FileCacheKey key) {
+        FileCacheEntry entry = tryMapFileToBuffer(file, key);
         if (entry == null) {
             entry = new FileCacheEntry(this);
             entry.type = CacheType.FILE;
@@ -328,7 +435,7 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
      * 
      * @return the preinitialized {@link FileCacheEntry}
      */
-    private FileCacheEntry tryMapFileToBuffer(final File file) {
+    private FileCacheEntry tryMapFileToBuffer(final File file, final FileCacheKey key) {
 
         final long size = file.length();
         if (size > getMaxEntrySize()) {
@@ -340,22 +447,10 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         FileChannel fileChannel = null;
         FileInputStream stream = null;
         try {
-            if (size > getMinEntrySize()) {
-                if (addMappedMemorySize(size) > getMaxLargeFileCacheSize()) {
-                    // Cache full
-                    subMappedMemorySize(size);
-                    return null;
-                }
-
-                type = CacheType.MAPPED;
-            } else {
-                if (addHeapSize(size) > getMaxSmallFileCacheSize()) {
-                    // Cache full
-                    subHeapSize(size);
-                    return null;
-                }
-
-                type = CacheType.HEAP;
+            type = size > getMinEntrySize() ? CacheType.MAPPED : CacheType.HEAP;
+            if (!reserve(type, size, key)) {
+                // Cache full
+                return null;
             }
 
             stream = new FileInputStream(file);
@@ -394,6 +489,176 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         return entry;
     }
 
+    /**
+     * Reserves the memory for the new entry, evicting colder entries if the eviction is enabled and the budget is
+     * exhausted.
+     */
+    private boolean reserve(final CacheType type, final long size, final FileCacheKey key) {
+        if (tryReserve(type, size)) {
+            return true;
+        }
+
+        final FileCacheEvictionPolicy policy = evictionPolicy;
+        if (policy == null) {
+            return false;
+        }
+
+        if (policy.makeRoom(key.hashCode(), type, size) && tryReserve(type, size)) {
+            return true;
+        }
+
+        notifyProbesEntryRejected(this, key);
+        return false;
+    }
+
+    private boolean tryReserve(final CacheType type, final long size) {
+        if (type == CacheType.MAPPED) {
+            if (addMappedMemorySize(size) > getMaxLargeFileCacheSize()) {
+                subMappedMemorySize(size);
+                return false;
+            }
+        } else if (addHeapSize(size) > getMaxSmallFileCacheSize()) {
+            subHeapSize(size);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the number of bytes the entries of the type take: {@link CacheType#HEAP} or {@link CacheType#MAPPED}.
+     */
+    long getSize(final CacheType type) {
+        return type == CacheType.MAPPED ? getMappedCacheSize() : getHeapCacheSize();
+    }
+
+    /**
+     * @return the memory budget of the entries of the type: {@link CacheType#HEAP} or {@link CacheType#MAPPED}.
+     */
+    long getMaxSize(final CacheType type) {
+        return type == CacheType.MAPPED ? getMaxLargeFileCacheSize() : getMaxSmallFileCacheSize();
+    }
+
+    /**
+     * Looks up the precompressed variants of the entry's plain file. A variant, which is older than the plain file, is
+     * considered stale and is ignored. The variants of an entry kept in memory take the memory of the same cache type,
+     * a variant, which doesn't fit, is not served.
+     */
+    private void addPrecompressedFiles(final FileCacheEntry entry, final FileCacheKey key) {
+        final File plainFile = entry.plainFile;
+        final long plainLastModified = plainFile.lastModified();
+
+        for (int i = 0; i < PRECOMPRESSED_EXTENSIONS.length; i++) {
+            final File file = new File(plainFile.getPath() + PRECOMPRESSED_EXTENSIONS[i]);
+            if (!file.isFile() || file.lastModified() < plainLastModified) {
+                continue;
+            }
+
+            final long size = file.length();
+            if ((entry.type == CacheType.HEAP || entry.type == CacheType.MAPPED) && !reserve(entry.type, size, key)) {
+                continue;
+            }
+
+            try {
+                if (entry.type == CacheType.HEAP || entry.type == CacheType.MAPPED) {
+                    entry.precompressedBbs[i] = map(file, size, entry.type == CacheType.HEAP);
+                }
+
+                entry.precompressedFileSizes[i] = size;
+                entry.precompressedFiles[i] = file;
+                entry.precompressedCount++;
+            } catch (IOException e) {
+                if (entry.type == CacheType.MAPPED) {
+                    subMappedMemorySize(size);
+                } else if (entry.type == CacheType.HEAP) {
+                    subHeapSize(size);
+                }
+                notifyProbesError(this, e);
+            }
+        }
+    }
+
+    private static ByteBuffer map(final File file, final long size, final boolean load) throws IOException {
+        try (FileInputStream stream = new FileInputStream(file)) {
+            final MappedByteBuffer bb = stream.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (load) {
+                bb.load();
+            }
+
+            return bb;
+        }
+    }
+
+    /**
+     * @return the index of the content-coding in {@link #PRECOMPRESSED_ENCODINGS}, or <tt>-1</tt>, if it's not there.
+     */
+    static int precompressedIndexOf(final String contentEncoding) {
+        if (contentEncoding != null) {
+            for (int i = 0; i < PRECOMPRESSED_ENCODINGS.length; i++) {
+                if (PRECOMPRESSED_ENCODINGS[i].equals(contentEncoding)) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the quality value the <tt>Accept-Encoding</tt> header value assigns to the content-coding, either
+     * explicitly or using the <tt>*</tt> wildcard.
+     *
+     * @return the quality value, <tt>0</tt> if the content-coding is not acceptable
+     */
+    static float getQValue(final String acceptEncoding, final String contentEncoding) {
+        float wildcardQValue = 0;
+
+        int start = 0;
+        final int length = acceptEncoding.length();
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end == -1) {
+                end = length;
+            }
+
+            final int paramsIdx = acceptEncoding.indexOf(';', start);
+            final int codingEnd = paramsIdx != -1 && paramsIdx < end ? paramsIdx : end;
+            final String coding = acceptEncoding.substring(start, codingEnd).trim();
+
+            final boolean isMatch = coding.equalsIgnoreCase(contentEncoding);
+            if (isMatch || "*".equals(coding)) {
+                float qValue = 1;
+                if (codingEnd < end) {
+                    qValue = parseQValue(acceptEncoding.substring(codingEnd + 1, end));
+                }
+
+                if (isMatch) {
+                    return qValue;
+                }
+
+                wildcardQValue = qValue;
+            }
+
+            start = end + 1;
+        }
+
+        return wildcardQValue;
+    }
+
+    private static float parseQValue(final String params) {
+        final int idx = params.indexOf('=');
+        if (idx == -1 || !"q".equalsIgnoreCase(params.substring(0, idx).trim())) {
+            return 1;
+        }
+
+        try {
+            final float qValue = Float.parseFloat(params.substring(idx + 1).trim());
+            return qValue < 0 ? 0 : Math.min(qValue, 1);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Checks if the {@link File} with the given content-type could be compressed.
      */
@@ -516,6 +781,27 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         this.maxSmallFileCacheSize = maxSmallFileCacheSize;
     }
 
+    /**
+     * @return <tt>true</tt>, if the less frequently requested entries are evicted to make room for the new ones, once the
+     * cache is full.
+     */
+    public boolean isEvictionEnabled() {
+        return evictionPolicy != null;
+    }
+
+    /**
+     * Enables or disables the eviction of the less frequently requested entries to make room for the new ones, once the
+     * cache reaches {@link #getMaxCacheEntries()}, {@link #getMaxSmallFileCacheSize()} or
+     * {@link #getMaxLargeFileCacheSize()}. The frequencies are tracked by a sketch sized after
+     * {@link #getMaxCacheEntries()}, so the eviction has to be enabled after the cache size has been configured and
+     * before the cache is used. Disabled by default.
+     *
+     * @param evictionEnabled <tt>true</tt> to enable the eviction.
+     */
+    public void setEvictionEnabled(final boolean evictionEnabled) {
+        evictionPolicy = evictionEnabled ? new FileCacheEvictionPolicy(this) : null;
+    }
+
     /**
      * @return <code>true</code> if the {@link FileCache} is enabled, otherwise <code>false</code>
      */
@@ -595,6 +881,60 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         this.fileSendEnabled = fileSendEnabled;
     }
 
+    /**
+     * @return <tt>true</tt>, if the <tt>.br</tt>, <tt>.zst</tt> and <tt>.gz</tt> files found next to the cached files
+     * are served to the clients accepting the respective content-coding.
+     */
+    public boolean isPrecompressedFilesEnabled() {
+        return precompressedFilesEnabled;
+    }
+
+    /**
+     * Enables or disables serving the <tt>.br</tt>, <tt>.zst</tt> and <tt>.gz</tt> files found next to the cached files.
+     * The precompressed files are looked up, when a file is added to the cache. Disabled by default.
+     *
+     * @param precompressedFilesEnabled <tt>true</tt> to serve the precompressed files.
+     */
+    public void setPrecompressedFilesEnabled(final boolean precompressedFilesEnabled) {
+        this.precompressedFilesEnabled = precompressedFilesEnabled;
+    }
+
+    /**
+     * @return <tt>true</tt>, if the gzip variants of the cached files are created off the request path.
+     */
+    public boolean isBackgroundCompression() {
+        return backgroundCompression;
+    }
+
+    /**
+     * If enabled, the gzip variant of a compressible file is created by the dedicated thread pool right after the file
+     * has been added to the cache. Until it's ready, or if too many files are waiting to be compressed, the file is
+     * served uncompressed. If disabled (default), the
+     * variant is created by the thread serving the first request, which accepts gzip.
+     *
+     * @param backgroundCompression <tt>true</tt> to create the gzip variants off the request path.
+     */
+    public void setBackgroundCompression(final boolean backgroundCompression) {
+        this.backgroundCompression = backgroundCompression;
+    }
+
+    /**
+     * @return the executor creating the gzip variants in the background. Its threads are stopped when idle.
+     */
+    private synchronized ExecutorService getCompressionExecutor() {
+        if (compressionExecutor == null) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            compressionExecutor = new ThreadPoolExecutor(COMPRESSION_THREADS, COMPRESSION_THREADS, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(COMPRESSION_QUEUE_SIZE), r -> {
+                        final Thread thread = new Thread(r, "grizzly-filecache-compression-" + threadCounter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            compressionExecutor.allowCoreThreadTimeOut(true);
+        }
+        return compressionExecutor;
+    }
+
     /**
      * Creates a temporary compressed representation of the given cache entry.
      */
@@ -650,7 +990,17 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
                         compressedBb.load();
                     }
 
-                    entry.compressedBb = compressedBb;
+                    // the variant takes the memory like the plain file, if there is no room,
+                    // or the entry is gone already, the entry is served uncompressed
+                    synchronized (entry) {
+                        if (entry.removed || !tryReserve(entry.type, size)) {
+                            if (!tmpCompressedFile.delete()) {
+                                tmpCompressedFile.deleteOnExit();
+                            }
+                            return;
+                        }
+                        entry.compressedBb = compressedBb;
+                    }
                 } finally {
                     cFis.close();
                 }
@@ -922,6 +1272,36 @@ public class FileCache implements MonitoringAware<FileCacheProbe> {
         }
     }
 
+    /**
+     * Notify registered {@link FileCacheProbe}s about the "entry evicted" event.
+     *
+     * @param fileCache the <tt>FileCache</tt> event occurred on.
+     * @param entry entry been evicted
+     */
+    protected static void notifyProbesEntryEvicted(final FileCache fileCache, final FileCacheEntry entry) {
+        final FileCacheProbe[] probes = fileCache.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (FileCacheProbe probe : probes) {
+                probe.onEntryEvictedEvent(fileCache, entry);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link FileCacheProbe}s about the "entry rejected" event.
+     *
+     * @param fileCache the <tt>FileCache</tt> event occurred on.
+     * @param key the key of the rejected entry
+     */
+    protected static void notifyProbesEntryRejected(final FileCache fileCache, final FileCacheKey key) {
+        final FileCacheProbe[] probes = fileCache.monitoringConfig.getProbesUnsafe();
+        if (probes != null && probes.length > 0) {
+            for (FileCacheProbe probe : probes) {
+                probe.onEntryRejectedEvent(fileCache, key.getHost(), key.getUri());
+            }
+        }
+    }
+
     /**
      * Notify registered {@link FileCacheProbe}s about the "entry hit event.
      *
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -26,6 +27,7 @@ import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.http.CompressionConfig;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.util.ContentType;
+import org.glassfish.grizzly.http.util.Header;
 
 /**
  * The entry value in the file cache map.
@@ -49,9 +51,18 @@ public final class FileCacheEntry implements Runnable {
     private boolean canBeCompressed;
     private AtomicBoolean isCompressed;
     volatile File compressedFile;
-    ByteBuffer compressedBb;
+    volatile ByteBuffer compressedBb;
     long compressedFileSize = -1;
 
+    // Precompressed variants found next to the plain file, indexed like FileCache.PRECOMPRESSED_ENCODINGS
+    final File[] precompressedFiles = new File[FileCache.PRECOMPRESSED_ENCODINGS.length];
+    final ByteBuffer[] precompressedBbs = new ByteBuffer[FileCache.PRECOMPRESSED_ENCODINGS.length];
+    final long[] precompressedFileSizes = new long[FileCache.PRECOMPRESSED_ENCODINGS.length];
+    int precompressedCount;
+
+    // Guarded by the entry monitor, set once the entry memory is released by the cache
+    boolean removed;
+
     public String xPoweredBy;
     public FileCache.CacheType type;
     public String date;
@@ -61,6 +72,9 @@ public final class FileCacheEntry implements Runnable {
 
     public volatile long timeoutMillis;
 
+    // Guarded by the eviction policy lock
+    FileCacheEvictionPolicy.Node policyNode;
+
     private final FileCache fileCache;
 
     public FileCacheEntry(FileCache fileCache) {
@@ -79,6 +93,54 @@ public final class FileCacheEntry implements Runnable {
         }
     }
 
+    /**
+     * Marks the on-the-fly gzip compression as started, so the requests don't initiate it.
+     *
+     * @return <tt>true</tt> if the compression has to be started by the caller
+     */
+    boolean startCompression() {
+        return canBeCompressed && isCompressed.compareAndSet(false, true);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the entry may be served using different content-codings depending on the request
+     * <tt>Accept-Encoding</tt> header, so responses have to carry <tt>Vary: Accept-Encoding</tt>.
+     */
+    public boolean isVaryOnAcceptEncoding() {
+        return canBeCompressed || precompressedCount > 0;
+    }
+
+    /**
+     * Selects the content-coding to serve this entry with as response to the passed {@link HttpRequestPacket}. The
+     * precompressed variant with the highest <tt>Accept-Encoding</tt> quality value wins, on equal quality values the
+     * order of {@link FileCache#PRECOMPRESSED_ENCODINGS} decides. If there are no precompressed variants, the result is
+     * the same as of {@link #canServeCompressed(HttpRequestPacket)}.
+     *
+     * @return the content-coding, or <tt>null</tt> if the entry has to be served as it is
+     */
+    public String selectContentEncoding(final HttpRequestPacket request) {
+        if (precompressedCount == 0) {
+            return canServeCompressed(request) ? FileCache.GZIP_ENCODING : null;
+        }
+
+        final String acceptEncoding = request.getHeader(Header.AcceptEncoding);
+        if (acceptEncoding == null || !fileCache.getCompressionConfig().checkUserAgent(request)) {
+            return null;
+        }
+
+        int bestIdx = -1;
+        float bestQValue = 0;
+        for (int i = 0; i < FileCache.PRECOMPRESSED_ENCODINGS.length; i++) {
+            final float qValue = FileCache.getQValue(acceptEncoding, FileCache.PRECOMPRESSED_ENCODINGS[i]);
+            if (qValue > bestQValue && (precompressedFiles[i] != null || i == FileCache.GZIP_IDX && canServeCompressed(request))) {
+                bestIdx = i;
+                bestQValue = qValue;
+            }
+        }
+
+        return bestIdx != -1 ? FileCache.PRECOMPRESSED_ENCODINGS[bestIdx] : null;
+    }
+
     /**
      * Returns <tt>true</tt> if this entry could be served compressed as response to this (passed) specific
      * {@link HttpRequestPacket}. Or <tt>false</tt> will be returned otherwise.
@@ -108,6 +170,21 @@ public final class FileCacheEntry implements Runnable {
         return isCompressed ? compressedFileSize : plainFileSize;
     }
 
+    /**
+     * Returns the entry file size.
+     *
+     * @param contentEncoding the content-coding returned by {@link #selectContentEncoding(HttpRequestPacket)}
+     * @return the entry file size
+     */
+    public long getFileSize(final String contentEncoding) {
+        final int idx = FileCache.precompressedIndexOf(contentEncoding);
+        if (idx == -1) {
+            return plainFileSize;
+        }
+
+        return precompressedFiles[idx] != null ? precompressedFileSizes[idx] : compressedFileSize;
+    }
+
     /**
      * Returns the entry's {@link File} reference.
      * 
@@ -119,6 +196,21 @@ public final class FileCacheEntry implements Runnable {
         return isCompressed ? compressedFile : plainFile;
     }
 
+    /**
+     * Returns the entry's {@link File} reference.
+     *
+     * @param contentEncoding the content-coding returned by {@link #selectContentEncoding(HttpRequestPacket)}
+     * @return the entry's {@link File} reference
+     */
+    public File getFile(final String contentEncoding) {
+        final int idx = FileCache.precompressedIndexOf(contentEncoding);
+        if (idx == -1) {
+            return plainFile;
+        }
+
+        return precompressedFiles[idx] != null ? precompressedFiles[idx] : compressedFile;
+    }
+
     /**
      * Returns the entry's {@link ByteBuffer} representation.
      * 
@@ -130,6 +222,44 @@ public final class FileCacheEntry implements Runnable {
         return isCompressed ? compressedBb : bb;
     }
 
+    /**
+     * Returns the entry's {@link ByteBuffer} representation.
+     *
+     * @param contentEncoding the content-coding returned by {@link #selectContentEncoding(HttpRequestPacket)}
+     * @return the entry's {@link ByteBuffer} reference
+     */
+    public ByteBuffer getByteBuffer(final String contentEncoding) {
+        final int idx = FileCache.precompressedIndexOf(contentEncoding);
+        if (idx == -1) {
+            return bb;
+        }
+
+        return precompressedFiles[idx] != null ? precompressedBbs[idx] : compressedBb;
+    }
+
+    /**
+     * Returns the number of bytes of the heap or mapped memory the entry content takes.
+     *
+     * @return the memory size, <tt>0</tt> if the entry content is not kept in memory
+     */
+    public long getMemorySize() {
+        if (type != FileCache.CacheType.HEAP && type != FileCache.CacheType.MAPPED) {
+            return 0;
+        }
+
+        long size = bb.remaining();
+        for (ByteBuffer precompressedBb : precompressedBbs) {
+            if (precompressedBb != null) {
+                size += precompressedBb.remaining();
+            }
+        }
+        final ByteBuffer gzipBb = compressedBb;
+        if (gzipBb != null) {
+            size += gzipBb.remaining();
+        }
+        return size;
+    }
+
     @Override
     public void run() {
         fileCache.remove(this);
@@ -147,6 +277,7 @@ public final class FileCacheEntry implements Runnable {
         sb.append(", plainFileSize=").append(plainFileSize);
         sb.append(", canBeCompressed=").append(canBeCompressed);
         sb.append(", compressedFileSize=").append(compressedFileSize);
+        sb.append(", precompressedCount=").append(precompressedCount);
         sb.append(", timeoutMillis=").append(timeoutMillis);
         sb.append(", fileCache=").append(fileCache);
         sb.append(", server=").append(server);
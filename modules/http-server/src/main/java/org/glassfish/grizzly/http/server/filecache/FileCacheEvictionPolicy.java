@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.filecache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-aware W-TinyLFU eviction policy of the {@link FileCache}.
+ * <p>
+ * New entries land in a small LRU window, which protects them from being evicted right away. Entries leaving the window
+ * move to the probation segment and get promoted to the protected segment, once they're hit again. When the cache runs
+ * out of entry slots, or out of the heap or mapped memory budget, the victims are taken from the cold ends of the
+ * probation, the window and the protected segments, in this order, and a victim is evicted only if the new entry was
+ * requested more frequently. Frequencies are kept by an approximate count-min sketch, which also tracks the misses, so
+ * a file requested over and over again eventually displaces colder files, while a one-hit wonder doesn't. As many
+ * victims as needed to fit the new entry's bytes have to lose to it, so a large file doesn't displace many small hot
+ * files.
+ * <p>
+ * The segments are guarded by a lock. Hits only try to acquire it: if it's contended, the hit isn't recorded, which
+ * makes the policy slightly less precise, but keeps the request path non-blocking.
+ */
+final class FileCacheEvictionPolicy {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final int[] VICTIM_ORDER = { PROBATION, WINDOW, PROTECTED };
+
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    private final FileCache fileCache;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Node[] segments = { new Node(null), new Node(null), new Node(null) };
+    private final int[] segmentSizes = new int[segments.length];
+
+    private final List<Node> victims = new ArrayList<>();
+
+    FileCacheEvictionPolicy(final FileCache fileCache) {
+        this.fileCache = fileCache;
+        sketch = new FrequencySketch(fileCache.getMaxCacheEntries());
+    }
+
+    /**
+     * Records the cache lookup for the key. The entry is <tt>null</tt> if the lookup missed.
+     */
+    void recordAccess(final int keyHash, final FileCacheEntry entry) {
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            sketch.increment(keyHash);
+
+            final Node node = entry != null ? entry.policyNode : null;
+            if (node == null || node.prev == null) {
+                return;
+            }
+
+            node.unlink();
+            if (node.segment == PROBATION) {
+                segmentSizes[PROBATION]--;
+                node.segment = PROTECTED;
+                segmentSizes[PROTECTED]++;
+            }
+            node.linkFirst(segments[node.segment]);
+
+            if (node.segment == PROTECTED) {
+                final int maxProtected = (maxEntries() - maxWindow()) * PROTECTED_PERCENTAGE / 100;
+                while (segmentSizes[PROTECTED] > maxProtected) {
+                    move(segments[PROTECTED].prev, PROBATION);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts tracking the entry, which has been added to the cache.
+     */
+    void onAdded(final FileCacheEntry entry) {
+        lock.lock();
+        try {
+            final Node node = new Node(entry);
+            entry.policyNode = node;
+            node.segment = WINDOW;
+            node.linkFirst(segments[WINDOW]);
+            segmentSizes[WINDOW]++;
+
+            final int maxWindow = maxWindow();
+            while (segmentSizes[WINDOW] > maxWindow) {
+                move(segments[WINDOW].prev, PROBATION);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops tracking the entry, which has been removed from the cache.
+     */
+    void onRemoved(final FileCacheEntry entry) {
+        lock.lock();
+        try {
+            final Node node = entry.policyNode;
+            if (node != null && node.prev != null) {
+                node.unlink();
+                segmentSizes[node.segment]--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the entries, which are requested less frequently than the new entry, to let it fit.
+     *
+     * @param keyHash the hash code of the new entry's key
+     * @param type the budget the new entry is short of: {@link FileCache.CacheType#HEAP} or
+     * {@link FileCache.CacheType#MAPPED} for the memory budgets, <tt>null</tt> for the entry slots
+     * @param size the number of bytes the new entry needs, ignored for the entry slots
+     * @return <tt>true</tt> if the room has been made, or <tt>false</tt> if the new entry has to be rejected
+     */
+    boolean makeRoom(final int keyHash, final FileCache.CacheType type, final long size) {
+        lock.lock();
+        try {
+            long excess;
+            if (type == null) {
+                excess = 1;
+            } else {
+                if (size > fileCache.getMaxSize(type)) {
+                    return false;
+                }
+
+                excess = fileCache.getSize(type) + size - fileCache.getMaxSize(type);
+                if (excess <= 0) {
+                    return true;
+                }
+            }
+
+            final int frequency = sketch.frequency(keyHash);
+            try {
+                if (!collectVictims(type, frequency, excess)) {
+                    return false;
+                }
+
+                for (int i = 0; i < victims.size(); i++) {
+                    fileCache.evict(victims.get(i).entry);
+                }
+
+                return true;
+            } finally {
+                victims.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean collectVictims(final FileCache.CacheType type, final int frequency, long excess) {
+        for (int segment : VICTIM_ORDER) {
+            final Node head = segments[segment];
+            for (Node node = head.prev; node != head; node = node.prev) {
+                final FileCacheEntry entry = node.entry;
+                if (type != null && entry.type != type) {
+                    continue;
+                }
+
+                if (sketch.frequency(entry.key.hashCode()) >= frequency) {
+                    return false;
+                }
+
+                victims.add(node);
+                excess -= type != null ? entry.getMemorySize() : 1;
+                if (excess <= 0) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void move(final Node node, final int segment) {
+        node.unlink();
+        segmentSizes[node.segment]--;
+        node.segment = segment;
+        node.linkFirst(segments[segment]);
+        segmentSizes[segment]++;
+    }
+
+    private int maxEntries() {
+        return Math.max(fileCache.getMaxCacheEntries(), 1);
+    }
+
+    private int maxWindow() {
+        return Math.max(maxEntries() * WINDOW_PERCENTAGE / 100, 1);
+    }
+
+    /**
+     * The node of an entry in one of the segment lists. The segment heads are sentinel nodes, whose <tt>next</tt> is the
+     * most and <tt>prev</tt> the least recently used node.
+     */
+    static final class Node {
+        final FileCacheEntry entry;
+        private Node prev;
+        private Node next;
+        private int segment;
+
+        private Node(final FileCacheEntry entry) {
+            this.entry = entry;
+            if (entry == null) {
+                prev = next = this;
+            }
+        }
+
+        private void linkFirst(final Node head) {
+            prev = head;
+            next = head.next;
+            head.next.prev = this;
+            head.next = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = null;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters. Each key maps to four counters in a single 64-bit table slot; the counters are
+     * halved once the number of increments reaches ten times the cache capacity, so the past popularity fades away.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_COUNT = 15;
+        private static final int MAX_TABLE_SIZE = 1 << 22;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(final int capacity) {
+            final int maximum = Math.min(Math.max(capacity, 16), 1 << 30);
+            table = new long[Math.min(Integer.highestOneBit(maximum - 1) << 1, MAX_TABLE_SIZE)];
+            tableMask = table.length - 1;
+            sampleSize = maximum <= Integer.MAX_VALUE / 10 ? maximum * 10 : Integer.MAX_VALUE;
+        }
+
+        int frequency(final int hash) {
+            final int spread = spread(hash);
+            final int start = (spread & 3) << 2;
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < 4; i++) {
+                final int offset = (start + i) << 2;
+                final int count = (int) (table[indexOf(spread, i)] >>> offset) & 0xF;
+                frequency = Math.min(frequency, count);
+            }
+
+            return frequency;
+        }
+
+        void increment(final int hash) {
+            final int spread = spread(hash);
+            final int start = (spread & 3) << 2;
+            boolean isIncremented = false;
+            for (int i = 0; i < 4; i++) {
+                final int idx = indexOf(spread, i);
+                final int offset = (start + i) << 2;
+                final long mask = 0xFL << offset;
+                if ((table[idx] & mask) != mask) {
+                    table[idx] += 1L << offset;
+                    isIncremented = true;
+                }
+            }
+
+            if (isIncremented && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size >>>= 1;
+        }
+
+        private int indexOf(final int item, final int i) {
+            long hash = (item + SEEDS[i]) * SEEDS[i];
+            hash += hash >>> 32;
+            return (int) hash & tableMask;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -40,6 +41,27 @@ public interface FileCacheProbe {
      */
     void onEntryRemovedEvent(FileCache fileCache, FileCacheEntry entry);
 
+    /**
+     * Method will be called, when file cache entry gets evicted to make room for a more frequently requested resource.
+     * The {@link #onEntryRemovedEvent(FileCache, FileCacheEntry)} follows.
+     *
+     * @param fileCache {@link FileCache}, the event belongs to.
+     * @param entry {@link FileCacheEntry} been evicted.
+     */
+    default void onEntryEvictedEvent(FileCache fileCache, FileCacheEntry entry) {
+    }
+
+    /**
+     * Method will be called, when the resource is not cached, or is not kept in memory, because the entries, which had
+     * to be evicted to make room for it, are requested more frequently.
+     *
+     * @param fileCache {@link FileCache}, the event belongs to.
+     * @param host the HTTP "Host" header of the resource.
+     * @param requestURI the HTTP URL of the resource.
+     */
+    default void onEntryRejectedEvent(FileCache fileCache, String host, String requestURI) {
+    }
+
     /**
      * Method will be called, when file cache entry gets hit.
      *
@@ -92,6 +114,20 @@ public interface FileCacheProbe {
         public void onEntryRemovedEvent(FileCache fileCache, FileCacheEntry entry) {
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onEntryEvictedEvent(FileCache fileCache, FileCacheEntry entry) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onEntryRejectedEvent(FileCache fileCache, String host, String requestURI) {
+        }
+
         /**
          * {@inheritDoc}
          */
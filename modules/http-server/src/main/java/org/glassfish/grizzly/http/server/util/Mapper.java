@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -294,7 +295,7 @@ public class Mapper {
                 newContext.alternateDocBases = alternateDocBases;
                 Context oldElem = (Context) insertMap(contexts, newContexts, newContext);
                 if (oldElem == null) {
-                    host.contextList.contexts = newContexts;
+                    host.contextList.setContexts(newContexts);
                     // START GlassFish 1024
                     if (path.equals(host.defaultContextPaths[0])) {
                         host.defaultContexts[0] = newContext;
@@ -331,7 +332,7 @@ public class Mapper {
                 }
                 Context[] newContexts = new Context[contexts.length - 1];
                 if (removeMap(contexts, newContexts, path)) {
-                    host.contextList.contexts = newContexts;
+                    host.contextList.setContexts(newContexts);
                     // Recalculate nesting
                     host.contextList.nesting = 0;
                     for (Context newContext : newContexts) {
@@ -520,6 +521,9 @@ public class Mapper {
                     }
                 }
             }
+
+            // the route table is recompiled by the next request mapped to this context
+            context.routes = null;
         }
     }
 
@@ -597,6 +601,8 @@ public class Mapper {
                     context.exactWrappers = newWrappers;
                 }
             }
+
+            context.routes = null;
         }
     }
 
@@ -848,9 +854,8 @@ public class Mapper {
 
         uri.setLimit(-1);
 
-        Context[] contexts = null;
+        ContextList contextList = null;
         Context ctx = null;
-        int nesting = 0;
 
         int hostPos = -1;
 
@@ -861,8 +866,7 @@ public class Mapper {
             if (pos != -1 && host.equalsIgnoreCase(newHosts[pos].name)) {
                 mappingData.host = newHosts[pos].object;
                 hostPos = pos;
-                contexts = newHosts[pos].contextList.contexts;
-                nesting = newHosts[pos].contextList.nesting;
+                contextList = newHosts[pos].contextList;
             } else {
                 if (defaultHostName == null) {
                     return;
@@ -871,8 +875,7 @@ public class Mapper {
                 if (pos != -1 && defaultHostName.equalsIgnoreCase(newHosts[pos].name)) {
                     mappingData.host = newHosts[pos].object;
                     hostPos = pos;
-                    contexts = newHosts[pos].contextList.contexts;
-                    nesting = newHosts[pos].contextList.nesting;
+                    contextList = newHosts[pos].contextList;
                 } else {
                     return;
                 }
@@ -882,72 +885,25 @@ public class Mapper {
         // Context mapping
         if (mappingData.context == null) {
 
-            // START GlassFish 1024
-            boolean found = false;
-            // END GlassFish 1024
+            if (contextList != null) {
+                ctx = contextList.getTrie().longestPrefix(uri.getBuffer(), uri.getStart(), uri.getEnd());
+            }
 
-            int pos = find(contexts, uri);
-            if (pos == -1) {
-                // START GlassFish 1024
-                if (hosts[hostPos].defaultContexts[0] == null) {
-                    // END GlassFish 1024
-                    return;
+            if (ctx == null) {
+                Context[] contexts = contextList != null ? contextList.contexts : null;
+                if (contexts != null && contexts.length > 0 && "".equals(contexts[0].name)) {
+                    ctx = contexts[0];
                     // START GlassFish 1024
+                } else if (hosts[hostPos].defaultContexts[0] != null) {
+                    ctx = hosts[hostPos].defaultContexts[0];
+                    mappingData.isDefaultContext = true;
+                    // END GlassFish 1024
                 }
-                ctx = hosts[hostPos].defaultContexts[0];
-                mappingData.context = ctx.object;
-                mappingData.contextPath.setString(ctx.name);
-                found = true;
-                mappingData.isDefaultContext = true;
-                // END GlassFish 1024
             }
 
-            // START GlassFish 1024
-            if (!found) {
-                // END GlassFish 1024
-                int lastSlash = -1;
-                int uriEnd = uri.getEnd();
-                int length;
-                /*
-                 * GlassFish 1024 boolean found = false;
-                 */
-                while (pos >= 0) {
-                    if (contexts != null && uri.startsWith(contexts[pos].name)) {
-                        length = contexts[pos].name.length();
-                        if (uri.getLength() == length) {
-                            found = true;
-                            break;
-                        } else if (uri.startsWithIgnoreCase("/", length)) {
-                            found = true;
-                            break;
-                        }
-                    }
-                    if (lastSlash == -1) {
-                        lastSlash = nthSlash(uri, nesting + 1);
-                    } else {
-                        lastSlash = lastSlash(uri);
-                    }
-                    uri.setEnd(lastSlash);
-                    pos = find(contexts, uri);
-                }
-                uri.setEnd(uriEnd);
-
-                if (!found) {
-                    if (contexts != null && "".equals(contexts[0].name)) {
-                        ctx = contexts[0];
-                        // START GlassFish 1024
-                    } else if (hosts[hostPos].defaultContexts[0] != null) {
-                        ctx = hosts[hostPos].defaultContexts[0];
-                        mappingData.isDefaultContext = true;
-                        // END GlassFish 1024
-                    }
-                } else {
-                    ctx = contexts[pos];
-                }
-                if (ctx != null) {
-                    mappingData.context = ctx.object;
-                    mappingData.contextPath.setString(ctx.name);
-                }
+            if (ctx != null) {
+                mappingData.context = ctx.object;
+                mappingData.contextPath.setString(ctx.name);
             }
         }
 
@@ -1003,16 +959,15 @@ public class Mapper {
         }
 
         // Rule 1 -- Exact Match
-        Wrapper[] exactWrappers = context.exactWrappers;
+        RouteTable routes = context.getRoutes();
         if (mappingData.wrapper == null) {
-            internalMapExactWrapper(exactWrappers, path, mappingData);
+            internalMapExactWrapper(routes, path, mappingData);
         }
 
         // Rule 2 -- Prefix Match
         boolean checkJspWelcomeFiles = false;
-        Wrapper[] wildcardWrappers = context.wildcardWrappers;
         if (mappingData.wrapper == null) {
-            internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+            internalMapWildcardWrapper(routes, path, mappingData);
             if (mappingData.wrapper != null && mappingData.jspWildCard) {
                 char[] buf = path.getBuffer();
                 if (buf[pathEnd - 1] == '/') {
@@ -1048,9 +1003,8 @@ public class Mapper {
         }
 
         // Rule 3 -- Extension Match
-        Wrapper[] extensionWrappers = context.extensionWrappers;
         if (mappingData.wrapper == null && !checkJspWelcomeFiles) {
-            internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+            internalMapExtensionWrapper(routes, path, mappingData);
         }
 
         // Rule 4 -- Welcome resources processing for servlets
@@ -1101,16 +1055,16 @@ public class Mapper {
 
                         if (file != null && !(file instanceof DirContext)) {
                             // Rule 4a1 -- exact match
-                            internalMapExactWrapper(exactWrappers, path, mappingData);
+                            internalMapExactWrapper(routes, path, mappingData);
 
                             // Rule 4a2 -- prefix match
                             if (mappingData.wrapper == null) {
-                                internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+                                internalMapWildcardWrapper(routes, path, mappingData);
                             }
 
                             // Rule 4a3 -- extension match
                             if (mappingData.wrapper == null) {
-                                internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+                                internalMapExtensionWrapper(routes, path, mappingData);
                             }
 
                             // Rule 4a4 use default
@@ -1138,16 +1092,16 @@ public class Mapper {
                         path.setStart(servletPath);
 
                         // Rule 4b1 -- Welcome resources processing for exact match
-                        internalMapExactWrapper(exactWrappers, path, mappingData);
+                        internalMapExactWrapper(routes, path, mappingData);
 
                         // Rule 4b2 -- Welcome resources processing for prefix match
                         if (mappingData.wrapper == null) {
-                            internalMapWildcardWrapper(wildcardWrappers, context.nesting, path, mappingData);
+                            internalMapWildcardWrapper(routes, path, mappingData);
                         }
 
                         // Rule 4b3 -- Welcome resources processing for extension match
                         if (mappingData.wrapper == null) {
-                            internalMapExtensionWrapper(extensionWrappers, path, mappingData);
+                            internalMapExtensionWrapper(routes, path, mappingData);
                         }
 
                         // cannot use jsp as the file does not exist
@@ -1225,14 +1179,14 @@ public class Mapper {
     /**
      * Exact mapping.
      */
-    private void internalMapExactWrapper(Wrapper[] wrappers, CharChunk path, MappingData mappingData) {
-        int pos = find(wrappers, path);
-        if (pos != -1 && path.equals(wrappers[pos].name)) {
-            mappingData.requestPath.setString(wrappers[pos].name);
-            mappingData.wrapperPath.setString(wrappers[pos].name);
-            mappingData.wrapper = wrappers[pos].object;
-            mappingData.servletName = wrappers[pos].servletName;
-            mappingData.descriptorPath = wrappers[pos].path;
+    private void internalMapExactWrapper(RouteTable routes, CharChunk path, MappingData mappingData) {
+        Wrapper wrapper = routes.exact.get(path.getBuffer(), path.getStart(), path.getEnd());
+        if (wrapper != null) {
+            mappingData.requestPath.setString(wrapper.name);
+            mappingData.wrapperPath.setString(wrapper.name);
+            mappingData.wrapper = wrapper.object;
+            mappingData.servletName = wrapper.servletName;
+            mappingData.descriptorPath = wrapper.path;
             mappingData.matchedPath = path.toString();
             mappingData.mappingType = "/".equals(mappingData.matchedPath) ? MappingData.DEFAULT : MappingData.EXACT;
         }
@@ -1241,55 +1195,28 @@ public class Mapper {
     /**
      * Wildcard mapping.
      */
-    private void internalMapWildcardWrapper(Wrapper[] wrappers, int nesting, CharChunk path, MappingData mappingData) {
-
-        int pathEnd = path.getEnd();
-
-        int lastSlash = -1;
-        int length = -1;
-        int pos = find(wrappers, path);
-        if (pos != -1) {
-            boolean found = false;
-            while (pos >= 0) {
-                if (path.startsWith(wrappers[pos].name)) {
-                    length = wrappers[pos].name.length();
-                    if (path.getLength() == length) {
-                        found = true;
-                        break;
-                    } else if (path.startsWithIgnoreCase("/", length)) {
-                        found = true;
-                        break;
-                    }
-                }
-                if (lastSlash == -1) {
-                    lastSlash = nthSlash(path, nesting + 1);
-                } else {
-                    lastSlash = lastSlash(path);
-                }
-                path.setEnd(lastSlash);
-                pos = find(wrappers, path);
-            }
-            path.setEnd(pathEnd);
-            if (found) {
-                mappingData.wrapperPath.setString(wrappers[pos].name);
-                if (path.getLength() > length) {
-                    mappingData.pathInfo.setChars(path.getBuffer(), path.getStart() + length, path.getEnd());
-                }
-                mappingData.requestPath.setChars(path.getBuffer(), path.getStart(), path.getEnd());
-                mappingData.wrapper = wrappers[pos].object;
-                mappingData.servletName = wrappers[pos].servletName;
-                mappingData.jspWildCard = wrappers[pos].jspWildCard;
-                mappingData.mappingType = MappingData.PATH;
-                mappingData.descriptorPath = wrappers[pos].path;
-                mappingData.matchedPath = path.toString();
+    private void internalMapWildcardWrapper(RouteTable routes, CharChunk path, MappingData mappingData) {
+        Wrapper wrapper = routes.prefix.longestPrefix(path.getBuffer(), path.getStart(), path.getEnd());
+        if (wrapper != null) {
+            int length = wrapper.name.length();
+            mappingData.wrapperPath.setString(wrapper.name);
+            if (path.getLength() > length) {
+                mappingData.pathInfo.setChars(path.getBuffer(), path.getStart() + length, path.getEnd());
             }
+            mappingData.requestPath.setChars(path.getBuffer(), path.getStart(), path.getEnd());
+            mappingData.wrapper = wrapper.object;
+            mappingData.servletName = wrapper.servletName;
+            mappingData.jspWildCard = wrapper.jspWildCard;
+            mappingData.mappingType = MappingData.PATH;
+            mappingData.descriptorPath = wrapper.path;
+            mappingData.matchedPath = path.toString();
         }
     }
 
     /**
      * Extension mappings.
      */
-    private void internalMapExtensionWrapper(Wrapper[] wrappers, CharChunk path, MappingData mappingData) {
+    private void internalMapExtensionWrapper(RouteTable routes, CharChunk path, MappingData mappingData) {
         char[] buf = path.getBuffer();
         int pathEnd = path.getEnd();
         int servletPath = path.getStart();
@@ -1309,19 +1236,15 @@ public class Mapper {
                 }
             }
             if (period >= 0) {
-                path.setStart(period + 1);
-                path.setEnd(pathEnd);
-                int pos = find(wrappers, path);
-                if (pos != -1 && path.equals(wrappers[pos].name)) {
+                Wrapper wrapper = routes.extension.get(buf, period + 1, pathEnd);
+                if (wrapper != null) {
                     mappingData.wrapperPath.setChars(buf, servletPath, pathEnd);
                     mappingData.requestPath.setChars(buf, servletPath, pathEnd);
-                    mappingData.wrapper = wrappers[pos].object;
-                    mappingData.servletName = wrappers[pos].servletName;
+                    mappingData.wrapper = wrapper.object;
+                    mappingData.servletName = wrapper.servletName;
                     mappingData.mappingType = MappingData.EXTENSION;
-                    mappingData.descriptorPath = wrappers[pos].path;
+                    mappingData.descriptorPath = wrapper.path;
                 }
-                path.setStart(servletPath);
-                path.setEnd(pathEnd);
                 mappingData.matchedPath = path.toString();
             }
         }
@@ -1611,47 +1534,6 @@ public class Mapper {
         return result;
     }
 
-    /**
-     * Find the position of the last slash in the given char chunk.
-     */
-    private static int lastSlash(CharChunk name) {
-
-        char[] c = name.getBuffer();
-        int end = name.getEnd();
-        int start = name.getStart();
-        int pos = end;
-
-        while (pos > start) {
-            if (c[--pos] == '/') {
-                break;
-            }
-        }
-
-        return pos;
-
-    }
-
-    /**
-     * Find the position of the nth slash, in the given char chunk.
-     */
-    private static int nthSlash(CharChunk name, int n) {
-
-        char[] c = name.getBuffer();
-        int end = name.getEnd();
-        int pos = name.getStart();
-        int count = 0;
-
-        while (pos < end) {
-            if (c[pos++] == '/' && ++count == n) {
-                pos--;
-                break;
-            }
-        }
-
-        return pos;
-
-    }
-
     /**
      * Return the slash count in a given string.
      */
@@ -1762,6 +1644,30 @@ public class Mapper {
         public Context[] contexts = new Context[0];
         public int nesting = 0;
 
+        /**
+         * Contexts indexed by path, built from {@link #contexts} on first use after a change.
+         */
+        private volatile PathTrie<Context> trie = PathTrie.empty();
+
+        synchronized void setContexts(Context[] contexts) {
+            this.contexts = contexts;
+            trie = null;
+        }
+
+        PathTrie<Context> getTrie() {
+            PathTrie<Context> current = trie;
+            if (current == null) {
+                synchronized (this) {
+                    current = trie;
+                    if (current == null) {
+                        current = PathTrie.build(contexts);
+                        trie = current;
+                    }
+                }
+            }
+            return current;
+        }
+
     }
 
     // ---------------------------------------------------- Context Inner Class
@@ -1779,6 +1685,25 @@ public class Mapper {
         public Wrapper[] extensionWrappers = new Wrapper[0];
         public int nesting = 0;
 
+        /**
+         * Compiled wrapper mappings, <tt>null</tt> if the wrappers changed since the table was last built.
+         */
+        volatile RouteTable routes = RouteTable.EMPTY;
+
+        RouteTable getRoutes() {
+            RouteTable current = routes;
+            if (current == null) {
+                synchronized (this) {
+                    current = routes;
+                    if (current == null) {
+                        current = RouteTable.compile(exactWrappers, wildcardWrappers, extensionWrappers);
+                        routes = current;
+                    }
+                }
+            }
+            return current;
+        }
+
     }
 
     // ---------------------------------------------------- Wrapper Inner Class
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable radix trie over the <tt>'/'</tt> separated segments of {@link Mapper.MapElement} names, answering the
+ * longest prefix match the servlet mapping rules ask for in a single left-to-right pass over the path.
+ *
+ * An element named <tt>/a/b</tt> matches the paths <tt>/a/b</tt> and <tt>/a/b/...</tt>, an element named with the empty
+ * string matches every path starting with <tt>'/'</tt>. Changes are applied by building a new trie.
+ */
+final class PathTrie<E extends Mapper.MapElement> {
+
+    @SuppressWarnings("rawtypes")
+    private static final PathTrie EMPTY = new PathTrie<>(new Node<>(null, null));
+
+    private final Node<E> root;
+
+    private PathTrie(final Node<E> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E extends Mapper.MapElement> PathTrie<E> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a trie containing the given elements, keyed by their names.
+     */
+    static <E extends Mapper.MapElement> PathTrie<E> build(final E[] elements) {
+        if (elements.length == 0) {
+            return empty();
+        }
+
+        final NodeBuilder<E> root = new NodeBuilder<>();
+        for (E element : elements) {
+            NodeBuilder<E> node = root;
+            final String name = element.name;
+            if (!name.isEmpty()) {
+                int segmentStart = 0;
+                int slash;
+                do {
+                    slash = name.indexOf('/', segmentStart);
+                    final String segment = name.substring(segmentStart, slash == -1 ? name.length() : slash);
+                    node = node.children.computeIfAbsent(segment, s -> new NodeBuilder<>());
+                    segmentStart = slash + 1;
+                } while (slash != -1);
+            }
+            node.element = element;
+        }
+
+        return new PathTrie<>(root.build());
+    }
+
+    /**
+     * Returns the element with the longest name, which is a segment-wise prefix of <tt>buf[start, end)</tt>, or
+     * <tt>null</tt> if there is none.
+     */
+    E longestPrefix(final char[] buf, final int start, final int end) {
+        Node<E> node = root;
+        E match = node.element != null && (start == end || buf[start] == '/') ? node.element : null;
+
+        int segmentStart = start;
+        while (node.children != null) {
+            int segmentEnd = segmentStart;
+            while (segmentEnd < end && buf[segmentEnd] != '/') {
+                segmentEnd++;
+            }
+
+            node = node.children.get(buf, segmentStart, segmentEnd);
+            if (node == null) {
+                break;
+            }
+            if (node.element != null) {
+                match = node.element;
+            }
+            if (segmentEnd == end) {
+                break;
+            }
+            segmentStart = segmentEnd + 1;
+        }
+
+        return match;
+    }
+
+    private static final class Node<E> {
+        final E element;
+        final CharTable<Node<E>> children;
+
+        Node(final E element, final CharTable<Node<E>> children) {
+            this.element = element;
+            this.children = children;
+        }
+    }
+
+    private static final class NodeBuilder<E> {
+        final Map<String, NodeBuilder<E>> children = new HashMap<>();
+        E element;
+
+        Node<E> build() {
+            if (children.isEmpty()) {
+                return new Node<>(element, null);
+            }
+
+            final Map<String, Node<E>> built = new HashMap<>(children.size() * 2);
+            for (Map.Entry<String, NodeBuilder<E>> entry : children.entrySet()) {
+                built.put(entry.getKey(), entry.getValue().build());
+            }
+            return new Node<>(element, CharTable.build(built));
+        }
+    }
+
+    /**
+     * Immutable open addressing hash table, which is looked up by a range of a <tt>char[]</tt>, so no {@link String} has
+     * to be created to find a mapping.
+     */
+    static final class CharTable<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final CharTable EMPTY = new CharTable<>(new String[1], new Object[1], new int[1]);
+
+        private final String[] keys;
+        private final Object[] values;
+        private final int[] hashes;
+        private final int mask;
+
+        private CharTable(final String[] keys, final Object[] values, final int[] hashes) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.mask = keys.length - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> CharTable<V> empty() {
+            return EMPTY;
+        }
+
+        static <V> CharTable<V> build(final Map<String, V> map) {
+            if (map.isEmpty()) {
+                return empty();
+            }
+
+            // keep the load factor at or below 0.5, so probe sequences stay short
+            final int capacity = Integer.highestOneBit(map.size() * 2 - 1) << 1;
+            final String[] keys = new String[capacity];
+            final Object[] values = new Object[capacity];
+            final int[] hashes = new int[capacity];
+            final int mask = capacity - 1;
+
+            for (Map.Entry<String, V> entry : map.entrySet()) {
+                final int hash = spread(entry.getKey().hashCode());
+                int i = hash & mask;
+                while (keys[i] != null) {
+                    i = i + 1 & mask;
+                }
+                keys[i] = entry.getKey();
+                values[i] = entry.getValue();
+                hashes[i] = hash;
+            }
+
+            return new CharTable<>(keys, values, hashes);
+        }
+
+        /**
+         * Returns the value mapped to the key equal to <tt>buf[start, end)</tt>, or <tt>null</tt>.
+         */
+        @SuppressWarnings("unchecked")
+        V get(final char[] buf, final int start, final int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + buf[i];
+            }
+            final int hash = spread(h);
+
+            final String[] keys = this.keys;
+            String key;
+            for (int i = hash & mask; (key = keys[i]) != null; i = i + 1 & mask) {
+                if (hashes[i] == hash && regionEquals(key, buf, start, end)) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        private static boolean regionEquals(final String key, final char[] buf, final int start, final int end) {
+            final int length = key.length();
+            if (length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key.charAt(i) != buf[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int spread(final int h) {
+            return h ^ h >>> 16;
+        }
+    }
+}
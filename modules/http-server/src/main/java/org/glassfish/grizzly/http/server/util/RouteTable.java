@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.glassfish.grizzly.http.server.util.Mapper.Wrapper;
+import org.glassfish.grizzly.http.server.util.PathTrie.CharTable;
+
+/**
+ * Compiled, immutable view of the exact, prefix and extension wrappers of a {@link Mapper.Context}. The {@link Mapper}
+ * builds a new table whenever wrappers are added or removed and swaps it in, so request mapping reads one consistent
+ * snapshot without locking and without walking the sorted wrapper arrays.
+ */
+final class RouteTable {
+
+    static final RouteTable EMPTY = new RouteTable(CharTable.empty(), PathTrie.empty(), CharTable.empty());
+
+    /**
+     * Exact mappings, keyed by the full servlet path.
+     */
+    final CharTable<Wrapper> exact;
+
+    /**
+     * Prefix (<tt>/path/*</tt>) mappings, keyed by the path without the trailing <tt>/*</tt>.
+     */
+    final PathTrie<Wrapper> prefix;
+
+    /**
+     * Extension (<tt>*.ext</tt>) mappings, keyed by the extension without the leading <tt>*.</tt>.
+     */
+    final CharTable<Wrapper> extension;
+
+    private RouteTable(final CharTable<Wrapper> exact, final PathTrie<Wrapper> prefix, final CharTable<Wrapper> extension) {
+        this.exact = exact;
+        this.prefix = prefix;
+        this.extension = extension;
+    }
+
+    static RouteTable compile(final Wrapper[] exactWrappers, final Wrapper[] wildcardWrappers, final Wrapper[] extensionWrappers) {
+        if (exactWrappers.length == 0 && wildcardWrappers.length == 0 && extensionWrappers.length == 0) {
+            return EMPTY;
+        }
+        return new RouteTable(table(exactWrappers), PathTrie.build(wildcardWrappers), table(extensionWrappers));
+    }
+
+    private static CharTable<Wrapper> table(final Wrapper[] wrappers) {
+        final Map<String, Wrapper> map = new HashMap<>(wrappers.length * 2);
+        for (Wrapper wrapper : wrappers) {
+            map.put(wrapper.name, wrapper);
+        }
+        return CharTable.build(map);
+    }
+}
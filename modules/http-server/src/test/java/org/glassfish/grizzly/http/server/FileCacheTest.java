@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -41,6 +42,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Connection;
@@ -492,6 +494,226 @@ public class FileCacheTest {
         }
     }
 
+    @Test
+    public void testPrecompressedFiles() throws Exception {
+        final File file = createTempFile();
+        final String brContent = "precompressed brotli content";
+        final String gzContent = "precompressed gzip content";
+
+        final File brFile = new File(file.getPath() + ".br");
+        brFile.deleteOnExit();
+        Files.write(brFile.toPath(), brContent.getBytes());
+
+        final File gzFile = new File(file.getPath() + ".gz");
+        gzFile.deleteOnExit();
+        try (GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(gzFile))) {
+            out.write(gzContent.getBytes());
+        }
+
+        final StatsCacheProbe probe = new StatsCacheProbe();
+        httpServer.getServerConfiguration().getMonitoringConfig().getFileCacheConfig().addProbes(probe);
+        httpServer.getListener("grizzly").getFileCache().setPrecompressedFilesEnabled(true);
+
+        startHttpServer(new StaticHttpHandler() {
+
+            @Override
+            public void onMissingResource(final Request req, final Response res) {
+                try {
+                    String error = null;
+                    try {
+                        addToFileCache(req, null, file);
+                    } catch (Exception exception) {
+                        error = exception.getMessage();
+                    }
+
+                    final NIOWriter writer = res.getNIOWriter();
+                    writer.write(error == null ? "Hello not cached data" : "Error happened: " + error);
+                    writer.close();
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        });
+
+        final HttpRequestPacket.Builder builder = HttpRequestPacket.builder().method("GET").uri("/somedata").protocol("HTTP/1.1").header("Host", "localhost");
+        final HttpRequestPacket request1 = builder.build();
+        final HttpRequestPacket request2 = builder.build();
+        request2.addHeader("Accept-Encoding", "gzip, br");
+        final HttpRequestPacket request3 = builder.build();
+        request3.addHeader("Accept-Encoding", "gzip;q=1.0, br;q=0.5");
+        final HttpRequestPacket request4 = builder.build();
+        request4.addHeader("Accept-Encoding", "br;q=0, deflate");
+
+        boolean isOk = false;
+        try {
+            final ReusableFuture<HttpContent> responseFuture = new ReusableFuture<>();
+            final Connection c = getConnection("localhost", PORT, responseFuture);
+            c.write(request1);
+            final HttpContent response1 = responseFuture.get(10, TimeUnit.SECONDS);
+            assertEquals("Not cached data mismatch\n" + probe, "Hello not cached data", response1.getContent().toStringContent());
+
+            // the server preference breaks the tie
+            responseFuture.reset();
+            c.write(request2);
+            final HttpContent response2 = responseFuture.get(10, TimeUnit.SECONDS);
+            assertEquals(probe.toString(), "br", response2.getHttpHeader().getHeader("Content-Encoding"));
+            assertEquals("Accept-Encoding", response2.getHttpHeader().getHeader("Vary"));
+            assertEquals(brContent, response2.getContent().toStringContent());
+
+            responseFuture.reset();
+            c.write(request3);
+            final HttpContent response3 = responseFuture.get(10, TimeUnit.SECONDS);
+            assertEquals(probe.toString(), "gzip", response3.getHttpHeader().getHeader("Content-Encoding"));
+            assertEquals(gzContent, response3.getContent().toStringContent());
+
+            final byte[] data = Files.readAllBytes(file.toPath());
+            responseFuture.reset();
+            c.write(request4);
+            final HttpContent response4 = responseFuture.get(10, TimeUnit.SECONDS);
+            assertNull(response4.getHttpHeader().getHeader("Content-Encoding"));
+            assertEquals("Accept-Encoding", response4.getHttpHeader().getHeader("Vary"));
+            assertEquals(new String(data), response4.getContent().toStringContent());
+
+            // the precompressed variants take the cache memory along with the plain file
+            final FileCache fileCache = httpServer.getListener("grizzly").getFileCache();
+            assertEquals(file.length() + brFile.length() + gzFile.length(), fileCache.getHeapCacheSize() + fileCache.getMappedCacheSize());
+
+            isOk = true;
+        } finally {
+            if (!isOk) {
+                System.err.println(probe);
+            }
+        }
+    }
+
+    @Test
+    public void testFileSendOfFileEntry() throws Exception {
+        final File file = Files.createTempFile("grizzly-file-cache", ".txt").toFile();
+        file.deleteOnExit();
+        final byte[] data = new byte[100000];
+        final Random r = new Random();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + r.nextInt(26));
+        }
+        Files.write(file.toPath(), data);
+
+        final StatsCacheProbe probe = new StatsCacheProbe();
+        httpServer.getServerConfiguration().getMonitoringConfig().getFileCacheConfig().addProbes(probe);
+        final FileCache fileCache = httpServer.getListener("grizzly").getFileCache();
+        // too large to be kept in memory, the entry refers to the file
+        fileCache.setMaxEntrySize(1024);
+        // zero-copy for plain connections, mapped file slices for secure ones
+        fileCache.setFileSendEnabled(true);
+
+        startHttpServer(new StaticHttpHandler() {
+
+            @Override
+            public void onMissingResource(final Request req, final Response res) {
+                try {
+                    addToFileCache(req, null, file);
+
+                    final NIOWriter writer = res.getNIOWriter();
+                    writer.write("Hello not cached data");
+                    writer.close();
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        });
+
+        boolean isOk = false;
+        try {
+            final ReusableFuture<HttpContent> responseFuture = new ReusableFuture<>();
+            final Connection c = getConnection("localhost", PORT, responseFuture);
+            assertFalse(isCached(c, responseFuture, "/somedata"));
+
+            for (int i = 0; i < 2; i++) {
+                responseFuture.reset();
+                c.write(HttpRequestPacket.builder().method("GET").uri("/somedata").protocol("HTTP/1.1").header("Host", "localhost").build());
+                final HttpContent response = responseFuture.get(10, TimeUnit.SECONDS);
+                assertEquals(probe.toString(), new String(data), response.getContent().toStringContent());
+            }
+
+            isOk = true;
+        } finally {
+            if (!isOk) {
+                System.err.println(probe);
+            }
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final File fileA = createTempFile();
+        final File fileB = createTempFile();
+        final File fileC = createTempFile();
+
+        final StatsCacheProbe probe = new StatsCacheProbe();
+        httpServer.getServerConfiguration().getMonitoringConfig().getFileCacheConfig().addProbes(probe);
+        final FileCache fileCache = httpServer.getListener("grizzly").getFileCache();
+        fileCache.setMaxCacheEntries(2);
+        fileCache.setEvictionEnabled(true);
+
+        startHttpServer(new StaticHttpHandler() {
+
+            @Override
+            public void onMissingResource(final Request req, final Response res) {
+                try {
+                    final String uri = req.getRequestURI();
+                    addToFileCache(req, null, uri.equals("/a") ? fileA : uri.equals("/b") ? fileB : fileC);
+
+                    final NIOWriter writer = res.getNIOWriter();
+                    writer.write("Hello not cached data");
+                    writer.close();
+
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+            }
+        });
+
+        boolean isOk = false;
+        try {
+            final ReusableFuture<HttpContent> responseFuture = new ReusableFuture<>();
+            final Connection c = getConnection("localhost", PORT, responseFuture);
+
+            // "/a" gets requested more often than "/b"
+            assertFalse(isCached(c, responseFuture, "/b"));
+            assertTrue(isCached(c, responseFuture, "/b"));
+            assertFalse(isCached(c, responseFuture, "/a"));
+            assertTrue(isCached(c, responseFuture, "/a"));
+            assertTrue(isCached(c, responseFuture, "/a"));
+
+            // the cache is full, "/c" has to be requested more often than the coldest entry to get in
+            assertFalse(isCached(c, responseFuture, "/c"));
+            assertEquals(probe.toString(), 1, probe.getEntryRejectedCounter());
+            assertEquals(probe.toString(), 0, probe.getEntryEvictedCounter());
+            assertFalse(isCached(c, responseFuture, "/c"));
+            assertEquals(probe.toString(), 1, probe.getEntryEvictedCounter());
+            assertTrue(isCached(c, responseFuture, "/c"));
+
+            // "/b" has been evicted, "/a" has been kept
+            assertTrue(isCached(c, responseFuture, "/a"));
+            assertFalse(isCached(c, responseFuture, "/b"));
+            assertEquals(probe.toString(), 1, probe.getEntryEvictedCounter());
+
+            isOk = true;
+        } finally {
+            if (!isOk) {
+                System.err.println(probe);
+            }
+        }
+    }
+
+    private static boolean isCached(final Connection c, final ReusableFuture<HttpContent> responseFuture, final String uri) throws Exception {
+        responseFuture.reset();
+        c.write(HttpRequestPacket.builder().method("GET").uri(uri).protocol("HTTP/1.1").header("Host", "localhost").build());
+        final HttpContent response = responseFuture.get(10, TimeUnit.SECONDS);
+        return !"Hello not cached data".equals(response.getContent().toStringContent());
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @Test
     public void testIfModifiedSince() throws Exception {
@@ -1087,6 +1309,8 @@ public class FileCacheTest {
         final AtomicInteger entryHitCounter = new AtomicInteger();
         final AtomicInteger entryMissedCounter = new AtomicInteger();
         final AtomicInteger entryErrorCounter = new AtomicInteger();
+        final AtomicInteger entryEvictedCounter = new AtomicInteger();
+        final AtomicInteger entryRejectedCounter = new AtomicInteger();
 
         @Override
         public void onEntryAddedEvent(FileCache fileCache, FileCacheEntry entry) {
@@ -1098,6 +1322,16 @@ public class FileCacheTest {
             entryRemovedCounter.incrementAndGet();
         }
 
+        @Override
+        public void onEntryEvictedEvent(FileCache fileCache, FileCacheEntry entry) {
+            entryEvictedCounter.incrementAndGet();
+        }
+
+        @Override
+        public void onEntryRejectedEvent(FileCache fileCache, String host, String requestURI) {
+            entryRejectedCounter.incrementAndGet();
+        }
+
         @Override
         public void onEntryHitEvent(FileCache fileCache, FileCacheEntry entry) {
             entryHitCounter.incrementAndGet();
@@ -1133,11 +1367,20 @@ public class FileCacheTest {
             return entryErrorCounter.get();
         }
 
+        public int getEntryEvictedCounter() {
+            return entryEvictedCounter.get();
+        }
+
+        public int getEntryRejectedCounter() {
+            return entryRejectedCounter.get();
+        }
+
         @Override
         public String toString() {
             final StringBuilder sb = new StringBuilder("file-cache-stats[added=").append(getEntryAddedCounter()).append(", removed=")
                     .append(getEntryRemovedCounter()).append(", hit=").append(getEntryHitCounter()).append(", missed=").append(getEntryMissedCounter())
-                    .append(", error=").append(getEntryErrorCounter()).append("]");
+                    .append(", error=").append(getEntryErrorCounter()).append(", evicted=")
+                    .append(getEntryEvictedCounter()).append(", rejected=").append(getEntryRejectedCounter()).append("]");
 
             return sb.toString();
         }
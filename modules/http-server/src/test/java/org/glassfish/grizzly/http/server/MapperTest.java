@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,7 @@ package org.glassfish.grizzly.http.server;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.glassfish.grizzly.http.server.util.Mapper;
 import org.glassfish.grizzly.http.server.util.MappingData;
@@ -95,4 +97,90 @@ public class MapperTest {
         assertEquals(wrapper21, md.wrapper);
 
     }
+
+    @Test
+    public void testWrapperPrecedence() throws Exception {
+        final Mapper mapper = new Mapper();
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "", "root", new String[0], null);
+        mapper.addContext("default", "/app", "app", new String[0], null);
+        mapper.addContext("default", "/app/admin", "admin", new String[0], null);
+
+        mapper.addWrapper("default", "/app", "/", "default");
+        mapper.addWrapper("default", "/app", "/catalog", "exact");
+        mapper.addWrapper("default", "/app", "/catalog/*", "catalog");
+        mapper.addWrapper("default", "/app", "/catalog/items/*", "items");
+        mapper.addWrapper("default", "/app", "/catalog-old/*", "old");
+        mapper.addWrapper("default", "/app", "*.jsp", "jsp");
+
+        MappingData md = map(mapper, "/app/catalog");
+        assertEquals("app", md.context);
+        assertEquals("exact", md.wrapper);
+        assertEquals(MappingData.EXACT, md.mappingType);
+
+        md = map(mapper, "/app/catalog/items/42.jsp");
+        assertEquals("items", md.wrapper);
+        assertEquals("/catalog/items", md.wrapperPath.toString());
+        assertEquals("/42.jsp", md.pathInfo.toString());
+        assertEquals(MappingData.PATH, md.mappingType);
+
+        md = map(mapper, "/app/catalog/itemsx");
+        assertEquals("catalog", md.wrapper);
+        assertEquals("/itemsx", md.pathInfo.toString());
+
+        md = map(mapper, "/app/catalog-old");
+        assertEquals("old", md.wrapper);
+        assertTrue(md.pathInfo.isNull());
+
+        md = map(mapper, "/app/catalogue/index.jsp");
+        assertEquals("jsp", md.wrapper);
+        assertEquals(MappingData.EXTENSION, md.mappingType);
+
+        md = map(mapper, "/app/index.html");
+        assertEquals("default", md.wrapper);
+        assertEquals(MappingData.DEFAULT, md.mappingType);
+
+        md = map(mapper, "/app/admin/users");
+        assertEquals("admin", md.context);
+        assertNull(md.wrapper);
+
+        md = map(mapper, "/application");
+        assertEquals("root", md.context);
+        assertEquals("", md.contextPath.toString());
+    }
+
+    @Test
+    public void testWrapperChanges() throws Exception {
+        final Mapper mapper = new Mapper();
+        mapper.setDefaultHostName("default");
+        mapper.addHost("default", new String[0], "host");
+        mapper.addContext("default", "/app", "app", new String[0], null);
+        mapper.addWrapper("default", "/app", "/api/*", "api");
+
+        assertEquals("api", map(mapper, "/app/api/v1/orders").wrapper);
+
+        mapper.addWrapper("default", "/app", "/api/v1/*", "v1");
+        assertEquals("v1", map(mapper, "/app/api/v1/orders").wrapper);
+
+        mapper.removeWrapper("default", "/app", "/api/v1/*");
+        assertEquals("api", map(mapper, "/app/api/v1/orders").wrapper);
+
+        mapper.addContext("default", "/app/api", "nested", new String[0], null);
+        assertEquals("nested", map(mapper, "/app/api/v1/orders").context);
+
+        mapper.removeContext("default", "/app/api");
+        assertEquals("app", map(mapper, "/app/api/v1/orders").context);
+    }
+
+    private static MappingData map(Mapper mapper, String path) throws Exception {
+        final DataChunk host = DataChunk.newInstance();
+        host.setBytes("default".getBytes());
+        final DataChunk uri = DataChunk.newInstance();
+        uri.setBytes(path.getBytes());
+
+        final MappingData md = new MappingData();
+        mapper.map(host, uri, md);
+        return md;
+    }
 }
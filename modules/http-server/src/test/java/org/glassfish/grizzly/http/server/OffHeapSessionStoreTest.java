@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+/**
+ * Test {@link OffHeapSessionStore}.
+ */
+public class OffHeapSessionStoreTest {
+
+    @Test
+    public void testSpillAndLoad() {
+        final OffHeapSessionStore store = new OffHeapSessionStore(8, 1024, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+        final List<Session> sessions = addSessions(store, 200);
+
+        assertEquals(200, store.size());
+        assertTrue(store.getSpilledCount() > 0);
+        assertTrue(store.getColdSessionCount() > 0);
+        assertEquals(0, store.getEvictedCount());
+
+        // the ids are in use, whether their sessions are on or off heap
+        for (int i = 0; i < sessions.size(); i++) {
+            assertFalse(store.putIfAbsent("s" + i, new Session("s" + i)));
+        }
+
+        for (int i = 0; i < sessions.size(); i++) {
+            final Session session = store.get("s" + i);
+            assertNotNull(session);
+            assertEquals(i, session.getAttribute("index"));
+            assertEquals("value" + i, session.getAttribute("name"));
+            assertEquals(sessions.get(i).getCreationTime(), session.getCreationTime());
+            assertEquals(1000, session.getSessionTimeout());
+            // hot sessions are not copied
+            assertSame(session, store.get("s" + i));
+        }
+        assertEquals(200, store.size());
+        assertTrue(store.getLoadedCount() > 0);
+
+        for (int i = 0; i < sessions.size(); i++) {
+            assertTrue(store.remove("s" + i, store.get("s" + i)));
+        }
+        assertEquals(0, store.size());
+        assertNull(store.get("s1"));
+    }
+
+    @Test
+    public void testMaxCapacity() {
+        try {
+            new OffHeapSessionStore(8, OffHeapSessionStore.MAX_CAPACITY + 1, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testNotSerializable() {
+        final OffHeapSessionStore store = new OffHeapSessionStore(1, 64, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+        for (int i = 0; i < 100; i++) {
+            final Session session = new Session("s" + i);
+            session.setAttribute("lock", new Object());
+            store.putIfAbsent("s" + i, session);
+        }
+
+        assertEquals(0, store.getSpilledCount());
+        assertEquals(100 - store.getHotSessionCount(), store.getEvictedCount());
+    }
+
+    @Test
+    public void testColdExpiry() {
+        final OffHeapSessionStore store = new OffHeapSessionStore(1, 1024, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+        addSessions(store, 100);
+        final int cold = store.getColdSessionCount();
+        assertTrue(cold > 0);
+
+        store.expire(System.currentTimeMillis() + 120 * 1000);
+        assertEquals(0, store.getColdSessionCount());
+        assertEquals(100, store.getExpiredCount());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        final OffHeapSessionStore store = new OffHeapSessionStore(1, 1024, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+        for (int round = 0; round < 100; round++) {
+            addSessions(store, 20);
+            final String id = "s" + round % 19;
+            final Session[] found = new Session[4];
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < found.length; t++) {
+                final int idx = t;
+                threads.add(new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    found[idx] = store.get(id);
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // parallel requests of a cold session get the same session
+            for (Session session : found) {
+                assertNotNull(session);
+                assertSame(found[0], session);
+            }
+            for (int i = 0; i < 20; i++) {
+                store.remove("s" + i, store.get("s" + i));
+            }
+        }
+    }
+
+    @Test
+    public void testSerialFilter() {
+        final OffHeapSessionStore store = new OffHeapSessionStore(1, 1024, OffHeapSessionStore.DEFAULT_SLOT_SIZE);
+        store.setSerialFilter(info -> info.serialClass() == Integer.class ? ObjectInputFilter.Status.REJECTED : ObjectInputFilter.Status.UNDECIDED);
+        addSessions(store, 10);
+
+        // the cold sessions have an Integer attribute
+        assertTrue(store.getColdSessionCount() > 0);
+        int loaded = 0;
+        for (int i = 0; i < 10; i++) {
+            if (store.get("s" + i) != null) {
+                loaded++;
+            }
+        }
+        assertEquals(store.getHotSessionCount(), loaded);
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        final File file = File.createTempFile("sessions", ".bin");
+        file.deleteOnExit();
+        assertTrue(file.delete());
+
+        final OffHeapSessionStore store = new OffHeapSessionStore(file.toPath(), 4, 256, 512);
+        addSessions(store, 50);
+        store.close();
+
+        final OffHeapSessionStore reopened = new OffHeapSessionStore(file.toPath(), 4, 256, 512);
+        assertEquals(50, reopened.size());
+        for (int i = 0; i < 50; i++) {
+            final Session session = reopened.get("s" + i);
+            assertNotNull(session);
+            assertEquals(i, session.getAttribute("index"));
+            assertFalse(session.isNew());
+        }
+        reopened.close();
+
+        try {
+            new OffHeapSessionStore(file.toPath(), 4, 512, 512);
+            throw new AssertionError("The file has a different capacity");
+        } catch (IOException expected) {
+        }
+    }
+
+    private static List<Session> addSessions(final SessionStore store, final int count) {
+        final List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Session session = new Session("s" + i);
+            session.setSessionTimeout(1000);
+            session.setAttribute("index", i);
+            session.setAttribute("name", "value" + i);
+            assertTrue(store.putIfAbsent("s" + i, session));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
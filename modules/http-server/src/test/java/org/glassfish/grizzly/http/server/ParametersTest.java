@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -61,7 +62,17 @@ public class ParametersTest {
      */
     @Test
     public void testPostBodyChunked() throws Exception {
+        doTestPostBodyChunked(false);
+    }
+
+    @Test
+    public void testPostBodyChunkedLazyParameterParsing() throws Exception {
+        doTestPostBodyChunked(true);
+    }
+
+    private void doTestPostBodyChunked(final boolean lazyParameterParsing) throws Exception {
         final HttpServer server = createServer();
+        server.getServerConfiguration().setLazyParameterParsing(lazyParameterParsing);
         final String body = generatePostBody(1024 * 3);
         final String[][] paramParts = getParts(body);
         final FutureImpl<Boolean> resultFuture = Futures.createSafeFuture();
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test {@link ShardedSessionStore} and its use by {@link DefaultSessionManager}.
+ */
+public class ShardedSessionStoreTest {
+
+    @Test
+    public void testExpiry() {
+        final ShardedSessionStore store = new ShardedSessionStore(4, -1, 10, 8);
+        final long now = System.currentTimeMillis();
+
+        final Session shortLived = newSession("short", now, 50);
+        final Session longLived = newSession("long", now, 1000);
+        final Session accessed = newSession("accessed", now, 50);
+        final Session eternal = newSession("eternal", now, -1);
+        for (Session session : new Session[] { shortLived, longLived, accessed, eternal }) {
+            assertTrue(store.putIfAbsent(session.getIdInternal(), session));
+        }
+        assertFalse(store.putIfAbsent("short", new Session("short")));
+        assertEquals(4, store.size());
+
+        store.expire(now + 30);
+        accessed.setTimestamp(now + 40);
+        store.expire(now + 70);
+        assertNull(store.get("short"));
+        assertFalse(shortLived.isValid());
+        assertSame(accessed, store.get("accessed"));
+        assertEquals(1, store.getExpiredCount());
+
+        store.expire(now + 100);
+        assertNull(store.get("accessed"));
+
+        // beyond the wheel horizon
+        store.expire(now + 990);
+        assertSame(longLived, store.get("long"));
+        store.expire(now + 1020);
+        assertNull(store.get("long"));
+
+        eternal.setValid(false);
+        store.expire(now + 10000);
+        assertNull(store.get("eternal"));
+        assertEquals(3, store.getExpiredCount());
+        assertEquals(1, store.getInvalidatedCount());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testInvalidatedSessionIsRemoved() {
+        final ShardedSessionStore store = new ShardedSessionStore(4, -1);
+        final long now = System.currentTimeMillis();
+
+        final Session eternal = newSession("eternal", now, -1);
+        final Session longLived = newSession("long", now, 3600000);
+        assertTrue(store.putIfAbsent("eternal", eternal));
+        assertTrue(store.putIfAbsent("long", longLived));
+
+        // no need to wait for the timing wheel
+        eternal.setValid(false);
+        assertNull(store.get("eternal"));
+        assertEquals(1, store.size());
+        assertEquals(1, store.getInvalidatedCount());
+        assertEquals(0, store.getExpiredCount());
+
+        // the session is followed under its new id
+        assertTrue(store.remove("long", longLived));
+        longLived.setIdInternal("renamed");
+        assertTrue(store.putIfAbsent("renamed", longLived));
+        longLived.setValid(false);
+        assertNull(store.get("renamed"));
+        assertEquals(0, store.size());
+        assertEquals(2, store.getInvalidatedCount());
+
+        // a session, which has left the store, doesn't affect it anymore
+        final Session removed = newSession("removed", now, -1);
+        assertTrue(store.putIfAbsent("removed", removed));
+        assertTrue(store.remove("removed", removed));
+        final Session reused = newSession("removed", now, -1);
+        assertTrue(store.putIfAbsent("removed", reused));
+        removed.setValid(false);
+        assertSame(reused, store.get("removed"));
+        assertEquals(2, store.getInvalidatedCount());
+    }
+
+    @Test
+    public void testLruEviction() {
+        final ShardedSessionStore store = new ShardedSessionStore(1, 3);
+        final Session[] sessions = new Session[4];
+        for (int i = 0; i < 3; i++) {
+            sessions[i] = new Session("s" + i);
+            store.putIfAbsent("s" + i, sessions[i]);
+        }
+
+        // s1 becomes the least recently used
+        assertNotNull(store.get("s0"));
+
+        sessions[3] = new Session("s3");
+        store.putIfAbsent("s3", sessions[3]);
+        assertEquals(3, store.size());
+        assertNull(store.get("s1"));
+        assertFalse(sessions[1].isValid());
+        assertNotNull(store.get("s0"));
+        assertNotNull(store.get("s3"));
+        assertEquals(1, store.getEvictedCount());
+    }
+
+    @Test
+    public void testRemove() {
+        final ShardedSessionStore store = new ShardedSessionStore(2, -1);
+        final Session session = new Session("s");
+        store.putIfAbsent("s", session);
+
+        assertFalse(store.remove("s", new Session("s")));
+        assertTrue(store.remove("s", session));
+        assertNull(store.get("s"));
+        assertEquals(0, store.size());
+
+        // a removed session is no longer tracked for expiry
+        store.expire(System.currentTimeMillis() + 10000);
+        assertEquals(0, store.getExpiredCount());
+    }
+
+    @Test
+    public void testSessionManagerStatistics() {
+        final DefaultSessionManager manager = new DefaultSessionManager(new ShardedSessionStore(4, -1));
+        try {
+            final Session session = manager.createSession(null);
+            final Session other = manager.createSession(null);
+            assertSame(session, manager.getSession(null, session.getIdInternal()));
+
+            final String oldId = manager.changeSessionId(null, session);
+            assertNull(manager.getSession(null, oldId));
+            assertSame(session, manager.getSession(null, session.getIdInternal()));
+
+            other.setValid(false);
+            assertNull(manager.getSession(null, other.getIdInternal()));
+
+            assertEquals(1, manager.getActiveSessionCount());
+            assertEquals(2, manager.getCreatedSessionCount());
+            assertEquals(1, manager.getInvalidatedSessionCount());
+            assertEquals(0, manager.getExpiredSessionCount());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private static Session newSession(final String id, final long timestamp, final long timeout) {
+        final Session session = new Session(id);
+        session.setTimestamp(timestamp);
+        session.setSessionTimeout(timeout);
+        return session;
+    }
+}
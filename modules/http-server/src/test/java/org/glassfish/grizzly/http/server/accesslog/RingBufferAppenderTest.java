@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.accesslog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.http.server.accesslog.RingBufferAppender.OverflowPolicy;
+import org.junit.Test;
+
+/**
+ * Test for {@link RingBufferAppender}
+ */
+public class RingBufferAppenderTest {
+
+    @Test
+    public void testConcurrentAppend() throws Exception {
+        final File file = File.createTempFile("access", ".log");
+        file.deleteOnExit();
+
+        final int threadsCount = 4;
+        final int entriesCount = 5000;
+        final RingBufferAppender appender = new RingBufferAppender(file, 64, OverflowPolicy.BLOCK);
+
+        final Thread[] threads = new Thread[threadsCount];
+        for (int i = 0; i < threadsCount; i++) {
+            final int t = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    final StringBuilder builder = new StringBuilder();
+                    for (int j = 0; j < entriesCount; j++) {
+                        builder.setLength(0);
+                        builder.append("thread-").append(t).append(" entry-").append(j).append(" é€😀");
+                        try {
+                            appender.append(builder);
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.close();
+
+        assertEquals(0, appender.getDroppedCount());
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(threadsCount * entriesCount, lines.size());
+        final Set<String> unique = new HashSet<>(lines);
+        assertEquals(threadsCount * entriesCount, unique.size());
+        assertTrue(unique.contains("thread-3 entry-4999 é€😀"));
+    }
+
+    @Test
+    public void testDropOnOverflow() throws Exception {
+        final BlockingChannel channel = new BlockingChannel();
+        final RingBufferAppender appender = new RingBufferAppender(channel, 4, OverflowPolicy.DROP);
+
+        appender.append("first");
+        // the writer thread is stuck writing the first entry, which keeps its slot until written
+        assertTrue(channel.writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            appender.append("entry-" + i);
+        }
+        assertEquals(4, appender.getQueueSize());
+        assertEquals(7, appender.getDroppedCount());
+
+        channel.release.countDown();
+        appender.close();
+
+        final String[] lines = channel.output.toString("UTF-8").split(System.getProperty("line.separator"));
+        assertEquals(4, lines.length);
+        assertEquals("first", lines[0]);
+        assertEquals("entry-2", lines[3]);
+    }
+
+    @Test
+    public void testLongEntry() throws Exception {
+        final BlockingChannel channel = new BlockingChannel();
+        channel.release.countDown();
+        final RingBufferAppender appender = new RingBufferAppender(channel, 2, OverflowPolicy.BLOCK);
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        appender.append(builder);
+        appender.append("short");
+        appender.close();
+
+        assertEquals(builder + System.getProperty("line.separator") + "short" + System.getProperty("line.separator"), channel.output.toString("UTF-8"));
+    }
+
+    private static final class BlockingChannel implements GatheringByteChannel {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                while (srcs[i].hasRemaining()) {
+                    output.write(srcs[i].get());
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) throws IOException {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return (int) write(new ByteBuffer[] { src });
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
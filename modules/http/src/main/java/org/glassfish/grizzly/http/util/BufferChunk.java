@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -468,7 +469,7 @@ public class BufferChunk implements Chunk {
             return cachedString;
         }
 
-        cachedString = buffer.toStringContent(charset, start, end);
+        cachedString = StringCache.toString(buffer, start, end, charset);
 
         cachedStringCharset = charset;
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -20,7 +21,6 @@ package org.glassfish.grizzly.http.util;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
@@ -579,7 +579,6 @@ public final class ByteChunk implements Chunk, Cloneable, Serializable {
         } else if (cachedString != null) {
             return cachedString;
         }
-//        return StringCache.toString(this);
         cachedString = toStringInternal();
         return cachedString;
     }
@@ -614,7 +613,7 @@ public final class ByteChunk implements Chunk, Cloneable, Serializable {
             return cachedString;
         }
 
-        cachedString = charset.decode(ByteBuffer.wrap(buff, start, end - start)).toString();
+        cachedString = StringCache.toString(buff, start, end, charset);
         cachedStringCharset = charset;
 
         return cachedString;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -548,8 +549,7 @@ public final class CharChunk implements Chunk, Cloneable, Serializable {
         } else if (cachedString != null) {
             return cachedString;
         }
-//        return StringCache.toString(this);
-        cachedString = toStringInternal();
+        cachedString = StringCache.toString(this);
         return cachedString;
     }
 
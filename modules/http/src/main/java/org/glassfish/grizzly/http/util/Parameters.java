@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -21,6 +22,7 @@ import java.io.CharConversionException;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Set;
@@ -30,6 +32,7 @@ import java.util.logging.Logger;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.localization.LogMessages;
+import org.glassfish.grizzly.utils.Charsets;
 
 /**
  * @author Costin Manolache
@@ -65,6 +68,28 @@ public final class Parameters {
     private int limit = -1;
     private int parameterCount = 0;
 
+    // Lazy parsing: the raw bytes of the parsed parameter sets are copied into rawBytes, and every parameter is recorded
+    // in the index as INDEX_STRIDE ints (name start/end, value start/end, flags). Parameters are decoded when they are
+    // looked up; the map is only populated when the whole set is needed.
+    private static final int INDEX_STRIDE = 5;
+    private static final int DECODE_NAME = 1;
+    private static final int DECODE_VALUE = 2;
+    private static final int SEGMENT_SHIFT = 2;
+    private static final int MAX_RETAINED_RAW_BYTES = 64 * 1024;
+
+    private boolean lazy;
+    private byte[] rawBytes = new byte[0];
+    private int rawLength;
+    private int[] index = new int[INITIAL_SIZE * INDEX_STRIDE];
+    private int indexedCount;
+    private int materializedCount;
+    private Charset[] segmentCharsets = new Charset[INITIAL_SIZE];
+    private int segmentCount;
+    private int lazyDecodeFailCount;
+    private byte[] decodeBytes = new byte[0];
+    private final ByteChunk tmpRaw = new ByteChunk();
+    private final ByteChunk tmpDecoded = new ByteChunk();
+
     public void setQuery(final DataChunk queryBC) {
         this.queryDC = queryBC;
     }
@@ -77,6 +102,26 @@ public final class Parameters {
         this.limit = limit;
     }
 
+    /**
+     * Enables or disables lazy parameter parsing. When enabled, byte content passed to
+     * {@link #processParameters(Buffer, int, int, Charset)} is only scanned into an index of parameter boundaries;
+     * a parameter's name and value are decoded when it is looked up, and the full parameter map is built the first
+     * time it is needed, e.g. by {@link #getParameterNames()}.
+     *
+     * @param lazy <tt>true</tt> to parse parameters lazily
+     */
+    public void setLazy(final boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * @return <tt>true</tt> if parameters are parsed lazily
+     * @see #setLazy(boolean)
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
     public void setEncoding(final Charset encoding) {
         this.encoding = encoding;
         if (LOGGER.isLoggable(Level.FINEST)) {
@@ -110,6 +155,17 @@ public final class Parameters {
         parameterCount = 0;
         decodedQuery.recycle();
 
+        rawLength = 0;
+        if (rawBytes.length > MAX_RETAINED_RAW_BYTES) {
+            rawBytes = new byte[0];
+            decodeBytes = new byte[0];
+        }
+        indexedCount = 0;
+        materializedCount = 0;
+        Arrays.fill(segmentCharsets, 0, segmentCount, null);
+        segmentCount = 0;
+        lazyDecodeFailCount = 0;
+
     }
     // -------------------- Sub-request support --------------------
 
@@ -173,6 +229,7 @@ public final class Parameters {
         if (key == null) {
             return;
         }
+        materialize();
         ArrayList<String> values;
         if (paramHashValues.containsKey(key)) {
             values = paramHashValues.get(key);
@@ -191,6 +248,8 @@ public final class Parameters {
         if (currentChild != null) {
             currentChild.merge();
             values = currentChild.paramHashValues.get(name);
+        } else if (materializedCount < indexedCount) {
+            return findIndexedValues(name, paramHashValues.get(name));
         } else {
             // no "facade"
             values = paramHashValues.get(name);
@@ -200,6 +259,7 @@ public final class Parameters {
 
     public Set<String> getParameterNames() {
         handleQueryParameters();
+        materialize();
         // Slow - the original code
         if (currentChild != null) {
             currentChild.merge();
@@ -231,6 +291,7 @@ public final class Parameters {
 
         // Local parameters first - they take precedence as in spec.
         handleQueryParameters();
+        materialize();
         // we already merged with the parent
         if (didMerge) {
             return;
@@ -262,6 +323,8 @@ public final class Parameters {
                 return "";
             }
             return values.get(0);
+        } else if (materializedCount < indexedCount) {
+            return findIndexedValue(name);
         } else {
             return null;
         }
@@ -327,6 +390,7 @@ public final class Parameters {
             return;
         }
 
+        materialize();
         parameterCount++;
         if (limit > -1 && parameterCount > limit) {
             // Processing this parameter will push us over the limit. ISE is
@@ -375,6 +439,9 @@ public final class Parameters {
 
         int decodeFailCount = 0;
 
+        // in lazy mode parameters are indexed relative to a copy of the content
+        final int rawOffset = lazy ? copyRawBytes(buffer, start, len, enc) : 0;
+
         int end = start + len;
         int pos = start;
         while (pos < end) {
@@ -454,6 +521,13 @@ public final class Parameters {
                 continue;
                 // invalid chunk - it's better to ignore
             }
+
+            if (lazy) {
+                addIndex(nameStart + rawOffset, nameEnd + rawOffset, valueStart == -1 ? -1 : valueStart + rawOffset, valueEnd + rawOffset,
+                        (decodeName ? DECODE_NAME : 0) | (decodeValue ? DECODE_VALUE : 0) | (segmentCount - 1) << SEGMENT_SHIFT);
+                continue;
+            }
+
             tmpName.setBufferChunk(buffer, nameStart, nameEnd);
             tmpValue.setBufferChunk(buffer, valueStart, valueEnd);
 
@@ -508,6 +582,189 @@ public final class Parameters {
         }
     }
 
+    // -------------------- Lazy parsing --------------------
+
+    /**
+     * Copies the content to be indexed after the raw bytes of the previous sets and starts a new segment for its
+     * {@link Charset}.
+     *
+     * @return the offset to add to a position in the buffer to get the position in the raw bytes
+     */
+    private int copyRawBytes(final Buffer buffer, final int start, final int len, final Charset enc) {
+        if (rawLength + len > rawBytes.length) {
+            rawBytes = Arrays.copyOf(rawBytes, Math.max(rawLength + len, rawBytes.length * 2));
+        }
+        final int oldPosition = buffer.position();
+        buffer.position(start);
+        buffer.get(rawBytes, rawLength, len);
+        buffer.position(oldPosition);
+
+        if (segmentCount == segmentCharsets.length) {
+            segmentCharsets = Arrays.copyOf(segmentCharsets, segmentCount * 2);
+        }
+        segmentCharsets[segmentCount++] = enc != null ? enc : DEFAULT_CHARSET;
+
+        final int offset = rawLength - start;
+        rawLength += len;
+        return offset;
+    }
+
+    private void addIndex(final int nameStart, final int nameEnd, final int valueStart, final int valueEnd, final int flags) {
+        parameterCount++;
+        final int idx = indexedCount * INDEX_STRIDE;
+        if (idx + INDEX_STRIDE > index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[idx] = nameStart;
+        index[idx + 1] = nameEnd;
+        index[idx + 2] = valueStart;
+        index[idx + 3] = valueEnd;
+        index[idx + 4] = flags;
+        indexedCount++;
+    }
+
+    /**
+     * Decodes the indexed parameters, which were not looked at as a set yet, into the parameter map.
+     */
+    private void materialize() {
+        for (int i = materializedCount; i < indexedCount; i++) {
+            final String name = decodeIndexedName(i);
+            final String value = name != null ? decodeIndexedValue(i) : null;
+            if (value != null) {
+                ArrayList<String> values = paramHashValues.get(name);
+                if (values == null) {
+                    values = new ArrayList<>(1);
+                    paramHashValues.put(name, values);
+                }
+                values.add(value);
+            }
+        }
+        materializedCount = indexedCount;
+    }
+
+    private String findIndexedValue(final String name) {
+        for (int i = materializedCount; i < indexedCount; i++) {
+            if (indexedNameEquals(i, name)) {
+                final String value = decodeIndexedValue(i);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String[] findIndexedValues(final String name, final ArrayList<String> materializedValues) {
+        ArrayList<String> values = materializedValues;
+        for (int i = materializedCount; i < indexedCount; i++) {
+            if (indexedNameEquals(i, name)) {
+                final String value = decodeIndexedValue(i);
+                if (value != null) {
+                    if (values == materializedValues) {
+                        values = materializedValues != null ? new ArrayList<>(materializedValues) : new ArrayList<>(1);
+                    }
+                    values.add(value);
+                }
+            }
+        }
+        return values != null ? values.toArray(new String[values.size()]) : null;
+    }
+
+    /**
+     * Compares the name of an indexed parameter with the given one, without decoding it if the name is plain ASCII.
+     */
+    private boolean indexedNameEquals(final int i, final String name) {
+        final int idx = i * INDEX_STRIDE;
+        final int start = index[idx];
+        final int end = index[idx + 1];
+        final int flags = index[idx + 4];
+        if ((flags & DECODE_NAME) == 0 && isAsciiCompatible(segmentCharsets[flags >>> SEGMENT_SHIFT])) {
+            if (end - start != name.length()) {
+                // a non-ASCII name may still match a name of a different length
+                return hasNonAscii(start, end) && name.equals(decodeIndexedName(i));
+            }
+            for (int j = start; j < end; j++) {
+                final byte b = rawBytes[j];
+                if (b < 0) {
+                    return name.equals(decodeIndexedName(i));
+                }
+                if (b != name.charAt(j - start)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return name.equals(decodeIndexedName(i));
+    }
+
+    private boolean hasNonAscii(final int start, final int end) {
+        for (int j = start; j < end; j++) {
+            if (rawBytes[j] < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiCompatible(final Charset charset) {
+        return charset == Charsets.ASCII_CHARSET || charset == Charsets.UTF8_CHARSET || charset == DEFAULT_CHARSET;
+    }
+
+    private String decodeIndexedName(final int i) {
+        final int idx = i * INDEX_STRIDE;
+        return decodeIndexed(i, index[idx], index[idx + 1], (index[idx + 4] & DECODE_NAME) != 0);
+    }
+
+    private String decodeIndexedValue(final int i) {
+        final int idx = i * INDEX_STRIDE;
+        if (index[idx + 2] == -1) {
+            return "";
+        }
+        return decodeIndexed(i, index[idx + 2], index[idx + 3], (index[idx + 4] & DECODE_VALUE) != 0);
+    }
+
+    /**
+     * @return the decoded String, or <tt>null</tt> if the parameter could not be decoded, in which case it is ignored as
+     * in eager mode.
+     */
+    private String decodeIndexed(final int i, final int start, final int end, final boolean urlEncoded) {
+        final Charset charset = segmentCharsets[index[i * INDEX_STRIDE + 4] >>> SEGMENT_SHIFT];
+        if (start >= end) {
+            return "";
+        }
+        if (!urlEncoded) {
+            return StringCache.toString(rawBytes, start, end, charset);
+        }
+
+        try {
+            if (decodeBytes.length < end - start) {
+                decodeBytes = new byte[Math.max(end - start, decodeBytes.length * 2)];
+            }
+            tmpRaw.setBytes(rawBytes, start, end - start);
+            tmpDecoded.setBytes(decodeBytes, 0, decodeBytes.length);
+            URLDecoder.decode(tmpRaw, tmpDecoded, true);
+            return StringCache.toString(decodeBytes, 0, tmpDecoded.getEnd(), charset);
+        } catch (Exception e) {
+            lazyDecodeFailCount++;
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, LogMessages.FINE_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_DEBUG(rawString(i, 0), rawString(i, 2)));
+            } else if (LOGGER.isLoggable(Level.INFO) && lazyDecodeFailCount == 1) {
+                LOGGER.log(Level.INFO, LogMessages.INFO_GRIZZLY_HTTP_PARAMETERS_DECODE_FAIL_INFO(e.getMessage(), rawString(i, 0), rawString(i, 2)));
+                LOGGER.log(Level.FINE, "Decoding stacktrace.", e);
+            }
+            return null;
+        } finally {
+            tmpRaw.recycle();
+            tmpDecoded.recycle();
+        }
+    }
+
+    private String rawString(final int i, final int field) {
+        final int start = index[i * INDEX_STRIDE + field];
+        final int end = index[i * INDEX_STRIDE + field + 1];
+        return start >= 0 && end > start ? new String(rawBytes, start, end - start, DEFAULT_CHARSET) : "unavailable";
+    }
+
     private String urlDecode(final BufferChunk bc, final Charset enc) throws IOException {
 //        if (urlDec == null) {
 //            urlDec = new UDecoder();
@@ -648,6 +905,7 @@ public final class Parameters {
      * Debug purpose
      */
     public String paramsAsString() {
+        materialize();
         StringBuilder sb = new StringBuilder();
         for (final String s : paramHashValues.keySet()) {
             // END PWC 6057385
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -17,28 +18,32 @@
 
 package org.glassfish.grizzly.http.util;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.TreeMap;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
-import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.Buffer;
 
 /**
- * This class implements a String cache for ByteChunk and CharChunk.
+ * This class implements a String cache for ByteChunk, BufferChunk and CharChunk.
+ * <p>
+ * The cache is a two-way set associative table of the decoded Strings keyed by the hash of their bytes (or chars).
+ * Lookups and updates are lock-free: entries are immutable and replaced as a whole, so a racing reader either sees an
+ * entry or misses it. The cache adapts continuously: every access is recorded in a count-min sketch of the recent
+ * access frequencies, which is halved periodically, and a missed String is admitted only if it has been accessed more
+ * often than the entry it would evict. So one-off values, like session ids, do not push out common header names and
+ * values or request paths.
+ * <p>
+ * The cache is disabled by default: the sketch and the statistics are shared by all the threads, so the cache pays off
+ * only where the saved allocations matter more than that contention. It is enabled with the
+ * <tt>tomcat.util.buf.StringCache.byte.enabled</tt> and <tt>tomcat.util.buf.StringCache.char.enabled</tt> system
+ * properties or {@link #setByteEnabled(boolean)} and {@link #setCharEnabled(boolean)}.
  *
  * @author Remy Maucherat
  */
 public final class StringCache {
 
-    /**
-     * Default Logger.
-     */
-    private final static Logger logger = Grizzly.logger(StringCache.class);
-
     // ------------------------------------------------------- Static Variables
 
     /**
@@ -50,47 +55,29 @@ public final class StringCache {
 
     static int trainThreshold = Integer.parseInt(System.getProperty("tomcat.util.buf.StringCache.trainThreshold", "20000"));
 
-    static int cacheSize = Integer.parseInt(System.getProperty("tomcat.util.buf.StringCache.cacheSize", "200"));
+    static int cacheSize = Integer.parseInt(System.getProperty("tomcat.util.buf.StringCache.cacheSize", "1024"));
 
-    /**
-     * Statistics hash map for byte chunk.
-     */
-    static final HashMap<ByteEntry, int[]> bcStats = new HashMap<>(cacheSize);
-
-    /**
-     * toString count for byte chunk.
-     */
-    static int bcCount = 0;
-
-    /**
-     * Cache for byte chunk.
-     */
-    static ByteEntry[] bcCache = null;
-
-    /**
-     * Statistics hash map for char chunk.
-     */
-    static final HashMap<CharEntry, int[]> ccStats = new HashMap<>(cacheSize);
+    static int maxStringSize = Integer.parseInt(System.getProperty("tomcat.util.buf.StringCache.maxStringSize", "128"));
 
     /**
-     * toString count for char chunk.
+     * Cache for byte and buffer chunks.
      */
-    static int ccCount = 0;
+    static volatile Table byteCache = new Table(cacheSize);
 
     /**
-     * Cache for char chunk.
+     * Cache for char chunks.
      */
-    static CharEntry[] ccCache = null;
+    static volatile Table charCache = new Table(cacheSize);
 
     /**
      * Access count.
      */
-    static int accessCount = 0;
+    static final LongAdder accessCount = new LongAdder();
 
     /**
      * Hit count.
      */
-    static int hitCount = 0;
+    static final LongAdder hitCount = new LongAdder();
 
     // ------------------------------------------------------------ Properties
 
@@ -102,12 +89,26 @@ public final class StringCache {
     }
 
     /**
-     * @param cacheSize The cacheSize to set.
+     * @param cacheSize The cacheSize to set. Takes effect on the next {@link #reset()}.
      */
     public static void setCacheSize(int cacheSize) {
         StringCache.cacheSize = cacheSize;
     }
 
+    /**
+     * @return Returns the maximum length of the cached Strings.
+     */
+    public static int getMaxStringSize() {
+        return maxStringSize;
+    }
+
+    /**
+     * @param maxStringSize The maximum length of the cached Strings to set.
+     */
+    public static void setMaxStringSize(int maxStringSize) {
+        StringCache.maxStringSize = maxStringSize;
+    }
+
     /**
      * @return Returns the enabled.
      */
@@ -138,14 +139,18 @@ public final class StringCache {
 
     /**
      * @return Returns the trainThreshold.
+     * @deprecated the cache adapts continuously, there is no training phase anymore.
      */
+    @Deprecated
     public static int getTrainThreshold() {
         return trainThreshold;
     }
 
     /**
      * @param trainThreshold The trainThreshold to set.
+     * @deprecated the cache adapts continuously, there is no training phase anymore.
      */
+    @Deprecated
     public static void setTrainThreshold(int trainThreshold) {
         StringCache.trainThreshold = trainThreshold;
     }
@@ -154,472 +159,279 @@ public final class StringCache {
      * @return Returns the accessCount.
      */
     public static int getAccessCount() {
-        return accessCount;
+        return accessCount.intValue();
     }
 
     /**
      * @return Returns the hitCount.
      */
     public static int getHitCount() {
-        return hitCount;
+        return hitCount.intValue();
+    }
+
+    /**
+     * @return Returns the ratio of the hits to the accesses, or zero if there were no accesses.
+     */
+    public static double getHitRatio() {
+        final long accesses = accessCount.sum();
+        return accesses == 0 ? 0 : (double) hitCount.sum() / accesses;
     }
 
     // -------------------------------------------------- Public Static Methods
 
+    /**
+     * Clears the statistics and the cached Strings.
+     */
     public static void reset() {
-        hitCount = 0;
-        accessCount = 0;
-        synchronized (bcStats) {
-            bcCache = null;
-            bcCount = 0;
-        }
-        synchronized (ccStats) {
-            ccCache = null;
-            ccCount = 0;
-        }
+        hitCount.reset();
+        accessCount.reset();
+        byteCache = new Table(cacheSize);
+        charCache = new Table(cacheSize);
     }
 
     public static String toString(ByteChunk bc) {
-
-        // If the cache is null, then either caching is disabled, or we're
-        // still training
-        if (bcCache == null) {
-            String value = bc.toStringInternal();
-            if (byteEnabled) {
-                // If training, everything is synced
-                synchronized (bcStats) {
-                    // If the cache has been generated on a previous invocation
-                    // while waiting fot the lock, just return the toString value
-                    // we just calculated
-                    if (bcCache != null) {
-                        return value;
-                    }
-                    // Two cases: either we just exceeded the train count, in which
-                    // case the cache must be created, or we just update the count for
-                    // the string
-                    if (bcCount > trainThreshold) {
-                        long t1 = System.currentTimeMillis();
-                        // Sort the entries according to occurrence
-                        TreeMap<Integer, ArrayList<ByteEntry>> tempMap = new TreeMap<>();
-                        Iterator<ByteEntry> entries = bcStats.keySet().iterator();
-                        while (entries.hasNext()) {
-                            ByteEntry entry = entries.next();
-                            int[] countA = bcStats.get(entry);
-                            Integer count = countA[0];
-                            // Add to the list for that count
-                            ArrayList<ByteEntry> list = tempMap.get(count);
-                            if (list == null) {
-                                // Create list
-                                list = new ArrayList<>();
-                                tempMap.put(count, list);
-                            }
-                            list.add(entry);
-                        }
-                        // Allocate array of the right size
-                        int size = bcStats.size();
-                        if (size > cacheSize) {
-                            size = cacheSize;
-                        }
-                        ByteEntry[] tempbcCache = new ByteEntry[size];
-                        // Fill it up using an alphabetical order
-                        // and a dumb insert sort
-                        ByteChunk tempChunk = new ByteChunk();
-                        int n = 0;
-                        while (n < size) {
-                            Object key = tempMap.lastKey();
-                            ArrayList<ByteEntry> list = tempMap.get(key);
-                            for (int i = 0; i < list.size() && n < size; i++) {
-                                ByteEntry entry = list.get(i);
-                                tempChunk.setBytes(entry.name, 0, entry.name.length);
-                                int insertPos = findClosest(tempChunk, tempbcCache, n);
-                                if (insertPos == n) {
-                                    tempbcCache[n + 1] = entry;
-                                } else {
-                                    System.arraycopy(tempbcCache, insertPos + 1, tempbcCache, insertPos + 2, n - insertPos - 1);
-                                    tempbcCache[insertPos + 1] = entry;
-                                }
-                                n++;
-                            }
-                            tempMap.remove(key);
-                        }
-                        bcCount = 0;
-                        bcStats.clear();
-                        bcCache = tempbcCache;
-                        if (logger.isLoggable(Level.FINEST)) {
-                            long t2 = System.currentTimeMillis();
-                            logger.log(Level.FINEST, "ByteCache generation time: " + (t2 - t1) + "ms");
-                        }
-                    } else {
-                        bcCount++;
-                        // Allocate new ByteEntry for the lookup
-                        ByteEntry entry = new ByteEntry();
-                        entry.value = value;
-                        int[] count = bcStats.get(entry);
-                        if (count == null) {
-                            int end = bc.getEnd();
-                            int start = bc.getStart();
-                            // Create byte array and copy bytes
-                            entry.name = new byte[bc.getLength()];
-                            System.arraycopy(bc.getBuffer(), start, entry.name, 0, end - start);
-                            // Set encoding
-                            entry.charset = bc.getCharset();
-                            // Initialize occurrence count to one
-                            count = new int[1];
-                            count[0] = 1;
-                            // Set in the stats hash map
-                            bcStats.put(entry, count);
-                        } else {
-                            count[0] = count[0] + 1;
-                        }
-                    }
-                }
-            }
-            return value;
-        } else {
-            accessCount++;
-            // Find the corresponding String
-            String result = find(bc);
-            if (result == null) {
-                return bc.toStringInternal();
-            }
-            // Note: We don't care about safety for the stats
-            hitCount++;
-            return result;
-        }
-
-    }
-
-    public static String toString(CharChunk cc) {
-
-        // If the cache is null, then either caching is disabled, or we're
-        // still training
-        if (ccCache == null) {
-            String value = cc.toStringInternal();
-            if (charEnabled) {
-                // If training, everything is synced
-                synchronized (ccStats) {
-                    // If the cache has been generated on a previous invocation
-                    // while waiting fot the lock, just return the toString value
-                    // we just calculated
-                    if (ccCache != null) {
-                        return value;
-                    }
-                    // Two cases: either we just exceeded the train count, in which
-                    // case the cache must be created, or we just update the count for
-                    // the string
-                    if (ccCount > trainThreshold) {
-                        long t1 = System.currentTimeMillis();
-                        // Sort the entries according to occurrence
-                        TreeMap<Integer, ArrayList<CharEntry>> tempMap = new TreeMap<>();
-                        Iterator<CharEntry> entries = ccStats.keySet().iterator();
-                        while (entries.hasNext()) {
-                            CharEntry entry = entries.next();
-                            int[] countA = ccStats.get(entry);
-                            Integer count = countA[0];
-                            // Add to the list for that count
-                            ArrayList<CharEntry> list = tempMap.get(count);
-                            if (list == null) {
-                                // Create list
-                                list = new ArrayList<>();
-                                tempMap.put(count, list);
-                            }
-                            list.add(entry);
-                        }
-                        // Allocate array of the right size
-                        int size = ccStats.size();
-                        if (size > cacheSize) {
-                            size = cacheSize;
-                        }
-                        CharEntry[] tempccCache = new CharEntry[size];
-                        // Fill it up using an alphabetical order
-                        // and a dumb insert sort
-                        CharChunk tempChunk = new CharChunk();
-                        int n = 0;
-                        while (n < size) {
-                            Object key = tempMap.lastKey();
-                            ArrayList<CharEntry> list = tempMap.get(key);
-                            for (int i = 0; i < list.size() && n < size; i++) {
-                                CharEntry entry = list.get(i);
-                                tempChunk.setChars(entry.name, 0, entry.name.length);
-                                int insertPos = findClosest(tempChunk, tempccCache, n);
-                                if (insertPos == n) {
-                                    tempccCache[n + 1] = entry;
-                                } else {
-                                    System.arraycopy(tempccCache, insertPos + 1, tempccCache, insertPos + 2, n - insertPos - 1);
-                                    tempccCache[insertPos + 1] = entry;
-                                }
-                                n++;
-                            }
-                            tempMap.remove(key);
-                        }
-                        ccCount = 0;
-                        ccStats.clear();
-                        ccCache = tempccCache;
-                        if (logger.isLoggable(Level.FINEST)) {
-                            long t2 = System.currentTimeMillis();
-                            logger.log(Level.FINEST, "CharCache generation time: " + (t2 - t1) + "ms");
-                        }
-                    } else {
-                        ccCount++;
-                        // Allocate new CharEntry for the lookup
-                        CharEntry entry = new CharEntry();
-                        entry.value = value;
-                        int[] count = ccStats.get(entry);
-                        if (count == null) {
-                            int end = cc.getEnd();
-                            int start = cc.getStart();
-                            // Create char array and copy chars
-                            entry.name = new char[cc.getLength()];
-                            System.arraycopy(cc.getBuffer(), start, entry.name, 0, end - start);
-                            // Initialize occurrence count to one
-                            count = new int[1];
-                            count[0] = 1;
-                            // Set in the stats hash map
-                            ccStats.put(entry, count);
-                        } else {
-                            count[0] = count[0] + 1;
-                        }
-                    }
-                }
-            }
-            return value;
-        } else {
-            accessCount++;
-            // Find the corresponding String
-            String result = find(cc);
-            if (result == null) {
-                return cc.toStringInternal();
-            }
-            // Note: We don't care about safety for the stats
-            hitCount++;
-            return result;
-        }
-
+        return toString(bc.getBuffer(), bc.getStart(), bc.getEnd(), bc.getCharset());
     }
 
-    // ----------------------------------------------------- Protected Methods
-
     /**
-     * Compare given byte chunk with byte array. Return -1, 0 or +1 if inferior, equal, or superior to the String.
+     * @return the String representation of the given bytes, decoded with the given {@link Charset}.
      */
-    protected static int compare(ByteChunk name, byte[] compareTo) {
-        int result = 0;
-
-        byte[] b = name.getBuffer();
-        int start = name.getStart();
-        int end = name.getEnd();
-        int len = compareTo.length;
-
-        if (end - start < len) {
-            len = end - start;
-        }
-        for (int i = 0; i < len && result == 0; i++) {
-            if (b[i + start] > compareTo[i]) {
-                result = 1;
-            } else if (b[i + start] < compareTo[i]) {
-                result = -1;
-            }
-        }
-        if (result == 0) {
-            if (compareTo.length > end - start) {
-                result = -1;
-            } else if (compareTo.length < end - start) {
-                result = 1;
-            }
+    public static String toString(final byte[] bytes, final int start, final int end, final Charset charset) {
+        final int length = end - start;
+        if (!byteEnabled || length > maxStringSize) {
+            return decode(bytes, start, end, charset);
         }
-        return result;
-    }
 
-    /**
-     * Find an entry given its name in the cache and return the associated String.
-     */
-    protected static String find(ByteChunk name) {
-        int pos = findClosest(name, bcCache, bcCache.length);
-        if (pos < 0 || compare(name, bcCache[pos].name) != 0 || !name.getCharset().equals(bcCache[pos].charset)) {
-            return null;
-        } else {
-            return bcCache[pos].value;
+        final Table table = byteCache;
+        final int hash = hash(bytes, start, end);
+        String value = table.find(bytes, start, end, charset, hash);
+        if (value == null) {
+            value = decode(bytes, start, end, charset);
+            table.admit(bytes, start, end, charset, hash, value);
         }
+
+        return value;
     }
 
     /**
-     * Find an entry given its name in a sorted array of map elements. This will return the index for the closest inferior
-     * or equal item in the given array.
+     * @return the String representation of the {@link Buffer} content between the given absolute positions, decoded with
+     * the given {@link Charset}.
      */
-    protected static int findClosest(ByteChunk name, ByteEntry[] array, int len) {
-
-        int a = 0;
-        int b = len - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
+    public static String toString(final Buffer buffer, final int start, final int end, final Charset charset) {
+        if (!byteEnabled || end - start > maxStringSize || !buffer.hasArray()) {
+            return buffer.toStringContent(charset, start, end);
         }
 
-        if (compare(name, array[0].name) < 0) {
-            return -1;
+        final Table table = byteCache;
+        final byte[] bytes = buffer.array();
+        final int offset = buffer.arrayOffset();
+        final int hash = hash(bytes, offset + start, offset + end);
+        String value = table.find(bytes, offset + start, offset + end, charset, hash);
+        if (value == null) {
+            value = buffer.toStringContent(charset, start, end);
+            table.admit(bytes, offset + start, offset + end, charset, hash, value);
         }
-        if (b == 0) {
-            return 0;
+
+        return value;
+    }
+
+    public static String toString(CharChunk cc) {
+        final int start = cc.getStart();
+        final int end = cc.getEnd();
+        if (!charEnabled || end - start > maxStringSize) {
+            return cc.toStringInternal();
         }
 
-        int i;
-        while (true) {
-            i = b + a >>> 1;
-            int result = compare(name, array[i].name);
-            if (result == 1) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if (b - a == 1) {
-                int result2 = compare(name, array[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
-            }
+        final Table table = charCache;
+        final char[] chars = cc.getBuffer();
+        final int hash = hash(chars, start, end);
+        String value = table.find(chars, start, end, hash);
+        if (value == null) {
+            value = cc.toStringInternal();
+            table.admit(chars, start, end, hash, value);
         }
 
+        return value;
     }
 
-    /**
-     * Compare given char chunk with char array. Return -1, 0 or +1 if inferior, equal, or superior to the String.
-     */
-    protected static int compare(CharChunk name, char[] compareTo) {
-        int result = 0;
+    // ----------------------------------------------------- Private Methods
 
-        char[] c = name.getBuffer();
-        int start = name.getStart();
-        int end = name.getEnd();
-        int len = compareTo.length;
+    private static String decode(final byte[] bytes, final int start, final int end, final Charset charset) {
+        return charset.decode(ByteBuffer.wrap(bytes, start, end - start)).toString();
+    }
 
-        if (end - start < len) {
-            len = end - start;
-        }
-        for (int i = 0; i < len && result == 0; i++) {
-            if (c[i + start] > compareTo[i]) {
-                result = 1;
-            } else if (c[i + start] < compareTo[i]) {
-                result = -1;
-            }
-        }
-        if (result == 0) {
-            if (compareTo.length > end - start) {
-                result = -1;
-            } else if (compareTo.length < end - start) {
-                result = 1;
-            }
+    private static int hash(final byte[] bytes, final int start, final int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + bytes[i];
         }
-        return result;
+        return h ^ h >>> 16;
     }
 
-    /**
-     * Find an entry given its name in the cache and return the associated String.
-     */
-    protected static String find(CharChunk name) {
-        int pos = findClosest(name, ccCache, ccCache.length);
-        if (pos < 0 || compare(name, ccCache[pos].name) != 0) {
-            return null;
-        } else {
-            return ccCache[pos].value;
+    private static int hash(final char[] chars, final int start, final int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + chars[i];
         }
+        return h ^ h >>> 16;
     }
 
-    /**
-     * Find an entry given its name in a sorted array of map elements. This will return the index for the closest inferior
-     * or equal item in the given array.
-     */
-    protected static int findClosest(CharChunk name, CharEntry[] array, int len) {
-
-        int a = 0;
-        int b = len - 1;
+    // ----------------------------------------------------- Nested Classes
 
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
+    /*
+     * Immutable, so it can be published by a plain array store.
+     */
+    static final class Entry {
+        final byte[] bytes;
+        final char[] chars;
+        final Charset charset;
+        final int hash;
+        final String value;
+
+        Entry(final byte[] bytes, final char[] chars, final Charset charset, final int hash, final String value) {
+            this.bytes = bytes;
+            this.chars = chars;
+            this.charset = charset;
+            this.hash = hash;
+            this.value = value;
         }
+    }
 
-        if (compare(name, array[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
-            return 0;
+    static final class Table {
+        // maximum value of a sketch counter
+        private static final int MAX_FREQUENCY = 15;
+
+        // pairs of slots, the hash selects the pair
+        private final Entry[] entries;
+        private final int mask;
+
+        // count-min sketch: four rows of saturating counters
+        private final byte[] sketch;
+        private final int sketchMask;
+        // accesses until the counters are halved
+        private final int sampleSize;
+        private int samples;
+
+        Table(final int size) {
+            final int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+            entries = new Entry[capacity];
+            mask = capacity - 2;
+            sketch = new byte[capacity * 4 * 2];
+            sketchMask = capacity * 2 - 1;
+            sampleSize = capacity * 10;
         }
 
-        int i;
-        while (true) {
-            i = b + a >>> 1;
-            int result = compare(name, array[i].name);
-            if (result == 1) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if (b - a == 1) {
-                int result2 = compare(name, array[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
+        String find(final byte[] bytes, final int start, final int end, final Charset charset, final int hash) {
+            accessCount.increment();
+            record(hash);
+            final int index = hash & mask;
+            Entry entry = entries[index];
+            if (entry == null || !matches(entry, bytes, start, end, charset, hash)) {
+                entry = entries[index + 1];
+                if (entry == null || !matches(entry, bytes, start, end, charset, hash)) {
+                    return null;
                 }
             }
+            hitCount.increment();
+            return entry.value;
         }
 
-    }
-
-    // -------------------------------------------------- ByteEntry Inner Class
-
-    protected static class ByteEntry {
-
-        public byte[] name = null;
-        public Charset charset = null;
-        public String value = null;
-
-        @Override
-        public String toString() {
-            return value;
+        String find(final char[] chars, final int start, final int end, final int hash) {
+            accessCount.increment();
+            record(hash);
+            final int index = hash & mask;
+            Entry entry = entries[index];
+            if (entry == null || !matches(entry, chars, start, end, hash)) {
+                entry = entries[index + 1];
+                if (entry == null || !matches(entry, chars, start, end, hash)) {
+                    return null;
+                }
+            }
+            hitCount.increment();
+            return entry.value;
         }
 
-        @Override
-        public int hashCode() {
-            return value.hashCode();
+        /*
+         * The bytes are copied only once the entry is admitted, most of the
+         * missed Strings are not.
+         */
+        void admit(final byte[] bytes, final int start, final int end, final Charset charset, final int hash, final String value) {
+            final int slot = slot(hash);
+            if (slot != -1) {
+                entries[slot] = new Entry(Arrays.copyOfRange(bytes, start, end), null, charset, hash, value);
+            }
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            return obj instanceof ByteEntry && value.equals(((ByteEntry) obj).value);
+        void admit(final char[] chars, final int start, final int end, final int hash, final String value) {
+            final int slot = slot(hash);
+            if (slot != -1) {
+                entries[slot] = new Entry(null, Arrays.copyOfRange(chars, start, end), null, hash, value);
+            }
         }
 
-    }
-
-    // -------------------------------------------------- CharEntry Inner Class
+        /*
+         * Returns an empty slot of the entry pair, or the less frequently accessed
+         * one, if the new entry is accessed more frequently, otherwise -1.
+         */
+        private int slot(final int hash) {
+            final int index = hash & mask;
+            final Entry first = entries[index];
+            if (first == null) {
+                return index;
+            }
+            final Entry second = entries[index + 1];
+            if (second == null) {
+                return index + 1;
+            }
 
-    protected static class CharEntry {
+            final int firstFrequency = frequency(first.hash);
+            final int secondFrequency = frequency(second.hash);
+            if (frequency(hash) <= Math.min(firstFrequency, secondFrequency)) {
+                return -1;
+            }
+            return firstFrequency <= secondFrequency ? index : index + 1;
+        }
 
-        public char[] name = null;
-        public String value = null;
+        /*
+         * The counters are updated racily: a lost update only makes the
+         * estimation a bit less accurate.
+         */
+        private void record(final int hash) {
+            final int h = hash * 0x9e3779b9;
+            final int step = h >>> 16 | 1;
+            for (int row = 0, i = h; row < 4; row++, i += step) {
+                final int idx = row * (sketchMask + 1) + (i & sketchMask);
+                if (sketch[idx] < MAX_FREQUENCY) {
+                    sketch[idx]++;
+                }
+            }
 
-        @Override
-        public String toString() {
-            return value;
+            if (++samples >= sampleSize) {
+                samples = 0;
+                for (int i = 0; i < sketch.length; i++) {
+                    sketch[i] >>= 1;
+                }
+            }
         }
 
-        @Override
-        public int hashCode() {
-            return value.hashCode();
+        private int frequency(final int hash) {
+            final int h = hash * 0x9e3779b9;
+            final int step = h >>> 16 | 1;
+            int frequency = MAX_FREQUENCY;
+            for (int row = 0, i = h; row < 4; row++, i += step) {
+                frequency = Math.min(frequency, sketch[row * (sketchMask + 1) + (i & sketchMask)]);
+            }
+            return frequency;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            return obj instanceof CharEntry && value.equals(((CharEntry) obj).value);
+        private static boolean matches(final Entry entry, final byte[] bytes, final int start, final int end, final Charset charset,
+                final int hash) {
+            return entry.hash == hash && entry.bytes != null && charset.equals(entry.charset)
+                    && Arrays.equals(entry.bytes, 0, entry.bytes.length, bytes, start, end);
         }
 
+        private static boolean matches(final Entry entry, final char[] chars, final int start, final int end, final int hash) {
+            return entry.hash == hash && entry.chars != null && Arrays.equals(entry.chars, 0, entry.chars.length, chars, start, end);
+        }
     }
-
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -136,6 +137,10 @@ public class ParametersTest {
     }
 
     private long doTestProcessParametersByteArrayIntInt(int limit, Parameter... parameters) {
+        return doTestProcessParametersByteArrayIntInt(false, limit, parameters);
+    }
+
+    private long doTestProcessParametersByteArrayIntInt(boolean lazy, int limit, Parameter... parameters) {
 
         // Build the byte array
         StringBuilder input = new StringBuilder();
@@ -154,6 +159,7 @@ public class ParametersTest {
         Parameters p = new Parameters();
         p.setEncoding(Charsets.UTF8_CHARSET);
         p.setLimit(limit);
+        p.setLazy(lazy);
 
         long start = System.nanoTime();
         p.processParameters(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, data), 0, data.length);
@@ -169,6 +175,55 @@ public class ParametersTest {
         return end - start;
     }
 
+    @Test
+    public void testLazyProcessParameters() {
+        doTestProcessParametersByteArrayIntInt(true, -1, SIMPLE, SIMPLE_MULTIPLE, NO_VALUE, EMPTY_VALUE, EMPTY, UTF8);
+        doTestProcessParametersByteArrayIntInt(true, -1, UTF8, SIMPLE, SIMPLE_MULTIPLE, NO_VALUE, EMPTY_VALUE, EMPTY);
+        doTestProcessParametersByteArrayIntInt(true, 2, SIMPLE, NO_VALUE, EMPTY_VALUE, UTF8);
+    }
+
+    @Test
+    public void testLazyParameterLookup() {
+        String form = "a=1&b=x+y&b=%E2%82%AC&bad=%zz&\u00e9t\u00e9=summer&empty&a=2";
+        byte[] data = form.getBytes(Charsets.UTF8_CHARSET);
+
+        Parameters p = new Parameters();
+        p.setLazy(true);
+        p.setEncoding(Charsets.UTF8_CHARSET);
+        p.processParameters(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, data), 0, data.length);
+
+        // single parameters are decoded on demand, the content may be gone by now
+        assertEquals("1", p.getParameter("a"));
+        assertArrayEquals(new String[] { "x y", "\u20ac" }, p.getParameterValues("b"));
+        assertEquals("summer", p.getParameter("\u00e9t\u00e9"));
+        assertEquals("", p.getParameter("empty"));
+        assertNull(p.getParameter("bad"));
+        assertNull(p.getParameter("missing"));
+        assertNull(p.getParameterValues("missing"));
+
+        // parameters added explicitly come after the parsed ones
+        p.addParameter("a", "3");
+        assertArrayEquals(new String[] { "1", "2", "3" }, p.getParameterValues("a"));
+
+        // a second set is indexed after the materialized one
+        byte[] query = "c=4&a=5".getBytes(Charsets.UTF8_CHARSET);
+        p.processParameters(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, query), 0, query.length);
+        assertEquals("4", p.getParameter("c"));
+        assertArrayEquals(new String[] { "1", "2", "3", "5" }, p.getParameterValues("a"));
+
+        Iterator<String> names = p.getParameterNames().iterator();
+        assertEquals("a", names.next());
+        assertEquals("b", names.next());
+        assertEquals("\u00e9t\u00e9", names.next());
+        assertEquals("empty", names.next());
+        assertEquals("c", names.next());
+        assertFalse(names.hasNext());
+
+        p.recycle();
+        assertNull(p.getParameter("a"));
+        assertTrue(p.getParameterNames().isEmpty());
+    }
+
     @Test
     public void testNonExistantParameter() {
         Parameters p = new Parameters();
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StringCacheTest {
+
+    private int cacheSize;
+    private boolean byteEnabled;
+    private boolean charEnabled;
+
+    @Before
+    public void setUp() {
+        cacheSize = StringCache.getCacheSize();
+        byteEnabled = StringCache.getByteEnabled();
+        charEnabled = StringCache.getCharEnabled();
+        StringCache.setCacheSize(64);
+        StringCache.setByteEnabled(true);
+        StringCache.setCharEnabled(true);
+        StringCache.reset();
+    }
+
+    @After
+    public void tearDown() {
+        StringCache.setCacheSize(cacheSize);
+        StringCache.setByteEnabled(byteEnabled);
+        StringCache.setCharEnabled(charEnabled);
+        StringCache.reset();
+    }
+
+    // ----------------------------------------------------------- Test Methods
+
+    @Test
+    public void testFrequentStringsAreShared() {
+        final String first = byteChunk("application/json").toString();
+        final String second = byteChunk("application/json").toString();
+        assertEquals("application/json", first);
+        assertSame(first, second);
+        assertSame(first, bufferChunk("xxapplication/json", 2).toString());
+        assertEquals(3, StringCache.getAccessCount());
+        assertEquals(2, StringCache.getHitCount());
+
+        // the charset is a part of the key
+        final ByteChunk latin = byteChunk("application/json");
+        assertNotSame(first, latin.toString(StandardCharsets.UTF_8));
+        assertEquals(first, latin.toString(StandardCharsets.UTF_8));
+
+        final CharChunk cc = new CharChunk();
+        cc.setChars("text/html".toCharArray(), 0, 9);
+        final String chars = cc.toString();
+        cc.setChars("text/html".toCharArray(), 0, 9);
+        assertSame(chars, cc.toString());
+    }
+
+    @Test
+    public void testOneOffStringsDoNotEvictFrequentOnes() {
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 16; i++) {
+                byteChunk("common-" + i).toString();
+            }
+            for (int i = 0; i < 100; i++) {
+                byteChunk("unique-" + round + "-" + i).toString();
+            }
+        }
+
+        StringCache.accessCount.reset();
+        StringCache.hitCount.reset();
+        for (int i = 0; i < 16; i++) {
+            byteChunk("common-" + i).toString();
+        }
+        assertTrue("ratio=" + StringCache.getHitRatio(), StringCache.getHitRatio() > 0.8);
+    }
+
+    @Test
+    public void testAdaptsToNewStrings() {
+        for (int i = 0; i < 1000; i++) {
+            byteChunk("old-" + i % 32).toString();
+        }
+        for (int i = 0; i < 5000; i++) {
+            byteChunk("new-" + i % 32).toString();
+        }
+        StringCache.accessCount.reset();
+        StringCache.hitCount.reset();
+        for (int i = 0; i < 32; i++) {
+            byteChunk("new-" + i).toString();
+        }
+        assertTrue("ratio=" + StringCache.getHitRatio(), StringCache.getHitRatio() > 0.8);
+    }
+
+    @Test
+    public void testLongStringsAreNotCached() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= StringCache.getMaxStringSize(); i++) {
+            sb.append('x');
+        }
+        assertNotSame(byteChunk(sb.toString()).toString(), byteChunk(sb.toString()).toString());
+        assertEquals(0, StringCache.getAccessCount());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 100000; i++) {
+                        final String expected = "value-" + i % 200;
+                        assertEquals(expected, byteChunk(expected).toString());
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(errors.toString(), errors.isEmpty());
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static ByteChunk byteChunk(final String s) {
+        final ByteChunk bc = new ByteChunk();
+        final byte[] bytes = s.getBytes(StandardCharsets.ISO_8859_1);
+        bc.setBytes(bytes, 0, bytes.length);
+        return bc;
+    }
+
+    private static BufferChunk bufferChunk(final String s, final int start) {
+        final Buffer buffer = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, s);
+        final BufferChunk bc = new BufferChunk();
+        bc.setBufferChunk(buffer, start, buffer.limit());
+        return bc;
+    }
+}
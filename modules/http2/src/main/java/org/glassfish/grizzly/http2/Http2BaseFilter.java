@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,8 @@ package org.glassfish.grizzly.http2;
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,6 +64,9 @@ import org.glassfish.grizzly.http2.frames.PushPromiseFrame;
 import org.glassfish.grizzly.http2.frames.RstStreamFrame;
 import org.glassfish.grizzly.http2.frames.SettingsFrame;
 import org.glassfish.grizzly.http2.frames.WindowUpdateFrame;
+import org.glassfish.grizzly.monitoring.DefaultMonitoringConfig;
+import org.glassfish.grizzly.monitoring.MonitoringAware;
+import org.glassfish.grizzly.monitoring.MonitoringConfig;
 import org.glassfish.grizzly.threadpool.GrizzlyExecutorService;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.grizzly.threadpool.Threads;
@@ -76,7 +82,7 @@ import org.glassfish.grizzly.utils.Charsets;
  *
  * @author Grizzly team
  */
-public abstract class Http2BaseFilter extends HttpBaseFilter {
+public abstract class Http2BaseFilter extends HttpBaseFilter implements MonitoringAware<Http2Probe> {
     private final static Logger LOGGER = Grizzly.logger(Http2BaseFilter.class);
 
     /**
@@ -101,6 +107,18 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
 
     private int localMaxFramePayloadSize;
 
+    /**
+     * Http2 probes
+     */
+    protected final DefaultMonitoringConfig<Http2Probe> monitoringConfig = new DefaultMonitoringConfig<>(Http2Probe.class);
+
+    // bytes reserved by the auto-tuned sessions: the stream window growth times the max concurrent streams
+    private final AtomicLong reservedWindow = new AtomicLong();
+
+    // the number of frame writes and of the frames written by them
+    final LongAdder frameWritesCount = new LongAdder();
+    final LongAdder writtenFramesCount = new LongAdder();
+
     /**
      * Constructs Http2HandlerFilter.
      */
@@ -133,6 +151,51 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
         return configuration;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MonitoringConfig<Http2Probe> getMonitoringConfig() {
+        return monitoringConfig;
+    }
+
+    /**
+     * @return the number of writes of HTTP/2 frames performed by the sessions of this filter.
+     */
+    public long getFrameWritesCount() {
+        return frameWritesCount.sum();
+    }
+
+    /**
+     * @return the number of HTTP/2 frames written by the sessions of this filter. Divided by
+     * {@link #getFrameWritesCount()} it gives the average number of frames per write.
+     */
+    public long getWrittenFramesCount() {
+        return writtenFramesCount.sum();
+    }
+
+    /**
+     * Reserves window growth from the budget shared by the sessions of this filter.
+     *
+     * @return the number of bytes reserved, at most <tt>size</tt>.
+     */
+    long reserveWindow(final long size) {
+        for (;;) {
+            final long current = reservedWindow.get();
+            final long granted = Math.min(size, configuration.getMaxListenerWindowSize() - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (reservedWindow.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    void releaseWindow(final long size) {
+        reservedWindow.addAndGet(-size);
+    }
+
     protected boolean processFrames(final FilterChainContext ctx, final Http2Session http2Session, final List<Http2Frame> framesList) {
 
         if (framesList == null || framesList.isEmpty()) {
@@ -364,7 +427,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             break;
         }
         case PriorityFrame.TYPE: {
-            processPriorityFrame(frame);
+            processPriorityFrame(http2Session, frame);
             break;
         }
         case HeadersFrame.TYPE:
@@ -401,7 +464,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
 
     }
 
-    private void processPriorityFrame(final Http2Frame frame) throws Http2SessionException, Http2StreamException {
+    private void processPriorityFrame(final Http2Session http2Session, final Http2Frame frame) throws Http2SessionException, Http2StreamException {
         final int streamId = frame.getStreamId();
         try {
             if (streamId == 0) {
@@ -410,9 +473,11 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
             if (frame.getLength() != 5) {
                 throw new Http2StreamException(streamId, ErrorCode.FRAME_SIZE_ERROR);
             }
-            if (streamId == ((PriorityFrame) frame).getStreamDependency()) {
+            final PriorityFrame priorityFrame = (PriorityFrame) frame;
+            if (streamId == priorityFrame.getStreamDependency()) {
                 throw new Http2SessionException(ErrorCode.PROTOCOL_ERROR, "PRIORITY frame dependent on itself.");
             }
+            http2Session.prioritizeStream(streamId, priorityFrame.getStreamDependency(), priorityFrame.isExclusive(), priorityFrame.getWeight() + 1, false);
         } finally {
             frame.recycle();
         }
@@ -531,6 +596,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
         PingFrame pingFrame = (PingFrame) frame;
 
         if (pingFrame.isAckSet()) {
+            http2Session.onPingAck(pingFrame.getOpaqueData());
             return;
         }
 
@@ -884,6 +950,7 @@ public abstract class Http2BaseFilter extends HttpBaseFilter {
 
         // Always ACK the data to maintain flow-control state
         http2Session.ackConsumedData(data.remaining());
+        http2Session.onDataReceived(data.remaining());
 
         // If we're going away, ignore any frames for streams greater than the last stream ID from the goaway frame.
         if (ignoreFrameForStreamId(http2Session, streamId)) {
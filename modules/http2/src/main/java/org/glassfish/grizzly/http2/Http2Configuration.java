@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -33,6 +34,9 @@ public class Http2Configuration {
     public static final float DEFAULT_STREAMS_HIGH_WATER_MARK = 0.5f;
     public static final float DEFAULT_STREAMS_CLEAN_PERCENTAGE = 0.5f;
     public static final int DEFAULT_CLEAN_FREQUENCY_CHECK = 50;
+    public static final int DEFAULT_MAX_SESSION_WINDOW_SIZE = 16 * 1024 * 1024;
+    public static final long DEFAULT_MAX_LISTENER_WINDOW_SIZE = 256L * 1024 * 1024;
+    public static final int DEFAULT_FRAME_COALESCING_THRESHOLD = 4096;
 
     private volatile int maxConcurrentStreams;
     private volatile int initialWindowSize;
@@ -44,6 +48,11 @@ public class Http2Configuration {
     private volatile boolean disableCipherCheck;
     private volatile boolean priorKnowledge;
     private volatile boolean pushEnabled;
+    private volatile boolean extensiblePriorities;
+    private volatile boolean windowAutoTuning;
+    private volatile int maxSessionWindowSize;
+    private volatile long maxListenerWindowSize;
+    private volatile int frameCoalescingThreshold;
     private final ExecutorService executorService;
     private final ThreadPoolConfig threadPoolConfig;
 
@@ -59,6 +68,11 @@ public class Http2Configuration {
         threadPoolConfig = builder.threadPoolConfig;
         executorService = builder.executorService;
         pushEnabled = builder.pushEnabled;
+        extensiblePriorities = builder.extensiblePriorities;
+        windowAutoTuning = builder.windowAutoTuning;
+        maxSessionWindowSize = builder.maxSessionWindowSize;
+        maxListenerWindowSize = builder.maxListenerWindowSize;
+        frameCoalescingThreshold = builder.frameCoalescingThreshold;
         streamsHighWaterMark = builder.streamsHighWaterMark;
         cleanPercentage = builder.cleanPercentage;
         cleanFrequencyCheck = builder.cleanFrequencyCheck;
@@ -179,6 +193,98 @@ public class Http2Configuration {
         this.pushEnabled = pushEnabled;
     }
 
+    /**
+     * @return <code>true</code> if RFC 9218 extensible priorities are used instead of the RFC 7540 stream dependencies.
+     * If not explicitly configured, this returns <code>false</code>.
+     */
+    public boolean isExtensiblePriorities() {
+        return extensiblePriorities;
+    }
+
+    /**
+     * Configure whether RFC 9218 extensible priorities should be used. If enabled, the RFC 7540 priority information
+     * (PRIORITY frames and priority fields of HEADERS frames) is validated, but otherwise ignored, and the urgency and
+     * incremental parameters of the <tt>priority</tt> request header are exposed by {@link Http2Stream#getUrgency()} and
+     * {@link Http2Stream#isIncremental()}. Otherwise each {@link Http2Session} maintains its own RFC 7540 stream dependency
+     * tree. The setting applies to the sessions created afterwards.
+     */
+    public void setExtensiblePriorities(final boolean extensiblePriorities) {
+        this.extensiblePriorities = extensiblePriorities;
+    }
+
+    /**
+     * @return <code>true</code> if the receive windows are grown at runtime based on the measured bandwidth-delay product
+     * of the connection. If not explicitly configured, this returns <code>false</code>.
+     */
+    public boolean isWindowAutoTuning() {
+        return windowAutoTuning;
+    }
+
+    /**
+     * Configure whether the receive windows should be tuned at runtime. If enabled, each {@link Http2Session} measures the
+     * round-trip time with PING frames along with the number of bytes received meanwhile. When nearly a full window of data
+     * arrives within a round trip the window is limiting the throughput, so the connection window (using WINDOW_UPDATE)
+     * and the initial stream window (using SETTINGS_INITIAL_WINDOW_SIZE) are raised to twice the estimated
+     * bandwidth-delay product. Windows are never shrunk. The growth is bounded by {@link #getMaxSessionWindowSize()} and
+     * {@link #getMaxListenerWindowSize()}. The setting applies to the sessions created afterwards.
+     */
+    public void setWindowAutoTuning(final boolean windowAutoTuning) {
+        this.windowAutoTuning = windowAutoTuning;
+    }
+
+    /**
+     * @return the maximum size, in bytes, an auto-tuned window of one session may grow to. If not explicitly configured,
+     * this returns {@value #DEFAULT_MAX_SESSION_WINDOW_SIZE}.
+     */
+    public int getMaxSessionWindowSize() {
+        return maxSessionWindowSize;
+    }
+
+    /**
+     * Set the maximum size, in bytes, an auto-tuned connection window of one session may grow to. This also bounds the
+     * stream windows of all the concurrent streams of the session together: an auto-tuned stream window may grow up to
+     * this size divided by the max number of concurrent streams.
+     */
+    public void setMaxSessionWindowSize(final int maxSessionWindowSize) {
+        this.maxSessionWindowSize = maxSessionWindowSize;
+    }
+
+    /**
+     * @return the maximum number of bytes, all the sessions of one HTTP/2 filter together, may grow their stream windows
+     * by, counting each window once per concurrent stream allowed. If not explicitly configured, this returns {@value #DEFAULT_MAX_LISTENER_WINDOW_SIZE}.
+     */
+    public long getMaxListenerWindowSize() {
+        return maxListenerWindowSize;
+    }
+
+    /**
+     * Set the maximum number of bytes, all the sessions of one HTTP/2 filter (typically serving one listener) together, may
+     * grow their stream windows by. A stream window grown by N bytes is charged N times the max number of concurrent
+     * streams of the session, as each of them may buffer a full window. This bounds the memory the peers may make the
+     * endpoint buffer. Once exhausted, the stream windows of the sessions stop growing until other sessions are closed.
+     */
+    public void setMaxListenerWindowSize(final long maxListenerWindowSize) {
+        this.maxListenerWindowSize = maxListenerWindowSize;
+    }
+
+    /**
+     * @return the maximum size, in bytes, of a message payload, which is written along with the message headers. If not
+     * explicitly configured, this returns {@value #DEFAULT_FRAME_COALESCING_THRESHOLD}.
+     */
+    public int getFrameCoalescingThreshold() {
+        return frameCoalescingThreshold;
+    }
+
+    /**
+     * Set the maximum size, in bytes, of a message payload, which is written along with the message headers. If a complete
+     * message (headers and the last content chunk) is written at once, its payload is not bigger than the threshold and
+     * fits into the flow-control windows, the HEADERS and DATA frames are serialized into a single buffer and written with
+     * one write, rather than writing the headers first and queueing the payload. Zero disables the coalescing.
+     */
+    public void setFrameCoalescingThreshold(final int frameCoalescingThreshold) {
+        this.frameCoalescingThreshold = frameCoalescingThreshold;
+    }
+
     /**
      * @return the high-water mark indicating streams old closed streams should be cleaned up. If not explicitly configured,
      * this returns {@value #DEFAULT_STREAMS_HIGH_WATER_MARK}.
@@ -254,6 +360,11 @@ public class Http2Configuration {
         private boolean disableCipherCheck;
         private boolean priorKnowledge;
         private boolean pushEnabled = true;
+        private boolean extensiblePriorities;
+        private boolean windowAutoTuning;
+        private int maxSessionWindowSize = DEFAULT_MAX_SESSION_WINDOW_SIZE;
+        private long maxListenerWindowSize = DEFAULT_MAX_LISTENER_WINDOW_SIZE;
+        private int frameCoalescingThreshold = DEFAULT_FRAME_COALESCING_THRESHOLD;
         private float streamsHighWaterMark = DEFAULT_STREAMS_HIGH_WATER_MARK;
         private float cleanPercentage = DEFAULT_STREAMS_CLEAN_PERCENTAGE;
         private int cleanFrequencyCheck = DEFAULT_CLEAN_FREQUENCY_CHECK;
@@ -338,6 +449,46 @@ public class Http2Configuration {
             return this;
         }
 
+        /**
+         * @see #setExtensiblePriorities(boolean)
+         */
+        public Http2ConfigurationBuilder extensiblePriorities(final boolean val) {
+            extensiblePriorities = val;
+            return this;
+        }
+
+        /**
+         * @see #setWindowAutoTuning(boolean)
+         */
+        public Http2ConfigurationBuilder windowAutoTuning(final boolean val) {
+            windowAutoTuning = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxSessionWindowSize(int)
+         */
+        public Http2ConfigurationBuilder maxSessionWindowSize(final int val) {
+            maxSessionWindowSize = val;
+            return this;
+        }
+
+        /**
+         * @see #setMaxListenerWindowSize(long)
+         */
+        public Http2ConfigurationBuilder maxListenerWindowSize(final long val) {
+            maxListenerWindowSize = val;
+            return this;
+        }
+
+        /**
+         * @see #setFrameCoalescingThreshold(int)
+         */
+        public Http2ConfigurationBuilder frameCoalescingThreshold(final int val) {
+            frameCoalescingThreshold = val;
+            return this;
+        }
+
         /**
          * @see #setStreamsHighWaterMark(float)
          */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates and others.
  * All rights reserved.
  *
@@ -71,6 +72,14 @@ public class Http2OutputQueueRecord extends AsyncQueueRecord<WriteResult> {
         return chunkedCompletionHandler != null ? chunkedCompletionHandler : originalCompletionHandler;
     }
 
+    int getStreamId() {
+        return streamId;
+    }
+
+    int remaining() {
+        return buffer != null ? buffer.remaining() : 0;
+    }
+
     boolean isZeroSizeData() {
         return isZeroSizeData;
     }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+import org.glassfish.grizzly.Connection;
+
+/**
+ * Monitoring probe providing callbacks that may be invoked by the HTTP/2 filters.
+ *
+ * @see Http2Configuration#setWindowAutoTuning(boolean)
+ */
+public interface Http2Probe {
+
+    /**
+     * Method will be called, when the round trip of a PING sent to measure the bandwidth-delay product of the connection
+     * completes.
+     *
+     * @param connection {@link Connection}, the event belongs to.
+     * @param roundTripNanos the measured round-trip time, in nanoseconds.
+     * @param bytesReceived the number of DATA bytes received during the round trip.
+     */
+    void onBandwidthDelaySampleEvent(Connection connection, long roundTripNanos, int bytesReceived);
+
+    /**
+     * Method will be called, when the local receive windows of the session are grown.
+     *
+     * @param connection {@link Connection}, the event belongs to.
+     * @param connectionWindowSize the new connection window size, in bytes.
+     * @param streamWindowSize the new initial stream window size, in bytes.
+     */
+    void onLocalWindowSizeChangeEvent(Connection connection, int connectionWindowSize, int streamWindowSize);
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * {@link Http2Probe} adapter that provides no-op implementations for all interface methods allowing easy extension by
+     * the developer.
+     */
+    @SuppressWarnings("UnusedDeclaration")
+    class Adapter implements Http2Probe {
+
+        // --------------------------------------------- Methods from Http2Probe
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onBandwidthDelaySampleEvent(Connection connection, long roundTripNanos, int bytesReceived) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onLocalWindowSizeChangeEvent(Connection connection, int connectionWindowSize, int streamWindowSize) {
+        }
+    }
+}
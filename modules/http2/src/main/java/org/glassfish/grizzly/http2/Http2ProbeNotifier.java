@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+import org.glassfish.grizzly.Connection;
+
+/**
+ * Utility class, which has notification methods for different {@link Http2Probe} events.
+ */
+final class Http2ProbeNotifier {
+
+    /**
+     * Notify registered {@link Http2Probe}s about the "bandwidth-delay sample" event.
+     *
+     * @param filter the <tt>Http2BaseFilter</tt> event occurred on.
+     * @param connection the <tt>Connection</tt> event occurred on.
+     * @param roundTripNanos the measured round-trip time, in nanoseconds.
+     * @param bytesReceived the number of DATA bytes received during the round trip.
+     */
+    static void notifyBandwidthDelaySample(final Http2BaseFilter filter, final Connection connection, final long roundTripNanos,
+            final int bytesReceived) {
+
+        final Http2Probe[] probes = filter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (Http2Probe probe : probes) {
+                probe.onBandwidthDelaySampleEvent(connection, roundTripNanos, bytesReceived);
+            }
+        }
+    }
+
+    /**
+     * Notify registered {@link Http2Probe}s about the "local window size change" event.
+     *
+     * @param filter the <tt>Http2BaseFilter</tt> event occurred on.
+     * @param connection the <tt>Connection</tt> event occurred on.
+     * @param connectionWindowSize the new connection window size.
+     * @param streamWindowSize the new initial stream window size.
+     */
+    static void notifyLocalWindowSizeChange(final Http2BaseFilter filter, final Connection connection, final int connectionWindowSize,
+            final int streamWindowSize) {
+
+        final Http2Probe[] probes = filter.monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (Http2Probe probe : probes) {
+                probe.onLocalWindowSizeChangeEvent(connection, connectionWindowSize, streamWindowSize);
+            }
+        }
+    }
+}
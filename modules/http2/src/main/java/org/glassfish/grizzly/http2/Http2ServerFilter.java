@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2015, 2020 Oracle and/or its affiliates and others.
  * All rights reserved.
  * Copyright (c) 2021 Contributors to the Eclipse Foundation
@@ -84,6 +85,9 @@ import org.glassfish.grizzly.ssl.SSLUtils;
 public class Http2ServerFilter extends Http2BaseFilter {
     private final static Logger LOGGER = Grizzly.logger(Http2ServerFilter.class);
 
+    // RFC 9218 request header
+    private static final String PRIORITY_HEADER = "priority";
+
     private static final String[] CIPHER_SUITE_BLACK_LIST = { "TLS_NULL_WITH_NULL_NULL", "TLS_RSA_WITH_NULL_MD5", "TLS_RSA_WITH_NULL_SHA",
             "TLS_RSA_EXPORT_WITH_RC4_40_MD5", "TLS_RSA_WITH_RC4_128_MD5", "TLS_RSA_WITH_RC4_128_SHA", "TLS_RSA_EXPORT_WITH_RC2_CBC_40_MD5",
             "TLS_RSA_WITH_IDEA_CBC_SHA", "TLS_RSA_EXPORT_WITH_DES40_CBC_SHA", "TLS_RSA_WITH_DES_CBC_SHA", "TLS_RSA_WITH_3DES_EDE_CBC_SHA",
@@ -623,7 +627,8 @@ public class Http2ServerFilter extends Http2BaseFilter {
             return;
         }
 
-        stream = http2Session.acceptStream(request, headersFrame.getStreamId(), headersFrame.getStreamDependency(), headersFrame.isExclusive(), 0);
+        stream = http2Session.acceptStream(request, headersFrame.getStreamId(), headersFrame.getStreamDependency(), headersFrame.isExclusive(),
+                headersFrame.isPrioritized() ? headersFrame.getWeight() + 1 : 0);
         if (stream == null) { // GOAWAY has been sent, so ignoring this request
             request.recycle();
             return;
@@ -654,6 +659,10 @@ public class Http2ServerFilter extends Http2BaseFilter {
         onHttpHeadersParsed(request, context);
         request.getHeaders().mark();
 
+        if (getConfiguration().isExtensiblePriorities()) {
+            stream.onPriorityHeader(request.getHeader(PRIORITY_HEADER));
+        }
+
         prepareIncomingRequest(stream, request);
 
         final boolean isEOS = headersFrame.isEndStream();
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2020 Oracle and/or its affiliates and others.
  * All rights reserved.
  *
@@ -87,6 +88,8 @@ import org.glassfish.grizzly.utils.Holder;
 public class Http2Session {
     private static final Logger LOGGER = Grizzly.logger(Http2Session.class);
 
+    private static final int MAX_PRIORITY_TREE_SIZE = 10000;
+
     private final boolean isServer;
     private final Connection<?> connection;
     Http2State http2State;
@@ -109,6 +112,10 @@ public class Http2Session {
 
     private final TreeMap<Integer, Http2Stream> streamsMap = new TreeMap<>();
 
+    // RFC 7540 stream dependencies, guarded by the sessionLock.
+    // null, if RFC 9218 extensible priorities are used instead.
+    private final PriorityTree priorityTree;
+
     // (Optimization) We may read several DataFrames belonging to the same
     // Http2Stream, so in order to not process every DataFrame separately -
     // we buffer them and only then passing for processing.
@@ -168,6 +175,9 @@ public class Http2Session {
 
     private final AtomicInteger unackedReadBytes = new AtomicInteger();
 
+    // null, if the windows are not auto-tuned
+    private final WindowTuner windowTuner;
+
     public Http2Session(final Connection<?> connection, final boolean isServer, final Http2BaseFilter handlerFilter) {
         this.connection = connection;
         final FilterChain chain = (FilterChain) connection.getProcessor();
@@ -199,6 +209,11 @@ public class Http2Session {
 
         this.maxHeaderListSize = handlerFilter.getConfiguration().getMaxHeaderListSize();
 
+        // besides the open streams the tree may keep the idle streams referenced by PRIORITY frames
+        this.priorityTree = http2Configuration.isExtensiblePriorities()
+                ? null
+                : new PriorityTree((int) Math.min(2L * Math.max(getLocalMaxConcurrentStreams(), getDefaultMaxConcurrentStreams()), MAX_PRIORITY_TREE_SIZE));
+
         if (isServer) {
             this.lastLocalStreamId = 0;
             this.lastPeerStreamId = -1;
@@ -207,6 +222,8 @@ public class Http2Session {
             this.lastPeerStreamId = 0;
         }
 
+        this.windowTuner = http2Configuration.isWindowAutoTuning() ? new WindowTuner(this) : null;
+
         this.addressHolder = Holder.lazyHolder(() -> connection.getPeerAddress());
 
         connection.addCloseListener(new ConnectionCloseListener());
@@ -645,7 +662,7 @@ public class Http2Session {
             List<Http2Stream> closedStreams = new ArrayList<>(invalidStreams.values());
             for (final Http2Stream stream : closedStreams) {
                 stream.closedRemotely();
-                deregisterStream();
+                deregisterStream(stream.getId());
             }
         }
     }
@@ -680,6 +697,40 @@ public class Http2Session {
         outputSink.writeDownStream(f);
     }
 
+    void sendPing(final long opaqueData) {
+        final PingFrame f = PingFrame.builder().opaqueData(opaqueData).build();
+        NetLogger.log(NetLogger.Context.TX, this, f);
+        outputSink.writeDownStream(f);
+    }
+
+    void sendInitialWindowSize(final int windowSize) {
+        final SettingsFrame f = SettingsFrame.builder().setting(SETTINGS_INITIAL_WINDOW_SIZE, windowSize).build();
+        NetLogger.log(NetLogger.Context.TX, this, f);
+        outputSink.writeDownStream(f);
+    }
+
+    /**
+     * Called when a DATA frame has been received.
+     *
+     * @param sz size, in bytes, of the frame's data
+     */
+    void onDataReceived(final int sz) {
+        if (windowTuner != null) {
+            windowTuner.onDataReceived(sz);
+        }
+    }
+
+    /**
+     * Called when an ACK for a PING frame has been received.
+     *
+     * @param opaqueData the opaque data of the PING
+     */
+    void onPingAck(final long opaqueData) {
+        if (windowTuner != null) {
+            windowTuner.onPingAck(opaqueData);
+        }
+    }
+
     void sendPreface() {
         if (!isPrefaceSent) {
             synchronized (sessionLock) {
@@ -939,6 +990,7 @@ public class Http2Session {
             }
 
             registerStream(streamId, stream);
+            prioritizeStream(streamId, parentStreamId, exclusive, priority, true);
             lastPeerStreamId = streamId;
         }
 
@@ -980,6 +1032,7 @@ public class Http2Session {
             }
 
             registerStream(streamId, stream);
+            prioritizeStream(streamId, parentStreamId, exclusive, priority, true);
             lastLocalStreamId = streamId;
         }
 
@@ -1060,11 +1113,14 @@ public class Http2Session {
     /**
      * Called from {@link Http2Stream} once stream is completely closed.
      */
-    void deregisterStream() {
+    void deregisterStream(final int streamId) {
         LOGGER.fine("deregisterStream()");
         final boolean isCloseSession;
         synchronized (sessionLock) {
             decStreamCount();
+            if (priorityTree != null) {
+                priorityTree.remove(streamId);
+            }
             // If we're in GOAWAY state and there are no streams left - close this session
             isCloseSession = isGoingAway() && concurrentStreamsCount.get() <= 0;
             if (!isCloseSession) {
@@ -1220,6 +1276,58 @@ public class Http2Session {
         incStreamCount();
     }
 
+    /**
+     * Applies the RFC 7540 priority information received with a HEADERS or PRIORITY frame. The information is ignored
+     * if RFC 9218 extensible priorities are used.
+     *
+     * @param streamId the prioritized stream
+     * @param dependency the stream the prioritized stream depends on, <tt>0</tt> if none
+     * @param exclusive the exclusive flag
+     * @param weight the weight (1 - 256), or <tt>0</tt> if none was specified
+     * @param isOpen <tt>true</tt> if the stream is being opened, <tt>false</tt> if it's a PRIORITY frame
+     */
+    void prioritizeStream(final int streamId, final int dependency, final boolean exclusive, final int weight, final boolean isOpen) {
+        if (priorityTree == null) {
+            return;
+        }
+
+        synchronized (sessionLock) {
+            if (isOpen) {
+                priorityTree.add(streamId, dependency, exclusive, weight);
+            } else {
+                priorityTree.prioritize(streamId, dependency, exclusive, weight);
+            }
+        }
+    }
+
+    /**
+     * @return the ID of the stream the stream depends on according to the RFC 7540 priority information, <tt>0</tt> if
+     * it depends on no other stream, or <tt>-1</tt> if the stream is unknown or extensible priorities are used
+     */
+    int getStreamDependency(final int streamId) {
+        if (priorityTree == null) {
+            return -1;
+        }
+
+        synchronized (sessionLock) {
+            return priorityTree.getParent(streamId);
+        }
+    }
+
+    /**
+     * @return the RFC 7540 weight of the stream, or <tt>-1</tt> if the stream is unknown or extensible priorities are
+     * used
+     */
+    int getStreamWeight(final int streamId) {
+        if (priorityTree == null) {
+            return -1;
+        }
+
+        synchronized (sessionLock) {
+            return priorityTree.getWeight(streamId);
+        }
+    }
+
     private void registerUpgradeStream(final Http2Stream stream) throws Http2StreamException {
         synchronized (sessionLock) {
             if (isClosed()) {
@@ -1227,6 +1335,7 @@ public class Http2Session {
             }
 
             registerStream(Http2Stream.UPGRADE_STREAM_ID, stream);
+            prioritizeStream(Http2Stream.UPGRADE_STREAM_ID, 0, false, stream.getPriority(), true);
             if (!isServer()) {
                 lastLocalStreamId = Http2Stream.UPGRADE_STREAM_ID;
             }
@@ -1259,6 +1368,9 @@ public class Http2Session {
                 for (Http2Stream stream : streamsMap.values()) {
                     stream.closedRemotely();
                 }
+                if (windowTuner != null) {
+                    windowTuner.release();
+                }
             }
         }
     }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2014, 2020 Oracle and/or its affiliates and others.
  * All rights reserved.
  *
@@ -20,11 +21,13 @@
 
 package org.glassfish.grizzly.http2;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,6 +45,10 @@ import org.glassfish.grizzly.http2.frames.Http2Frame;
 /**
  * Class represents an output sink associated with specific {@link Http2Session}
  * and is responsible for session (connection) level flow control.
+ * <p>
+ * DATA frames of all the streams are queued and written by a single writer,
+ * which shares the connection window among the streams in weighted round-robin
+ * order and gathers the frames into one write.
  *
  * @author Alexey Stashok
  */
@@ -52,6 +59,10 @@ public class Http2SessionOutputSink {
     private static final int MAX_FRAME_PAYLOAD_SIZE = 16383;
     private static final int MAX_OUTPUT_QUEUE_SIZE = 65536;
 
+    // bytes a stream may send per round for each unit of its weight
+    private static final int QUANTUM_UNIT = 64;
+    private static final int DEFAULT_WEIGHT = 16;
+
     // async output queue
     private final TaskQueue<Http2OutputQueueRecord> outputQueue = TaskQueue.createTaskQueue(new TaskQueue.MutableMaxQueueSize() {
 
@@ -62,8 +73,13 @@ public class Http2SessionOutputSink {
     });
 
     private final AtomicInteger availConnectionWindowSize;
-    private final List<Http2Frame> tmpFramesList = new LinkedList<>();
-    private final AtomicBoolean writerLock = new AtomicBoolean();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private volatile boolean isClosed;
+
+    // owned by the writer, see flushOutputQueue()
+    private final List<Http2Frame> tmpFramesList = new ArrayList<>();
+    private final Map<Integer, StreamQueue> streamQueues = new HashMap<>();
+    private final ArrayDeque<StreamQueue> activeStreams = new ArrayDeque<>();
 
     public Http2SessionOutputSink(Http2Session session) {
         this.http2Session = session;
@@ -76,6 +92,7 @@ public class Http2SessionOutputSink {
 
     protected void writeDownStream(final Http2Frame frame) {
 
+        countWrite(1);
         http2Session.getHttp2SessionChain().write(
                 http2Session.getConnection(), null,
                 frameCodec().serializeAndRecycle(http2Session, frame),
@@ -84,6 +101,7 @@ public class Http2SessionOutputSink {
 
     protected void writeDownStream(final List<Http2Frame> frames) {
 
+        countWrite(frames.size());
         http2Session.getHttp2SessionChain().write(
                 http2Session.getConnection(), null,
                 frameCodec().serializeAndRecycle(http2Session, frames),
@@ -98,8 +116,10 @@ public class Http2SessionOutputSink {
         // Encode Http2Frame -> Buffer
         final Object msg;
         if (anyMessage instanceof List) {
+            countWrite(((List<Http2Frame>) anyMessage).size());
             msg = frameCodec().serializeAndRecycle(http2Session, (List<Http2Frame>) anyMessage);
         } else if (anyMessage instanceof Http2Frame) {
+            countWrite(1);
             msg = frameCodec().serializeAndRecycle(http2Session, (Http2Frame) anyMessage);
         } else {
             msg = anyMessage;
@@ -108,6 +128,12 @@ public class Http2SessionOutputSink {
         http2Session.getHttp2SessionChain().write(http2Session.getConnection(), null, msg, completionHandler, messageCloner);
     }
 
+    private void countWrite(final int frames) {
+        final Http2BaseFilter filter = http2Session.handlerFilter;
+        filter.frameWritesCount.increment();
+        filter.writtenFramesCount.add(frames);
+    }
+
     protected int getAvailablePeerConnectionWindowSize() {
         return availConnectionWindowSize.get();
     }
@@ -157,6 +183,13 @@ public class Http2SessionOutputSink {
             writeDownStream(msg, completionHandler, messageCloner);
             return;
         } else if (headerFrames != null && !headerFrames.isEmpty()) {
+            if (isLast && data.remaining() <= getFrameCoalescingThreshold() && reserveConnectionWindow(data.remaining())) {
+                // a complete small message: write the headers and the payload at once
+                headerFrames.add(DataFrame.builder().streamId(stream.getId()).data(data).endStream(true).build());
+                writeDownStream(headerFrames, completionHandler, messageCloner);
+                return;
+            }
+
             // flush the headers now in this thread,
             // because we have to keep compression state consistent
             writeDownStream(headerFrames);
@@ -175,111 +208,246 @@ public class Http2SessionOutputSink {
         flushOutputQueue();
     }
 
-    private void flushOutputQueue() {
-        int backoffDelay = 0;
+    /*
+     * The payload of a coalesced message goes into a single DATA frame, so it must not exceed the peer's max frame size.
+     */
+    private int getFrameCoalescingThreshold() {
+        return Math.min(http2Session.handlerFilter.getConfiguration().getFrameCoalescingThreshold(), http2Session.getPeerMaxFramePayloadSize());
+    }
+
+    /*
+     * Takes the given number of bytes from the connection window, if available.
+     */
+    private boolean reserveConnectionWindow(final int size) {
+        for (;;) {
+            final int availWindowSize = availConnectionWindowSize.get();
+            if (availWindowSize < size) {
+                return false;
+            }
+            if (availConnectionWindowSize.compareAndSet(availWindowSize, availWindowSize - size)) {
+                return true;
+            }
+        }
+    }
 
-        int availWindowSize;
-        int queueSize;
+    /*
+     * Takes the whole connection window, if it's positive, so the coalesced writes reserving credit concurrently can't
+     * spend the same bytes as the writer.
+     *
+     * @return the taken window size, or the current window size, if it's not positive
+     */
+    private int takeConnectionWindow() {
+        for (;;) {
+            final int availWindowSize = availConnectionWindowSize.get();
+            if (availWindowSize <= 0 || availConnectionWindowSize.compareAndSet(availWindowSize, 0)) {
+                return availWindowSize;
+            }
+        }
+    }
+
+    /*
+     * Flushes the output queue. The thread, which increments the drain request
+     * counter from zero, becomes the writer and keeps draining until no more
+     * requests arrive meanwhile. Other threads just leave their request behind,
+     * so the callers are never blocked or parked.
+     */
+    private void flushOutputQueue() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
 
         boolean needToNotifyQueueManagement = false;
+        int missed = 1;
+        do {
+            needToNotifyQueueManagement |= drain();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+
+        if (needToNotifyQueueManagement) {
+            outputQueue.doNotify();
+        }
+    }
+
+    /*
+     * Must be called by the writer only.
+     *
+     * @return true, if any space was released in the output queue
+     */
+    private boolean drain() {
+        Http2OutputQueueRecord record;
+        while ((record = outputQueue.poll()) != null) {
+            schedule(record);
+        }
+
+        if (isClosed) {
+            failScheduled();
+            return false;
+        }
 
-        // try to flush entire output queue
-
-        // relaxed check if we have free window space and output queue is not empty
-        // if yes - lock the writer (only one thread can flush)
-        while (availConnectionWindowSize.get() > 0 && !outputQueue.isEmpty() && writerLock.compareAndSet(false, true)) {
-
-            // get the values after the writer is locked
-            availWindowSize = availConnectionWindowSize.get();
-            queueSize = outputQueue.size();
-
-            AggrCompletionHandler completionHandlers = null;
-            CompletionHandler<WriteResult> writeCompletionHandler = null;
-            int writeCompletionHandlerBytes = 0;
-            int bytesToTransfer = 0;
-            int queueSizeToFree = 0;
-            boolean breakNow = false;
-
-            // gather all available output data frames
-            while (availWindowSize > bytesToTransfer && queueSize > queueSizeToFree) {
-
-                final Http2OutputQueueRecord record = outputQueue.poll();
-                if (record == null) {
-                    // keep this warning for now - should be reported when null record is spotted
-                    LOGGER.log(Level.WARNING, "UNEXPECTED NULL RECORD. Queue-size: {0} "
-                                    + "byteToTransfer={1} queueSizeToFree={2} queueSize={3}",
-                            new Object[]{outputQueue.size(), bytesToTransfer, queueSizeToFree, queueSize});
-                    breakNow = true;
+        final int availWindowSize = takeConnectionWindow();
+
+        AggrCompletionHandler completionHandlers = null;
+        CompletionHandler<WriteResult> writeCompletionHandler = null;
+        int writeCompletionHandlerBytes = 0;
+        int bytesToTransfer = 0;
+        int queueSizeToFree = 0;
+
+        // gather the data frames of the active streams in the deficit round-robin
+        // order: every round each stream earns a quantum proportional to its weight
+        // and sends a frame while its deficit is positive
+        while (!activeStreams.isEmpty()) {
+            boolean sent = false;
+            for (int i = activeStreams.size(); i > 0; i--) {
+                final StreamQueue streamQueue = activeStreams.peek();
+                record = streamQueue.records.peek();
+                if (!record.isZeroSizeData() && availWindowSize <= bytesToTransfer) {
                     break;
                 }
-                final int serializedBytes = record.serializeTo(tmpFramesList,
-                    Math.min(MAX_FRAME_PAYLOAD_SIZE, availWindowSize - bytesToTransfer));
-                bytesToTransfer += serializedBytes;
-                queueSizeToFree += serializedBytes;
-
-                if (record.isFinished()) {
-                    if (record.isZeroSizeData()) {
-                        queueSizeToFree++;
+
+                streamQueue.deficit += streamQueue.quantum;
+                if (streamQueue.deficit > 0) {
+                    final int serializedBytes = record.serializeTo(tmpFramesList,
+                            Math.max(0, Math.min(MAX_FRAME_PAYLOAD_SIZE, availWindowSize - bytesToTransfer)));
+                    streamQueue.deficit -= serializedBytes;
+                    bytesToTransfer += serializedBytes;
+                    queueSizeToFree += serializedBytes;
+                    sent = true;
+
+                    if (record.isFinished()) {
+                        if (record.isZeroSizeData()) {
+                            queueSizeToFree++;
+                        }
+                        streamQueue.records.poll();
+                    }
+
+                    final CompletionHandler<WriteResult> recordCompletionHandler = record.getCompletionHandler();
+
+                    // add this record CompletionHandler to the list of
+                    // CompletionHandlers to be notified once all the frames are
+                    // written
+                    if (recordCompletionHandler != null) {
+                        if (completionHandlers != null) {
+                            completionHandlers.register(recordCompletionHandler, serializedBytes);
+                        } else if (writeCompletionHandler == null) {
+                            writeCompletionHandler = recordCompletionHandler;
+                            writeCompletionHandlerBytes = serializedBytes;
+                        } else {
+                            completionHandlers = new AggrCompletionHandler();
+                            completionHandlers.register(writeCompletionHandler, writeCompletionHandlerBytes);
+                            completionHandlers.register(recordCompletionHandler, serializedBytes);
+                            writeCompletionHandler = completionHandlers;
+                        }
                     }
+                }
+
+                activeStreams.poll();
+                if (streamQueue.records.isEmpty()) {
+                    streamQueues.remove(streamQueue.streamId);
                 } else {
-                    outputQueue.setCurrentElement(record);
+                    activeStreams.offer(streamQueue);
                 }
+            }
 
-                final CompletionHandler<WriteResult> recordCompletionHandler = record.getCompletionHandler();
-
-                // add this record CompletionHandler to the list of
-                // CompletionHandlers to be notified once all the frames are
-                // written
-                if (recordCompletionHandler != null) {
-                    if (completionHandlers != null) {
-                        completionHandlers.register(recordCompletionHandler, serializedBytes);
-                    } else if (writeCompletionHandler == null) {
-                        writeCompletionHandler = recordCompletionHandler;
-                        writeCompletionHandlerBytes = serializedBytes;
-                    } else {
-                        completionHandlers = new AggrCompletionHandler();
-                        completionHandlers.register(writeCompletionHandler, writeCompletionHandlerBytes);
-                        completionHandlers.register(recordCompletionHandler, serializedBytes);
-                        writeCompletionHandler = completionHandlers;
-                    }
+            if (!sent) {
+                if (availWindowSize <= bytesToTransfer) {
+                    break; // the connection window is exhausted
                 }
+                skipRounds();
             }
+        }
 
-            // if at least one byte was consumed from the output queue
-            if (queueSizeToFree > 0) {
-                assert !tmpFramesList.isEmpty();
+        // give back the part of the taken window, which wasn't sent
+        final int newWindowSize = availWindowSize > bytesToTransfer
+                ? availConnectionWindowSize.addAndGet(availWindowSize - bytesToTransfer)
+                : availConnectionWindowSize.get();
 
-                // write the frame list
-                writeDownStream(tmpFramesList, writeCompletionHandler, null);
+        // if at least one byte was consumed from the output queue
+        if (queueSizeToFree > 0) {
+            assert !tmpFramesList.isEmpty();
 
-                final int newWindowSize = availConnectionWindowSize.addAndGet(-bytesToTransfer);
+            // write the frame list
+            writeDownStream(tmpFramesList, writeCompletionHandler, null);
 
-                outputQueue.releaseSpace(queueSizeToFree);
+            outputQueue.releaseSpace(queueSizeToFree);
 
-                needToNotifyQueueManagement = true;
-                LOGGER.log(Level.FINE,
-                    "Http2Session. Shrink connection window size by {0} bytes. Current connection window size is: {1}",
-                    new Object[] {bytesToTransfer, newWindowSize});
-            }
+            LOGGER.log(Level.FINE,
+                "Http2Session. Shrink connection window size by {0} bytes. Current connection window size is: {1}",
+                new Object[] {bytesToTransfer, newWindowSize});
+            return true;
+        }
 
-            // release the writer lock, so other thread can start to write
-            writerLock.set(false);
-            if (breakNow) {
-                break;
-            }
+        return false;
+    }
 
-            // we don't want this thread to write all the time - so give more
-            // time for another thread to start writing
-            LockSupport.parkNanos(backoffDelay++);
+    private void schedule(final Http2OutputQueueRecord record) {
+        final int streamId = record.getStreamId();
+        StreamQueue streamQueue = streamQueues.get(streamId);
+        if (streamQueue == null) {
+            streamQueue = new StreamQueue(streamId, QUANTUM_UNIT * weightOf(streamId));
+            streamQueues.put(streamId, streamQueue);
+            activeStreams.offer(streamQueue);
         }
+        streamQueue.records.offer(record);
+    }
 
-        if (needToNotifyQueueManagement) {
-            outputQueue.doNotify();
+    private int weightOf(final int streamId) {
+        final int weight = http2Session.getStreamWeight(streamId);
+        if (weight > 0) {
+            return weight;
+        }
+
+        // RFC 9218 urgency, 0 being the most urgent, halves the weight per level
+        final Http2Stream stream = http2Session.getStream(streamId);
+        return stream != null ? 256 >> stream.getUrgency() : DEFAULT_WEIGHT;
+    }
+
+    /*
+     * No stream is in credit: fast-forward the rounds until one is.
+     */
+    private void skipRounds() {
+        int rounds = Integer.MAX_VALUE;
+        for (StreamQueue streamQueue : activeStreams) {
+            rounds = Math.min(rounds, (-streamQueue.deficit) / streamQueue.quantum);
+        }
+        if (rounds > 0) {
+            for (StreamQueue streamQueue : activeStreams) {
+                streamQueue.deficit += rounds * streamQueue.quantum;
+            }
         }
     }
 
+    private void failScheduled() {
+        int queueSizeToFree = 0;
+        for (StreamQueue streamQueue : activeStreams) {
+            for (Http2OutputQueueRecord record : streamQueue.records) {
+                queueSizeToFree += record.isZeroSizeData() ? 1 : record.remaining();
+                record.notifyFailure(new IOException("Connection closed"));
+            }
+        }
+        activeStreams.clear();
+        streamQueues.clear();
+        outputQueue.releaseSpace(queueSizeToFree);
+    }
+
     public void close() {
+        isClosed = true;
         outputQueue.onClose();
+        flushOutputQueue();
+    }
+
+    /*
+     * The pending records of a stream. Owned by the writer.
+     */
+    private static final class StreamQueue {
+        final int streamId;
+        final int quantum;
+        final ArrayDeque<Http2OutputQueueRecord> records = new ArrayDeque<>(2);
+        int deficit;
+
+        StreamQueue(final int streamId, final int quantum) {
+            this.streamId = streamId;
+            this.quantum = quantum;
+        }
     }
 
 }
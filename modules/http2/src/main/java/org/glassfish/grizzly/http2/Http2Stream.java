@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -73,6 +74,11 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     public static final String HTTP2_STREAM_ATTRIBUTE = HttpRequestPacket.READ_ONLY_ATTR_PREFIX + Http2Stream.class.getName();
     public static final String HTTP2_PARENT_STREAM_ATTRIBUTE = HttpRequestPacket.READ_ONLY_ATTR_PREFIX + "parent." + Http2Stream.class.getName();
 
+    /**
+     * The RFC 9218 urgency of a stream, whose priority wasn't signaled.
+     */
+    public static final int DEFAULT_URGENCY = 3;
+
     static final int UPGRADE_STREAM_ID = 1;
 
     private static final Attribute<Http2Stream> HTTP_RQST_HTTP2_STREAM_ATTR
@@ -86,6 +92,10 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     private final int priority;
     private final boolean exclusive;
 
+    // RFC 9218 extensible priority parameters
+    private volatile int urgency = DEFAULT_URGENCY;
+    private volatile boolean incremental;
+
     private final Http2Session http2Session;
 
     private final AttributeHolder attributes = AttributeBuilder.DEFAULT_ATTRIBUTE_BUILDER.createSafeAttributeHolder();
@@ -231,6 +241,64 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
         return priority;
     }
 
+    /**
+     * @return the RFC 9218 urgency (0 - 7, lower values are more urgent) of this stream, or {@link #DEFAULT_URGENCY} if
+     * extensible priorities are disabled or the peer didn't signal the stream priority.
+     *
+     * @see Http2Configuration#isExtensiblePriorities()
+     */
+    public int getUrgency() {
+        return urgency;
+    }
+
+    /**
+     * @return <code>true</code> if, according to RFC 9218, the peer can process the response incrementally, so it may be
+     * interleaved with the responses of the same urgency.
+     *
+     * @see Http2Configuration#isExtensiblePriorities()
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Applies the value of an RFC 9218 <tt>priority</tt> header. Unknown and malformed parameters are ignored.
+     */
+    void onPriorityHeader(final String value) {
+        if (value == null) {
+            return;
+        }
+
+        int u = urgency;
+        boolean i = incremental;
+
+        for (final String member : value.split(",")) {
+            // parameters of the dictionary member aren't used
+            final int paramsIdx = member.indexOf(';');
+            final String keyValue = (paramsIdx == -1 ? member : member.substring(0, paramsIdx)).trim();
+            final int eqIdx = keyValue.indexOf('=');
+            final String key = eqIdx == -1 ? keyValue : keyValue.substring(0, eqIdx);
+
+            if ("u".equals(key)) {
+                if (eqIdx != -1 && keyValue.length() == eqIdx + 2) {
+                    final int digit = keyValue.charAt(eqIdx + 1) - '0';
+                    if (digit >= 0 && digit <= 7) {
+                        u = digit;
+                    }
+                }
+            } else if ("i".equals(key)) {
+                if (eqIdx == -1 || "?1".equals(keyValue.substring(eqIdx + 1))) {
+                    i = true;
+                } else if ("?0".equals(keyValue.substring(eqIdx + 1))) {
+                    i = false;
+                }
+            }
+        }
+
+        urgency = u;
+        incremental = i;
+    }
+
     public boolean isPushStream() {
         return (streamId & 1) == 0;
     }
@@ -634,7 +702,7 @@ public class Http2Stream implements AttributeStorage, OutputSink, Closeable {
     private void closeStream() {
         // TODO ensure stream proper transitions to CLOSED state
         // Http2StreamState.close(this);
-        http2Session.deregisterStream();
+        http2Session.deregisterStream(streamId);
     }
 
     HttpHeader getInputHttpHeader() {
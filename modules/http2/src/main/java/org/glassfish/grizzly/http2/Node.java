@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,17 +17,14 @@
 
 package org.glassfish.grizzly.http2;
 
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
 /**
  * N-ary tree node implementation to support HTTP/2 stream hierarchies.
+ * <p>
+ * The tree is not thread-safe. Every tree belongs to a single {@link Http2Session}, which is expected to confine
+ * its modifications (see {@link PriorityTree}), so sessions never contend with each other.
  */
 public abstract class Node {
 
-    private static final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-    protected static final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
-    protected static final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
-
     protected final int id;
     protected Node next;
     protected Node prev;
@@ -46,29 +44,19 @@ public abstract class Node {
      * Mark this {@link Node} as exclusive. Any siblings will be migrated to the children list.
      */
     protected void exclusive() {
-        writeLock.lock();
-        try {
-            final Node p = parent;
-            p.detach(id);
-            p.addChild(this, true);
-        } finally {
-            writeLock.unlock();
-        }
+        final Node p = parent;
+        p.detach(id);
+        p.addChild(this, true);
     }
 
     /**
      * Add a sibling to this {@link Node}.
      */
     protected void addSibling(final Node sibling) {
-        writeLock.lock();
-        try {
-            sibling.next = this;
-            this.prev = sibling;
-            sibling.parent = this.parent;
-            parent.firstChild = sibling;
-        } finally {
-            writeLock.unlock();
-        }
+        sibling.next = this;
+        this.prev = sibling;
+        sibling.parent = this.parent;
+        parent.firstChild = sibling;
     }
 
     /**
@@ -83,37 +71,32 @@ public abstract class Node {
      * exclusive child.
      */
     protected void addChild(final Node nodeBeingAddedAsChild, final boolean exclusive) {
-        writeLock.lock();
-        try {
-            if (exclusive) {
-                nodeBeingAddedAsChild.exclusive = true;
-                if (nodeBeingAddedAsChild.firstChild != null && firstChild != null) {
-                    Node tail = firstChild;
-                    while (tail.next != null) {
-                        tail = tail.next;
-                    }
-                    tail.next = nodeBeingAddedAsChild.firstChild;
-                    nodeBeingAddedAsChild.firstChild.prev = tail;
-                    nodeBeingAddedAsChild.firstChild = firstChild;
-                } else if (nodeBeingAddedAsChild.firstChild == null && firstChild != null) {
-                    nodeBeingAddedAsChild.firstChild = firstChild;
-                }
-                firstChild = null;
-                if (nodeBeingAddedAsChild.firstChild != null) {
-                    Node t = nodeBeingAddedAsChild.firstChild;
-                    do {
-                        t.parent = nodeBeingAddedAsChild;
-                    } while ((t = t.next) != null);
+        if (exclusive) {
+            nodeBeingAddedAsChild.exclusive = true;
+            if (nodeBeingAddedAsChild.firstChild != null && firstChild != null) {
+                Node tail = firstChild;
+                while (tail.next != null) {
+                    tail = tail.next;
                 }
+                tail.next = nodeBeingAddedAsChild.firstChild;
+                nodeBeingAddedAsChild.firstChild.prev = tail;
+                nodeBeingAddedAsChild.firstChild = firstChild;
+            } else if (nodeBeingAddedAsChild.firstChild == null && firstChild != null) {
+                nodeBeingAddedAsChild.firstChild = firstChild;
             }
-            if (firstChild == null) {
-                firstChild = nodeBeingAddedAsChild;
-                firstChild.parent = this;
-            } else {
-                firstChild.addSibling(nodeBeingAddedAsChild);
+            firstChild = null;
+            if (nodeBeingAddedAsChild.firstChild != null) {
+                Node t = nodeBeingAddedAsChild.firstChild;
+                do {
+                    t.parent = nodeBeingAddedAsChild;
+                } while ((t = t.next) != null);
             }
-        } finally {
-            writeLock.unlock();
+        }
+        if (firstChild == null) {
+            firstChild = nodeBeingAddedAsChild;
+            firstChild.parent = this;
+        } else {
+            firstChild.addSibling(nodeBeingAddedAsChild);
         }
     }
 
@@ -131,6 +114,21 @@ public abstract class Node {
         return remove(id, false);
     }
 
+    /**
+     * Detach this {@link Node} from the tree maintaining any children. Unlike {@link #detach(int)}, no search is needed.
+     */
+    protected void detach() {
+        unlink(this, true);
+    }
+
+    /**
+     * Remove this {@link Node} from the tree. Any children will be moved up as a child of this {@link Node}'s parent.
+     * Unlike {@link #remove(int)}, no search is needed.
+     */
+    protected void remove() {
+        unlink(this, false);
+    }
+
     /**
      * Top down search from this {@link Node} and any children (recursively) returning the node with a matching
      * <code>id</code>.
@@ -139,24 +137,19 @@ public abstract class Node {
         if (this.id == id) {
             return this;
         }
-        readLock.lock();
-        try {
-            if (firstChild != null) {
-                Node n = firstChild;
-                do {
-                    if (n.id == id) {
-                        return n;
-                    }
-                    Node result = n.find(id);
-                    if (result != null) {
-                        return result;
-                    }
-                } while ((n = n.next) != null);
-            }
-            return null;
-        } finally {
-            readLock.unlock();
+        if (firstChild != null) {
+            Node n = firstChild;
+            do {
+                if (n.id == id) {
+                    return n;
+                }
+                Node result = n.find(id);
+                if (result != null) {
+                    return result;
+                }
+            } while ((n = n.next) != null);
         }
+        return null;
     }
 
     // -------------------------------------------------------- Private Methods
@@ -176,60 +169,63 @@ public abstract class Node {
     private Node remove(final int id, final boolean retainChildren) {
         final Node n = find(id);
         if (n != null) {
-            writeLock.lock();
-            try {
-                // remove this node from sibling pointer chains
-                if (n.hasSiblings()) {
-                    final Node left = n.prev;
-                    final Node right = n.next;
-                    if (n.isFirstSibling()) {
-                        right.parent.firstChild = right;
-                        right.prev = null;
-                    } else if (n.isLastSibling()) {
-                        left.next = null;
-                    } else {
-                        // Middle child!
-                        left.next = right;
-                        right.prev = left;
-                    }
-                }
+            unlink(n, retainChildren);
+        }
+        return n;
+    }
 
-                // re-parent the children to this node's parent and
-                // push these children to the front of the child new parent child list
-                if (!retainChildren) {
-                    final Node np = n.parent;
-                    if (n.firstChild != null) {
-                        Node t = n.firstChild;
-                        Node last = null;
-                        do {
-                            t.parent = np;
-                            // quick look ahead to see if this node will be the last
-                            if (t.next == null) {
-                                last = t;
-                            }
-                        } while ((t = t.next) != null);
-
-                        // 'push' the current child to the 'end' of children of the removed node
-                        last.next = np.firstChild;
-                        np.firstChild.prev = last;
-
-                        // Set the new pointer to the new first child.
-                        np.firstChild = n.firstChild;
+    private static void unlink(final Node n, final boolean retainChildren) {
+        // remove this node from sibling pointer chains
+        if (n.hasSiblings()) {
+            final Node left = n.prev;
+            final Node right = n.next;
+            if (n.isFirstSibling()) {
+                right.parent.firstChild = right;
+                right.prev = null;
+            } else if (n.isLastSibling()) {
+                left.next = null;
+            } else {
+                // Middle child!
+                left.next = right;
+                right.prev = left;
+            }
+        } else if (n.parent != null && n.parent.firstChild == n) {
+            // the only child
+            n.parent.firstChild = null;
+        }
+
+        // re-parent the children to this node's parent and
+        // push these children to the front of the child new parent child list
+        if (!retainChildren) {
+            final Node np = n.parent;
+            if (n.firstChild != null) {
+                Node t = n.firstChild;
+                Node last = null;
+                do {
+                    t.parent = np;
+                    // quick look ahead to see if this node will be the last
+                    if (t.next == null) {
+                        last = t;
                     }
-                }
+                } while ((t = t.next) != null);
 
-                // clear pointers and return
-                n.parent = null;
-                n.next = null;
-                n.prev = null;
-                if (!retainChildren) {
-                    n.firstChild = null;
+                // 'push' the current child to the 'end' of children of the removed node
+                last.next = np.firstChild;
+                if (np.firstChild != null) {
+                    np.firstChild.prev = last;
                 }
-                return n;
-            } finally {
-                writeLock.unlock();
+
+                // Set the new pointer to the new first child.
+                np.firstChild = n.firstChild;
             }
         }
-        return null;
+
+        // clear pointers
+        n.parent = null;
+        n.next = null;
+        n.prev = null;
+        if (!retainChildren) {
+            n.firstChild = null;
+        }
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RFC 7540 stream dependency tree of a single {@link Http2Session}.
+ * <p>
+ * The tree is not thread-safe, the owning session confines it to its session lock. Nodes are indexed by stream ID, so
+ * neither prioritizing nor removing a stream has to search the tree.
+ * <p>
+ * The state kept for streams, which are only referenced by PRIORITY frames, is limited: once the tree holds the
+ * configured number of streams, PRIORITY frames for streams, which are not in the tree, are ignored.
+ */
+final class PriorityTree {
+    /**
+     * The weight of a stream, which was opened without any priority information.
+     */
+    static final int DEFAULT_WEIGHT = 16;
+
+    private final StreamNode root = new StreamNode(0, DEFAULT_WEIGHT);
+    private final Map<Integer, StreamNode> nodes = new HashMap<>();
+    private final int maxNodes;
+
+    PriorityTree(final int maxNodes) {
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Adds the newly opened stream to the tree.
+     *
+     * @param streamId the stream ID
+     * @param dependency the ID of the stream, the new stream depends on, <tt>0</tt> if none
+     * @param exclusive <tt>true</tt> if the new stream becomes the sole dependency of its parent
+     * @param weight the stream weight (1 - 256), values less than 1 mean the stream was opened without priority
+     * information: it gets the {@link #DEFAULT_WEIGHT} or keeps the priority set by an earlier PRIORITY frame
+     */
+    void add(final int streamId, final int dependency, final boolean exclusive, final int weight) {
+        update(streamId, dependency, exclusive, weight, true);
+    }
+
+    /**
+     * Applies a PRIORITY frame. The stream doesn't have to be open.
+     *
+     * @see #add(int, int, boolean, int)
+     */
+    void prioritize(final int streamId, final int dependency, final boolean exclusive, final int weight) {
+        update(streamId, dependency, exclusive, weight, false);
+    }
+
+    /**
+     * Removes the stream from the tree, its dependencies are moved to the stream's parent.
+     */
+    void remove(final int streamId) {
+        final StreamNode node = nodes.remove(streamId);
+        if (node != null) {
+            node.remove();
+        }
+    }
+
+    /**
+     * @return the ID of the stream, the stream depends on, <tt>0</tt> if it depends on no other stream or <tt>-1</tt> if
+     * the stream is not in the tree
+     */
+    int getParent(final int streamId) {
+        final StreamNode node = nodes.get(streamId);
+        return node != null ? node.parent.id : -1;
+    }
+
+    /**
+     * @return the stream weight or <tt>-1</tt> if the stream is not in the tree
+     */
+    int getWeight(final int streamId) {
+        final StreamNode node = nodes.get(streamId);
+        return node != null ? node.weight : -1;
+    }
+
+    /**
+     * @return the number of streams in the tree
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    private void update(final int streamId, final int dependency, boolean exclusive, int weight, final boolean isOpen) {
+        if (isOpen && weight < 1 && nodes.containsKey(streamId)) {
+            return;
+        }
+
+        StreamNode parent = dependency == 0 ? root : nodes.get(dependency);
+        if (parent == null) {
+            // RFC 7540, 5.3.1: dependency on a stream, which is not in the tree, results in the default priority
+            parent = root;
+            exclusive = false;
+            weight = DEFAULT_WEIGHT;
+        } else if (weight < 1) {
+            weight = DEFAULT_WEIGHT;
+        }
+
+        StreamNode node = nodes.get(streamId);
+        if (node == null) {
+            if (!isOpen && nodes.size() >= maxNodes) {
+                return;
+            }
+
+            node = new StreamNode(streamId, weight);
+            nodes.put(streamId, node);
+            node.exclusive = exclusive;
+            parent.addChild(node, exclusive);
+            return;
+        }
+
+        node.weight = weight;
+        if (parent == node) {
+            return;
+        }
+
+        if (isDescendant(parent, node)) {
+            // RFC 7540, 5.3.3: the new parent is moved to depend on the former parent of the prioritized stream first
+            final Node formerParent = node.parent;
+            parent.detach();
+            parent.exclusive = false;
+            formerParent.addChild(parent);
+        }
+
+        node.detach();
+        node.exclusive = exclusive;
+        parent.addChild(node, exclusive);
+    }
+
+    private static boolean isDescendant(final Node n, final Node ancestor) {
+        for (Node p = n.parent; p != null; p = p.parent) {
+            if (p == ancestor) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class StreamNode extends Node {
+        private int weight;
+
+        private StreamNode(final int id, final int weight) {
+            super(id);
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+/**
+ * Grows the local receive windows of a {@link Http2Session} based on its bandwidth-delay product (BDP).
+ * <p>
+ * When DATA arrives and no measurement is in progress a PING is sent, and the DATA bytes received until its ACK are
+ * counted. The count approximates the BDP. If it comes close to the current window, the window rather than the network
+ * is limiting the throughput, so the windows are raised to twice the count, as long as the measured bandwidth is the
+ * highest seen so far. The stream windows bound the memory a session buffers, so their growth, multiplied by the
+ * number of concurrent streams, is bounded per session and charged against the budget of the {@link Http2BaseFilter}.
+ * <p>
+ * DATA and PING frames are processed by the connection's reading thread, so the measurement needs no synchronization.
+ *
+ * @see Http2Configuration#setWindowAutoTuning(boolean)
+ */
+final class WindowTuner {
+
+    // opaque data of the PINGs sent to measure the round-trip time
+    static final long PING_DATA = 0x6772697a7a6c7942L;
+
+    private final Http2Session session;
+
+    private long pingSentNanos = -1; // -1, if there is no PING in flight
+    private int sample; // DATA bytes received since the PING was sent
+    private double maxBandwidth; // bytes per nanosecond
+
+    private long reserved; // bytes reserved from the filter's window budget
+
+    WindowTuner(final Http2Session session) {
+        this.session = session;
+    }
+
+    void onDataReceived(final int size) {
+        if (pingSentNanos != -1) {
+            sample += size;
+            return;
+        }
+
+        if (session.getLocalConnectionWindowSize() >= maxWindowSize() && session.getLocalStreamWindowSize() >= maxStreamWindowSize()) {
+            return; // nothing left to tune
+        }
+
+        sample = size;
+        pingSentNanos = System.nanoTime();
+        session.sendPing(PING_DATA);
+    }
+
+    void onPingAck(final long data) {
+        if (data != PING_DATA || pingSentNanos == -1) {
+            return; // not ours
+        }
+
+        final long roundTripNanos = Math.max(System.nanoTime() - pingSentNanos, 1);
+        final int bytes = sample;
+        pingSentNanos = -1;
+        sample = 0;
+        Http2ProbeNotifier.notifyBandwidthDelaySample(session.handlerFilter, session.getConnection(), roundTripNanos, bytes);
+
+        final double bandwidth = (double) bytes / roundTripNanos;
+        if (bandwidth < maxBandwidth) {
+            return;
+        }
+        maxBandwidth = bandwidth;
+
+        final int window = Math.min(session.getLocalConnectionWindowSize(), session.getLocalStreamWindowSize());
+        if (bytes >= window / 3 * 2) {
+            grow((int) Math.min(2L * bytes, maxWindowSize()));
+        }
+    }
+
+    private synchronized void grow(final int target) {
+        if (reserved == -1) {
+            return; // the session is closed
+        }
+
+        boolean changed = false;
+
+        // connection-level flow control is acknowledged as soon as DATA arrives,
+        // so a bigger connection window doesn't make us buffer more
+        final int connectionWindow = session.getLocalConnectionWindowSize();
+        if (target > connectionWindow) {
+            session.setLocalConnectionWindowSize(target);
+            session.sendWindowUpdate(0, target - connectionWindow);
+            changed = true;
+        }
+
+        // each stream may buffer a full window, so the growth is charged
+        // for as many streams as the peer may open at once
+        final int streams = maxStreams();
+        final int streamWindow = session.getLocalStreamWindowSize();
+        final long wanted = Math.min(target, maxStreamWindowSize()) - streamWindow;
+        if (wanted > 0) {
+            final long granted = session.handlerFilter.reserveWindow(wanted * streams);
+            final int growth = (int) (granted / streams);
+            if (granted > (long) growth * streams) {
+                session.handlerFilter.releaseWindow(granted - (long) growth * streams);
+            }
+            if (growth > 0) {
+                reserved += (long) growth * streams;
+                session.setLocalStreamWindowSize(streamWindow + growth);
+                session.sendInitialWindowSize(streamWindow + growth);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            Http2ProbeNotifier.notifyLocalWindowSizeChange(session.handlerFilter, session.getConnection(), session.getLocalConnectionWindowSize(),
+                    session.getLocalStreamWindowSize());
+        }
+    }
+
+    /**
+     * Returns the reserved window budget to the filter, once the session is closed.
+     */
+    synchronized void release() {
+        if (reserved > 0) {
+            session.handlerFilter.releaseWindow(reserved);
+        }
+        reserved = -1;
+    }
+
+    private int maxWindowSize() {
+        return session.handlerFilter.getConfiguration().getMaxSessionWindowSize();
+    }
+
+    /*
+     * The stream windows of all the concurrent streams together must not exceed the session limit.
+     */
+    private int maxStreamWindowSize() {
+        return maxWindowSize() / maxStreams();
+    }
+
+    private int maxStreams() {
+        return Math.max(session.getLocalMaxConcurrentStreams(), 1);
+    }
+}
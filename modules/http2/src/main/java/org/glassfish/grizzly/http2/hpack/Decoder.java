@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2016, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -311,9 +312,10 @@ public final class Decoder {
         try {
             if (firstValueIndex) {
                 HeaderTable.HeaderField f = table.get(intValue);
-                action.onLiteral(intValue, f.name, value, valueHuffmanEncoded);
+                action.onLiteral(intValue, f.name, table.internValue(f.name, value), valueHuffmanEncoded);
             } else {
-                action.onLiteral(name, nameHuffmanEncoded, value, valueHuffmanEncoded);
+                CharSequence n = table.internName(name);
+                action.onLiteral(n, nameHuffmanEncoded, table.internValue(n, value), valueHuffmanEncoded);
             }
         } finally {
             cleanUpAfterReading();
@@ -352,19 +354,17 @@ public final class Decoder {
             // 1. (name, value) will be stored in the table as strings
             // 2. Most likely the callback will also create strings from them
             // ------------------------------------------------------------------------
-            // Let's create those string beforehand (and only once!) to benefit everyone
+            // Let's store the entry beforehand and pass its strings to the
+            // callback. The table reuses the strings of an equal entry, if
+            // any, so a repeated header doesn't allocate at all.
             //
-            String n;
-            String v = value.toString();
             if (firstValueIndex) {
-                HeaderTable.HeaderField f = table.get(intValue);
-                n = f.name;
-                action.onLiteralWithIndexing(intValue, n, v, valueHuffmanEncoded);
+                HeaderTable.HeaderField f = table.put(table.get(intValue).name, value);
+                action.onLiteralWithIndexing(intValue, f.name, f.value, valueHuffmanEncoded);
             } else {
-                n = name.toString();
-                action.onLiteralWithIndexing(n, nameHuffmanEncoded, v, valueHuffmanEncoded);
+                HeaderTable.HeaderField f = table.put(name, value);
+                action.onLiteralWithIndexing(f.name, nameHuffmanEncoded, f.value, valueHuffmanEncoded);
             }
-            table.put(n, v);
         } catch (IllegalArgumentException | IllegalStateException e) {
             throw new RuntimeException(new ProtocolException().initCause(e));
         } finally {
@@ -403,7 +403,7 @@ public final class Decoder {
                 HeaderTable.HeaderField f = table.get(intValue);
                 action.onLiteralNeverIndexed(intValue, f.name, value, valueHuffmanEncoded);
             } else {
-                action.onLiteralNeverIndexed(name, nameHuffmanEncoded, value, valueHuffmanEncoded);
+                action.onLiteralNeverIndexed(table.internName(name), nameHuffmanEncoded, value, valueHuffmanEncoded);
             }
         } finally {
             cleanUpAfterReading();
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2016, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,9 +19,6 @@ package org.glassfish.grizzly.http2.hpack;
 
 import static java.lang.String.format;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 
 //
@@ -52,18 +50,25 @@ final class HeaderTable {
 
     private static final int STATIC_TABLE_LENGTH = staticTable.length - 1;
     private static final int ENTRY_SIZE = 32;
-    private static final Map<String, LinkedHashMap<String, Integer>> staticIndexes;
+
+    //
+    // Open-addressing index over the names of the static table. A slot holds
+    // the index of the first entry with the name; entries with the same name
+    // are adjacent in the static table.
+    //
+    private static final int[] staticNames = new int[128];
 
     static {
-        staticIndexes = new HashMap<>(STATIC_TABLE_LENGTH);
+        final int mask = staticNames.length - 1;
         for (int i = 1; i <= STATIC_TABLE_LENGTH; i++) {
-            HeaderField f = staticTable[i];
-            LinkedHashMap<String, Integer> values = staticIndexes.get(f.name);
-            if (values == null) {
-                values = new LinkedHashMap<>();
-                values.put(f.value, i);
+            String name = staticTable[i].name;
+            int slot = spread(name.hashCode()) & mask;
+            while (staticNames[slot] != 0 && !staticTable[staticNames[slot]].name.equals(name)) {
+                slot = slot + 1 & mask;
+            }
+            if (staticNames[slot] == 0) {
+                staticNames[slot] = i;
             }
-            staticIndexes.put(f.name, values);
         }
     }
 
@@ -91,40 +96,63 @@ final class HeaderTable {
     // into a single invocation, facilitating a single pass where possible
     // (the idea is the same as in java.util.Arrays.binarySearch(int[], int)).
     //
+    // The lookup hashes the given CharSequences in place, it neither creates
+    // Strings nor boxes indexes.
+    //
     public int indexOf(CharSequence name, CharSequence value) {
-        // Invoking toString() will possibly allocate Strings for the sake of
-        // the search, which doesn't feel right.
-        String n = name.toString();
-        String v = value.toString();
+        final int nameHash = hash(name);
 
         // 1. Try exact match in the static region
-        Map<String, Integer> values = staticIndexes.get(n);
-        if (values != null) {
-            Integer idx = values.get(v);
-            if (idx != null) {
-                return idx;
+        final int staticIndex = staticIndexOf(name, nameHash);
+        if (staticIndex != 0) {
+            for (int i = staticIndex; i <= STATIC_TABLE_LENGTH && staticTable[i].name.equals(staticTable[staticIndex].name); i++) {
+                if (staticTable[i].value.contentEquals(value)) {
+                    return i;
+                }
             }
         }
         // 2. Try exact match in the dynamic region
-        int didx = dynamicTable.indexOf(n, v);
+        int didx = dynamicTable.indexOf(name, nameHash, value);
         if (didx > 0) {
             return STATIC_TABLE_LENGTH + didx;
+        } else if (staticIndex != 0) {
+            // 3. Return name match from the static region
+            return -staticIndex;
         } else if (didx < 0) {
-            if (values != null) {
-                // 3. Return name match from the static region
-                return -values.values().iterator().next(); // Iterator allocation
-            } else {
-                // 4. Return name match from the dynamic region
-                return -STATIC_TABLE_LENGTH + didx;
-            }
+            // 4. Return name match from the dynamic region
+            return -STATIC_TABLE_LENGTH + didx;
         } else {
-            if (values != null) {
-                // 3. Return name match from the static region
-                return -values.values().iterator().next(); // Iterator allocation
-            } else {
-                return 0;
-            }
+            return 0;
+        }
+    }
+
+    //
+    // Returns the String held by the table which is equal to the given name,
+    // or the name itself if there's none.
+    //
+    CharSequence internName(CharSequence name) {
+        if (name instanceof String) {
+            return name;
+        }
+        final int nameHash = hash(name);
+        final int staticIndex = staticIndexOf(name, nameHash);
+        if (staticIndex != 0) {
+            return staticTable[staticIndex].name;
+        }
+        final int didx = dynamicTable.indexOf(name, nameHash, null);
+        return didx == 0 ? name : dynamicTable.get(-didx).name;
+    }
+
+    //
+    // Returns the String held by the table which is equal to the given value
+    // of a header with the given name, or the value itself if there's none.
+    //
+    CharSequence internValue(CharSequence name, CharSequence value) {
+        if (value instanceof String) {
+            return value;
         }
+        final int index = indexOf(name, value);
+        return index > 0 ? get(index).value : value;
     }
 
     public int size() {
@@ -149,11 +177,23 @@ final class HeaderTable {
         }
     }
 
-    void put(CharSequence name, CharSequence value) {
-        // Invoking toString() will possibly allocate Strings. But that's
-        // unavoidable at this stage. If a CharSequence is going to be stored in
-        // the table, it must not be mutable (e.g. for the sake of hashing).
-        put(new HeaderField(name.toString(), value.toString()));
+    //
+    // Adds the header to the dynamic table and returns the stored entry. An
+    // entry equal to the header, or one with the same name, is reused so that
+    // repeated headers don't allocate new Strings.
+    //
+    HeaderField put(CharSequence name, CharSequence value) {
+        final int index = indexOf(name, value);
+        final HeaderField h;
+        if (index > 0) {
+            h = get(index);
+        } else if (index < 0) {
+            h = new HeaderField(get(-index).name, value.toString());
+        } else {
+            h = new HeaderField(name.toString(), value.toString());
+        }
+        put(h);
+        return h;
     }
 
     private void put(HeaderField h) {
@@ -323,54 +363,54 @@ final class HeaderTable {
     // That's given, of course, the size of the table itself is less than
     // Long.MAX_VALUE :-)
     //
+    // The inverse mapping itself is kept in two open-addressing (linear
+    // probing) hash tables, one keyed by (name, value) and one by name only,
+    // each slot holding an entry and the counter value it was added with. A
+    // slot always refers to the most recently added matching entry, so when
+    // the oldest entry is evicted its slots are removed only if they still
+    // refer to it.
+    //
     private static final class Table {
 
-        private final Map<String, Map<String, Long>> map;
         private final CircularBuffer<HeaderField> buffer;
+        private final Index pairs = new Index(true);
+        private final Index names = new Index(false);
         private long counter = 1;
 
         Table(int capacity) {
             buffer = new CircularBuffer<>(capacity);
-            map = new HashMap<>(capacity);
         }
 
         void add(HeaderField f) {
             buffer.add(f);
-            Map<String, Long> values = map.get(f.name);
-            if (values == null) {
-                values = new HashMap<>();
-                values.put(f.value, counter++);
-            }
-            map.put(f.name, values);
+            pairs.put(f, counter);
+            names.put(f, counter);
+            counter++;
         }
 
         HeaderField get(int index) {
             return buffer.get(index - 1);
         }
 
-        int indexOf(String name, String value) {
-            Map<String, Long> values = map.get(name);
-            if (values == null) {
-                return 0;
-            }
-            Long index = values.get(value);
-            if (index != null) {
-                return (int) (counter - index);
-            } else {
-                assert !values.isEmpty();
-                Long any = values.values().iterator().next(); // Iterator allocation
-                return -(int) (counter - any);
+        //
+        // A null value looks up a name match only
+        //
+        int indexOf(CharSequence name, int nameHash, CharSequence value) {
+            if (value != null) {
+                long id = pairs.get(name, spread(31 * nameHash + hash(value)), value);
+                if (id != 0) {
+                    return (int) (counter - id);
+                }
             }
+            long id = names.get(name, spread(nameHash), null);
+            return id == 0 ? 0 : -(int) (counter - id);
         }
 
         HeaderField remove() {
+            long id = counter - buffer.size;
             HeaderField f = buffer.remove();
-            Map<String, Long> values = map.get(f.name);
-            Long index = values.remove(f.value);
-            assert index != null;
-            if (values.isEmpty()) {
-                map.remove(f.name);
-            }
+            pairs.remove(f, id);
+            names.remove(f, id);
             return f;
         }
 
@@ -383,6 +423,136 @@ final class HeaderTable {
         }
     }
 
+    private static final class Index {
+
+        private final boolean pairs;
+        // allocated with the first entry
+        private HeaderField[] fields;
+        private long[] ids;
+        private int mask;
+        private int count;
+
+        Index(boolean pairs) {
+            this.pairs = pairs;
+        }
+
+        long get(CharSequence name, int hash, CharSequence value) {
+            if (fields == null) {
+                return 0;
+            }
+            for (int slot = hash & mask;; slot = slot + 1 & mask) {
+                HeaderField f = fields[slot];
+                if (f == null) {
+                    return 0;
+                }
+                if (f.name.contentEquals(name) && (!pairs || f.value.contentEquals(value))) {
+                    return ids[slot];
+                }
+            }
+        }
+
+        void put(HeaderField h, long id) {
+            if (fields == null) {
+                fields = new HeaderField[16];
+                ids = new long[16];
+                mask = 15;
+            }
+            int slot = home(h);
+            for (HeaderField f; (f = fields[slot]) != null; slot = slot + 1 & mask) {
+                if (f.name.equals(h.name) && (!pairs || f.value.equals(h.value))) {
+                    break;
+                }
+            }
+            if (fields[slot] == null) {
+                if ((count + 1) * 2 > fields.length) {
+                    // keep the load factor at or below 0.5
+                    grow();
+                    put(h, id);
+                    return;
+                }
+                count++;
+            }
+            fields[slot] = h;
+            ids[slot] = id;
+        }
+
+        void remove(HeaderField h, long id) {
+            int slot = home(h);
+            while (ids[slot] != id) {
+                if (fields[slot] == null) {
+                    // a more recent entry took over the slot
+                    return;
+                }
+                slot = slot + 1 & mask;
+            }
+            // backward shift deletion: move up the entries of the probe
+            // sequence which would no longer be reachable
+            for (int next = slot + 1 & mask; fields[next] != null; next = next + 1 & mask) {
+                int home = home(fields[next]);
+                if (slot <= next ? slot < home && home <= next : slot < home || home <= next) {
+                    continue;
+                }
+                fields[slot] = fields[next];
+                ids[slot] = ids[next];
+                slot = next;
+            }
+            fields[slot] = null;
+            ids[slot] = 0;
+            count--;
+        }
+
+        private void grow() {
+            HeaderField[] oldFields = fields;
+            long[] oldIds = ids;
+            fields = new HeaderField[oldFields.length * 2];
+            ids = new long[fields.length];
+            mask = fields.length - 1;
+            for (int i = 0; i < oldFields.length; i++) {
+                if (oldFields[i] != null) {
+                    int slot = home(oldFields[i]);
+                    while (fields[slot] != null) {
+                        slot = slot + 1 & mask;
+                    }
+                    fields[slot] = oldFields[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+
+        private int home(HeaderField f) {
+            int h = f.name.hashCode();
+            return spread(pairs ? 31 * h + f.value.hashCode() : h) & mask;
+        }
+    }
+
+    private static int staticIndexOf(CharSequence name, int nameHash) {
+        final int mask = staticNames.length - 1;
+        for (int slot = spread(nameHash) & mask;; slot = slot + 1 & mask) {
+            int index = staticNames[slot];
+            if (index == 0 || staticTable[index].name.contentEquals(name)) {
+                return index;
+            }
+        }
+    }
+
+    //
+    // Same as String.hashCode(), which is cached by Strings
+    //
+    static int hash(CharSequence s) {
+        if (s instanceof String) {
+            return s.hashCode();
+        }
+        int h = 0;
+        for (int i = 0, len = s.length(); i < len; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ h >>> 16;
+    }
+
     // head
     // v
     // [ ][ ][A][B][C][D][ ][ ][ ]
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2016, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,10 @@ package org.glassfish.grizzly.http2.hpack;
 import static java.lang.String.format;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 import org.glassfish.grizzly.Buffer;
 
@@ -32,11 +37,14 @@ public final class Huffman {
 
     // TODO: check if reset is done in both reader and writer
 
+    //
+    // Decodes a byte per step: each internal node of the trie is a state, and
+    // the precomputed transition for a (state, byte) pair holds the next
+    // state and the up to two symbols completed on the way.
+    //
     static final class Reader {
 
-        private Node curr; // position in the trie
-        private int len; // length of the path from the root to 'curr'
-        private int p; // byte probe
+        private int state; // id of the current trie node
 
         {
             reset();
@@ -49,65 +57,72 @@ public final class Huffman {
         // Takes 'isLast' rather than returns whether the reading is done or
         // not, for more informative exceptions.
         void read(Buffer source, Appendable destination, boolean reportEOS, boolean isLast) {
-
-            Node c = curr;
-            int l = len;
+            final int[] transitions = INSTANCE.transitions;
+            int s = state;
             /*
              * Since ByteBuffer is itself stateful, its position is remembered here NOT as a part of Reader's state, but to set it
              * back in the case of a failure
              */
             int pos = source.position();
-
-            while (source.hasRemaining()) {
-                int d = source.get();
-                for (; p != 0; p >>= 1) {
-                    c = c.getChild(p & d);
-                    l++;
-                    if (c.isLeaf()) {
-                        if (reportEOS && c.isEOSPath) {
-                            throw new IllegalArgumentException("Encountered EOS");
+            final int limit = source.limit();
+            try {
+                if (source.hasArray()) {
+                    final byte[] array = source.array();
+                    final int offset = source.arrayOffset();
+                    for (; pos < limit; pos++) {
+                        int t = transitions[s << 8 | array[offset + pos] & 0xff];
+                        if (t >>> SYMBOLS_COUNT_SHIFT != 0) {
+                            emit(t, destination, reportEOS);
                         }
-                        try {
-                            destination.append(c.getChar());
-                        } catch (RuntimeException | Error e) {
-                            source.position(pos);
-                            throw e;
-                        } catch (IOException e) {
-                            source.position(pos);
-                            throw new RuntimeException(e);
+                        state = s = t & STATE_MASK;
+                    }
+                } else {
+                    for (; pos < limit; pos++) {
+                        int t = transitions[s << 8 | source.get(pos) & 0xff];
+                        if (t >>> SYMBOLS_COUNT_SHIFT != 0) {
+                            emit(t, destination, reportEOS);
                         }
-                        c = INSTANCE.root;
-                        l = 0;
+                        state = s = t & STATE_MASK;
                     }
-                    curr = c;
-                    len = l;
                 }
-                resetProbe();
-                pos++;
+            } catch (RuntimeException | Error e) {
+                source.position(pos);
+                throw e;
+            } catch (IOException e) {
+                source.position(pos);
+                throw new RuntimeException(e);
             }
+            source.position(limit);
+
             if (!isLast) {
                 return; // it's too early to jump to any conclusions, let's wait
             }
-            if (c.isLeaf()) {
-                return; // it's perfectly ok, no extra padding bits
-            }
-            if (c.isEOSPath && len <= 7) {
-                return; // it's ok, some extra padding bits
+            final byte flags = INSTANCE.stateFlags[s];
+            if ((flags & PADDING) != 0) {
+                return; // it's ok, no or some extra padding bits
             }
-            if (c.isEOSPath) {
-                throw new IllegalArgumentException("Padding is too long (len=" + len + ") " + "or unexpected end of data");
+            if ((flags & EOS_PATH) != 0) {
+                throw new IllegalArgumentException("Padding is too long (len=" + INSTANCE.stateDepths[s] + ") " + "or unexpected end of data");
             }
             throw new IllegalArgumentException("Not a EOS prefix padding or unexpected end of data");
         }
 
-        public void reset() {
-            curr = INSTANCE.root;
-            len = 0;
-            resetProbe();
+        private static void emit(int transition, Appendable destination, boolean reportEOS) throws IOException {
+            append(transition >>> FIRST_SYMBOL_SHIFT & SYMBOL_MASK, destination, reportEOS);
+            if (transition >>> SYMBOLS_COUNT_SHIFT == 2) {
+                append(transition >>> SECOND_SYMBOL_SHIFT & SYMBOL_MASK, destination, reportEOS);
+            }
         }
 
-        private void resetProbe() {
-            p = 0x80;
+        private static void append(int symbol, Appendable destination, boolean reportEOS) throws IOException {
+            if (reportEOS && symbol == EOS_SYMBOL) {
+                throw new IllegalArgumentException("Encountered EOS");
+            }
+            destination.append((char) symbol);
+        }
+
+        public void reset() {
+            state = 0;
         }
     }
 
@@ -133,6 +148,14 @@ public final class Huffman {
         }
 
         public boolean write(Buffer destination) {
+            if (rem == 0 && avail == 8 && pos < end) {
+                // nothing pending: if the rest fits, code it in one go
+                final int remaining = destination.remaining();
+                if (remaining >= (end - pos) * 4 || remaining >= INSTANCE.lengthOf(source, pos, end)) {
+                    writeAll(destination);
+                    return true;
+                }
+            }
             for (; pos < end; pos++) {
                 if (rem == 0) {
                     Code desc = INSTANCE.codeOf(source.charAt(pos));
@@ -173,6 +196,61 @@ public final class Huffman {
             return true;
         }
 
+        //
+        // Accumulates the codes in a long and writes them out 32 bits at a
+        // time. The caller ensures the destination has enough room.
+        //
+        private void writeAll(Buffer destination) {
+            final int[] codes = INSTANCE.codeValues;
+            final byte[] lengths = INSTANCE.codeLengths;
+            final boolean hasArray = destination.hasArray();
+            final byte[] array = hasArray ? destination.array() : null;
+            int out = hasArray ? destination.arrayOffset() + destination.position() : destination.position();
+
+            long bits = 0;
+            int count = 0; // number of pending bits in 'bits', less than 32 between characters
+            for (; pos < end; pos++) {
+                char c = source.charAt(pos);
+                if (c > 255) {
+                    throw new IllegalArgumentException("char=" + (int) c);
+                }
+                bits = bits << lengths[c] | codes[c];
+                count += lengths[c];
+                if (count >= 32) {
+                    count -= 32;
+                    final int word = (int) (bits >>> count);
+                    if (hasArray) {
+                        array[out] = (byte) (word >>> 24);
+                        array[out + 1] = (byte) (word >>> 16);
+                        array[out + 2] = (byte) (word >>> 8);
+                        array[out + 3] = (byte) word;
+                    } else {
+                        destination.put(out, (byte) (word >>> 24));
+                        destination.put(out + 1, (byte) (word >>> 16));
+                        destination.put(out + 2, (byte) (word >>> 8));
+                        destination.put(out + 3, (byte) word);
+                    }
+                    out += 4;
+                }
+            }
+            if ((count & 7) != 0) {
+                // pad with the most significant bits of EOS, which are all ones
+                final int padding = 8 - (count & 7);
+                bits = bits << padding | (1 << padding) - 1;
+                count += padding;
+            }
+            for (; count > 0; count -= 8) {
+                final byte b = (byte) (bits >>> count - 8);
+                if (hasArray) {
+                    array[out] = b;
+                } else {
+                    destination.put(out, b);
+                }
+                out++;
+            }
+            destination.position(hasArray ? out - destination.arrayOffset() : out);
+        }
+
         public Writer reset() {
             source = null;
             end = -1;
@@ -189,8 +267,27 @@ public final class Huffman {
      */
     public static final Huffman INSTANCE = new Huffman();
 
+    // transition layout: next state (9 bits), first symbol (9 bits),
+    // second symbol (9 bits), number of symbols (2 bits)
+    private static final int STATE_MASK = 0x1ff;
+    private static final int SYMBOL_MASK = 0x1ff;
+    private static final int FIRST_SYMBOL_SHIFT = 9;
+    private static final int SECOND_SYMBOL_SHIFT = 18;
+    private static final int SYMBOLS_COUNT_SHIFT = 27;
+    private static final int EOS_SYMBOL = 256;
+
+    // state flags
+    private static final byte EOS_PATH = 0x1;
+    private static final byte PADDING = 0x2; // a valid end of a string
+
     private final Code EOS = new Code(0x3fffffff, 30);
     private final Code[] codes = new Code[257];
+    private final int[] codeValues = new int[257];
+    private final byte[] codeLengths = new byte[257];
+
+    private int[] transitions;
+    private byte[] stateFlags;
+    private int[] stateDepths;
     private final Node root = new Node() {
         @Override
         public String toString() {
@@ -459,6 +556,53 @@ public final class Huffman {
         addChar(255, 0x3ffffee, 26);
         addEOS(256, EOS.code, EOS.length);
         // @formatter:on
+        buildTransitions();
+    }
+
+    private void buildTransitions() {
+        // number the internal nodes, the root being state 0
+        final List<Node> states = new ArrayList<>();
+        final List<Integer> depths = new ArrayList<>();
+        final Deque<Node> pending = new ArrayDeque<>();
+        root.depth = 0;
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node n = pending.poll();
+            n.id = states.size();
+            states.add(n);
+            depths.add(n.depth);
+            for (Node child : new Node[] { n.left, n.right }) {
+                if (!child.isLeaf()) {
+                    child.depth = n.depth + 1;
+                    pending.add(child);
+                }
+            }
+        }
+
+        transitions = new int[states.size() << 8];
+        stateFlags = new byte[states.size()];
+        stateDepths = new int[states.size()];
+        for (int s = 0; s < states.size(); s++) {
+            Node state = states.get(s);
+            stateDepths[s] = depths.get(s);
+            if (state.isEOSPath) {
+                stateFlags[s] = (byte) (EOS_PATH | (stateDepths[s] <= 7 ? PADDING : 0));
+            }
+            for (int b = 0; b < 256; b++) {
+                Node c = state;
+                int count = 0;
+                int symbols = 0;
+                for (int p = 0x80; p != 0; p >>= 1) {
+                    c = c.getChild(p & b);
+                    if (c.isLeaf()) {
+                        symbols |= c.getChar() << (count == 0 ? FIRST_SYMBOL_SHIFT : SECOND_SYMBOL_SHIFT);
+                        count++;
+                        c = root;
+                    }
+                }
+                transitions[s << 8 | b] = c.id | symbols | count << SYMBOLS_COUNT_SHIFT;
+            }
+        }
     }
 
     /**
@@ -494,7 +638,10 @@ public final class Huffman {
         int len = 0;
         for (int i = start; i < end; i++) {
             char c = value.charAt(i);
-            len += INSTANCE.codeOf(c).length;
+            if (c > 255) {
+                throw new IllegalArgumentException("char=" + (int) c);
+            }
+            len += codeLengths[c];
         }
         // Integer division with ceiling, assumption:
         assert len / 8 + (len % 8 != 0 ? 1 : 0) == (len + 7) / 8 : len;
@@ -504,6 +651,8 @@ public final class Huffman {
     private void addChar(int c, int code, int bitLength) {
         addLeaf(c, code, bitLength, false);
         codes[c] = new Code(code, bitLength);
+        codeValues[c] = code;
+        codeLengths[c] = (byte) bitLength;
     }
 
     private void addEOS(int c, int code, int bitLength) {
@@ -554,6 +703,8 @@ public final class Huffman {
         Node left;
         Node right;
         boolean isEOSPath;
+        int id; // decoding state of an internal node
+        int depth;
 
         boolean charIsSet;
         char c;
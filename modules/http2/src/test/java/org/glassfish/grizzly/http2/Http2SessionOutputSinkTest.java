@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.EmptyCompletionHandler;
+import org.glassfish.grizzly.WriteResult;
+import org.glassfish.grizzly.asyncqueue.MessageCloner;
+import org.glassfish.grizzly.filterchain.DefaultFilterChain;
+import org.glassfish.grizzly.filterchain.Filter;
+import org.glassfish.grizzly.filterchain.FilterChain;
+import org.glassfish.grizzly.http2.frames.DataFrame;
+import org.glassfish.grizzly.http2.frames.HeadersFrame;
+import org.glassfish.grizzly.http2.frames.Http2Frame;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.ByteBufferManager;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Http2SessionOutputSinkTest {
+
+    private Http2Session session;
+    private RecordingOutputSink sink;
+
+    @Before
+    public void setUp() {
+        FilterChain filterChain = new DefaultFilterChain();
+        filterChain.add(mock(Filter.class));
+        Connection<?> connection = mock(Connection.class);
+        MemoryManager memoryManager = new ByteBufferManager();
+        doReturn(filterChain).when(connection).getProcessor();
+        doReturn(memoryManager).when(connection).getMemoryManager();
+        session = new Http2Session(connection, true, new Http2ServerFilter(Http2Configuration.builder().build()));
+        sink = new RecordingOutputSink(session);
+    }
+
+    // ----------------------------------------------------------- Test Methods
+
+    @Test
+    public void testWeightedRoundRobin() throws Exception {
+        session.prioritizeStream(3, 0, false, 64, true);
+        session.prioritizeStream(5, 0, false, 16, true);
+
+        // exhaust the connection window
+        sink.writeDataDownStream(stream(1), null, data(65535), null, null, true);
+        assertEquals(65535, sink.bytes.get(1));
+
+        sink.writeDataDownStream(stream(3), null, data(1000000), null, null, true);
+        sink.writeDataDownStream(stream(5), null, data(1000000), null, null, true);
+        assertEquals(0, sink.bytes.get(3) + sink.bytes.get(5));
+
+        sink.onPeerWindowUpdate(50 * 16383);
+        assertEquals(50 * 16383, sink.bytes.get(3) + sink.bytes.get(5));
+        // weights 64:16 within a frame per stream
+        assertTrue(sink.bytes.get(3) + "/" + sink.bytes.get(5), Math.abs(sink.bytes.get(3) - 4 * sink.bytes.get(5)) <= 5 * 16383);
+        // a single gathered write per window update
+        assertEquals(2, sink.writes.get());
+    }
+
+    @Test
+    public void testFrameCoalescing() throws Exception {
+        sink.writeDataDownStream(stream(1), headers(1), data(4096), null, null, true);
+        assertEquals(1, sink.writes.get());
+        assertEquals(2, sink.frames.get());
+        assertEquals(4096, sink.bytes.get(1));
+        assertEquals(65535 - 4096, sink.getAvailablePeerConnectionWindowSize());
+
+        // too big
+        sink.writeDataDownStream(stream(3), headers(3), data(4097), null, null, true);
+        assertEquals(3, sink.writes.get());
+        assertEquals(4, sink.frames.get());
+
+        // not complete
+        sink.writeDataDownStream(stream(5), headers(5), data(100), null, null, false);
+        assertEquals(5, sink.writes.get());
+        assertEquals(6, sink.frames.get());
+    }
+
+    @Test
+    public void testFrameCoalescingThresholdLimitedByMaxFrameSize() throws Exception {
+        session = new Http2Session(session.getConnection(), true,
+                new Http2ServerFilter(Http2Configuration.builder().frameCoalescingThreshold(65535).build()));
+        sink = new RecordingOutputSink(session);
+
+        sink.writeDataDownStream(stream(1), headers(1), data(20000), null, null, true);
+        assertEquals(20000, sink.bytes.get(1));
+        // the headers, then the payload split into two DATA frames
+        assertEquals(2, sink.writes.get());
+        assertEquals(3, sink.frames.get());
+    }
+
+    @Test
+    public void testFrameCoalescingRacingWriter() throws Exception {
+        final int threads = 4;
+        final int writes = 100;
+        final List<Thread> writers = new ArrayList<>();
+        writers.add(new Thread(() -> sink.writeDataDownStream(stream(1), null, data(1000000), null, null, true)));
+        for (int t = 1; t <= threads; t++) {
+            final int streamId = 2 * t + 1;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < writes; i++) {
+                    sink.writeDataDownStream(stream(streamId), headers(streamId), data(100), null, null, true);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        int sent = 0;
+        for (int i = 0; i < sink.bytes.length(); i++) {
+            sent += sink.bytes.get(i);
+        }
+        // the window is spent exactly once
+        assertEquals(65535, sent);
+        assertEquals(0, sink.getAvailablePeerConnectionWindowSize());
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        final int threads = 8;
+        final int writes = 200;
+        final CountDownLatch completed = new CountDownLatch(threads * writes);
+        sink.onPeerWindowUpdate(threads * writes * 100);
+        final List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final Http2Stream stream = stream(2 * t + 1);
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < writes; i++) {
+                    sink.writeDataDownStream(stream, null, data(100), new EmptyCompletionHandler<WriteResult>() {
+                        @Override
+                        public void completed(WriteResult result) {
+                            completed.countDown();
+                        }
+                    }, null, false);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        for (int t = 0; t < threads; t++) {
+            assertEquals(writes * 100, sink.bytes.get(2 * t + 1));
+        }
+        assertEquals(65535, sink.getAvailablePeerConnectionWindowSize());
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static Http2Stream stream(final int id) {
+        Http2Stream stream = mock(Http2Stream.class);
+        doReturn(id).when(stream).getId();
+        return stream;
+    }
+
+    private static List<Http2Frame> headers(final int streamId) {
+        final List<Http2Frame> frames = new ArrayList<>(2);
+        frames.add(HeadersFrame.builder().streamId(streamId).compressedHeaders(Buffers.EMPTY_BUFFER).build());
+        return frames;
+    }
+
+    private static Buffer data(final int size) {
+        return Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, new byte[size]);
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /*
+     * Accounts the DATA frames instead of writing them.
+     */
+    private static final class RecordingOutputSink extends Http2SessionOutputSink {
+        final AtomicIntegerArray bytes = new AtomicIntegerArray(32);
+        final AtomicInteger writes = new AtomicInteger();
+        final AtomicInteger frames = new AtomicInteger();
+
+        RecordingOutputSink(Http2Session session) {
+            super(session);
+        }
+
+        @Override
+        protected void writeDownStream(List<Http2Frame> frames) {
+            writeDownStream(frames, null, null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <K> void writeDownStream(K anyMessage, CompletionHandler<WriteResult> completionHandler, MessageCloner<Buffer> messageCloner) {
+            writes.incrementAndGet();
+            final List<Http2Frame> list = (List<Http2Frame>) anyMessage;
+            frames.addAndGet(list.size());
+            int size = 0;
+            for (Http2Frame frame : list) {
+                if (frame instanceof DataFrame) {
+                    final DataFrame dataFrame = (DataFrame) frame;
+                    // the writer and the coalescing writers get here concurrently
+                    bytes.addAndGet(dataFrame.getStreamId(), dataFrame.getData().remaining());
+                    size += dataFrame.getData().remaining();
+                }
+            }
+            list.clear();
+            if (completionHandler != null) {
+                completionHandler.completed(WriteResult.create(null, null, null, size));
+            }
+        }
+    }
+}
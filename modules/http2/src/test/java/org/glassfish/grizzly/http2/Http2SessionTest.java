@@ -7,6 +7,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.filterchain.DefaultFilterChain;
 import org.glassfish.grizzly.filterchain.Filter;
@@ -33,10 +37,15 @@ public class Http2SessionTest {
 
     @Before
     public void setUp() {
+        session = newSession(new Http2ServerFilter(configuration));
+    }
+
+    private Http2Session newSession(Http2BaseFilter filter) {
         FilterChain filterChain = newFilterChain();
         Connection<?> connection = newConnectionMock(filterChain);
-        session = new Http2Session(connection, true, new Http2ServerFilter(configuration));
+        Http2Session session = new Http2Session(connection, true, filter);
         session.setupFilterChains(newFilterChainContext(filterChain, connection), false);
+        return session;
     }
 
     private FilterChainContext newFilterChainContext(FilterChain filterChain, Connection<?> connection) {
@@ -84,4 +93,56 @@ public class Http2SessionTest {
         assertThat("Http2Sessions LocalStreamWindowSize supposed to be taken from configuration.", session.getLocalStreamWindowSize(), is(2));
     }
 
+    @Test
+    public void testWindowAutoTuning() {
+        Http2ServerFilter filter = new Http2ServerFilter(Http2Configuration.builder().windowAutoTuning(true).maxConcurrentStreams(1).maxSessionWindowSize(100000).build());
+        List<Integer> windowSizes = new ArrayList<>();
+        filter.getMonitoringConfig().addProbes(new Http2Probe.Adapter() {
+            @Override
+            public void onLocalWindowSizeChangeEvent(Connection connection, int connectionWindowSize, int streamWindowSize) {
+                windowSizes.add(connectionWindowSize);
+                windowSizes.add(streamWindowSize);
+            }
+        });
+        Http2Session session = newSession(filter);
+
+        // a small part of the window arrives within a round trip
+        session.onDataReceived(1000);
+        session.onPingAck(WindowTuner.PING_DATA);
+        assertThat(session.getLocalConnectionWindowSize(), is(65535));
+
+        // the window is the bottleneck
+        session.onDataReceived(30000);
+        session.onDataReceived(30000);
+        session.onPingAck(0); // not ours
+        session.onPingAck(WindowTuner.PING_DATA);
+        assertThat(session.getLocalConnectionWindowSize(), is(100000));
+        assertThat(session.getLocalStreamWindowSize(), is(100000));
+        assertThat(windowSizes, is(Arrays.asList(100000, 100000)));
+
+        // the maximum is reached, no more PINGs are needed
+        session.onDataReceived(100000);
+        session.onPingAck(WindowTuner.PING_DATA);
+        assertThat(windowSizes.size(), is(2));
+    }
+
+    @Test
+    public void testWindowAutoTuningListenerBudget() {
+        Http2ServerFilter filter = new Http2ServerFilter(
+                Http2Configuration.builder().windowAutoTuning(true).maxConcurrentStreams(10).maxListenerWindowSize(10000).build());
+        Http2Session first = newSession(filter);
+        Http2Session second = newSession(filter);
+
+        first.onDataReceived(65535);
+        first.onPingAck(WindowTuner.PING_DATA);
+        second.onDataReceived(65535);
+        second.onPingAck(WindowTuner.PING_DATA);
+
+        // the stream window growth is charged for each of the 10 concurrent streams
+        assertThat(first.getLocalConnectionWindowSize(), is(131070));
+        assertThat(first.getLocalStreamWindowSize(), is(66535));
+        assertThat(second.getLocalConnectionWindowSize(), is(131070));
+        assertThat(second.getLocalStreamWindowSize(), is(65535));
+    }
+
 }
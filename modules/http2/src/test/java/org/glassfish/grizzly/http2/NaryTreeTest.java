@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -535,6 +536,37 @@ public class NaryTreeTest {
         assertNull(n6.firstChild);
     }
 
+    @Test
+    public void removeOnlyChild() {
+        final Node root = new TestNode(0);
+        final Node n1 = new TestNode(1);
+        root.addChild(n1);
+        n1.addChild(new TestNode(2));
+        n1.addChild(new TestNode(3));
+
+        n1.remove();
+        assertNull(n1.parent);
+        assertNull(n1.firstChild);
+        assertEquals(3, root.firstChild.id);
+        assertEquals(2, root.firstChild.next.id);
+        assertNull(root.firstChild.next.next);
+        assertEquals(0, root.firstChild.next.parent.id);
+        assertNull(root.find(1));
+    }
+
+    @Test
+    public void detachOnlyChild() {
+        final Node root = new TestNode(0);
+        final Node n1 = new TestNode(1);
+        root.addChild(n1);
+        n1.addChild(new TestNode(2));
+
+        n1.detach();
+        assertNull(root.firstChild);
+        assertNull(n1.parent);
+        assertEquals(2, n1.firstChild.id);
+    }
+
     // --------------------------------------------------- Test Support Methods
 
     Node createAndValidate() {
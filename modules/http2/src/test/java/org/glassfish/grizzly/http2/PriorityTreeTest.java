@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PriorityTreeTest {
+
+    // ----------------------------------------------------------- Test Methods
+
+    @Test
+    public void addWithDefaults() {
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(1, 0, false, 0);
+        assertEquals(0, tree.getParent(1));
+        assertEquals(PriorityTree.DEFAULT_WEIGHT, tree.getWeight(1));
+        assertEquals(-1, tree.getParent(3));
+    }
+
+    @Test
+    public void unknownDependencyMeansDefaultPriority() {
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(3, 1, true, 200);
+        assertEquals(0, tree.getParent(3));
+        assertEquals(PriorityTree.DEFAULT_WEIGHT, tree.getWeight(3));
+    }
+
+    @Test
+    public void exclusiveAdd() {
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(1, 0, false, 0);
+        tree.add(3, 0, false, 0);
+        tree.add(5, 0, true, 32);
+        assertEquals(0, tree.getParent(5));
+        assertEquals(5, tree.getParent(1));
+        assertEquals(5, tree.getParent(3));
+        assertEquals(32, tree.getWeight(5));
+    }
+
+    @Test
+    public void priorityOfIdleStreamIsKept() {
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(1, 0, false, 0);
+        // PRIORITY frame for a stream, which is not open yet
+        tree.prioritize(3, 1, false, 100);
+        tree.add(3, 0, false, 0);
+        assertEquals(1, tree.getParent(3));
+        assertEquals(100, tree.getWeight(3));
+    }
+
+    @Test
+    public void reprioritizeOnDescendant() {
+        // RFC 7540, section 5.3.3 example: A is made dependent on its descendant D
+        final int a = 1;
+        final int b = 3;
+        final int c = 5;
+        final int d = 7;
+        final int e = 9;
+        final int f = 11;
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(a, 0, false, 0);
+        tree.add(b, a, false, 0);
+        tree.add(c, a, false, 0);
+        tree.add(d, c, false, 0);
+        tree.add(e, c, false, 0);
+        tree.add(f, d, false, 0);
+
+        tree.prioritize(a, d, false, 16);
+        assertEquals(0, tree.getParent(d));
+        assertEquals(d, tree.getParent(a));
+        assertEquals(d, tree.getParent(f));
+        assertEquals(a, tree.getParent(b));
+        assertEquals(a, tree.getParent(c));
+        assertEquals(c, tree.getParent(e));
+    }
+
+    @Test
+    public void removeMovesChildrenToParent() {
+        final PriorityTree tree = new PriorityTree(100);
+        tree.add(1, 0, false, 0);
+        tree.add(3, 1, false, 0);
+        tree.add(5, 3, false, 0);
+        tree.add(7, 3, false, 0);
+
+        tree.remove(3);
+        assertEquals(-1, tree.getParent(3));
+        assertEquals(1, tree.getParent(5));
+        assertEquals(1, tree.getParent(7));
+        assertEquals(3, tree.size());
+    }
+
+    @Test
+    public void idleStreamsAreLimited() {
+        final PriorityTree tree = new PriorityTree(2);
+        tree.prioritize(1, 0, false, 10);
+        tree.prioritize(3, 0, false, 10);
+        tree.prioritize(5, 0, false, 10);
+        assertEquals(2, tree.size());
+        assertEquals(-1, tree.getWeight(5));
+
+        // opened streams are always tracked
+        tree.add(7, 0, false, 0);
+        assertEquals(3, tree.size());
+    }
+}
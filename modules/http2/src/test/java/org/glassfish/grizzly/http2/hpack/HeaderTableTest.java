@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2.hpack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Test;
+
+public class HeaderTableTest {
+
+    // ----------------------------------------------------------- Test Methods
+
+    @Test
+    public void staticTable() {
+        final HeaderTable table = new HeaderTable(0);
+        assertEquals(2, table.indexOf(":method", "GET"));
+        assertEquals(3, table.indexOf(new StringBuilder(":method"), new StringBuilder("POST")));
+        assertEquals(-2, table.indexOf(":method", "PUT"));
+        assertEquals(13, table.indexOf(":status", "404"));
+        assertEquals(-8, table.indexOf(":status", "201"));
+        assertEquals(16, table.indexOf("accept-encoding", "gzip, deflate"));
+        assertEquals(-61, table.indexOf("www-authenticate", "Basic"));
+        assertEquals(0, table.indexOf("x-request-id", "42"));
+    }
+
+    @Test
+    public void dynamicTableMatchesLinearScan() {
+        final Random random = new Random(42);
+        final String[] names = { "content-type", "x-trace-id", "grpc-encoding", "te", ":path", "x-custom" };
+        final HeaderTable table = new HeaderTable(256);
+        for (int i = 0; i < 20000; i++) {
+            final String name = names[random.nextInt(names.length)];
+            final String value = Integer.toString(random.nextInt(12));
+            if (random.nextInt(4) == 0) {
+                table.put(new StringBuilder(name), new StringBuilder(value));
+            } else if (random.nextInt(500) == 0) {
+                table.setMaxSize(random.nextInt(512));
+            } else {
+                assertEquals(table.getStateString(), linearIndexOf(table, name, value), table.indexOf(name, value));
+            }
+        }
+    }
+
+    @Test
+    public void repeatedHeadersAreInterned() {
+        final Decoder decoder = new Decoder(4096);
+        final String[] decoded = new String[4];
+        final DecodingCallback callback = new DecodingCallback() {
+            @Override
+            public void onDecoded(CharSequence name, CharSequence value) {
+                decoded[0] = (String) name;
+                decoded[1] = (String) value;
+            }
+        };
+
+        // literal header field with incremental indexing, new name (RFC 7541, C.2.1)
+        final byte[] block = { 0x40, 0x0a, 'c', 'u', 's', 't', 'o', 'm', '-', 'k', 'e', 'y', 0x0d, 'c', 'u', 's', 't', 'o', 'm', '-', 'h', 'e',
+                'a', 'd', 'e', 'r' };
+        decoder.decode(wrap(block), true, callback);
+        decoded[2] = decoded[0];
+        decoded[3] = decoded[1];
+        decoder.decode(wrap(block), true, callback);
+        assertEquals("custom-key", decoded[0]);
+        assertEquals("custom-header", decoded[1]);
+        assertSame(decoded[2], decoded[0]);
+        assertSame(decoded[3], decoded[1]);
+        assertEquals(2, decoder.getTable().length() - 61);
+
+        // literal without indexing, new name: the name String of the table is handed out
+        final byte[] literal = { 0x00, 0x0a, 'c', 'u', 's', 't', 'o', 'm', '-', 'k', 'e', 'y', 0x01, 'x' };
+        decoder.decode(wrap(literal), true, new DecodingCallback() {
+            @Override
+            public void onDecoded(CharSequence name, CharSequence value) {
+                assertSame(decoded[2], name);
+                assertEquals("x", value.toString());
+            }
+        });
+    }
+
+    private static int linearIndexOf(final HeaderTable table, final String name, final String value) {
+        int nameMatch = 0;
+        for (int i = 1; i <= table.length(); i++) {
+            final HeaderTable.HeaderField f = table.get(i);
+            if (f.name.equals(name)) {
+                if (f.value.equals(value)) {
+                    return i;
+                }
+                if (nameMatch == 0) {
+                    nameMatch = -i;
+                }
+            }
+        }
+        return nameMatch;
+    }
+
+    private static Buffer wrap(final byte[] bytes) {
+        return Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, bytes);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http2.hpack;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.ByteBufferWrapper;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Test;
+
+public class HuffmanTest {
+
+    // RFC 7541, C.4
+    private static final String[][] EXAMPLES = {
+            { "www.example.com", "f1e3c2e5f23a6ba0ab90f4ff" },
+            { "no-cache", "a8eb10649cbf" },
+            { "custom-key", "25a849e95ba97d7f" },
+            { "custom-value", "25a849e95bb8e8b4bf" },
+            { "302", "6402" },
+            { "private", "aec3771a4b" },
+            { "Mon, 21 Oct 2013 20:13:21 GMT", "d07abe941054d444a8200595040b8166e082a62d1bff" },
+            { "https://www.example.com", "9d29ad171863c78f0b97c8e9ae82ae43d3" } };
+
+    // ----------------------------------------------------------- Test Methods
+
+    @Test
+    public void rfcExamples() {
+        for (String[] example : EXAMPLES) {
+            assertEquals(example[1], toHex(encode(example[0], 64)));
+            assertEquals(example[0], decode(fromHex(example[1])));
+            assertEquals(example[1].length() / 2, Huffman.INSTANCE.lengthOf(example[0]));
+        }
+    }
+
+    @Test
+    public void allCharacters() {
+        final StringBuilder sb = new StringBuilder();
+        for (char c = 0; c < 256; c++) {
+            sb.append(c);
+        }
+        final String s = sb.toString();
+        final byte[] encoded = encode(s, Huffman.INSTANCE.lengthOf(s));
+        assertEquals(Huffman.INSTANCE.lengthOf(s), encoded.length);
+        assertEquals(s, decode(encoded));
+    }
+
+    @Test
+    public void randomRoundTrips() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            final char[] chars = new char[random.nextInt(64)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextBoolean() ? 32 + random.nextInt(95) : random.nextInt(256));
+            }
+            final String s = new String(chars);
+            final int length = Huffman.INSTANCE.lengthOf(s);
+            final byte[] encoded = encode(s, length);
+            assertEquals(length, encoded.length);
+            // bit by bit writes into small buffers must give the same result
+            assertEquals(toHex(encoded), toHex(encode(s, 1)));
+            assertEquals(s, decode(encoded));
+            assertEquals(s, decodeByteByByte(encoded));
+            assertEquals(s, decodeDirect(encoded));
+        }
+    }
+
+    @Test
+    public void eosIsRejected() {
+        // EOS (30 ones) followed by two bits of padding
+        assertFails(new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff }, "Encountered EOS");
+    }
+
+    @Test
+    public void paddingIsChecked() {
+        // 'a' (00011) followed by 11 bits of EOS prefix
+        assertFails(new byte[] { 0x1f, (byte) 0xff }, "Padding is too long");
+        // 'a' (00011) followed by 3 bits of zeros
+        assertFails(new byte[] { 0x18 }, "Not a EOS prefix padding");
+    }
+
+    // -------------------------------------------------------- Private Methods
+
+    private static void assertFails(byte[] encoded, String message) {
+        final Buffer source = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, encoded);
+        try {
+            new Huffman.Reader().read(source, new StringBuilder(), true);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(message));
+        }
+    }
+
+    private static byte[] encode(String s, int chunk) {
+        final Huffman.Writer writer = new Huffman.Writer().from(s, 0, s.length());
+        final ByteBuffer out = ByteBuffer.allocate(s.length() * 4);
+        boolean done;
+        do {
+            final Buffer buffer = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, new byte[chunk]);
+            done = writer.write(buffer);
+            buffer.flip();
+            out.put(buffer.toByteBuffer());
+        } while (!done);
+        final byte[] result = new byte[out.position()];
+        out.flip().get(result);
+        return result;
+    }
+
+    private static String decode(byte[] encoded) {
+        final StringBuilder sb = new StringBuilder();
+        final Buffer source = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, encoded);
+        new Huffman.Reader().read(source, sb, true);
+        assertFalse(source.hasRemaining());
+        return sb.toString();
+    }
+
+    private static String decodeByteByByte(byte[] encoded) {
+        final StringBuilder sb = new StringBuilder();
+        final Huffman.Reader reader = new Huffman.Reader();
+        for (int i = 0; i < encoded.length; i++) {
+            reader.read(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, encoded, i, 1), sb, i == encoded.length - 1);
+        }
+        if (encoded.length == 0) {
+            reader.read(Buffers.EMPTY_BUFFER, sb, true);
+        }
+        return sb.toString();
+    }
+
+    private static String decodeDirect(byte[] encoded) {
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        direct.put(encoded).flip();
+        final StringBuilder sb = new StringBuilder();
+        new Huffman.Reader().read(new ByteBufferWrapper(direct), sb, true);
+        return sb.toString();
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] fromHex(String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.memory.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.GmbalMBean;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.grizzly.jmxbase.GrizzlyJmxManager;
+import org.glassfish.grizzly.memory.MemoryProbe;
+
+/**
+ * {@link org.glassfish.grizzly.memory.SlabMemoryManager} JMX object.
+ */
+@ManagedObject
+@Description("Grizzly Slab Memory Manager, which carves direct memory into size-classed slabs kept in per thread group arenas")
+public class SlabMemoryManager extends MemoryManager {
+
+    private final MemoryProbe slabProbe = new JmxSlabProbe();
+
+    private final AtomicLong allocatedSlabsCount = new AtomicLong();
+    private final AtomicLong releasedSlabsCount = new AtomicLong();
+
+    public SlabMemoryManager(org.glassfish.grizzly.memory.SlabMemoryManager memoryManager) {
+        super(memoryManager);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void onRegister(GrizzlyJmxManager mom, GmbalMBean bean) {
+        super.onRegister(mom, bean);
+        memoryManager.getMonitoringConfig().addProbes(slabProbe);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void onDeregister(GrizzlyJmxManager mom) {
+        memoryManager.getMonitoringConfig().removeProbes(slabProbe);
+        super.onDeregister(mom);
+    }
+
+    @ManagedAttribute(id="max-buffer-size")
+    @Description("The max buffer size, which is allocated without composite buffers")
+    public int getMaxBufferSize() {
+        return slabMemoryManager().getMaxBufferSize();
+    }
+
+    @ManagedAttribute(id="arenas-count")
+    @Description("The number of arenas")
+    public int getArenasCount() {
+        return slabMemoryManager().getNumberOfArenas();
+    }
+
+    @ManagedAttribute(id="reserved-bytes")
+    @Description("The number of bytes of direct memory held by the arenas")
+    public long getReservedBytes() {
+        return slabMemoryManager().getReservedBytes();
+    }
+
+    @ManagedAttribute(id="allocated-bytes")
+    @Description("The number of bytes of the buffers, which are currently in use")
+    public long getAllocatedBytes() {
+        return slabMemoryManager().getAllocatedBytes();
+    }
+
+    @ManagedAttribute(id="requested-bytes")
+    @Description("The number of bytes, which were requested for the buffers currently in use")
+    public long getRequestedBytes() {
+        return slabMemoryManager().getRequestedBytes();
+    }
+
+    @ManagedAttribute(id="fragmentation")
+    @Description("The share of the reserved memory, which doesn't hold requested bytes (0 - 1)")
+    public double getFragmentation() {
+        return slabMemoryManager().getFragmentation();
+    }
+
+    @ManagedAttribute(id="max-arena-reserved-bytes")
+    @Description("The number of bytes of direct memory held by the biggest arena")
+    public long getMaxArenaReservedBytes() {
+        final org.glassfish.grizzly.memory.SlabMemoryManager mm = slabMemoryManager();
+        long max = 0;
+        for (int i = 0; i < mm.getNumberOfArenas(); i++) {
+            max = Math.max(max, mm.getArenaReservedBytes(i));
+        }
+        return max;
+    }
+
+    @ManagedAttribute(id="allocated-slabs-count")
+    @Description("The number of slabs allocated by the arenas")
+    public long getAllocatedSlabsCount() {
+        return allocatedSlabsCount.get();
+    }
+
+    @ManagedAttribute(id="released-slabs-count")
+    @Description("The number of slabs released by the arenas")
+    public long getReleasedSlabsCount() {
+        return releasedSlabsCount.get();
+    }
+
+    private org.glassfish.grizzly.memory.SlabMemoryManager slabMemoryManager() {
+        return (org.glassfish.grizzly.memory.SlabMemoryManager) memoryManager;
+    }
+
+    private class JmxSlabProbe extends MemoryProbe.Adapter {
+
+        @Override
+        public void onSlabAllocateEvent(int arena, int size) {
+            allocatedSlabsCount.incrementAndGet();
+        }
+
+        @Override
+        public void onSlabReleaseEvent(int arena, int size) {
+            releasedSlabsCount.incrementAndGet();
+        }
+
+    }
+}
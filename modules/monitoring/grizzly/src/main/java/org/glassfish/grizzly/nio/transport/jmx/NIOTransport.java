@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2017 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -54,6 +55,8 @@ public class NIOTransport extends JmxObject {
 
     private final AtomicLong bytesRead = new AtomicLong();
     private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong coalescedRecords = new AtomicLong();
     
     private volatile EventDate stateEvent;
     private volatile EventDate lastErrorEvent;
@@ -190,6 +193,16 @@ public class NIOTransport extends JmxObject {
         return bytesWritten.get();
     }
 
+    @ManagedAttribute(id="coalesced-writes-count")
+    public long getCoalescedWritesCount() {
+        return coalescedWrites.get();
+    }
+
+    @ManagedAttribute(id="coalesced-records-count")
+    public long getCoalescedRecordsCount() {
+        return coalescedRecords.get();
+    }
+
     @ManagedAttribute(id="bound-addresses")
     public String getBoundAddresses() {
         return boundAddresses.toString();
@@ -389,5 +402,11 @@ public class NIOTransport extends JmxObject {
         @Override
         public void onIOEventDisableEvent(Connection connection, IOEvent ioEvent) {
         }
+
+        @Override
+        public void onWriteCoalescedEvent(Connection connection, int records, long size) {
+            coalescedWrites.incrementAndGet();
+            coalescedRecords.addAndGet(records);
+        }
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2017 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -58,6 +59,21 @@ public class FileCache extends JmxObject {
      */
     private final AtomicLong cacheMissCount = new AtomicLong();
 
+    /**
+     * The number of evicted entries.
+     */
+    private final AtomicLong evictedEntryCount = new AtomicLong();
+
+    /**
+     * The number of heap and mapped memory bytes released by evictions.
+     */
+    private final AtomicLong evictedBytes = new AtomicLong();
+
+    /**
+     * The number of resources rejected by the eviction policy.
+     */
+    private final AtomicLong rejectedEntryCount = new AtomicLong();
+
     /**
      * The number of cache errors.
      */
@@ -222,6 +238,53 @@ public class FileCache extends JmxObject {
         return cacheMissCount.get();
     }
 
+    /**
+     * @return the ratio of the cache hits to the cache lookups.
+     */
+    @ManagedAttribute(id="cache-hit-ratio")
+    @Description("The ratio of the cache hits to all the cache lookups, 0 if there were no lookups.")
+    public double getCacheHitRatio() {
+        final long hits = cacheHitCount.get();
+        final long lookups = hits + cacheMissCount.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @see org.glassfish.grizzly.http.server.filecache.FileCache#isEvictionEnabled()
+     */
+    @ManagedAttribute(id="eviction-enabled")
+    @Description("Indicates whether or not the less frequently requested entries are evicted to make room for the new ones.")
+    public boolean isEvictionEnabled() {
+        return fileCache.isEvictionEnabled();
+    }
+
+    /**
+     * @return the total number of evicted entries.
+     */
+    @ManagedAttribute(id="evicted-entries-count")
+    @Description("The total number of entries evicted to make room for more frequently requested resources.")
+    public long getEvictedEntryCount() {
+        return evictedEntryCount.get();
+    }
+
+    /**
+     * @return the total number of heap and mapped memory bytes released by evictions.
+     */
+    @ManagedAttribute(id="evicted-bytes")
+    @Description("The total number of heap and mapped memory bytes released by evictions.")
+    public long getEvictedBytes() {
+        return evictedBytes.get();
+    }
+
+    /**
+     * @return the total number of resources rejected by the eviction policy.
+     */
+    @ManagedAttribute(id="rejected-entries-count")
+    @Description("The total number of resources not cached, or not kept in memory, because the entries to evict were requested more frequently.")
+    public long getRejectedEntryCount() {
+        return rejectedEntryCount.get();
+    }
+
     /**
      * @return the total number of cache errors.
      */
@@ -274,6 +337,17 @@ public class FileCache extends JmxObject {
             }
         }
 
+        @Override
+        public void onEntryEvictedEvent(org.glassfish.grizzly.http.server.filecache.FileCache fileCache, FileCacheEntry entry) {
+            evictedEntryCount.incrementAndGet();
+            evictedBytes.addAndGet(entry.getMemorySize());
+        }
+
+        @Override
+        public void onEntryRejectedEvent(org.glassfish.grizzly.http.server.filecache.FileCache fileCache, String host, String requestURI) {
+            rejectedEntryCount.incrementAndGet();
+        }
+
         @Override
         public void onEntryHitEvent(org.glassfish.grizzly.http.server.filecache.FileCache fileCache, FileCacheEntry entry) {
             cacheHitCount.incrementAndGet();
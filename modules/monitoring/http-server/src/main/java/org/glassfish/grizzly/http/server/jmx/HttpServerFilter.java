@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2017 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package org.glassfish.grizzly.http.server.jmx;
 
 import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.http.server.DefaultSessionManager;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
 import org.glassfish.grizzly.http.server.HttpServerProbe;
@@ -49,6 +51,8 @@ public class HttpServerFilter extends JmxObject {
 
     private final HttpServerProbe probe = new JmxWebServerProbe();
 
+    private Object sessionManagerJmx;
+
     // ------------------------------------------------------------ Constructors
 
 
@@ -68,11 +72,26 @@ public class HttpServerFilter extends JmxObject {
     @Override
     protected void onRegister(GrizzlyJmxManager mom, GmbalMBean bean) {
         httpServerFilter.getMonitoringConfig().addProbes(probe);
+
+        org.glassfish.grizzly.http.server.SessionManager sessionManager = httpServerFilter.getConfiguration().getSessionManager();
+        if (sessionManager == null) {
+            // the singleton starts expiring sessions once it creates one, looking it up has no side effects
+            sessionManager = DefaultSessionManager.instance();
+        }
+        if (sessionManager instanceof DefaultSessionManager) {
+            sessionManagerJmx = ((DefaultSessionManager) sessionManager).createManagementObject();
+            mom.register(this, sessionManagerJmx);
+        }
     }
 
     @Override
     protected void onDeregister(GrizzlyJmxManager mom) {
         httpServerFilter.getMonitoringConfig().removeProbes(probe);
+
+        if (sessionManagerJmx != null) {
+            mom.deregister(sessionManagerJmx);
+            sessionManagerJmx = null;
+        }
     }
 
 
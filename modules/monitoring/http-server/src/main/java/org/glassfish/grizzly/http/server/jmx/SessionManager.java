@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.http.server.jmx;
+
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.GmbalMBean;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+import org.glassfish.grizzly.http.server.DefaultSessionManager;
+import org.glassfish.grizzly.jmxbase.GrizzlyJmxManager;
+import org.glassfish.grizzly.monitoring.jmx.JmxObject;
+
+/**
+ * JMX management object for the {@link DefaultSessionManager}.
+ */
+@ManagedObject
+@Description("The session manager keeping track of the HTTP sessions.")
+public class SessionManager extends JmxObject {
+
+    private final DefaultSessionManager sessionManager;
+
+    // ------------------------------------------------------------ Constructors
+
+
+    public SessionManager(DefaultSessionManager sessionManager) {
+        this.sessionManager = sessionManager;
+    }
+
+
+    // -------------------------------------------------- Methods from JmxObject
+
+
+    @Override
+    public String getJmxName() {
+        return "SessionManager";
+    }
+
+    @Override
+    protected void onRegister(GrizzlyJmxManager mom, GmbalMBean bean) {
+    }
+
+    @Override
+    protected void onDeregister(GrizzlyJmxManager mom) {
+    }
+
+
+    // -------------------------------------------------------------- Attributes
+
+
+    /**
+     * @see DefaultSessionManager#getActiveSessionCount()
+     */
+    @ManagedAttribute(id="active-sessions-count")
+    @Description("The current number of sessions.")
+    public int getActiveSessionCount() {
+        return sessionManager.getActiveSessionCount();
+    }
+
+    /**
+     * @see DefaultSessionManager#getCreatedSessionCount()
+     */
+    @ManagedAttribute(id="created-sessions-count")
+    @Description("The total number of sessions created.")
+    public long getCreatedSessionCount() {
+        return sessionManager.getCreatedSessionCount();
+    }
+
+    /**
+     * @see DefaultSessionManager#getExpiredSessionCount()
+     */
+    @ManagedAttribute(id="expired-sessions-count")
+    @Description("The total number of sessions removed, because they expired.")
+    public long getExpiredSessionCount() {
+        return sessionManager.getExpiredSessionCount();
+    }
+
+    /**
+     * @see DefaultSessionManager#getInvalidatedSessionCount()
+     */
+    @ManagedAttribute(id="invalidated-sessions-count")
+    @Description("The total number of sessions removed, because they had been invalidated by the application.")
+    public long getInvalidatedSessionCount() {
+        return sessionManager.getInvalidatedSessionCount();
+    }
+
+    /**
+     * @see DefaultSessionManager#getEvictedSessionCount()
+     */
+    @ManagedAttribute(id="evicted-sessions-count")
+    @Description("The total number of least recently used sessions evicted to keep the number of sessions within the bound.")
+    public long getEvictedSessionCount() {
+        return sessionManager.getEvictedSessionCount();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -95,6 +96,11 @@ public abstract class BaseWebSocketFilter extends BaseFilter {
                 // close it gracefully
                 ws.close();
             }
+
+            final WebSocketHolder holder = WebSocketHolder.get(connection);
+            if (holder != null && holder.handler != null) {
+                holder.handler.release();
+            }
         }
         return ctx.getInvokeAction();
     }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -34,6 +35,8 @@ public class DataFrame {
 
     private String payload;
     private byte[] bytes;
+    // true if bytes hold the (validated) UTF-8 encoded text, which is decoded on demand
+    private boolean utf8Bytes;
     private final FrameType type;
     private boolean last = true;
 
@@ -66,26 +69,45 @@ public class DataFrame {
     }
 
     public String getTextPayload() {
+        if (payload == null && utf8Bytes) {
+            payload = new String(bytes, Charsets.UTF8_CHARSET);
+        }
         return payload;
     }
 
     public final void setPayload(String payload) {
         this.payload = payload;
+        utf8Bytes = false;
     }
 
     public void setPayload(byte[] bytes) {
         this.bytes = bytes;
+        utf8Bytes = false;
+    }
+
+    /**
+     * Sets the text of this frame as UTF-8 encoded bytes, which must have been validated already. The {@link String}
+     * returned by {@link #getTextPayload()} is only created if that method is called.
+     *
+     * @param utf8 the UTF-8 encoded text.
+     */
+    public void setTextPayload(byte[] utf8) {
+        bytes = utf8;
+        payload = null;
+        utf8Bytes = true;
     }
 
     public byte[] getBytes() {
-        if (payload != null) {
+        if (payload != null && !utf8Bytes) {
             bytes = Utf8Utils.encode(Charsets.UTF8_CHARSET, payload);
         }
         return bytes;
     }
 
     public void toStream(final OutputStream os) throws IOException {
-        if (payload != null) {
+        if (utf8Bytes) {
+            os.write(bytes);
+        } else if (payload != null) {
             Utf8Utils.encode(Charsets.UTF8_CHARSET, payload, os);
         }
     }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,13 +17,30 @@
 
 package org.glassfish.grizzly.websockets;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.security.SecureRandom;
 
 import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.ByteBufferArray;
 
+/**
+ * Masks and unmasks websocket frame payloads. The payload is processed 8 bytes at a time: the 4-byte mask is repeated
+ * into a <tt>long</tt>, which is xor-ed with the payload read as <tt>long</tt>s in the native byte order.
+ */
 public class Masker {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
+    private static final VarHandle ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, NATIVE_ORDER);
+    private static final VarHandle BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, NATIVE_ORDER);
+
     private Buffer buffer;
     private byte[] mask;
+    // the index of the mask byte to be applied next, always less than MASK_SIZE
     private int index = 0;
 
     public Masker(Buffer buffer) {
@@ -45,15 +63,19 @@ public class Masker {
 
     public byte unmask() {
         final byte b = get();
-        return mask == null ? b : (byte) (b ^ mask[index++ % Constants.MASK_SIZE]);
+        if (mask == null) {
+            return b;
+        }
+
+        final byte result = (byte) (b ^ mask[index]);
+        index = index + 1 & Constants.MASK_SIZE - 1;
+        return result;
     }
 
     public byte[] unmask(int count) {
         byte[] bytes = get(count);
         if (mask != null) {
-            for (int i = 0; i < bytes.length; i++) {
-                bytes[i] ^= mask[index++ % Constants.MASK_SIZE];
-            }
+            index = mask(mask, index, bytes, 0, bytes, 0, bytes.length);
         }
 
         return bytes;
@@ -61,18 +83,74 @@ public class Masker {
 
     public void generateMask() {
         mask = new byte[Constants.MASK_SIZE];
-        new SecureRandom().nextBytes(mask);
+        RANDOM.nextBytes(mask);
+        index = 0;
     }
 
     public void mask(byte[] bytes, int location, byte b) {
-        bytes[location] = mask == null ? b : (byte) (b ^ mask[index++ % Constants.MASK_SIZE]);
+        if (mask == null) {
+            bytes[location] = b;
+        } else {
+            bytes[location] = (byte) (b ^ mask[index]);
+            index = index + 1 & Constants.MASK_SIZE - 1;
+        }
     }
 
     public void mask(byte[] target, int location, byte[] bytes) {
         if (bytes != null && target != null) {
-            for (int i = 0; i < bytes.length; i++) {
-                target[location + i] = mask == null ? bytes[i] : (byte) (bytes[i] ^ mask[index++ % Constants.MASK_SIZE]);
+            if (mask == null) {
+                System.arraycopy(bytes, 0, target, location, bytes.length);
+            } else {
+                index = mask(mask, index, bytes, 0, target, location, bytes.length);
+            }
+        }
+    }
+
+    /**
+     * Masks the <tt>length</tt> bytes of the {@link Buffer} starting at <tt>position</tt> in place, the {@link Buffer}
+     * position and limit are not changed. Unmasking is the same operation, so the method unmasks a received payload as
+     * well.
+     *
+     * @param target the {@link Buffer} to be (un)masked
+     * @param position the position of the first byte to be (un)masked
+     * @param length the number of bytes to be (un)masked
+     */
+    public void mask(final Buffer target, final int position, final int length) {
+        if (mask == null || length == 0) {
+            return;
+        }
+        if (target.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+
+        if (target.hasArray()) {
+            final byte[] array = target.array();
+            final int offset = target.arrayOffset() + position;
+            index = mask(mask, index, array, offset, array, offset, length);
+            return;
+        }
+
+        if (!target.isComposite()) {
+            final ByteBuffer byteBuffer = target.toByteBuffer(position, position + length);
+            index = mask(mask, index, byteBuffer, byteBuffer.position(), length);
+            return;
+        }
+
+        final ByteBufferArray array = target.toByteBufferArray(position, position + length);
+        try {
+            final ByteBuffer[] byteBuffers = array.getArray();
+            for (int i = 0; i < array.size(); i++) {
+                final ByteBuffer byteBuffer = byteBuffers[i];
+                if (byteBuffer.hasArray()) {
+                    final int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+                    index = mask(mask, index, byteBuffer.array(), offset, byteBuffer.array(), offset, byteBuffer.remaining());
+                } else {
+                    index = mask(mask, index, byteBuffer, byteBuffer.position(), byteBuffer.remaining());
+                }
             }
+        } finally {
+            array.restore();
+            array.recycle();
         }
     }
 
@@ -93,5 +171,60 @@ public class Masker {
 
     public void readMask() {
         mask = get(Constants.MASK_SIZE);
+        index = 0;
+    }
+
+    /**
+     * Xors <tt>length</tt> bytes of <tt>src</tt> with the mask starting at the mask byte <tt>maskIndex</tt>.
+     *
+     * @return the index of the mask byte to be applied next
+     */
+    static int mask(final byte[] mask, int maskIndex, final byte[] src, final int srcOffset, final byte[] dst, final int dstOffset,
+            final int length) {
+        int i = 0;
+        if (length >= 8) {
+            // 8 is a multiple of the mask size, so the mask index doesn't move
+            final long longMask = toLongMask(mask, maskIndex);
+            for (final int end = length - 7; i < end; i += 8) {
+                ARRAY_LONGS.set(dst, dstOffset + i, (long) ARRAY_LONGS.get(src, srcOffset + i) ^ longMask);
+            }
+        }
+
+        for (; i < length; i++) {
+            dst[dstOffset + i] = (byte) (src[srcOffset + i] ^ mask[maskIndex]);
+            maskIndex = maskIndex + 1 & Constants.MASK_SIZE - 1;
+        }
+
+        return maskIndex;
+    }
+
+    private static int mask(final byte[] mask, int maskIndex, final ByteBuffer byteBuffer, final int position, final int length) {
+        int i = 0;
+        if (length >= 8) {
+            final long longMask = toLongMask(mask, maskIndex);
+            for (final int end = length - 7; i < end; i += 8) {
+                BUFFER_LONGS.set(byteBuffer, position + i, (long) BUFFER_LONGS.get(byteBuffer, position + i) ^ longMask);
+            }
+        }
+
+        for (; i < length; i++) {
+            byteBuffer.put(position + i, (byte) (byteBuffer.get(position + i) ^ mask[maskIndex]));
+            maskIndex = maskIndex + 1 & Constants.MASK_SIZE - 1;
+        }
+
+        return maskIndex;
+    }
+
+    /**
+     * @return the mask repeated twice, starting at the mask byte <tt>maskIndex</tt>, laid out in the native byte order
+     */
+    private static long toLongMask(final byte[] mask, final int maskIndex) {
+        long longMask = 0;
+        for (int i = 0; i < 8; i++) {
+            final long b = mask[maskIndex + i & Constants.MASK_SIZE - 1] & 0xFF;
+            longMask |= NATIVE_ORDER == ByteOrder.LITTLE_ENDIAN ? b << 8 * i : b << 8 * (7 - i);
+        }
+
+        return longMask;
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,20 +31,35 @@ public class OptimizedBroadcaster implements Broadcaster {
     @Override
     public void broadcast(final Iterable<? extends WebSocket> recipients, final String text) {
 
+        // the frames are shared by the recipients with the same compression mode
         byte[] rawDataToSend = null;
+        byte[] compressedRawDataToSend = null;
 
         for (WebSocket websocket : recipients) {
             final DefaultWebSocket defaultWebSocket = (DefaultWebSocket) websocket;
 
             if (websocket.isConnected()) {
-                if (rawDataToSend == null) {
-                    rawDataToSend = defaultWebSocket.toRawData(text);
+                final PerMessageDeflate deflate = defaultWebSocket.protocolHandler.getPerMessageDeflate();
+                final byte[] rawData;
+                if (deflate == null) {
+                    if (rawDataToSend == null) {
+                        rawDataToSend = defaultWebSocket.toRawData(text);
+                    }
+                    rawData = rawDataToSend;
+                } else if (deflate.isLocalNoContextTakeover()) {
+                    if (compressedRawDataToSend == null) {
+                        compressedRawDataToSend = defaultWebSocket.toRawData(text);
+                    }
+                    rawData = compressedRawDataToSend;
+                } else {
+                    // the compressed frame depends on the messages sent to the recipient before
+                    synchronized (defaultWebSocket.protocolHandler.writeLock) {
+                        sendRaw(defaultWebSocket, defaultWebSocket.toRawData(text));
+                    }
+                    continue;
                 }
 
-                try {
-                    defaultWebSocket.sendRaw(rawDataToSend);
-                } catch (WebSocketException ignored) {
-                }
+                sendRaw(defaultWebSocket, rawData);
             }
         }
     }
@@ -54,20 +70,35 @@ public class OptimizedBroadcaster implements Broadcaster {
     @Override
     public void broadcast(final Iterable<? extends WebSocket> recipients, final byte[] binary) {
 
+        // the frames are shared by the recipients with the same compression mode
         byte[] rawDataToSend = null;
+        byte[] compressedRawDataToSend = null;
 
         for (WebSocket websocket : recipients) {
             final DefaultWebSocket defaultWebSocket = (DefaultWebSocket) websocket;
 
             if (websocket.isConnected()) {
-                if (rawDataToSend == null) {
-                    rawDataToSend = defaultWebSocket.toRawData(binary);
+                final PerMessageDeflate deflate = defaultWebSocket.protocolHandler.getPerMessageDeflate();
+                final byte[] rawData;
+                if (deflate == null) {
+                    if (rawDataToSend == null) {
+                        rawDataToSend = defaultWebSocket.toRawData(binary);
+                    }
+                    rawData = rawDataToSend;
+                } else if (deflate.isLocalNoContextTakeover()) {
+                    if (compressedRawDataToSend == null) {
+                        compressedRawDataToSend = defaultWebSocket.toRawData(binary);
+                    }
+                    rawData = compressedRawDataToSend;
+                } else {
+                    // the compressed frame depends on the messages sent to the recipient before
+                    synchronized (defaultWebSocket.protocolHandler.writeLock) {
+                        sendRaw(defaultWebSocket, defaultWebSocket.toRawData(binary));
+                    }
+                    continue;
                 }
 
-                try {
-                    defaultWebSocket.sendRaw(rawDataToSend);
-                } catch (WebSocketException ignored) {
-                }
+                sendRaw(defaultWebSocket, rawData);
             }
         }
     }
@@ -80,14 +111,21 @@ public class OptimizedBroadcaster implements Broadcaster {
             final DefaultWebSocket defaultWebSocket = (DefaultWebSocket) websocket;
 
             if (websocket.isConnected()) {
-                if (rawDataToSend == null) {
-                    rawDataToSend = defaultWebSocket.toRawData(text, last);
+                final byte[] rawData;
+                if (defaultWebSocket.protocolHandler.getPerMessageDeflate() == null) {
+                    if (rawDataToSend == null) {
+                        rawDataToSend = defaultWebSocket.toRawData(text, last);
+                    }
+                    rawData = rawDataToSend;
+                } else {
+                    // the compression of a fragmented message is kept by the recipient handler
+                    synchronized (defaultWebSocket.protocolHandler.writeLock) {
+                        sendRaw(defaultWebSocket, defaultWebSocket.toRawData(text, last));
+                    }
+                    continue;
                 }
 
-                try {
-                    defaultWebSocket.sendRaw(rawDataToSend);
-                } catch (WebSocketException ignored) {
-                }
+                sendRaw(defaultWebSocket, rawData);
             }
         }
     }
@@ -100,15 +138,29 @@ public class OptimizedBroadcaster implements Broadcaster {
             final DefaultWebSocket defaultWebSocket = (DefaultWebSocket) websocket;
 
             if (websocket.isConnected()) {
-                if (rawDataToSend == null) {
-                    rawDataToSend = defaultWebSocket.toRawData(binary, last);
+                final byte[] rawData;
+                if (defaultWebSocket.protocolHandler.getPerMessageDeflate() == null) {
+                    if (rawDataToSend == null) {
+                        rawDataToSend = defaultWebSocket.toRawData(binary, last);
+                    }
+                    rawData = rawDataToSend;
+                } else {
+                    // the compression of a fragmented message is kept by the recipient handler
+                    synchronized (defaultWebSocket.protocolHandler.writeLock) {
+                        sendRaw(defaultWebSocket, defaultWebSocket.toRawData(binary, last));
+                    }
+                    continue;
                 }
 
-                try {
-                    defaultWebSocket.sendRaw(rawDataToSend);
-                } catch (WebSocketException ignored) {
-                }
+                sendRaw(defaultWebSocket, rawData);
             }
         }
     }
+
+    private static void sendRaw(final DefaultWebSocket defaultWebSocket, final byte[] rawData) {
+        try {
+            defaultWebSocket.sendRaw(rawData);
+        } catch (WebSocketException ignored) {
+        }
+    }
 }
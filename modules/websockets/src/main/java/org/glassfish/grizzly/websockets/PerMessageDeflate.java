@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The RFC 7692 <tt>permessage-deflate</tt> extension state of a single websocket connection.
+ * <p>
+ * A server {@link WebSocketApplication} enables the extension by adding <tt>new Extension(PerMessageDeflate.NAME)</tt>
+ * to its {@link WebSocketApplication#getSupportedExtensions() supported extensions}. The parameters of the supported
+ * extension are taken as the server requirements: {@value #SERVER_NO_CONTEXT_TAKEOVER} and
+ * {@value #CLIENT_NO_CONTEXT_TAKEOVER} are added to every accepted offer. The server without context takeover produces
+ * frames, which don't depend on the connection state, so the {@link OptimizedBroadcaster} compresses a broadcast message
+ * once for all such recipients.
+ * <p>
+ * {@link Deflater}s and {@link Inflater}s are pooled. A connection keeps its own instance only for a direction with
+ * context takeover, otherwise the instance is taken from the pool for a single message.
+ * <p>
+ * <tt>java.util.zip</tt> always compresses with the 32K window, so the offers asking the server to use a smaller window
+ * are declined and a server response limiting the client window fails the client handshake. Incoming messages are
+ * decompressed with any window size.
+ * <p>
+ * An incoming message inflating beyond the {@link #getMaxInflatedSize() max inflated size} closes the connection with
+ * the <tt>1009</tt> (message too big) status code.
+ */
+public final class PerMessageDeflate {
+    public static final String NAME = "permessage-deflate";
+    public static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+    public static final String CLIENT_NO_CONTEXT_TAKEOVER = "client_no_context_takeover";
+    public static final String SERVER_MAX_WINDOW_BITS = "server_max_window_bits";
+    public static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+
+    private static final int MIN_WINDOW_BITS = 8;
+    private static final int MAX_WINDOW_BITS = 15;
+
+    private static final int DEFAULT_COMPRESSION_LEVEL = Integer.getInteger(PerMessageDeflate.class.getName() + ".compression-level",
+            Deflater.DEFAULT_COMPRESSION);
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = Integer.getInteger(PerMessageDeflate.class.getName() + ".compression-threshold", 32);
+    private static final int DEFAULT_MAX_INFLATED_SIZE = Integer.getInteger(PerMessageDeflate.class.getName() + ".max-inflated-size",
+            16 * 1024 * 1024);
+    private static final int POOL_SIZE = Integer.getInteger(PerMessageDeflate.class.getName() + ".pool-size",
+            Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final byte[] TAIL = { 0x00, 0x00, (byte) 0xFF, (byte) 0xFF };
+
+    private static final Pool<Deflater> DEFLATERS = new Pool<Deflater>() {
+        @Override
+        Deflater create() {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+
+        @Override
+        void reset(final Deflater deflater) {
+            deflater.reset();
+        }
+
+        @Override
+        void destroy(final Deflater deflater) {
+            deflater.end();
+        }
+    };
+
+    private static final Pool<Inflater> INFLATERS = new Pool<Inflater>() {
+        @Override
+        Inflater create() {
+            return new Inflater(true);
+        }
+
+        @Override
+        void reset(final Inflater inflater) {
+            inflater.reset();
+        }
+
+        @Override
+        void destroy(final Inflater inflater) {
+            inflater.end();
+        }
+    };
+
+    private final boolean localNoContextTakeover;
+    private final boolean remoteNoContextTakeover;
+    private volatile int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    private volatile int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+    private volatile int maxInflatedSize = DEFAULT_MAX_INFLATED_SIZE;
+
+    // the connection may get closed while its messages are still being processed
+    private final Object deflaterLock = new Object();
+    private final Object inflaterLock = new Object();
+    private Deflater deflater;
+    private Inflater inflater;
+    // the inflated size of the fragments of the current message, guarded by the inflaterLock
+    private int inflatedSize;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs the extension state out of the negotiated {@link Extension}, the server has sent in its handshake
+     * response.
+     *
+     * @param server <tt>true</tt> if the local endpoint is the server
+     * @param negotiated the negotiated <tt>permessage-deflate</tt> extension
+     */
+    public PerMessageDeflate(final boolean server, final Extension negotiated) {
+        final boolean serverNoContextTakeover = hasParameter(negotiated, SERVER_NO_CONTEXT_TAKEOVER);
+        final boolean clientNoContextTakeover = hasParameter(negotiated, CLIENT_NO_CONTEXT_TAKEOVER);
+        localNoContextTakeover = server ? serverNoContextTakeover : clientNoContextTakeover;
+        remoteNoContextTakeover = server ? clientNoContextTakeover : serverNoContextTakeover;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return <tt>true</tt> if the local endpoint resets its compression context after each message, so the compressed
+     * messages don't depend on the previously sent ones
+     */
+    public boolean isLocalNoContextTakeover() {
+        return localNoContextTakeover;
+    }
+
+    /**
+     * @return <tt>true</tt> if the remote endpoint resets its compression context after each message
+     */
+    public boolean isRemoteNoContextTakeover() {
+        return remoteNoContextTakeover;
+    }
+
+    /**
+     * @return the {@link Deflater} compression level
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the {@link Deflater} compression level, used for the messages started after the change.
+     */
+    public void setCompressionLevel(final int compressionLevel) {
+        if ((compressionLevel < 0 || compressionLevel > 9) && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * @return the size, the unfragmented messages have to exceed to be sent compressed
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Sets the size, the unfragmented messages have to exceed to be sent compressed. Compressing small messages costs
+     * CPU and rarely saves bytes.
+     */
+    public void setCompressionThreshold(final int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * @return the max size of an incoming message after decompression
+     */
+    public int getMaxInflatedSize() {
+        return maxInflatedSize;
+    }
+
+    /**
+     * Sets the max size of an incoming message after decompression. A message, which inflates beyond it, closes the
+     * connection with the <tt>1009</tt> (message too big) status code, so a small compressed message can't make the
+     * endpoint allocate unbounded memory.
+     */
+    public void setMaxInflatedSize(final int maxInflatedSize) {
+        if (maxInflatedSize <= 0 || maxInflatedSize > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid max inflated size: " + maxInflatedSize);
+        }
+        this.maxInflatedSize = maxInflatedSize;
+    }
+
+    /**
+     * Creates the client offer: the extension without parameters, so the server decides about the context takeover.
+     *
+     * @return the client offer
+     */
+    public static Extension createOffer() {
+        return new Extension(NAME);
+    }
+
+    /**
+     * Negotiates the client offer on the server side.
+     *
+     * @param offer the <tt>permessage-deflate</tt> offer of the client
+     * @param supported the <tt>permessage-deflate</tt> extension supported by the application
+     *
+     * @return the extension to be sent back to the client or <tt>null</tt>, if the offer has to be declined
+     */
+    public static Extension negotiate(final Extension offer, final Extension supported) {
+        if (!isValid(offer)) {
+            return null;
+        }
+
+        final Extension response = new Extension(NAME);
+        final String serverMaxWindowBits = getParameter(offer, SERVER_MAX_WINDOW_BITS);
+        if (serverMaxWindowBits != null) {
+            if (Integer.parseInt(serverMaxWindowBits) < MAX_WINDOW_BITS) {
+                // Deflater can't limit its window
+                return null;
+            }
+            response.getParameters().add(new Extension.Parameter(SERVER_MAX_WINDOW_BITS, serverMaxWindowBits));
+        }
+        if (hasParameter(offer, SERVER_NO_CONTEXT_TAKEOVER) || hasParameter(supported, SERVER_NO_CONTEXT_TAKEOVER)) {
+            response.getParameters().add(new Extension.Parameter(SERVER_NO_CONTEXT_TAKEOVER, null));
+        }
+        if (hasParameter(supported, CLIENT_NO_CONTEXT_TAKEOVER)) {
+            response.getParameters().add(new Extension.Parameter(CLIENT_NO_CONTEXT_TAKEOVER, null));
+        }
+
+        return response;
+    }
+
+    /**
+     * Validates the server response on the client side.
+     *
+     * @param response the <tt>permessage-deflate</tt> extension sent by the server
+     * @param offer the <tt>permessage-deflate</tt> offer sent by the client
+     *
+     * @throws HandshakeException if the response is not acceptable
+     */
+    public static void validateResponse(final Extension response, final Extension offer) {
+        if (!isValid(response)) {
+            throw new HandshakeException("Invalid " + NAME + " response parameters");
+        }
+
+        final String clientMaxWindowBits = getParameter(response, CLIENT_MAX_WINDOW_BITS);
+        if (clientMaxWindowBits != null) {
+            if (!hasParameter(offer, CLIENT_MAX_WINDOW_BITS)) {
+                throw new HandshakeException(CLIENT_MAX_WINDOW_BITS + " was not offered");
+            }
+            if (Integer.parseInt(clientMaxWindowBits) < MAX_WINDOW_BITS) {
+                throw new HandshakeException(CLIENT_MAX_WINDOW_BITS + '=' + clientMaxWindowBits + " is not supported");
+            }
+        }
+    }
+
+    /**
+     * Checks whether the message has to be sent compressed.
+     *
+     * @param length the message or its first fragment length
+     * @param last <tt>true</tt> if the message is not fragmented
+     */
+    public boolean shouldCompress(final int length, final boolean last) {
+        return !last || length > compressionThreshold;
+    }
+
+    /**
+     * Compresses the message or the message fragment.
+     *
+     * @param data the uncompressed bytes
+     * @param first <tt>true</tt> if the data starts a message
+     * @param last <tt>true</tt> if the data completes a message
+     *
+     * @return the compressed bytes, the final fragment comes without the trailing <tt>0x00 0x00 0xFF 0xFF</tt>
+     */
+    public byte[] deflate(final byte[] data, final boolean first, final boolean last) {
+        if (first && last && localNoContextTakeover) {
+            // the compression of the whole message is stateless, so concurrent senders don't share the deflater
+            final Deflater d = DEFLATERS.take();
+            try {
+                d.setLevel(compressionLevel);
+                return deflate(d, data, true);
+            } finally {
+                DEFLATERS.offer(d);
+            }
+        }
+
+        synchronized (deflaterLock) {
+            if (deflater == null) {
+                deflater = DEFLATERS.take();
+                deflater.setLevel(compressionLevel);
+            }
+            final byte[] compressed = deflate(deflater, data, last);
+            if (last && localNoContextTakeover) {
+                DEFLATERS.offer(deflater);
+                deflater = null;
+            }
+
+            return compressed;
+        }
+    }
+
+    /**
+     * Decompresses the message or the message fragment.
+     *
+     * @param data the compressed bytes
+     * @param last <tt>true</tt> if the data completes a message
+     *
+     * @return the decompressed bytes
+     *
+     * @throws ProtocolError if the data is not a valid deflate stream
+     * @throws MessageTooBigError if the message inflates beyond the {@link #getMaxInflatedSize() max inflated size}
+     */
+    public byte[] inflate(final byte[] data, final boolean last) {
+        synchronized (inflaterLock) {
+            if (inflater == null) {
+                inflater = INFLATERS.take();
+            }
+
+            try {
+                // the buffer grows up to one byte beyond the limit, which is enough to detect the message is too big
+                final long limit = (long) maxInflatedSize - inflatedSize;
+                byte[] out = new byte[(int) Math.min(Math.max(64, data.length * 4L), limit + 1)];
+                int length = 0;
+                // RFC 7692, 7.2.2: the trailing 0x00 0x00 0xFF 0xFF is appended to the message before decompressing it
+                for (int pass = last ? 2 : 1; pass > 0; pass--) {
+                    inflater.setInput(pass == 1 && last ? TAIL : data);
+                    while (!inflater.finished()) {
+                        if (length == out.length) {
+                            out = Arrays.copyOf(out, (int) Math.min(out.length * 2L, limit + 1));
+                        }
+                        final int n = inflater.inflate(out, length, out.length - length);
+                        length += n;
+                        if (length > limit) {
+                            INFLATERS.offer(inflater);
+                            inflater = null;
+                            inflatedSize = 0;
+                            throw new MessageTooBigError("The message exceeds the max inflated size of " + maxInflatedSize + " bytes");
+                        }
+                        if (n == 0) {
+                            if (inflater.needsDictionary()) {
+                                throw new DataFormatException("Preset dictionary is not supported");
+                            }
+                            if (inflater.needsInput()) {
+                                break;
+                            }
+                        }
+                    }
+                }
+
+                inflatedSize = last ? 0 : inflatedSize + length;
+                if (last && (remoteNoContextTakeover || inflater.finished())) {
+                    INFLATERS.offer(inflater);
+                    inflater = null;
+                }
+
+                return Arrays.copyOf(out, length);
+            } catch (DataFormatException e) {
+                INFLATERS.offer(inflater);
+                inflater = null;
+                inflatedSize = 0;
+                throw new ProtocolError("Invalid compressed data", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link Deflater} and the {@link Inflater}, the connection keeps, to the pools.
+     */
+    public void release() {
+        synchronized (deflaterLock) {
+            if (deflater != null) {
+                DEFLATERS.offer(deflater);
+                deflater = null;
+            }
+        }
+        synchronized (inflaterLock) {
+            if (inflater != null) {
+                INFLATERS.offer(inflater);
+                inflater = null;
+            }
+        }
+    }
+
+    /**
+     * Finds the <tt>permessage-deflate</tt> extension in the list.
+     *
+     * @return the extension or <tt>null</tt>, if there is none
+     */
+    public static Extension find(final List<Extension> extensions) {
+        for (Extension e : extensions) {
+            if (NAME.equals(e.getName())) {
+                return e;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "PerMessageDeflate{localNoContextTakeover=" + localNoContextTakeover + ", remoteNoContextTakeover=" + remoteNoContextTakeover
+                + ", compressionLevel=" + compressionLevel + ", compressionThreshold=" + compressionThreshold + ", maxInflatedSize=" + maxInflatedSize + '}';
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static byte[] deflate(final Deflater d, final byte[] data, final boolean last) {
+        d.setInput(data);
+        byte[] out = new byte[data.length / 2 + 64];
+        int length = 0;
+        for (;;) {
+            length += d.deflate(out, length, out.length - length, Deflater.SYNC_FLUSH);
+            if (length < out.length) {
+                break;
+            }
+            out = Arrays.copyOf(out, out.length * 2);
+        }
+
+        if (last && length >= TAIL.length) {
+            // RFC 7692, 7.2.1: remove the empty stored block the sync flush has ended with
+            length -= TAIL.length;
+        }
+
+        return Arrays.copyOf(out, length);
+    }
+
+    private static boolean isValid(final Extension e) {
+        for (int i = 0; i < e.getParameters().size(); i++) {
+            final Extension.Parameter p = e.getParameters().get(i);
+            for (int j = 0; j < i; j++) {
+                if (p.getName().equals(e.getParameters().get(j).getName())) {
+                    // RFC 7692, 7: the parameters must not be repeated
+                    return false;
+                }
+            }
+
+            switch (p.getName()) {
+            case SERVER_NO_CONTEXT_TAKEOVER:
+            case CLIENT_NO_CONTEXT_TAKEOVER:
+                if (p.getValue() != null) {
+                    return false;
+                }
+                break;
+            case SERVER_MAX_WINDOW_BITS:
+                if (p.getValue() == null || !isValidWindowBits(p.getValue())) {
+                    return false;
+                }
+                break;
+            case CLIENT_MAX_WINDOW_BITS:
+                if (p.getValue() != null && !isValidWindowBits(p.getValue())) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isValidWindowBits(String value) {
+        if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        if (value.isEmpty() || value.length() > 2 || value.charAt(0) == '0') {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        final int bits = Integer.parseInt(value);
+        return bits >= MIN_WINDOW_BITS && bits <= MAX_WINDOW_BITS;
+    }
+
+    private static boolean hasParameter(final Extension e, final String name) {
+        for (Extension.Parameter p : e.getParameters()) {
+            if (name.equals(p.getName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String getParameter(final Extension e, final String name) {
+        for (Extension.Parameter p : e.getParameters()) {
+            if (name.equals(p.getName())) {
+                final String value = p.getValue();
+                return value != null && value.length() > 1 && value.charAt(0) == '"' ? value.substring(1, value.length() - 1) : value;
+            }
+        }
+
+        return null;
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private abstract static class Pool<E> {
+        private final Queue<E> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        abstract E create();
+
+        abstract void reset(E e);
+
+        abstract void destroy(E e);
+
+        E take() {
+            final E e = queue.poll();
+            if (e == null) {
+                return create();
+            }
+            size.decrementAndGet();
+            return e;
+        }
+
+        void offer(final E e) {
+            if (size.incrementAndGet() > POOL_SIZE) {
+                size.decrementAndGet();
+                destroy(e);
+                return;
+            }
+            reset(e);
+            queue.offer(e);
+        }
+    }
+}
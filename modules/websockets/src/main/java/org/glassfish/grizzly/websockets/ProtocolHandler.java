@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,10 +19,8 @@ package org.glassfish.grizzly.websockets;
 
 import java.net.URI;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CoderResult;
+import java.util.Arrays;
 
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.CompletionHandler;
@@ -47,9 +46,12 @@ public abstract class ProtocolHandler {
     protected FilterChainContext ctx;
     protected boolean processingFragment;
     protected final Charset utf8 = Charsets.UTF8_CHARSET;
-    protected final CharsetDecoder currentDecoder = utf8.newDecoder();
+    protected final Utf8Validator utf8Validator = new Utf8Validator();
     protected ByteBuffer remainder;
     protected WebSocketMappingData mappingData;
+    protected volatile PerMessageDeflate perMessageDeflate;
+    // held while a frame, compressed with the connection context, is framed and queued for writing
+    protected final Object writeLock = new Object();
 
     public ProtocolHandler(boolean maskData) {
         this.maskData = maskData;
@@ -63,9 +65,29 @@ public abstract class ProtocolHandler {
         final HttpResponsePacket response = ((HttpRequestPacket) request.getHttpHeader()).getResponse();
 
         handshake.respond(ctx, app, response);
+        onHandshakeComplete(handshake);
         return handshake;
     }
 
+    /**
+     * Invoked once the server has responded to the handshake or the client has validated the server response, so the
+     * handler could apply the negotiated extensions.
+     *
+     * @param handshake the completed {@link HandShake}
+     */
+    protected void onHandshakeComplete(final HandShake handshake) {
+    }
+
+    /**
+     * Releases the resources held by the handler, once the connection is closed.
+     */
+    protected void release() {
+        final PerMessageDeflate localPerMessageDeflate = perMessageDeflate;
+        if (localPerMessageDeflate != null) {
+            localPerMessageDeflate.release();
+        }
+    }
+
     public final GrizzlyFuture<DataFrame> send(DataFrame frame) {
         return send(frame, null);
     }
@@ -106,6 +128,27 @@ public abstract class ProtocolHandler {
         this.webSocket = webSocket;
     }
 
+    /**
+     * @return the negotiated <tt>permessage-deflate</tt> extension state, <tt>null</tt> if the messages are not compressed
+     */
+    public PerMessageDeflate getPerMessageDeflate() {
+        return perMessageDeflate;
+    }
+
+    public void setPerMessageDeflate(final PerMessageDeflate perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+    }
+
+    /**
+     * @return <tt>true</tt> if the outgoing messages are compressed with the context of the previously sent ones, so a
+     * message has to be framed and queued for writing holding the {@link #writeLock}, otherwise the peer may get the
+     * messages in a different order than they were compressed
+     */
+    public boolean isContextTakeover() {
+        final PerMessageDeflate localPerMessageDeflate = perMessageDeflate;
+        return localPerMessageDeflate != null && !localPerMessageDeflate.isLocalNoContextTakeover();
+    }
+
     public boolean isMaskData() {
         return maskData;
     }
@@ -181,7 +224,7 @@ public abstract class ProtocolHandler {
 
         final FutureImpl<DataFrame> localFuture = SafeFutureImpl.create();
 
-        localConnection.write(frame, new EmptyCompletionHandler() {
+        final EmptyCompletionHandler writeHandler = new EmptyCompletionHandler() {
             @Override
             public void completed(final Object result) {
                 if (completionHandler != null) {
@@ -199,7 +242,16 @@ public abstract class ProtocolHandler {
 
                 localFuture.failure(throwable);
             }
-        });
+        };
+
+        // the frame is compressed by the filter chain on the way to the write queue
+        if (isContextTakeover()) {
+            synchronized (writeLock) {
+                localConnection.write(frame, writeHandler);
+            }
+        } else {
+            localConnection.write(frame, writeHandler);
+        }
 
         return localFuture;
     }
@@ -287,41 +339,32 @@ public abstract class ProtocolHandler {
         localConnection.closeSilently();
     }
 
+    /**
+     * Validates the UTF-8 payload of a text frame, which may be a fragment of a larger message, without decoding it. The
+     * text is only decoded if {@link DataFrame#getTextPayload()} is called; a multi-byte sequence split across
+     * fragments is held back until the fragment completing it has been received.
+     */
     protected void utf8Decode(boolean finalFragment, byte[] data, DataFrame dataFrame) {
-        final ByteBuffer b = getByteBuffer(data);
-        int n = (int) (b.remaining() * currentDecoder.averageCharsPerByte());
-        CharBuffer cb = CharBuffer.allocate(n);
-        for (;;) {
-            CoderResult result = currentDecoder.decode(b, cb, finalFragment);
-            if (result.isUnderflow()) {
-                if (finalFragment) {
-                    currentDecoder.flush(cb);
-                    if (b.hasRemaining()) {
-                        throw new IllegalStateException("Final UTF-8 fragment received, but not all bytes consumed by decode process");
-                    }
-                    currentDecoder.reset();
-                } else {
-                    if (b.hasRemaining()) {
-                        remainder = b;
-                    }
-                }
-                cb.flip();
-                String res = cb.toString();
-                dataFrame.setPayload(res);
-                dataFrame.setPayload(Utf8Utils.encode(Charsets.UTF8_CHARSET, res));
-                break;
-            }
-            if (result.isOverflow()) {
-                CharBuffer tmp = CharBuffer.allocate(2 * n + 1);
-                cb.flip();
-                tmp.put(cb);
-                cb = tmp;
-                continue;
-            }
-            if (result.isError() || result.isMalformed()) {
-                throw new Utf8DecodingError("Illegal UTF-8 Sequence");
+        if (!utf8Validator.validate(data, 0, data.length) || finalFragment && !utf8Validator.isComplete()) {
+            utf8Validator.reset();
+            remainder = null;
+            throw new Utf8DecodingError("Illegal UTF-8 Sequence");
+        }
+
+        final int pending = utf8Validator.getPendingBytes();
+        if (remainder == null && pending == 0) {
+            dataFrame.setTextPayload(data);
+        } else {
+            final ByteBuffer b = getByteBuffer(data);
+            final int complete = b.remaining() - pending;
+            dataFrame.setTextPayload(Arrays.copyOf(b.array(), complete));
+            if (pending > 0) {
+                remainder = ByteBuffer.wrap(b.array(), complete, pending);
             }
         }
+        if (finalFragment) {
+            utf8Validator.reset();
+        }
     }
 
     protected ByteBuffer getByteBuffer(final byte[] data) {
@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.EmptyCompletionHandler;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.WriteResult;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.nio.NIOConnection;
+
+/**
+ * {@link Broadcaster} for large sets of recipients. NOTE: works with {@link SimpleWebSocket}s and inherited classes.
+ * <p>
+ * The frame is serialized once into a {@link Buffer}, every recipient gets a read-only view of it, so the frame is not
+ * copied per recipient. The recipients, which keep the permessage-deflate context, are the exception: their frames
+ * depend on the messages sent before, so they are framed separately.
+ * <p>
+ * If an {@link Executor} is set, the recipients are partitioned and the partitions are written in parallel, the calling
+ * thread writes the first one. The broadcast returns once the frame is written or queued for every recipient, so the
+ * broadcasts made by a thread reach each recipient in order. If the broadcasting thread is interrupted while it waits
+ * for the other partitions, the message is not written to the recipients, which haven't got it yet, and the thread
+ * keeps its interrupted status.
+ * <p>
+ * A recipient, which has more than the configured number of bytes waiting in its async write queue, is a slow consumer:
+ * depending on the {@link SlowConsumerPolicy} the message is skipped for it or its connection is closed. The closing
+ * frame is not sent, because it would be queued behind the data the consumer doesn't read.
+ */
+public class SharedFrameBroadcaster implements Broadcaster {
+    private static final Logger LOGGER = Grizzly.logger(SharedFrameBroadcaster.class);
+
+    public static final int DEFAULT_PARTITION_SIZE = 1024;
+    public static final int DEFAULT_MAX_QUEUED_BYTES = 1024 * 1024;
+
+    /**
+     * What to do with a recipient, which doesn't read the broadcasted messages fast enough.
+     */
+    public enum SlowConsumerPolicy {
+        /**
+         * Skip the message for the recipient.
+         */
+        SKIP,
+        /**
+         * Close the recipient connection.
+         */
+        CLOSE
+    }
+
+    private final Executor executor;
+    private final int partitionSize;
+    private final int maxQueuedBytes;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    private final AtomicLong broadcastsCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong shedCount = new AtomicLong();
+    private final LatencyStats dispatchLatency = new LatencyStats();
+    private final LatencyStats fanOutLatency = new LatencyStats();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs the broadcaster, which writes to all the recipients on the calling thread.
+     */
+    public SharedFrameBroadcaster() {
+        this(null);
+    }
+
+    /**
+     * Constructs the broadcaster, which writes to the partitions of {@value #DEFAULT_PARTITION_SIZE} recipients in
+     * parallel, using the passed {@link Executor}.
+     *
+     * @param executor the {@link Executor} to write the partitions, <tt>null</tt> to write on the calling thread
+     */
+    public SharedFrameBroadcaster(final Executor executor) {
+        this(executor, DEFAULT_PARTITION_SIZE, DEFAULT_MAX_QUEUED_BYTES, SlowConsumerPolicy.SKIP);
+    }
+
+    /**
+     * @param executor the {@link Executor} to write the partitions, <tt>null</tt> to write on the calling thread
+     * @param partitionSize the number of recipients written by one thread
+     * @param maxQueuedBytes the number of bytes in the recipient async write queue, which makes it a slow consumer,
+     * <tt>-1</tt> means no limit
+     * @param slowConsumerPolicy what to do with the slow consumers
+     */
+    public SharedFrameBroadcaster(final Executor executor, final int partitionSize, final int maxQueuedBytes, final SlowConsumerPolicy slowConsumerPolicy) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("partitionSize should be positive");
+        }
+        if (slowConsumerPolicy == null) {
+            throw new IllegalArgumentException("slowConsumerPolicy can't be null");
+        }
+
+        this.executor = executor;
+        this.partitionSize = partitionSize;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    // ----------------------------------------------- Methods from Broadcaster
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcast(final Iterable<? extends WebSocket> recipients, final String text) {
+        broadcast(recipients, text, null, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcast(final Iterable<? extends WebSocket> recipients, final byte[] binary) {
+        broadcast(recipients, null, binary, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcastFragment(final Iterable<? extends WebSocket> recipients, final String text, final boolean last) {
+        broadcast(recipients, text, null, last, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void broadcastFragment(final Iterable<? extends WebSocket> recipients, final byte[] binary, final boolean last) {
+        broadcast(recipients, null, binary, last, true);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the number of the broadcasted messages
+     */
+    public long getBroadcastsCount() {
+        return broadcastsCount.get();
+    }
+
+    /**
+     * @return the number of the messages written to the recipients, the messages still waiting in the async write queues
+     * are not counted
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * @return the number of the messages, which failed to be written to the recipients, usually because the connection
+     * was closed
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of the messages, which were not sent to the slow consumers
+     */
+    public long getShedCount() {
+        return shedCount.get();
+    }
+
+    /**
+     * @return the average time the broadcasting thread spent writing the message to all the recipients
+     */
+    public long getAverageDispatchLatency(final TimeUnit timeUnit) {
+        return timeUnit.convert(dispatchLatency.getAverage(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the maximum time the broadcasting thread spent writing the message to all the recipients
+     */
+    public long getMaxDispatchLatency(final TimeUnit timeUnit) {
+        return timeUnit.convert(dispatchLatency.max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the average time between the broadcast start and the moment the message was written to the socket of
+     * the last recipient
+     */
+    public long getAverageFanOutLatency(final TimeUnit timeUnit) {
+        return timeUnit.convert(fanOutLatency.getAverage(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the maximum time between the broadcast start and the moment the message was written to the socket of
+     * the last recipient
+     */
+    public long getMaxFanOutLatency(final TimeUnit timeUnit) {
+        return timeUnit.convert(fanOutLatency.max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public void resetStatistics() {
+        broadcastsCount.set(0);
+        deliveredCount.set(0);
+        failedCount.set(0);
+        shedCount.set(0);
+        dispatchLatency.reset();
+        fanOutLatency.reset();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void broadcast(final Iterable<? extends WebSocket> recipients, final String text, final byte[] binary, final boolean last,
+            final boolean isFragment) {
+        final long start = System.nanoTime();
+        final SimpleWebSocket[] sockets = toArray(recipients);
+        if (sockets.length == 0) {
+            return;
+        }
+
+        broadcastsCount.incrementAndGet();
+        final Frames frames = new Frames(text, binary, last, isFragment, sockets.length, start);
+        final int partitionsCount = executor == null ? 1 : (sockets.length + partitionSize - 1) / partitionSize;
+        if (partitionsCount == 1) {
+            write(sockets, 0, sockets.length, frames);
+        } else {
+            // the shared frames are built before the partitions race for them
+            frames.prepare(sockets);
+
+            final CountDownLatch latch = new CountDownLatch(partitionsCount - 1);
+            for (int i = 1; i < partitionsCount; i++) {
+                final int from = i * partitionSize;
+                final int to = Math.min(from + partitionSize, sockets.length);
+                final Runnable task = new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            write(sockets, from, to, frames);
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                };
+
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                }
+            }
+
+            write(sockets, 0, Math.min(partitionSize, sockets.length), frames);
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                // the next broadcast could overtake the pending writes
+                frames.cancel();
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        dispatchLatency.add(System.nanoTime() - start);
+    }
+
+    private void write(final SimpleWebSocket[] sockets, final int from, final int to, final Frames frames) {
+        for (int i = from; i < to && !frames.isCancelled(); i++) {
+            final SimpleWebSocket socket = sockets[i];
+            if (!socket.isConnected()) {
+                frames.completed();
+                continue;
+            }
+
+            final Connection<?> connection = socket.protocolHandler.getConnection();
+            if (isSlowConsumer(connection)) {
+                shedCount.incrementAndGet();
+                frames.completed();
+                if (slowConsumerPolicy == SlowConsumerPolicy.CLOSE) {
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "Closing the slow consumer connection {0}", connection);
+                    }
+                    connection.closeSilently();
+                }
+                continue;
+            }
+
+            final Buffer shared = frames.getShared(socket);
+            if (shared != null) {
+                write(connection, frames.view(shared), frames);
+            } else {
+                // the frame depends on the messages sent to the recipient before, so it's queued in the order it's
+                // compressed
+                synchronized (socket.protocolHandler.writeLock) {
+                    write(connection, frames.toBuffer(socket), frames);
+                }
+            }
+        }
+    }
+
+    private static <L> void write(final Connection<L> connection, final Buffer frame, final Frames frames) {
+        connection.write(frame, frames.<L>completionHandler());
+    }
+
+    private boolean isSlowConsumer(final Connection<?> connection) {
+        return maxQueuedBytes >= 0 && connection instanceof NIOConnection
+                && ((NIOConnection) connection).getAsyncWriteQueue().spaceInBytes() > maxQueuedBytes;
+    }
+
+    private static SimpleWebSocket[] toArray(final Iterable<? extends WebSocket> recipients) {
+        final List<SimpleWebSocket> list = recipients instanceof Collection ? new ArrayList<SimpleWebSocket>(((Collection<?>) recipients).size())
+                : new ArrayList<SimpleWebSocket>();
+        for (WebSocket websocket : recipients) {
+            list.add((SimpleWebSocket) websocket);
+        }
+        return list.toArray(new SimpleWebSocket[list.size()]);
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * The frames of a single broadcast. Counts the recipients the message is still being written to, so the fan-out
+     * latency is measured once the last one completes.
+     */
+    private final class Frames extends EmptyCompletionHandler<WriteResult<Buffer, ?>> {
+        private final String text;
+        private final byte[] binary;
+        private final boolean last;
+        private final boolean isFragment;
+        private final long start;
+        private final AtomicInteger pending;
+        private volatile boolean isCancelled;
+
+        private volatile Buffer plainFrame;
+        private volatile Buffer compressedFrame;
+
+        Frames(final String text, final byte[] binary, final boolean last, final boolean isFragment, final int recipientsCount, final long start) {
+            this.text = text;
+            this.binary = binary;
+            this.last = last;
+            this.isFragment = isFragment;
+            this.start = start;
+            pending = new AtomicInteger(recipientsCount);
+        }
+
+        void prepare(final SimpleWebSocket[] sockets) {
+            for (SimpleWebSocket socket : sockets) {
+                if (plainFrame != null && compressedFrame != null) {
+                    return;
+                }
+                if (socket.isConnected()) {
+                    getShared(socket);
+                }
+            }
+        }
+
+        /**
+         * @return the read-only view of the shared frame for a single recipient
+         */
+        Buffer view(final Buffer shared) {
+            final Buffer view = shared.asReadOnlyBuffer();
+            view.allowBufferDispose(false);
+            return view;
+        }
+
+        /**
+         * @return the frame shared by the recipients with the same compression mode, <tt>null</tt> if the frame depends
+         * on the messages sent to the recipient before
+         */
+        Buffer getShared(final SimpleWebSocket socket) {
+            final PerMessageDeflate deflate = socket.protocolHandler.getPerMessageDeflate();
+            Buffer frame;
+            if (deflate == null) {
+                frame = plainFrame;
+                if (frame == null) {
+                    plainFrame = frame = toBuffer(socket);
+                }
+            } else if (!isFragment && deflate.isLocalNoContextTakeover()) {
+                frame = compressedFrame;
+                if (frame == null) {
+                    compressedFrame = frame = toBuffer(socket);
+                }
+            } else {
+                frame = null;
+            }
+
+            return frame;
+        }
+
+        Buffer toBuffer(final SimpleWebSocket socket) {
+            final byte[] rawData = text != null ? socket.toRawData(text, last) : socket.toRawData(binary, last);
+            final Buffer buffer = Buffers.wrap(socket.protocolHandler.getConnection().getTransport().getMemoryManager(), rawData);
+            buffer.allowBufferDispose(false);
+            return buffer;
+        }
+
+        /**
+         * @return this handler typed for the connection address, the write result is not used
+         */
+        @SuppressWarnings("unchecked")
+        <L> CompletionHandler<WriteResult<Buffer, L>> completionHandler() {
+            return (CompletionHandler<WriteResult<Buffer, L>>) (CompletionHandler<?>) this;
+        }
+
+        void cancel() {
+            isCancelled = true;
+        }
+
+        boolean isCancelled() {
+            return isCancelled;
+        }
+
+        @Override
+        public void completed(final WriteResult<Buffer, ?> result) {
+            deliveredCount.incrementAndGet();
+            completed();
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            failedCount.incrementAndGet();
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "The broadcasted message could not be written", throwable);
+            }
+            completed();
+        }
+
+        void completed() {
+            if (pending.decrementAndGet() == 0) {
+                fanOutLatency.add(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class LatencyStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void add(final long nanos) {
+            count.incrementAndGet();
+            total.addAndGet(nanos);
+            long m;
+            while (nanos > (m = max.get())) {
+                if (max.compareAndSet(m, nanos)) {
+                    break;
+                }
+            }
+        }
+
+        long getAverage() {
+            final long c = count.get();
+            return c == 0 ? 0 : total.get() / c;
+        }
+
+        void reset() {
+            count.set(0);
+            total.set(0);
+            max.set(0);
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,6 +30,7 @@ import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.GrizzlyFuture;
 import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.utils.Charsets;
 import org.glassfish.grizzly.websockets.frametypes.PingFrameType;
 import org.glassfish.grizzly.websockets.frametypes.PongFrameType;
 
@@ -138,6 +140,37 @@ public class SimpleWebSocket implements WebSocket {
         }
     }
 
+    /**
+     * Passes the text to the {@link TextBufferListener}s as is; it's decoded only once, and only if there are other
+     * listeners. Without any {@link TextBufferListener} this is the same as {@link #onMessage(String)}.
+     */
+    @Override
+    public void onMessage(Buffer text) {
+        boolean bufferListeners = false;
+        for (WebSocketListener listener : listeners) {
+            if (listener instanceof TextBufferListener) {
+                bufferListeners = true;
+                break;
+            }
+        }
+        if (!bufferListeners) {
+            onMessage(text.toStringContent(Charsets.UTF8_CHARSET));
+            return;
+        }
+
+        String decoded = null;
+        for (WebSocketListener listener : listeners) {
+            if (listener instanceof TextBufferListener) {
+                ((TextBufferListener) listener).onMessage(this, text.duplicate());
+            } else {
+                if (decoded == null) {
+                    decoded = text.toStringContent(Charsets.UTF8_CHARSET);
+                }
+                listener.onMessage(this, decoded);
+            }
+        }
+    }
+
     @Override
     public void onPing(DataFrame frame) {
         send(new DataFrame(new PongFrameType(), frame.getBytes()));
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import org.glassfish.grizzly.Buffer;
+
+/**
+ * A {@link WebSocketListener} which receives text messages as their UTF-8 encoded bytes, so that applications which
+ * only forward the text, JSON for example, never create a {@link String} for it. Fragmented text messages are still
+ * reported through {@link #onFragment(WebSocket, String, boolean)}.
+ */
+public interface TextBufferListener extends WebSocketListener {
+
+    /**
+     * <p>
+     * Invoked when {@link WebSocket#onMessage(Buffer)} has been called on a particular {@link WebSocket} instance;
+     * replaces {@link #onMessage(WebSocket, String)} for the message.
+     * </p>
+     *
+     * @param socket the {@link WebSocket} that received a message.
+     * @param text the validated UTF-8 encoded message, only valid for the duration of the call.
+     */
+    void onMessage(WebSocket socket, Buffer text);
+}
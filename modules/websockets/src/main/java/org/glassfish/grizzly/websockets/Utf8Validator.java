@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import org.glassfish.grizzly.Buffer;
+
+/**
+ * Incremental UTF-8 validator for websocket text messages (RFC 3629, RFC 6455 section 8.1). Bytes are checked without
+ * being decoded, so a message may be fed chunk by chunk, across continuation frames, and a multi-byte sequence may be
+ * split at any position. Runs of ASCII are skipped 8 bytes at a time.
+ */
+public final class Utf8Validator {
+    private static final VarHandle ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long NON_ASCII = 0x8080808080808080L;
+
+    // continuation bytes still expected by the current sequence
+    private int needed;
+    // bytes of the current sequence seen so far
+    private int seen;
+    // the range allowed for the next continuation byte
+    private int lower = 0x80;
+    private int upper = 0xBF;
+    private boolean failed;
+
+    /**
+     * Validates the next chunk of the message.
+     *
+     * @return <code>false</code> if the bytes seen so far are not a valid UTF-8 prefix.
+     */
+    public boolean validate(final byte[] src, final int offset, final int length) {
+        if (failed) {
+            return false;
+        }
+        int i = offset;
+        final int end = offset + length;
+        while (i < end) {
+            if (needed == 0) {
+                while (i + Long.BYTES <= end && ((long) ARRAY_LONGS.get(src, i) & NON_ASCII) == 0) {
+                    i += Long.BYTES;
+                }
+                if (i == end) {
+                    break;
+                }
+            }
+            if (!next(src[i++] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates the bytes of <tt>buffer</tt> between <tt>position</tt> and <tt>limit</tt> without changing its
+     * position.
+     *
+     * @return <code>false</code> if the bytes seen so far are not a valid UTF-8 prefix.
+     */
+    public boolean validate(final Buffer buffer, final int position, final int limit) {
+        if (buffer.hasArray()) {
+            return validate(buffer.array(), buffer.arrayOffset() + position, limit - position);
+        }
+        if (failed) {
+            return false;
+        }
+        int i = position;
+        while (i < limit) {
+            if (needed == 0) {
+                while (i + Long.BYTES <= limit && (buffer.getLong(i) & NON_ASCII) == 0) {
+                    i += Long.BYTES;
+                }
+                if (i == limit) {
+                    break;
+                }
+            }
+            if (!next(buffer.get(i++) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if no multi-byte sequence is pending, i.e. the bytes seen so far are a complete UTF-8
+     * text.
+     */
+    public boolean isComplete() {
+        return needed == 0 && !failed;
+    }
+
+    /**
+     * @return the number of trailing bytes seen so far which belong to a not yet completed multi-byte sequence.
+     */
+    public int getPendingBytes() {
+        return seen;
+    }
+
+    public void reset() {
+        needed = 0;
+        seen = 0;
+        lower = 0x80;
+        upper = 0xBF;
+        failed = false;
+    }
+
+    /**
+     * @return <code>true</code> if <tt>length</tt> bytes of <tt>src</tt> starting at <tt>offset</tt> are complete and
+     * valid UTF-8.
+     */
+    public static boolean isValid(final byte[] src, final int offset, final int length) {
+        final Utf8Validator validator = new Utf8Validator();
+        return validator.validate(src, offset, length) && validator.isComplete();
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------
+
+    private boolean next(final int b) {
+        if (needed == 0) {
+            if (b < 0x80) {
+                return true;
+            }
+            // RFC 3629, section 4: lead byte ranges and the range of the byte following each of them
+            if (b >= 0xC2 && b <= 0xDF) {
+                needed = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                needed = 2;
+                if (b == 0xE0) {
+                    lower = 0xA0;
+                } else if (b == 0xED) {
+                    upper = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                needed = 3;
+                if (b == 0xF0) {
+                    lower = 0x90;
+                } else if (b == 0xF4) {
+                    upper = 0x8F;
+                }
+            } else {
+                failed = true;
+                return false;
+            }
+            seen = 1;
+            return true;
+        }
+
+        if (b < lower || b > upper) {
+            failed = true;
+            return false;
+        }
+        lower = 0x80;
+        upper = 0xBF;
+        if (--needed == 0) {
+            seen = 0;
+        } else {
+            seen++;
+        }
+        return true;
+    }
+}
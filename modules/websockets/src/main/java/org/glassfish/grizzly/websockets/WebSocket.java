@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,7 +17,9 @@
 
 package org.glassfish.grizzly.websockets;
 
+import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.GrizzlyFuture;
+import org.glassfish.grizzly.utils.Charsets;
 
 /**
  * General WebSocket unit interface.
@@ -227,6 +230,22 @@ public interface WebSocket {
      */
     void onMessage(String text);
 
+    /**
+     * <p>
+     * This callback will be invoked when a text message has been received in a single frame. The {@link Buffer} holds
+     * the UTF-8 encoded text, which has already been validated, and is only valid for the duration of the call.
+     * </p>
+     *
+     * <p>
+     * The default implementation decodes the text and calls {@link #onMessage(String)}.
+     * </p>
+     *
+     * @param text the UTF-8 encoded text received from the remote end-point.
+     */
+    default void onMessage(Buffer text) {
+        onMessage(text.toStringContent(Charsets.UTF8_CHARSET));
+    }
+
     /**
      * <p>
      * This callback will be invoked when a binary message has been received.
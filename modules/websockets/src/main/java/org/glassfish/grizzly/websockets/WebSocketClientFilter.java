@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -71,6 +72,7 @@ public class WebSocketClientFilter extends BaseWebSocketFilter {
     private static NextAction handleClientHandShake(FilterChainContext ctx, HttpContent content) {
         final WebSocketHolder holder = WebSocketHolder.get(ctx.getConnection());
         holder.handshake.validateServerResponse((HttpResponsePacket) content.getHttpHeader());
+        holder.handler.onHandshakeComplete(holder.handshake);
         holder.webSocket.onConnect();
 
         if (content.getContent().hasRemaining()) {
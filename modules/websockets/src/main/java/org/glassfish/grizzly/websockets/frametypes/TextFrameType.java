@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package org.glassfish.grizzly.websockets.frametypes;
 
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.utils.Charsets;
 import org.glassfish.grizzly.websockets.BaseFrameType;
 import org.glassfish.grizzly.websockets.DataFrame;
@@ -40,7 +43,7 @@ public class TextFrameType extends BaseFrameType {
     @Override
     public void respond(WebSocket socket, DataFrame frame) {
         if (frame.isLast()) {
-            socket.onMessage(frame.getTextPayload());
+            socket.onMessage(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, frame.getBytes()));
         } else {
             socket.onFragment(frame.isLast(), frame.getTextPayload());
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,24 +21,30 @@ import static org.glassfish.grizzly.websockets.Constants.ORIGIN_HEADER;
 import static org.glassfish.grizzly.websockets.Constants.SEC_WS_ORIGIN_HEADER;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.http.HttpContent;
 import org.glassfish.grizzly.http.HttpHeader;
 import org.glassfish.grizzly.http.HttpRequestPacket;
 import org.glassfish.grizzly.http.HttpResponsePacket;
 import org.glassfish.grizzly.http.util.MimeHeaders;
 import org.glassfish.grizzly.websockets.Constants;
+import org.glassfish.grizzly.websockets.Extension;
 import org.glassfish.grizzly.websockets.HandShake;
 import org.glassfish.grizzly.websockets.HandshakeException;
+import org.glassfish.grizzly.websockets.PerMessageDeflate;
 import org.glassfish.grizzly.websockets.SecKey;
+import org.glassfish.grizzly.websockets.WebSocketApplication;
 
 public class RFC6455HandShake extends HandShake {
 
     private final SecKey secKey;
     private final List<String> enabledExtensions = Collections.emptyList();
     private final List<String> enabledProtocols = Collections.emptyList();
+    private PerMessageDeflate perMessageDeflate;
 
     // ------------------------------------------------------------ Constructors
 
@@ -93,6 +100,69 @@ public class RFC6455HandShake extends HandShake {
     public void validateServerResponse(final HttpResponsePacket headers) throws HandshakeException {
         super.validateServerResponse(headers);
         secKey.validateServerKey(headers.getHeader(Constants.SEC_WS_ACCEPT));
+
+        final String extensionsHeader = headers.getHeader(Constants.SEC_WS_EXTENSIONS_HEADER);
+        if (extensionsHeader != null) {
+            final Extension negotiated = PerMessageDeflate.find(parseExtensionsHeader(extensionsHeader));
+            if (negotiated != null) {
+                final Extension offer = PerMessageDeflate.find(getExtensions());
+                if (offer == null) {
+                    throw new HandshakeException(PerMessageDeflate.NAME + " was not offered");
+                }
+                PerMessageDeflate.validateResponse(negotiated, offer);
+                perMessageDeflate = new PerMessageDeflate(false, negotiated);
+            }
+        }
+    }
+
+    @Override
+    public void respond(final FilterChainContext ctx, final WebSocketApplication application, final HttpResponsePacket response) {
+        super.respond(ctx, application, response);
+
+        // the application might have removed the negotiated extension, so the response is the one to follow
+        final String extensionsHeader = response.getHeader(Constants.SEC_WS_EXTENSIONS_HEADER);
+        if (extensionsHeader != null) {
+            final Extension negotiated = PerMessageDeflate.find(parseExtensionsHeader(extensionsHeader));
+            if (negotiated != null) {
+                perMessageDeflate = new PerMessageDeflate(true, negotiated);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The first acceptable <tt>permessage-deflate</tt> offer is replaced with the server response to it, the other offers
+     * are dropped.
+     */
+    @Override
+    protected List<Extension> intersection(final List<Extension> requested, final List<Extension> supported) {
+        final List<Extension> intersection = new ArrayList<>(supported.size());
+        boolean isDeflateNegotiated = false;
+        for (Extension e : requested) {
+            for (Extension s : supported) {
+                if (e.getName().equals(s.getName())) {
+                    if (!PerMessageDeflate.NAME.equals(e.getName())) {
+                        intersection.add(e);
+                    } else if (!isDeflateNegotiated) {
+                        final Extension response = PerMessageDeflate.negotiate(e, s);
+                        if (response != null) {
+                            intersection.add(response);
+                            isDeflateNegotiated = true;
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * @return the negotiated <tt>permessage-deflate</tt> extension state, <tt>null</tt> if it was not negotiated
+     */
+    public PerMessageDeflate getPerMessageDeflate() {
+        return perMessageDeflate;
     }
 
     public List<String> getEnabledExtensions() {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +28,7 @@ import org.glassfish.grizzly.websockets.DataFrame;
 import org.glassfish.grizzly.websockets.FrameType;
 import org.glassfish.grizzly.websockets.HandShake;
 import org.glassfish.grizzly.websockets.Masker;
+import org.glassfish.grizzly.websockets.PerMessageDeflate;
 import org.glassfish.grizzly.websockets.ProtocolError;
 import org.glassfish.grizzly.websockets.ProtocolHandler;
 import org.glassfish.grizzly.websockets.frametypes.BinaryFrameType;
@@ -39,6 +41,10 @@ import org.glassfish.grizzly.websockets.frametypes.TextFrameType;
 public class RFC6455Handler extends ProtocolHandler {
 
     private final ParsingState state = new ParsingState();
+    // true if the message being received is compressed by permessage-deflate
+    private boolean inflateMessage;
+    // true if the fragmented message being sent is compressed by permessage-deflate
+    private boolean deflateMessage;
 
     // ------------------------------------------------------------ Constructors
 
@@ -58,10 +64,38 @@ public class RFC6455Handler extends ProtocolHandler {
         return new RFC6455HandShake((HttpRequestPacket) requestContent.getHttpHeader());
     }
 
+    @Override
+    protected void onHandshakeComplete(final HandShake handshake) {
+        if (handshake instanceof RFC6455HandShake) {
+            setPerMessageDeflate(((RFC6455HandShake) handshake).getPerMessageDeflate());
+        }
+    }
+
     @Override
     public byte[] frame(DataFrame frame) {
         byte opcode = checkForLastFrame(frame, getOpcode(frame.getType()));
-        final byte[] bytes = frame.getType().getBytes(frame);
+        byte[] bytes = frame.getType().getBytes(frame);
+        final PerMessageDeflate deflate = perMessageDeflate;
+        if (deflate != null && !isControlFrame(opcode)) {
+            final boolean first = (opcode & 0x0F) != 0;
+            // unfragmented messages may be sent by several threads at once, so they don't touch the handler state
+            final boolean compress;
+            if (first) {
+                compress = deflate.shouldCompress(bytes.length, frame.isLast());
+                if (!frame.isLast()) {
+                    deflateMessage = compress;
+                }
+                if (compress) {
+                    // RSV1 marks the compressed message on its first frame only
+                    opcode |= 0x40;
+                }
+            } else {
+                compress = deflateMessage;
+            }
+            if (compress) {
+                bytes = deflate.deflate(bytes, first, frame.isLast());
+            }
+        }
         final byte[] lengthBytes = encodeLength(bytes.length);
 
         int length = 1 + lengthBytes.length + bytes.length + (maskData ? Constants.MASK_SIZE : 0);
@@ -93,13 +127,21 @@ public class RFC6455Handler extends ProtocolHandler {
                 }
 
                 byte opcode = buffer.get();
-                boolean rsvBitSet = isBitSet(opcode, 6) || isBitSet(opcode, 5) || isBitSet(opcode, 4);
+                final boolean rsv1BitSet = isBitSet(opcode, 6);
+                boolean rsvBitSet = isBitSet(opcode, 5) || isBitSet(opcode, 4);
                 if (rsvBitSet) {
                     throw new ProtocolError("RSV bit(s) incorrectly set.");
                 }
                 state.finalFragment = isBitSet(opcode, 7);
                 state.controlFrame = isControlFrame(opcode);
-                state.opcode = (byte) (opcode & 0x7f);
+                state.opcode = (byte) (opcode & 0x0f);
+                if (rsv1BitSet && (perMessageDeflate == null || state.controlFrame || isContinuationFrame(state.opcode))) {
+                    throw new ProtocolError("RSV bit(s) incorrectly set.");
+                }
+                if (!state.controlFrame && !isContinuationFrame(state.opcode)) {
+                    state.startsMessage = true;
+                    state.compressed = rsv1BitSet;
+                }
                 state.frameType = valueOf(inFragmentedType, state.opcode);
                 if (!state.finalFragment && state.controlFrame) {
                     throw new ProtocolError("Fragmented control frame");
@@ -165,9 +207,22 @@ public class RFC6455Handler extends ProtocolHandler {
                 }
 
                 state.masker.setBuffer(buffer);
-                final byte[] data = state.masker.unmask((int) state.length);
-                if (data.length != state.length) {
-                    throw new ProtocolError(String.format("Data read (%s) is not the expected" + " size (%s)", data.length, state.length));
+                byte[] data;
+                if (buffer.isReadOnly()) {
+                    data = state.masker.unmask((int) state.length);
+                } else {
+                    // unmask the payload where it was received, it's copied out once
+                    state.masker.mask(buffer, buffer.position(), (int) state.length);
+                    data = new byte[(int) state.length];
+                    buffer.get(data);
+                }
+                if (!state.controlFrame) {
+                    if (state.startsMessage) {
+                        inflateMessage = state.compressed;
+                    }
+                    if (inflateMessage) {
+                        data = perMessageDeflate.inflate(data, state.finalFragment);
+                    }
                 }
                 dataFrame = state.frameType.create(state.finalFragment, data);
 
@@ -264,6 +319,8 @@ public class RFC6455Handler extends ProtocolHandler {
         boolean finalFragment;
         boolean controlFrame;
         private byte lengthCode = -1;
+        boolean startsMessage;
+        boolean compressed;
 
         void recycle() {
             state = 0;
@@ -275,6 +332,8 @@ public class RFC6455Handler extends ProtocolHandler {
             finalFragment = false;
             controlFrame = false;
             frameType = null;
+            startsMessage = false;
+            compressed = false;
         }
     }
 
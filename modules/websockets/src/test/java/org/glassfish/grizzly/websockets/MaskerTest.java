@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.junit.Test;
+
+public class MaskerTest {
+
+    private static final byte[] MASK = { 0x37, (byte) 0xfa, 0x21, 0x3d };
+
+    @Test
+    public void testUnmaskMatchesBytewise() {
+        final Random random = new Random(42);
+        for (int length = 0; length < 100; length++) {
+            final byte[] payload = new byte[length];
+            random.nextBytes(payload);
+
+            final byte[] frame = new byte[Constants.MASK_SIZE + length];
+            System.arraycopy(MASK, 0, frame, 0, Constants.MASK_SIZE);
+            System.arraycopy(payload, 0, frame, Constants.MASK_SIZE, length);
+
+            final Masker masker = new Masker(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, frame));
+            masker.readMask();
+            assertArrayEquals(bytewise(payload, 0), masker.unmask(length));
+        }
+    }
+
+    @Test
+    public void testMaskKeepsIndexAcrossCalls() {
+        final Random random = new Random(7);
+        final byte[] payload = new byte[77];
+        random.nextBytes(payload);
+
+        final Masker masker = new Masker(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, MASK));
+        masker.readMask();
+        final byte[] target = new byte[payload.length];
+        int offset = 0;
+        for (int chunk : new int[] { 3, 9, 1, 17, 30, 17 }) {
+            final byte[] part = new byte[chunk];
+            System.arraycopy(payload, offset, part, 0, chunk);
+            masker.mask(target, offset, part);
+            offset += chunk;
+        }
+
+        assertArrayEquals(bytewise(payload, 0), target);
+    }
+
+    @Test
+    public void testMaskInPlace() {
+        final Random random = new Random(13);
+        final byte[] payload = new byte[1000];
+        random.nextBytes(payload);
+        final byte[] expected = bytewise(payload, 0);
+
+        // heap
+        final Buffer heap = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, payload.clone());
+        createMasker().mask(heap, 0, payload.length);
+        assertArrayEquals(expected, toArray(heap));
+
+        // direct
+        final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(payload.length);
+        byteBuffer.put(payload).flip();
+        final Buffer direct = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, byteBuffer);
+        createMasker().mask(direct, 0, payload.length);
+        assertArrayEquals(expected, toArray(direct));
+
+        // composite, split at the positions, which are not multiples of the mask size
+        final Buffer composite = Buffers.appendBuffers(MemoryManager.DEFAULT_MEMORY_MANAGER,
+                Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, payload.clone(), 0, 333),
+                Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, payload.clone(), 333, payload.length - 333));
+        createMasker().mask(composite, 0, payload.length);
+        assertArrayEquals(expected, toArray(composite));
+        assertEquals(0, composite.position());
+
+        // a part of the buffer
+        final Buffer part = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, payload.clone());
+        createMasker().mask(part, 10, 100);
+        final byte[] partExpected = payload.clone();
+        System.arraycopy(bytewise(Arrays.copyOfRange(payload, 10, 110), 0), 0, partExpected, 10, 100);
+        assertArrayEquals(partExpected, toArray(part));
+    }
+
+    @Test
+    public void testIndexDoesNotOverflow() {
+        final Masker masker = createMasker();
+        // the old index++ % MASK_SIZE went negative after Integer.MAX_VALUE bytes,
+        // the odd chunk size moves the mask index with every chunk
+        final byte[] chunk = new byte[1024 * 1024 + 1];
+        long masked = 0;
+        while (masked <= Integer.MAX_VALUE) {
+            masker.mask(chunk, 0, chunk);
+            masked += chunk.length;
+        }
+
+        final byte[] target = new byte[1];
+        for (int i = 0; i < 10; i++) {
+            masker.mask(target, 0, (byte) 0);
+            assertEquals(MASK[(int) ((masked + i) % Constants.MASK_SIZE)], target[0]);
+        }
+    }
+
+    private static Masker createMasker() {
+        final Masker masker = new Masker(Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, MASK));
+        masker.readMask();
+        return masker;
+    }
+
+    private static byte[] bytewise(final byte[] payload, final int maskIndex) {
+        final byte[] result = new byte[payload.length];
+        for (int i = 0; i < payload.length; i++) {
+            result[i] = (byte) (payload[i] ^ MASK[(maskIndex + i) % Constants.MASK_SIZE]);
+        }
+        return result;
+    }
+
+    private static byte[] toArray(final Buffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        final int position = buffer.position();
+        buffer.get(bytes);
+        buffer.position(position);
+        return bytes;
+    }
+}
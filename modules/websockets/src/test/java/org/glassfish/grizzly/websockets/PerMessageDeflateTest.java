@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.websockets.rfc6455.RFC6455Handler;
+import org.junit.Test;
+
+/**
+ * Tests the RFC 7692 <tt>permessage-deflate</tt> extension.
+ */
+public class PerMessageDeflateTest extends BaseWebSocketTestUtilities {
+
+    private static final String TEXT = "{\"symbol\":\"GRZL\",\"price\":42.17,\"volume\":100500,\"exchange\":\"NASDAQ\"}";
+
+    @Test
+    public void testRfc7692Example() {
+        // RFC 7692, 7.2.3.1: "Hello" compressed, sent by the server
+        final RFC6455Handler handler = new RFC6455Handler(false);
+        handler.setPerMessageDeflate(createPerMessageDeflate(true, PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER));
+        handler.getPerMessageDeflate().setCompressionThreshold(0);
+
+        final byte[] expected = { (byte) 0xc1, 0x07, (byte) 0xf2, 0x48, (byte) 0xcd, (byte) 0xc9, (byte) 0xc9, 0x07, 0x00 };
+        assertArrayEquals(expected, handler.frame(handler.toDataFrame("Hello")));
+
+        final RFC6455Handler receiver = new RFC6455Handler(true);
+        receiver.setPerMessageDeflate(createPerMessageDeflate(false, PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER));
+        assertEquals("Hello", receiver.unframe(wrap(expected)).getTextPayload());
+    }
+
+    @Test
+    public void testContextTakeover() {
+        final RFC6455Handler client = new RFC6455Handler(true);
+        client.setPerMessageDeflate(createPerMessageDeflate(false));
+        final RFC6455Handler server = new RFC6455Handler(false);
+        server.setPerMessageDeflate(createPerMessageDeflate(true));
+
+        final byte[] first = client.frame(client.toDataFrame(TEXT));
+        final byte[] second = client.frame(client.toDataFrame(TEXT));
+        // the second message refers to the first one
+        assertTrue(second.length < first.length);
+
+        assertEquals(TEXT, server.unframe(wrap(first)).getTextPayload());
+        assertEquals(TEXT, server.unframe(wrap(second)).getTextPayload());
+
+        final byte[] binary = TEXT.getBytes();
+        assertArrayEquals(binary, server.unframe(wrap(client.frame(client.toDataFrame(binary)))).getBytes());
+    }
+
+    @Test
+    public void testNoContextTakeoverFramesAreShareable() {
+        final RFC6455Handler server = new RFC6455Handler(false);
+        server.setPerMessageDeflate(createPerMessageDeflate(true, PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER));
+
+        final byte[] first = server.frame(server.toDataFrame(TEXT));
+        assertArrayEquals(first, server.frame(server.toDataFrame(TEXT)));
+
+        // a client, which keeps the context, inflates the messages as well
+        final RFC6455Handler client = new RFC6455Handler(true);
+        client.setPerMessageDeflate(createPerMessageDeflate(false));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(TEXT, client.unframe(wrap(first)).getTextPayload());
+        }
+    }
+
+    @Test
+    public void testFragmentedMessage() {
+        final RFC6455Handler client = new RFC6455Handler(true);
+        client.setPerMessageDeflate(createPerMessageDeflate(false));
+        final RFC6455Handler server = new RFC6455Handler(false);
+        server.setPerMessageDeflate(createPerMessageDeflate(true));
+
+        final byte[] f1 = client.frame(client.toDataFrame(TEXT, false));
+        final byte[] f2 = client.frame(client.toDataFrame(TEXT, false));
+        final byte[] f3 = client.frame(client.toDataFrame(TEXT, true));
+        // RSV1 is set on the first frame only
+        assertEquals(0x40, f1[0] & 0x40);
+        assertEquals(0, f2[0] & 0x40);
+        assertEquals(0, f3[0] & 0x40);
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(server.unframe(wrap(f1)).getTextPayload());
+        sb.append(server.unframe(wrap(f2)).getTextPayload());
+        sb.append(server.unframe(wrap(f3)).getTextPayload());
+        assertEquals(TEXT + TEXT + TEXT, sb.toString());
+    }
+
+    @Test
+    public void testMaxInflatedSize() {
+        final RFC6455Handler client = new RFC6455Handler(true);
+        client.setPerMessageDeflate(createPerMessageDeflate(false));
+        final RFC6455Handler server = new RFC6455Handler(false);
+        server.setPerMessageDeflate(createPerMessageDeflate(true));
+        server.getPerMessageDeflate().setMaxInflatedSize(TEXT.length() * 2);
+
+        // a fragmented message is limited as a whole
+        assertEquals(TEXT, server.unframe(wrap(client.frame(client.toDataFrame(TEXT, false)))).getTextPayload());
+        assertEquals(TEXT, server.unframe(wrap(client.frame(client.toDataFrame(TEXT, false)))).getTextPayload());
+        try {
+            server.unframe(wrap(client.frame(client.toDataFrame(TEXT, true))));
+            fail("The message exceeds the max inflated size");
+        } catch (MessageTooBigError e) {
+            assertEquals(1009, e.getClosingCode());
+        }
+
+        // a highly compressible message is limited before it's inflated completely
+        final RFC6455Handler bombReceiver = new RFC6455Handler(false);
+        bombReceiver.setPerMessageDeflate(createPerMessageDeflate(true));
+        bombReceiver.getPerMessageDeflate().setMaxInflatedSize(1024 * 1024);
+        final RFC6455Handler bombSender = new RFC6455Handler(true);
+        bombSender.setPerMessageDeflate(createPerMessageDeflate(false));
+        try {
+            bombReceiver.unframe(wrap(bombSender.frame(bombSender.toDataFrame(new byte[16 * 1024 * 1024]))));
+            fail("The message exceeds the max inflated size");
+        } catch (MessageTooBigError e) {
+            assertEquals(1009, e.getClosingCode());
+        }
+    }
+
+    @Test
+    public void testSmallMessagesAreNotCompressed() {
+        final RFC6455Handler server = new RFC6455Handler(false);
+        server.setPerMessageDeflate(createPerMessageDeflate(true));
+
+        final byte[] frame = server.frame(server.toDataFrame("Hi"));
+        assertEquals((byte) 0x81, frame[0]);
+
+        final RFC6455Handler client = new RFC6455Handler(true);
+        client.setPerMessageDeflate(createPerMessageDeflate(false));
+        assertEquals("Hi", client.unframe(wrap(frame)).getTextPayload());
+    }
+
+    @Test
+    public void testRsv1WithoutNegotiation() {
+        final RFC6455Handler handler = new RFC6455Handler(false);
+        try {
+            handler.unframe(wrap(new byte[] { (byte) 0xc1, 0x07, (byte) 0xf2, 0x48, (byte) 0xcd, (byte) 0xc9, (byte) 0xc9, 0x07, 0x00 }));
+            fail("ProtocolError expected");
+        } catch (ProtocolError expected) {
+        }
+    }
+
+    @Test
+    public void testNegotiation() {
+        final Extension supported = new Extension(PerMessageDeflate.NAME);
+        supported.getParameters().add(new Extension.Parameter(PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER, null));
+
+        final Extension offer = new Extension(PerMessageDeflate.NAME);
+        offer.getParameters().add(new Extension.Parameter(PerMessageDeflate.CLIENT_MAX_WINDOW_BITS, null));
+        final Extension response = PerMessageDeflate.negotiate(offer, supported);
+        assertNotNull(response);
+        assertEquals(1, response.getParameters().size());
+        assertEquals(PerMessageDeflate.SERVER_NO_CONTEXT_TAKEOVER, response.getParameters().get(0).getName());
+        assertTrue(new PerMessageDeflate(true, response).isLocalNoContextTakeover());
+        assertTrue(new PerMessageDeflate(false, response).isRemoteNoContextTakeover());
+
+        final Extension smallWindow = new Extension(PerMessageDeflate.NAME);
+        smallWindow.getParameters().add(new Extension.Parameter(PerMessageDeflate.SERVER_MAX_WINDOW_BITS, "10"));
+        assertNull(PerMessageDeflate.negotiate(smallWindow, supported));
+
+        final Extension fullWindow = new Extension(PerMessageDeflate.NAME);
+        fullWindow.getParameters().add(new Extension.Parameter(PerMessageDeflate.SERVER_MAX_WINDOW_BITS, "15"));
+        assertNotNull(PerMessageDeflate.negotiate(fullWindow, supported));
+
+        final Extension unknown = new Extension(PerMessageDeflate.NAME);
+        unknown.getParameters().add(new Extension.Parameter("foo", null));
+        assertNull(PerMessageDeflate.negotiate(unknown, supported));
+
+        final Extension duplicate = new Extension(PerMessageDeflate.NAME);
+        duplicate.getParameters().add(new Extension.Parameter(PerMessageDeflate.CLIENT_NO_CONTEXT_TAKEOVER, null));
+        duplicate.getParameters().add(new Extension.Parameter(PerMessageDeflate.CLIENT_NO_CONTEXT_TAKEOVER, null));
+        assertNull(PerMessageDeflate.negotiate(duplicate, supported));
+
+        final Extension clientWindow = new Extension(PerMessageDeflate.NAME);
+        clientWindow.getParameters().add(new Extension.Parameter(PerMessageDeflate.CLIENT_MAX_WINDOW_BITS, "9"));
+        try {
+            PerMessageDeflate.validateResponse(clientWindow, offer);
+            fail("HandshakeException expected");
+        } catch (HandshakeException expected) {
+        }
+    }
+
+    @Test
+    public void testEcho() throws Exception {
+        final WebSocketServer server = WebSocketServer.createServer(PORT);
+        final EchoWebSocketApplication app = new EchoWebSocketApplication();
+        app.getSupportedExtensions().add(new Extension(PerMessageDeflate.NAME));
+        server.register("", "/echo", app);
+        server.start();
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(TEXT);
+        }
+        final String message = sb.toString();
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AtomicReference<String> received = new AtomicReference<>();
+        final WebSocketClient client = new WebSocketClient(String.format("ws://localhost:%s/echo", PORT), new WebSocketAdapter() {
+            @Override
+            public void onMessage(WebSocket socket, String text) {
+                received.set(text);
+                latch.countDown();
+            }
+        });
+        client.getExtensions().add(PerMessageDeflate.createOffer());
+        try {
+            client.connect();
+            assertNotNull(client.protocolHandler.getPerMessageDeflate());
+
+            client.send(message);
+            client.send(message);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(message, received.get());
+        } finally {
+            client.close();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testConcurrentSenders() throws Exception {
+        final WebSocketServer server = WebSocketServer.createServer(PORT);
+        final EchoWebSocketApplication app = new EchoWebSocketApplication();
+        app.getSupportedExtensions().add(new Extension(PerMessageDeflate.NAME));
+        server.register("", "/echo", app);
+        server.start();
+
+        final int threadsCount = 4;
+        final int messagesCount = 200;
+        final Set<String> sent = ConcurrentHashMap.newKeySet();
+        final Set<String> received = ConcurrentHashMap.newKeySet();
+        final CountDownLatch latch = new CountDownLatch(threadsCount * messagesCount);
+        final WebSocketClient client = new WebSocketClient(String.format("ws://localhost:%s/echo", PORT), new WebSocketAdapter() {
+            @Override
+            public void onMessage(WebSocket socket, String text) {
+                received.add(text);
+                latch.countDown();
+            }
+        });
+        client.getExtensions().add(PerMessageDeflate.createOffer());
+        try {
+            client.connect();
+            // every message refers to the ones compressed before, so a reordered frame breaks the peer inflater
+            assertTrue(client.protocolHandler.isContextTakeover());
+
+            final Thread[] senders = new Thread[threadsCount];
+            for (int i = 0; i < threadsCount; i++) {
+                final int thread = i;
+                senders[i] = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < messagesCount; j++) {
+                            final String message = TEXT.replace("GRZL", "GRZL" + thread + '-' + j);
+                            sent.add(message);
+                            client.send(message);
+                        }
+                    }
+                };
+                senders[i].start();
+            }
+            for (Thread sender : senders) {
+                sender.join();
+            }
+
+            assertTrue("Received " + received.size() + " messages", latch.await(30, TimeUnit.SECONDS));
+            assertEquals(sent, received);
+        } finally {
+            client.close();
+            server.stop();
+        }
+    }
+
+    private static PerMessageDeflate createPerMessageDeflate(final boolean server, final String... parameters) {
+        final Extension extension = new Extension(PerMessageDeflate.NAME);
+        for (String parameter : parameters) {
+            extension.getParameters().add(new Extension.Parameter(parameter, null));
+        }
+        return new PerMessageDeflate(server, extension);
+    }
+
+    private static Buffer wrap(final byte[] bytes) {
+        return Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, bytes);
+    }
+}
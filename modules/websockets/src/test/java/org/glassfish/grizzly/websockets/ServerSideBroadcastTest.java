@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,8 +22,13 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,12 +38,15 @@ import org.junit.runners.Parameterized;
 @RunWith(Parameterized.class)
 public class ServerSideBroadcastTest extends BaseWebSocketTestUtilities {
     public static final int ITERATIONS = 100;
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2);
     private final Version version;
     private final Broadcaster broadcaster;
 
     @Parameterized.Parameters
     public static List<Object[]> parameters() {
-        final Broadcaster[] broadcasters = { new DummyBroadcaster(), new OptimizedBroadcaster() };
+        final Broadcaster[] broadcasters = { new DummyBroadcaster(), new OptimizedBroadcaster(), new SharedFrameBroadcaster(),
+                new SharedFrameBroadcaster(EXECUTOR, 2, SharedFrameBroadcaster.DEFAULT_MAX_QUEUED_BYTES,
+                        SharedFrameBroadcaster.SlowConsumerPolicy.SKIP) };
 
         final List<Object[]> versions = BaseWebSocketTestUtilities.parameters();
         final List<Object[]> resultList = new ArrayList<>();
@@ -57,12 +66,18 @@ public class ServerSideBroadcastTest extends BaseWebSocketTestUtilities {
         this.broadcaster = broadcaster;
     }
 
+    @AfterClass
+    public static void shutdownExecutor() {
+        EXECUTOR.shutdownNow();
+    }
+
     @Test
     public void broadcast() throws IOException, InstantiationException, ExecutionException, InterruptedException, URISyntaxException {
         final int websocketsCount = 5;
 
         WebSocketServer server = WebSocketServer.createServer(PORT);
-        server.register("", "/broadcast", new BroadcastApplication(broadcaster));
+        final BroadcastApplication app = new BroadcastApplication(broadcaster);
+        server.register("", "/broadcast", app);
         server.start();
         List<TrackingWebSocket> clients = new ArrayList<>();
         try {
@@ -75,6 +90,9 @@ public class ServerSideBroadcastTest extends BaseWebSocketTestUtilities {
                 socket.connect();
                 clients.add(socket);
             }
+            // the server registers a socket after it has responded to the handshake, the messages sent before
+            // would not be broadcasted to it
+            Assert.assertTrue("All sockets should be registered", app.awaitConnected(websocketsCount));
 
             for (int count = 0; count < ITERATIONS; count++) {
                 for (String message : messages) {
@@ -100,11 +118,22 @@ public class ServerSideBroadcastTest extends BaseWebSocketTestUtilities {
 
     public static class BroadcastApplication extends WebSocketApplication {
         private final Broadcaster broadcaster;
+        private final Semaphore connected = new Semaphore(0);
 
         public BroadcastApplication(Broadcaster broadcaster) {
             this.broadcaster = broadcaster;
         }
 
+        @Override
+        public void onConnect(WebSocket socket) {
+            super.onConnect(socket);
+            connected.release();
+        }
+
+        public boolean awaitConnected(int count) throws InterruptedException {
+            return connected.tryAcquire(count, WebSocketEngine.DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+        }
+
         @Override
         public boolean isApplicationRequest(HttpRequestPacket request) {
             return "/broadcast".equals(request.getRequestURI());
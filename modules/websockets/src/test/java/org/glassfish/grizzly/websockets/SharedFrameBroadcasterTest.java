@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.grizzly.http.HttpRequestPacket;
+import org.glassfish.grizzly.utils.Charsets;
+import org.junit.Test;
+
+/**
+ * Tests {@link SharedFrameBroadcaster} specifics, the broadcasting itself is tested by {@link ServerSideBroadcastTest}.
+ */
+public class SharedFrameBroadcasterTest extends BaseWebSocketTestUtilities {
+
+    @Test
+    public void testSlowConsumerIsShed() throws Exception {
+        final SharedFrameBroadcaster broadcaster = new SharedFrameBroadcaster(null, SharedFrameBroadcaster.DEFAULT_PARTITION_SIZE, 64 * 1024,
+                SharedFrameBroadcaster.SlowConsumerPolicy.SKIP);
+        final CountDownLatch connected = new CountDownLatch(1);
+        final BroadcastApplication app = new BroadcastApplication(connected);
+        final WebSocketServer server = WebSocketServer.createServer(PORT);
+        server.register("", "/broadcast", app);
+        server.start();
+
+        // the client, which completes the handshake and then stops reading
+        final Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", PORT));
+        try {
+            final OutputStream out = socket.getOutputStream();
+            out.write(("GET /broadcast HTTP/1.1\r\nHost: localhost:" + PORT + "\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(Charsets.ASCII_CHARSET));
+            out.flush();
+            readResponseHeaders(socket.getInputStream());
+            assertTrue(connected.await(10, TimeUnit.SECONDS));
+
+            final byte[] message = new byte[256 * 1024];
+            Arrays.fill(message, (byte) 'a');
+            for (int i = 0; i < 200 && broadcaster.getShedCount() == 0; i++) {
+                broadcaster.broadcast(app.getWebSockets(), message);
+            }
+
+            assertTrue(broadcaster.getShedCount() > 0);
+            // the messages, which are still queued, are neither shed nor delivered
+            assertTrue(broadcaster.getBroadcastsCount() > broadcaster.getShedCount() + broadcaster.getDeliveredCount());
+            assertEquals(0, broadcaster.getFailedCount());
+            assertTrue(broadcaster.getMaxDispatchLatency(TimeUnit.NANOSECONDS) > 0);
+        } finally {
+            socket.close();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testFanOutLatency() throws Exception {
+        final SharedFrameBroadcaster broadcaster = new SharedFrameBroadcaster();
+        final CountDownLatch connected = new CountDownLatch(2);
+        final BroadcastApplication app = new BroadcastApplication(connected);
+        final WebSocketServer server = WebSocketServer.createServer(PORT);
+        server.register("", "/broadcast", app);
+        server.start();
+
+        final CountDownLatch received = new CountDownLatch(2);
+        final WebSocketAdapter listener = new WebSocketAdapter() {
+            @Override
+            public void onMessage(WebSocket socket, String text) {
+                if ("hello".equals(text)) {
+                    received.countDown();
+                }
+            }
+        };
+        final WebSocketClient client1 = new WebSocketClient(String.format("ws://localhost:%s/broadcast", PORT), listener);
+        final WebSocketClient client2 = new WebSocketClient(String.format("ws://localhost:%s/broadcast", PORT), listener);
+        try {
+            client1.connect();
+            client2.connect();
+            assertTrue(connected.await(10, TimeUnit.SECONDS));
+
+            broadcaster.broadcast(app.getWebSockets(), "hello");
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            assertEquals(1, broadcaster.getBroadcastsCount());
+            assertEquals(2, broadcaster.getDeliveredCount());
+            assertEquals(0, broadcaster.getFailedCount());
+            assertEquals(0, broadcaster.getShedCount());
+            assertTrue(broadcaster.getMaxFanOutLatency(TimeUnit.NANOSECONDS) > 0);
+        } finally {
+            client1.close();
+            client2.close();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testInterruptedBroadcastStopsDelivering() throws Exception {
+        // the partitions, but the first one, are written once the broadcast has returned
+        final List<Runnable> tasks = new ArrayList<>();
+        final SharedFrameBroadcaster broadcaster = new SharedFrameBroadcaster(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        }, 1, SharedFrameBroadcaster.DEFAULT_MAX_QUEUED_BYTES, SharedFrameBroadcaster.SlowConsumerPolicy.SKIP);
+        final CountDownLatch connected = new CountDownLatch(2);
+        final BroadcastApplication app = new BroadcastApplication(connected);
+        final WebSocketServer server = WebSocketServer.createServer(PORT);
+        server.register("", "/broadcast", app);
+        server.start();
+
+        final WebSocketClient client1 = new WebSocketClient(String.format("ws://localhost:%s/broadcast", PORT));
+        final WebSocketClient client2 = new WebSocketClient(String.format("ws://localhost:%s/broadcast", PORT));
+        try {
+            client1.connect();
+            client2.connect();
+            assertTrue(connected.await(10, TimeUnit.SECONDS));
+
+            Thread.currentThread().interrupt();
+            broadcaster.broadcast(app.getWebSockets(), "hello");
+            assertTrue(Thread.interrupted());
+            assertEquals(1, broadcaster.getDeliveredCount());
+
+            assertEquals(1, tasks.size());
+            tasks.get(0).run();
+            assertEquals(1, broadcaster.getDeliveredCount());
+        } finally {
+            Thread.interrupted();
+            client1.close();
+            client2.close();
+            server.stop();
+        }
+    }
+
+    private static void readResponseHeaders(final InputStream in) throws Exception {
+        int matched = 0;
+        final byte[] eoh = { '\r', '\n', '\r', '\n' };
+        while (matched < eoh.length) {
+            final int b = in.read();
+            if (b == -1) {
+                throw new IllegalStateException("Connection closed during the handshake");
+            }
+            matched = b == eoh[matched] ? matched + 1 : b == '\r' ? 1 : 0;
+        }
+    }
+
+    private static class BroadcastApplication extends WebSocketApplication {
+        private final CountDownLatch connected;
+
+        BroadcastApplication(final CountDownLatch connected) {
+            this.connected = connected;
+        }
+
+        @Override
+        public boolean isApplicationRequest(HttpRequestPacket request) {
+            return "/broadcast".equals(request.getRequestURI());
+        }
+
+        @Override
+        public void onConnect(WebSocket socket) {
+            super.onConnect(socket);
+            connected.countDown();
+        }
+    }
+}
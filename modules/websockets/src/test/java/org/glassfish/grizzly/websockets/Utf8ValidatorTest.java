@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.websockets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.glassfish.grizzly.websockets.rfc6455.RFC6455Handler;
+import org.junit.Test;
+
+public class Utf8ValidatorTest {
+
+    private static final String TEXT = "{\"name\":\"Grüße\",\"city\":\"東京\",\"mood\":\"😀\"} plain ASCII padding";
+
+    @Test
+    public void testAgreesWithDecoder() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            final byte[] bytes = (i % 50 + TEXT).getBytes(StandardCharsets.UTF_8);
+            // corrupt some of the inputs
+            if (i % 2 == 0) {
+                bytes[random.nextInt(bytes.length)] = (byte) random.nextInt(256);
+            }
+            if (i % 7 == 0) {
+                final byte[] chunk = new byte[8];
+                random.nextBytes(chunk);
+                System.arraycopy(chunk, 0, bytes, random.nextInt(bytes.length - 8), chunk.length);
+            }
+            assertEquals(Arrays.toString(bytes), isValidUtf8(bytes), Utf8Validator.isValid(bytes, 0, bytes.length));
+        }
+    }
+
+    @Test
+    public void testRejectsOverlongsAndSurrogates() {
+        assertFalse(valid(0xC0, 0xAF));
+        assertFalse(valid(0xE0, 0x80, 0xAF));
+        assertFalse(valid(0xF0, 0x80, 0x80, 0xAF));
+        assertFalse(valid(0xED, 0xA0, 0x80));
+        assertFalse(valid(0xF4, 0x90, 0x80, 0x80));
+        assertFalse(valid(0xF5, 0x80, 0x80, 0x80));
+        assertFalse(valid(0xE2, 0x82));
+        assertTrue(valid(0xED, 0x9F, 0xBF));
+        assertTrue(valid(0xF4, 0x8F, 0xBF, 0xBF));
+    }
+
+    @Test
+    public void testSplitAtEveryPosition() {
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int split = 0; split <= bytes.length; split++) {
+            final Utf8Validator validator = new Utf8Validator();
+            assertTrue(validator.validate(bytes, 0, split));
+            final int pending = validator.getPendingBytes();
+            assertEquals(pending == 0, validator.isComplete());
+            // the complete prefix decodes to a prefix of the text
+            assertTrue(TEXT.startsWith(new String(bytes, 0, split - pending, StandardCharsets.UTF_8)));
+            assertTrue(validator.validate(bytes, split, bytes.length - split));
+            assertTrue(validator.isComplete());
+        }
+    }
+
+    @Test
+    public void testBuffers() {
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        final int half = bytes.length / 2;
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        final Buffer buffer = Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, direct);
+        Utf8Validator validator = new Utf8Validator();
+        assertTrue(validator.validate(buffer, 0, buffer.limit()));
+        assertTrue(validator.isComplete());
+
+        final Buffer composite = Buffers.appendBuffers(MemoryManager.DEFAULT_MEMORY_MANAGER,
+                Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, Arrays.copyOfRange(bytes, 0, half)),
+                Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, Arrays.copyOfRange(bytes, half, bytes.length)));
+        validator = new Utf8Validator();
+        assertTrue(validator.validate(composite, 0, composite.limit()));
+        assertTrue(validator.isComplete());
+        assertEquals(0, composite.position());
+
+        composite.put(composite.limit() - 3, (byte) 0xFF);
+        validator = new Utf8Validator();
+        assertFalse(validator.validate(composite, 0, composite.limit()));
+    }
+
+    @Test
+    public void testFragmentedText() {
+        // the 4-byte emoji ends up split across three fragments
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        final int emoji = TEXT.indexOf('\uD83D');
+        final int at = TEXT.substring(0, emoji).getBytes(StandardCharsets.UTF_8).length;
+
+        final RFC6455Handler handler = new RFC6455Handler(false);
+        final StringBuilder sb = new StringBuilder();
+        sb.append(handler.unframe(frame(0x01, Arrays.copyOfRange(bytes, 0, at + 1))).getTextPayload());
+        sb.append(handler.unframe(frame(0x00, Arrays.copyOfRange(bytes, at + 1, at + 2))).getTextPayload());
+        sb.append(handler.unframe(frame(0x00, Arrays.copyOfRange(bytes, at + 2, at + 3))).getTextPayload());
+        sb.append(handler.unframe(frame(0x80, Arrays.copyOfRange(bytes, at + 3, bytes.length))).getTextPayload());
+        assertEquals(TEXT, sb.toString());
+
+        try {
+            handler.unframe(frame(0x81, new byte[] { 'a', (byte) 0xC3 }));
+            fail("Truncated sequence at the end of the message");
+        } catch (Utf8DecodingError expected) {
+        }
+    }
+
+    @Test
+    public void testTextBufferListener() {
+        final RFC6455Handler handler = new RFC6455Handler(false);
+        final AtomicReference<String> fromBuffer = new AtomicReference<>();
+        final AtomicReference<String> fromString = new AtomicReference<>();
+        final SimpleWebSocket socket = new SimpleWebSocket(handler, new BufferListener(fromBuffer), new WebSocketAdapter() {
+            @Override
+            public void onMessage(WebSocket socket, String text) {
+                fromString.set(text);
+            }
+        });
+
+        final DataFrame frame = handler.unframe(frame(0x81, TEXT.getBytes(StandardCharsets.UTF_8)));
+        frame.respond(socket);
+        assertEquals(TEXT, fromBuffer.get());
+        assertEquals(TEXT, fromString.get());
+
+        // without a TextBufferListener the String callback of the socket is used
+        final AtomicReference<String> overridden = new AtomicReference<>();
+        final SimpleWebSocket plain = new SimpleWebSocket(handler) {
+            @Override
+            public void onMessage(String text) {
+                overridden.set(text);
+            }
+        };
+        handler.unframe(frame(0x81, TEXT.getBytes(StandardCharsets.UTF_8))).respond(plain);
+        assertEquals(TEXT, overridden.get());
+    }
+
+    private static boolean valid(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        assertEquals(isValidUtf8(bytes), Utf8Validator.isValid(bytes, 0, bytes.length));
+        return Utf8Validator.isValid(bytes, 0, bytes.length);
+    }
+
+    private static boolean isValidUtf8(final byte[] bytes) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static Buffer frame(final int first, final byte[] payload) {
+        final byte[] frame = new byte[payload.length + 2];
+        frame[0] = (byte) first;
+        frame[1] = (byte) payload.length;
+        System.arraycopy(payload, 0, frame, 2, payload.length);
+        return Buffers.wrap(MemoryManager.DEFAULT_MEMORY_MANAGER, frame);
+    }
+
+    private static class BufferListener extends WebSocketAdapter implements TextBufferListener {
+        private final AtomicReference<String> target;
+
+        BufferListener(final AtomicReference<String> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onMessage(WebSocket socket, Buffer text) {
+            target.set(text.toStringContent(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onMessage(WebSocket socket, String text) {
+            fail("The text of a TextBufferListener should not be decoded");
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,8 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -44,6 +47,7 @@ public class WebSocketClient extends SimpleWebSocket {
     private static final Logger logger = Logger.getLogger(Constants.WEBSOCKET);
     private final Version version;
     private final URI address;
+    private final List<Extension> extensions = new ArrayList<>();
     private final ExecutorService executorService = Executors.newFixedThreadPool(2);
     protected TCPNIOTransport transport;
 
@@ -66,6 +70,13 @@ public class WebSocketClient extends SimpleWebSocket {
         return address;
     }
 
+    /**
+     * @return the extensions to be offered to the server during the handshake
+     */
+    public List<Extension> getExtensions() {
+        return extensions;
+    }
+
     public void execute(Runnable runnable) {
         executorService.submit(runnable);
     }
@@ -98,6 +109,7 @@ public class WebSocketClient extends SimpleWebSocket {
                     protocolHandler.setConnection(conn);
                     final WebSocketHolder holder = WebSocketHolder.set(conn, protocolHandler, WebSocketClient.this);
                     holder.handshake = protocolHandler.createClientHandShake(address);
+                    holder.handshake.getExtensions().addAll(extensions);
                 }
             };
             final FutureImpl<Boolean> completeFuture = Futures.createSafeFuture();